@@ -0,0 +1,82 @@
+package com.smartlivestock.health.domain.service;
+
+import com.smartlivestock.health.domain.model.StreamingAnomalyState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-reading cost of {@link StreamingAnomalyDetector#update} across a herd, and of
+ * scoring one livestock with {@link StreamingAnomalyDetector#assess}.
+ * <p>
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamingAnomalyDetectorBenchmark {
+
+    private static final int READINGS = 1024;
+
+    @Param({"1000", "100000"})
+    public int herdSize;
+
+    private final StreamingAnomalyDetector detector = new StreamingAnomalyDetector();
+    private StreamingAnomalyState[] herd;
+    private double[] readings;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(7);
+        herd = new StreamingAnomalyState[herdSize];
+        for (int i = 0; i < herdSize; i++) {
+            herd[i] = new StreamingAnomalyState();
+            for (int r = 0; r < StreamingAnomalyDetector.WARMUP; r++) {
+                for (int m = 0; m < StreamingAnomalyState.METRICS; m++) {
+                    detector.update(herd[i], m, reading(random, m));
+                }
+            }
+        }
+        readings = new double[READINGS];
+        for (int i = 0; i < READINGS; i++) {
+            readings[i] = reading(random, i % StreamingAnomalyState.METRICS);
+        }
+    }
+
+    @Benchmark
+    public void update() {
+        int i = cursor++;
+        detector.update(herd[Math.floorMod(i, herdSize)], Math.floorMod(i, StreamingAnomalyState.METRICS),
+                readings[i & (READINGS - 1)]);
+    }
+
+    @Benchmark
+    public void assess(Blackhole bh) {
+        bh.consume(detector.assess(herd[Math.floorMod(cursor++, herdSize)]));
+    }
+
+    private static double reading(Random random, int metric) {
+        return switch (metric) {
+            case StreamingAnomalyState.TEMPERATURE -> 38.5 + random.nextGaussian() * 0.1;
+            case StreamingAnomalyState.MOTILITY -> 3.0 + random.nextGaussian() * 0.1;
+            default -> 50 + random.nextGaussian() * 3;
+        };
+    }
+}
@@ -0,0 +1,105 @@
+package com.smartlivestock.ranch.domain.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Classifying one GPS point as inside / in-buffer / outside a fence:
+ * the former {@code BigDecimal} ray cast (contains + containsBuffer) against
+ * {@link FenceGeometry#locate}.
+ * <p>
+ * Run with {@code ./gradlew jmh}; add {@code -prof gc} via {@code jmh.profilers}
+ * to see the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FenceContainsBenchmark {
+
+    private static final int POINTS = 1024;
+
+    @Param({"8", "64", "1024"})
+    public int vertices;
+
+    private List<GpsCoordinate> fence;
+    private List<GpsCoordinate> buffer;
+    private FenceGeometry geometry;
+    private GpsCoordinate[] points;
+    private double[] lats;
+    private double[] lngs;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fence = circle(vertices, 0.0050);
+        buffer = circle(vertices, 0.0055);
+        geometry = FenceGeometry.of(fence, buffer);
+
+        Random random = new Random(7);
+        points = new GpsCoordinate[POINTS];
+        lats = new double[POINTS];
+        lngs = new double[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            // Mostly inside with a tail outside and in the buffer ring, as in real herds.
+            double r = 0.0060 * Math.sqrt(random.nextDouble());
+            double a = 2 * Math.PI * random.nextDouble();
+            points[i] = coord(28.2450 + r * Math.sin(a), 112.8500 + r * Math.cos(a));
+            lats[i] = points[i].latitude().doubleValue();
+            lngs[i] = points[i].longitude().doubleValue();
+        }
+    }
+
+    @Benchmark
+    public void bigDecimalRayCast(Blackhole bh) {
+        GpsCoordinate p = points[next()];
+        boolean inside = BigDecimalRayCast.contains(fence, p);
+        bh.consume(inside || BigDecimalRayCast.containsBuffer(buffer, p));
+    }
+
+    @Benchmark
+    public void primitiveKernel(Blackhole bh) {
+        int i = next();
+        bh.consume(geometry.locate(lats[i], lngs[i]));
+    }
+
+    private int next() {
+        int i = cursor;
+        cursor = (i + 1) & (POINTS - 1);
+        return i;
+    }
+
+    private static List<GpsCoordinate> circle(int n, double radius) {
+        List<GpsCoordinate> ring = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            double a = 2 * Math.PI * i / n;
+            ring.add(coord(28.2450 + radius * Math.sin(a), 112.8500 + radius * Math.cos(a)));
+        }
+        return ring;
+    }
+
+    private static GpsCoordinate coord(double lat, double lng) {
+        return new GpsCoordinate(BigDecimal.valueOf(lat).setScale(7, RoundingMode.HALF_UP),
+                BigDecimal.valueOf(lng).setScale(7, RoundingMode.HALF_UP));
+    }
+}
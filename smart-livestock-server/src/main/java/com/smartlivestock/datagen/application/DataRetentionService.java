@@ -29,6 +29,14 @@ public class DataRetentionService {
     @Value("${datagen.retention-days:30}")
     private int retentionDays;
 
+    /** Archived GPS blocks (gps_log_blocks) outlive the row window. */
+    @Value("${gps.archive.retention-days:365}")
+    private int gpsArchiveRetentionDays;
+
+    /** Health rollups back the detail charts long after their logs are purged. */
+    @Value("${health.rollup.retention-days:365}")
+    private int rollupRetentionDays;
+
     private static final String[] PURGE_PARTITIONED_TABLES = {
         "temperature_logs", "rumen_motility_logs", "activity_logs", "device_telemetry_logs"
     };
@@ -46,6 +54,8 @@ public class DataRetentionService {
             dropOldPartitions(table, cutoff);
         }
         deleteOldGpsLogs(cutoff);
+        deleteOldGpsLogBlocks(LocalDate.now().minusDays(gpsArchiveRetentionDays));
+        deleteOldRollups(LocalDate.now().minusDays(rollupRetentionDays));
         deleteOldResolvedAlerts(cutoff);
     }
 
@@ -90,6 +100,29 @@ public class DataRetentionService {
         }
     }
 
+    private void deleteOldGpsLogBlocks(LocalDate cutoff) {
+        int deleted = entityManager.createNativeQuery(
+            "DELETE FROM gps_log_blocks WHERE log_date < :cutoff")
+            .setParameter("cutoff", cutoff)
+            .executeUpdate();
+        if (deleted > 0) {
+            log.info("Deleted {} old gps_log_blocks (before {})", deleted, cutoff);
+        }
+    }
+
+    private void deleteOldRollups(LocalDate cutoff) {
+        int deleted = 0;
+        for (String table : new String[] {"health_hourly_rollups", "health_daily_rollups"}) {
+            deleted += entityManager.createNativeQuery(
+                "DELETE FROM " + table + " WHERE bucket_start < :cutoff")
+                .setParameter("cutoff", cutoff.atStartOfDay())
+                .executeUpdate();
+        }
+        if (deleted > 0) {
+            log.info("Deleted {} old health rollups (before {})", deleted, cutoff);
+        }
+    }
+
     private void deleteOldResolvedAlerts(LocalDate cutoff) {
         // Child rows first: alert_read_status.alert_id has FK to alerts(id)
         entityManager.createNativeQuery(
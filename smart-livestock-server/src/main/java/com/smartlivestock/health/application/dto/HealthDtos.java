@@ -1,6 +1,7 @@
 package com.smartlivestock.health.application.dto;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.smartlivestock.iot.domain.model.DeviceType;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
@@ -10,6 +11,19 @@ public final class HealthDtos {
 
     private HealthDtos() {}
 
+    // ── Telemetry ───────────────────────────────────────────────
+
+    /** One telemetry-received message, as handed to processTelemetryBatch. */
+    public record TelemetryMessage(
+            Long deviceId,
+            Long livestockId,
+            Long farmId,
+            DeviceType deviceType,
+            Map<String, Object> readings,
+            Instant recordedAt,
+            String source
+    ) {}
+
     // ── Temperature ─────────────────────────────────────────────
 
     public record TemperatureReading(
@@ -0,0 +1,204 @@
+package com.smartlivestock.health.application.service;
+
+import com.smartlivestock.health.application.port.AnomalyScoreClient;
+import com.smartlivestock.health.application.port.AnomalyScoreClient.AnomalyPrediction;
+import com.smartlivestock.shared.cache.RedisCacheService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs AI anomaly assessment off the telemetry path.
+ * <p>
+ * {@link #markDirty} only records the livestock in memory, so the telemetry consumer
+ * never waits on Redis, ai-platform or another transaction. Every
+ * {@code ai.scheduler.tick-ms} the dirty set is drained: livestock still inside the
+ * {@code ai:dedup:} window are dropped (one Redis MGET), the rest are grouped by farm
+ * and sent to ai-platform {@code ai.scheduler.batch-size} at a time. Each batch is
+ * persisted by {@link HealthAnomalyService#recordPredictions} in one transaction, and
+ * its dedup keys are set after that commits. When ai-platform returns nothing the
+ * batch is scored by {@link LocalAnomalyService} instead, without dedup keys, so the
+ * platform is asked again on the livestock's next telemetry.
+ * <p>
+ * Backpressure: at most {@code ai.scheduler.concurrency} batches run, with as many
+ * queued. Batches that do not fit stay dirty for the next tick, and once
+ * {@code ai.scheduler.max-pending} livestock are waiting new ones are dropped; their
+ * next telemetry marks them again.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AnomalyAssessmentScheduler {
+
+    /** Telemetry carries no tenant; the single-livestock path always assessed as tenant 1. */
+    static final long DEFAULT_TENANT_ID = 1L;
+    static final int WINDOW_HOURS = 24;
+
+    private final AnomalyScoreClient anomalyScoreClient;
+    private final HealthAnomalyService healthAnomalyService;
+    private final LocalAnomalyService localAnomalyService;
+    private final RedisCacheService redis;
+
+    @Value("${ai.scheduler.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${ai.scheduler.batch-size:50}")
+    private int batchSize = 50;
+
+    @Value("${ai.scheduler.concurrency:4}")
+    private int concurrency = 4;
+
+    @Value("${ai.scheduler.max-pending:20000}")
+    private int maxPending = 20_000;
+
+    @Value("${ai.dedup.ttl-minutes:60}")
+    private int dedupTtlMinutes = 60;
+
+    private final Map<Long, Dirty> pending = new ConcurrentHashMap<>();
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicLong dropped = new AtomicLong();
+    private ThreadPoolExecutor batchExecutor;
+
+    @PostConstruct
+    void init() {
+        batchExecutor = new ThreadPoolExecutor(
+                concurrency, concurrency,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(concurrency),
+                new ThreadPoolExecutor.AbortPolicy());
+        batchExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (batchExecutor != null) {
+            batchExecutor.shutdownNow();
+        }
+    }
+
+    /** Queues the livestock for assessment; never blocks. */
+    public void markDirty(Long farmId, Long livestockId, String telemetrySource) {
+        if (!enabled) {
+            return;
+        }
+        if (pending.size() >= maxPending && !pending.containsKey(livestockId)) {
+            dropped.incrementAndGet();
+            return;
+        }
+        pending.put(livestockId, new Dirty(farmId, telemetrySource));
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    @Scheduled(fixedDelayString = "${ai.scheduler.tick-ms:10000}")
+    public void tick() {
+        long droppedNow = dropped.getAndSet(0);
+        if (droppedNow > 0) {
+            log.warn("AI assessment queue full, dropped {} livestock since last tick", droppedNow);
+        }
+        int slots = concurrency - batchExecutor.getActiveCount() + batchExecutor.getQueue().remainingCapacity();
+        if (slots <= 0 || pending.isEmpty()) {
+            return;
+        }
+
+        List<Long> candidates = new ArrayList<>();
+        for (Long livestockId : pending.keySet()) {
+            if (inFlight.contains(livestockId)) {
+                continue;
+            }
+            candidates.add(livestockId);
+            if (candidates.size() >= slots * batchSize) break;
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        List<String> dedup = fetchDedupKeys(candidates);
+        Map<Long, Map<Long, String>> byFarm = new LinkedHashMap<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            Long livestockId = candidates.get(i);
+            Dirty dirty = pending.remove(livestockId);
+            if (dirty == null || dedup.get(i) != null) {
+                continue;
+            }
+            byFarm.computeIfAbsent(dirty.farmId(), f -> new LinkedHashMap<>()).put(livestockId, dirty.source());
+        }
+
+        byFarm.forEach((farmId, sources) -> {
+            List<Long> ids = new ArrayList<>(sources.keySet());
+            for (int from = 0; from < ids.size(); from += batchSize) {
+                Map<Long, String> batch = new HashMap<>();
+                for (Long id : ids.subList(from, Math.min(from + batchSize, ids.size()))) {
+                    batch.put(id, sources.get(id));
+                }
+                submit(farmId, batch);
+            }
+        });
+    }
+
+    private void submit(Long farmId, Map<Long, String> batch) {
+        inFlight.addAll(batch.keySet());
+        try {
+            batchExecutor.execute(() -> assessBatch(farmId, batch));
+        } catch (RejectedExecutionException e) {
+            inFlight.removeAll(batch.keySet());
+            batch.forEach((id, source) -> pending.putIfAbsent(id, new Dirty(farmId, source)));
+        }
+    }
+
+    void assessBatch(Long farmId, Map<Long, String> batch) {
+        try {
+            List<AnomalyPrediction> predictions = anomalyScoreClient.analyze(
+                    DEFAULT_TENANT_ID, farmId, new ArrayList<>(batch.keySet()), WINDOW_HOURS);
+            if (predictions.isEmpty()) {
+                // degradation - in-process detectors stand in, rule engine continues
+                localAnomalyService.assess(farmId, batch);
+                return;
+            }
+            healthAnomalyService.recordPredictions(DEFAULT_TENANT_ID, farmId, predictions, batch);
+            Duration ttl = Duration.ofMinutes(dedupTtlMinutes);
+            for (AnomalyPrediction pred : predictions) {
+                if (batch.containsKey(pred.livestockId())) {
+                    redis.set(HealthAnomalyService.DEDUP_KEY_PREFIX + pred.livestockId(), "1", ttl);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("AI batch assessment failed for farm [{}] ({} livestock): {}",
+                    farmId, batch.size(), e.getMessage());
+        } finally {
+            inFlight.removeAll(batch.keySet());
+        }
+    }
+
+    private List<String> fetchDedupKeys(List<Long> livestockIds) {
+        try {
+            return redis.multiGet(livestockIds.stream().map(id -> HealthAnomalyService.DEDUP_KEY_PREFIX + id).toList());
+        } catch (Exception e) {
+            log.debug("AI dedup lookup failed, assessing all {} candidates: {}", livestockIds.size(), e.getMessage());
+            return Collections.nCopies(livestockIds.size(), null);
+        }
+    }
+
+    private record Dirty(Long farmId, String source) {}
+}
@@ -0,0 +1,234 @@
+package com.smartlivestock.health.application.service;
+
+import com.smartlivestock.health.domain.model.ContactTrace;
+import com.smartlivestock.health.domain.repository.ContactTraceRepository;
+import com.smartlivestock.health.domain.service.ProximityContactDetector;
+import com.smartlivestock.health.domain.service.ProximityContactDetector.Contact;
+import com.smartlivestock.health.domain.service.ProximityContactDetector.Position;
+import com.smartlivestock.shared.cache.RedisCacheService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Derives {@link ContactTrace}s from the GPS stream.
+ * <p>
+ * Each position lands in its farm's time slice ({@code health.contact.slice-seconds},
+ * by recorded-at), keeping the latest fix per livestock. A slice is closed once it
+ * has received nothing for {@code idle-close-ms}, so live data closes shortly after
+ * the slice ends and a platform backfill closes its slices as it moves past them.
+ * Closing runs {@link ProximityContactDetector} over the slice and merges the pairs
+ * into per-pair episodes: a pair seen again within {@code max-gap-slices} extends
+ * its episode, otherwise a new one starts. Duration is the number of slices the
+ * episode spans, proximity the closest distance seen.
+ * <p>
+ * Every touched episode is written as two rows (one per direction, as the contact
+ * network is read from the source animal) in one batched upsert per tick.
+ * <p>
+ * Contacts need the whole farm in one place, so the consumer is a broadcast
+ * subscriber and every node builds the same slices and episodes. Only the node that
+ * claims a slice in Redis writes it; upserts are idempotent, so a lost claim or a
+ * Redis outage only means duplicate writes. Positions arriving for a slice that was
+ * already claimed still update episodes but are not written again. A tick whose
+ * write fails gives its claims back, so another node's tick can write those slices.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ContactTracingService {
+
+    static final String SLICE_CLAIM_PREFIX = "health:contact:slice:";
+
+    private final ProximityContactDetector detector;
+    private final ContactTraceRepository contactTraceRepo;
+    private final RedisCacheService redisCacheService;
+
+    @Value("${health.contact.radius-meters:10}")
+    private double radiusMeters = 10;
+
+    @Value("${health.contact.slice-seconds:300}")
+    private long sliceSeconds = 300;
+
+    @Value("${health.contact.idle-close-ms:120000}")
+    private long idleCloseMs = 120_000;
+
+    @Value("${health.contact.max-gap-slices:1}")
+    private int maxGapSlices = 1;
+
+    /** Open slices per farm before the oldest is closed early; bounds memory during long backfills. */
+    @Value("${health.contact.max-open-slices:288}")
+    private int maxOpenSlices = 288;
+
+    private final Map<Long, FarmState> farms = new ConcurrentHashMap<>();
+
+    public void record(Long farmId, Long livestockId, double latitude, double longitude, Instant recordedAt) {
+        long slice = Math.floorDiv(recordedAt.getEpochSecond(), sliceSeconds);
+        FarmState farm = farms.computeIfAbsent(farmId, id -> new FarmState());
+        synchronized (farm) {
+            Slice open = farm.slices.computeIfAbsent(slice, s -> new Slice());
+            Position previous = open.latest.get(livestockId);
+            if (previous == null || !recordedAt.isBefore(previous.recordedAt())) {
+                open.latest.put(livestockId, new Position(livestockId, latitude, longitude, recordedAt));
+            }
+            open.touchedAt = System.currentTimeMillis();
+        }
+    }
+
+    /** Closes idle slices of every farm and writes the episodes they touched. */
+    @Scheduled(fixedDelayString = "${health.contact.tick-ms:30000}")
+    @Transactional
+    public void closeIdleSlices() {
+        long now = System.currentTimeMillis();
+        List<ContactTrace> rows = new ArrayList<>();
+        List<String> claims = new ArrayList<>();
+        farms.forEach((farmId, farm) -> {
+            synchronized (farm) {
+                List<Long> due = new ArrayList<>();
+                farm.slices.forEach((slice, open) -> {
+                    if (now - open.touchedAt >= idleCloseMs) due.add(slice);
+                });
+                List<Long> byAge = new ArrayList<>(farm.slices.keySet());
+                byAge.sort(null);
+                for (int i = 0; i < byAge.size() - maxOpenSlices; i++) {
+                    if (!due.contains(byAge.get(i))) due.add(byAge.get(i));
+                }
+                due.sort(null);
+                for (Long slice : due) {
+                    close(farmId, farm, slice, farm.slices.remove(slice), rows, claims);
+                }
+                expireEpisodes(farm);
+            }
+        });
+        farms.entrySet().removeIf(e -> {
+            synchronized (e.getValue()) {
+                return e.getValue().slices.isEmpty() && e.getValue().episodes.isEmpty();
+            }
+        });
+        if (!rows.isEmpty()) {
+            try {
+                contactTraceRepo.upsertEpisodes(rows);
+            } catch (RuntimeException e) {
+                // Unclaim, so the slices are not taken as written by every node.
+                release(claims);
+                throw e;
+            }
+            log.debug("Wrote {} contact trace rows", rows.size());
+        }
+    }
+
+    private void close(Long farmId, FarmState farm, long slice, Slice open,
+                       List<ContactTrace> rows, List<String> claims) {
+        List<Contact> contacts = detector.detect(new ArrayList<>(open.latest.values()), radiusMeters);
+        farm.lastClosedSlice = Math.max(farm.lastClosedSlice, slice);
+        if (contacts.isEmpty()) return;
+
+        Map<Pair, Episode> touched = new LinkedHashMap<>();
+        for (Contact contact : contacts) {
+            Pair pair = new Pair(contact.livestockA(), contact.livestockB());
+            Episode episode = farm.episodes.get(pair);
+            if (episode == null || slice > episode.lastSlice + maxGapSlices + 1) {
+                episode = new Episode(slice);
+                farm.episodes.put(pair, episode);
+            } else if (slice < episode.firstSlice) {
+                // A late slice before the episode started: record it on its own
+                // rather than moving the episode's start (and so its row key).
+                episode = new Episode(slice);
+            }
+            episode.add(slice, contact);
+            touched.put(pair, episode);
+        }
+
+        if (!claim(farmId, slice, claims)) return;
+        touched.forEach((pair, episode) -> {
+            rows.add(toTrace(farmId, pair.a(), pair.b(), episode));
+            rows.add(toTrace(farmId, pair.b(), pair.a(), episode));
+        });
+    }
+
+    /** Drops episodes that can no longer be extended by an in-order slice. */
+    private void expireEpisodes(FarmState farm) {
+        farm.episodes.values().removeIf(e -> e.lastSlice + maxGapSlices + 1 < farm.lastClosedSlice);
+    }
+
+    /** Claims the slice's write for this node, adding the key to {@code claims} when taken. */
+    private boolean claim(Long farmId, long slice, List<String> claims) {
+        String key = SLICE_CLAIM_PREFIX + farmId + ":" + slice;
+        try {
+            if (!redisCacheService.setIfAbsent(key, "1", Duration.ofDays(1))) {
+                return false;
+            }
+            claims.add(key);
+            return true;
+        } catch (Exception e) {
+            log.debug("Contact slice claim failed for farm [{}] slice [{}]: {}", farmId, slice, e.getMessage());
+            return true;
+        }
+    }
+
+    private void release(List<String> claims) {
+        try {
+            redisCacheService.delete(claims);
+        } catch (Exception e) {
+            log.warn("Failed to release {} contact slice claims: {}", claims.size(), e.getMessage());
+        }
+    }
+
+    private ContactTrace toTrace(Long farmId, Long from, Long to, Episode episode) {
+        ContactTrace trace = new ContactTrace();
+        trace.setFarmId(farmId);
+        trace.setFromLivestockId(from);
+        trace.setToLivestockId(to);
+        trace.setProximityMeters(BigDecimal.valueOf(episode.minDistance).setScale(2, RoundingMode.HALF_UP));
+        trace.setContactDurationMinutes((int) ((episode.lastSlice - episode.firstSlice + 1) * sliceSeconds / 60));
+        trace.setLastContactAt(episode.lastContactAt);
+        trace.setEpisodeStartedAt(Instant.ofEpochSecond(episode.firstSlice * sliceSeconds));
+        return trace;
+    }
+
+    private static final class FarmState {
+        final Map<Long, Slice> slices = new HashMap<>();
+        final Map<Pair, Episode> episodes = new HashMap<>();
+        long lastClosedSlice = Long.MIN_VALUE;
+    }
+
+    private static final class Slice {
+        final Map<Long, Position> latest = new HashMap<>();
+        long touchedAt;
+    }
+
+    private static final class Episode {
+        final long firstSlice;
+        long lastSlice;
+        double minDistance = Double.MAX_VALUE;
+        Instant lastContactAt;
+
+        Episode(long firstSlice) {
+            this.firstSlice = firstSlice;
+            this.lastSlice = firstSlice;
+        }
+
+        void add(long slice, Contact contact) {
+            lastSlice = Math.max(lastSlice, slice);
+            minDistance = Math.min(minDistance, contact.distanceMeters());
+            if (lastContactAt == null || contact.at().isAfter(lastContactAt)) {
+                lastContactAt = contact.at();
+            }
+        }
+    }
+
+    private record Pair(Long a, Long b) {}
+}
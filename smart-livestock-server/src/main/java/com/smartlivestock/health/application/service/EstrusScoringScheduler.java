@@ -0,0 +1,68 @@
+package com.smartlivestock.health.application.service;
+
+import com.smartlivestock.health.domain.repository.HealthSnapshotRepository;
+import com.smartlivestock.shared.cache.RedisCacheService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Runs the herd estrus pass ({@link HerdEstrusService#scoreFarm}) for every farm each
+ * {@code health.estrus.tick-ms}, replacing the scoring that ran on every telemetry
+ * message. Nodes claim each farm's tick in Redis, so a farm is scored once per tick
+ * however many nodes run the scheduler.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EstrusScoringScheduler {
+
+    static final String CLAIM_PREFIX = "health:estrus:claim:";
+
+    private final HerdEstrusService herdEstrusService;
+    private final HealthSnapshotRepository snapshotRepo;
+    private final RedisCacheService redisCacheService;
+
+    @Value("${health.estrus.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${health.estrus.tick-ms:300000}")
+    private long tickMs = 300_000;
+
+    @Scheduled(fixedDelayString = "${health.estrus.tick-ms:300000}",
+            initialDelayString = "${health.estrus.tick-ms:300000}")
+    public void tick() {
+        if (!enabled) return;
+        Instant now = Instant.now();
+        long slot = now.toEpochMilli() / tickMs;
+        int farms = 0;
+        int written = 0;
+        for (Long farmId : snapshotRepo.findFarmIds()) {
+            if (!claim(farmId, slot)) continue;
+            try {
+                written += herdEstrusService.scoreFarm(farmId, now);
+                farms++;
+            } catch (Exception e) {
+                log.warn("Estrus pass failed for farm [{}]: {}", farmId, e.getMessage());
+            }
+        }
+        if (farms > 0) {
+            log.info("Estrus pass scored {} farm(s), {} changed score(s)", farms, written);
+        }
+    }
+
+    private boolean claim(Long farmId, long slot) {
+        try {
+            return redisCacheService.setIfAbsent(CLAIM_PREFIX + farmId + ":" + slot, "1",
+                    Duration.ofMillis(tickMs * 2));
+        } catch (Exception e) {
+            log.debug("Estrus claim failed for farm [{}] slot [{}]: {}", farmId, slot, e.getMessage());
+            return true;
+        }
+    }
+}
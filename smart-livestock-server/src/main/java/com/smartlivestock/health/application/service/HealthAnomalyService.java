@@ -4,6 +4,7 @@ import com.smartlivestock.health.application.port.AnomalyScoreClient;
 import com.smartlivestock.health.application.dto.HealthDtos.AiAnomalySummary;
 import com.smartlivestock.health.application.port.AnomalyScoreClient.AnomalyPrediction;
 import com.smartlivestock.health.domain.model.AnomalyScore;
+import com.smartlivestock.health.domain.model.HealthSnapshot;
 import com.smartlivestock.health.domain.port.RanchCommandPort;
 import com.smartlivestock.health.domain.port.dto.AlertInfo;
 import com.smartlivestock.health.domain.repository.AnomalyScoreRepository;
@@ -19,13 +20,15 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
  * AI anomaly detection orchestration (Phase A design SS3.1 method A).
- * Called from HealthApplicationService.processTelemetry() tail.
+ * Telemetry marks livestock on {@link AnomalyAssessmentScheduler}, which calls
+ * ai-platform in batches and persists them through {@link #recordPredictions}.
  * Dedup via Redis, calls ai-platform, writes anomaly_scores + health_snapshots AI columns,
  * raises AI alerts when score exceeds threshold.
  */
@@ -39,6 +42,7 @@ public class HealthAnomalyService {
     private final HealthSnapshotRepository snapshotRepo;
     private final RanchCommandPort ranchCommandPort;
     private final RedisCacheService redis;
+    private final HerdHealthAggregateStore herdAggregateStore;
 
     @Value("${ai.alert.threshold:0.7}")
     private double alertThreshold;
@@ -46,7 +50,7 @@ public class HealthAnomalyService {
     @Value("${ai.dedup.ttl-minutes:60}")
     private int dedupTtlMinutes;
 
-    private static final String DEDUP_KEY_PREFIX = "ai:dedup:";
+    static final String DEDUP_KEY_PREFIX = "ai:dedup:";
 
     /**
      * Assess a single livestock health anomaly via ai-platform.
@@ -90,49 +94,65 @@ public class HealthAnomalyService {
 
         // 3. Write anomaly_scores
         Instant now = Instant.now();
-        AnomalyScore score = new AnomalyScore();
-        score.setTenantId(tenantId);
-        score.setFarmId(farmId);
-        score.setLivestockId(livestockId);
-        score.setWindowStart(now.minus(Duration.ofHours(24)));
-        score.setWindowEnd(now);
-        score.setAnomalyScore(BigDecimal.valueOf(pred.anomalyScore()).setScale(3, RoundingMode.HALF_UP));
-        score.setAnomalyType(pred.anomalyType());
-        Map<String, Object> contributions = new HashMap<>();
-        contributions.put("stl", pred.stlContribution());
-        contributions.put("cusum", pred.cusumContribution());
-        contributions.put("joint", pred.jointContribution());
-        score.setContributions(contributions);
-        score.setCapabilityUsed(pred.capabilityUsed());
-        score.setNEff(pred.nEff());
-        score.setSource(telemetrySource);
+        AnomalyScore score = toScore(tenantId, farmId, pred, telemetrySource, now);
         anomalyScoreRepo.save(score);
 
         // 4. Update health_snapshots AI columns
         snapshotRepo.findByLivestockId(livestockId).ifPresent(snap -> {
+            Map<String, Long> before = herdAggregateStore.contributionOf(snap);
             snap.setAiAnomalyScore(score.getAnomalyScore());
             snap.setAiAnomalyType(pred.anomalyType());
             snap.setAiAssessedAt(now);
             snapshotRepo.save(snap);
+            herdAggregateStore.apply(snap.getFarmId(), before, herdAggregateStore.contributionOf(snap));
         });
 
         // 5. Raise AI alert if over threshold
-        if (pred.anomalyScore() >= alertThreshold) {
-            String alertType = mapAnomalyTypeToAlertType(pred.anomalyType());
-            String severity = pred.anomalyScore() >= 0.85 ? "CRITICAL" : "WARNING";
-            ranchCommandPort.createAlert(new AlertInfo(
-                    farmId, livestockId, alertType, severity,
-                    buildAlertMessage(pred), telemetrySource, "alert.ai.anomaly",
-                    java.util.List.of(
-                            pred.anomalyType(),
-                            String.format("%.3f", pred.anomalyScore()),
-                            String.valueOf(pred.nEff()))));
-        }
+        raiseAlertIfNeeded(farmId, livestockId, pred, telemetrySource);
 
         // 6. Set dedup key
         redis.set(dedupKey, "1", Duration.ofMinutes(dedupTtlMinutes));
     }
 
+    /**
+     * Persists one ai-platform batch for {@link AnomalyAssessmentScheduler}: all scores in
+     * one batched insert, all snapshot AI columns in one batched update, then any alerts.
+     * Normal predictions are skipped as in {@link #assess}. Dedup keys are left to the
+     * caller, which sets them once this transaction has committed.
+     *
+     * @param sources telemetry source per livestock id of the batch
+     * @return number of scores written
+     */
+    @Transactional
+    public int recordPredictions(Long tenantId, Long farmId, List<AnomalyPrediction> predictions,
+                                 Map<Long, String> sources) {
+        Instant now = Instant.now();
+        List<AnomalyScore> scores = new ArrayList<>();
+        List<AnomalyPrediction> scored = new ArrayList<>();
+        for (AnomalyPrediction pred : predictions) {
+            String source = sources.get(pred.livestockId());
+            if (source == null || pred.anomalyScore() < 0.001) {
+                continue;
+            }
+            scores.add(toScore(tenantId, farmId, pred, source, now));
+            scored.add(pred);
+        }
+        if (scores.isEmpty()) {
+            return 0;
+        }
+
+        // Read before the batched update, which bypasses the persistence context.
+        List<HealthSnapshot> snapshots = snapshotRepo.findByLivestockIds(
+                scores.stream().map(AnomalyScore::getLivestockId).toList());
+        anomalyScoreRepo.saveAllBatch(scores);
+        snapshotRepo.updateAiAssessments(scores, now);
+        applyToHerdAggregate(farmId, snapshots, scores, now);
+        for (AnomalyPrediction pred : scored) {
+            raiseAlertIfNeeded(farmId, pred.livestockId(), pred, sources.get(pred.livestockId()));
+        }
+        return scores.size();
+    }
+
     /**
      * Read-only query for embedding AI anomaly summary into detail responses.
      * Pure DB read (anomaly_scores table), does NOT call ai-platform.
@@ -148,6 +168,60 @@ public class HealthAnomalyService {
                 ));
     }
 
+    /** Sums the batch's before/after contributions so the farm's aggregate gets a single update. */
+    private void applyToHerdAggregate(Long farmId, List<HealthSnapshot> snapshots, List<AnomalyScore> scores,
+                                      Instant now) {
+        Map<Long, AnomalyScore> byLivestock = new HashMap<>();
+        scores.forEach(s -> byLivestock.put(s.getLivestockId(), s));
+        Map<String, Long> before = new HashMap<>();
+        Map<String, Long> after = new HashMap<>();
+        for (HealthSnapshot snap : snapshots) {
+            herdAggregateStore.contributionOf(snap).forEach((f, v) -> before.merge(f, v, Long::sum));
+            AnomalyScore score = byLivestock.get(snap.getLivestockId());
+            snap.setAiAnomalyScore(score.getAnomalyScore());
+            snap.setAiAnomalyType(score.getAnomalyType());
+            snap.setAiAssessedAt(now);
+            herdAggregateStore.contributionOf(snap).forEach((f, v) -> after.merge(f, v, Long::sum));
+        }
+        herdAggregateStore.apply(farmId, before, after);
+    }
+
+    private AnomalyScore toScore(Long tenantId, Long farmId, AnomalyPrediction pred,
+                                 String telemetrySource, Instant now) {
+        AnomalyScore score = new AnomalyScore();
+        score.setTenantId(tenantId);
+        score.setFarmId(farmId);
+        score.setLivestockId(pred.livestockId());
+        score.setWindowStart(now.minus(Duration.ofHours(24)));
+        score.setWindowEnd(now);
+        score.setAnomalyScore(BigDecimal.valueOf(pred.anomalyScore()).setScale(3, RoundingMode.HALF_UP));
+        score.setAnomalyType(pred.anomalyType());
+        Map<String, Object> contributions = new HashMap<>();
+        contributions.put("stl", pred.stlContribution());
+        contributions.put("cusum", pred.cusumContribution());
+        contributions.put("joint", pred.jointContribution());
+        score.setContributions(contributions);
+        score.setCapabilityUsed(pred.capabilityUsed());
+        score.setNEff(pred.nEff());
+        score.setSource(telemetrySource);
+        return score;
+    }
+
+    private void raiseAlertIfNeeded(Long farmId, Long livestockId, AnomalyPrediction pred, String telemetrySource) {
+        if (pred.anomalyScore() < alertThreshold) {
+            return;
+        }
+        String alertType = mapAnomalyTypeToAlertType(pred.anomalyType());
+        String severity = pred.anomalyScore() >= 0.85 ? "CRITICAL" : "WARNING";
+        ranchCommandPort.createAlert(new AlertInfo(
+                farmId, livestockId, alertType, severity,
+                buildAlertMessage(pred), telemetrySource, "alert.ai.anomaly",
+                java.util.List.of(
+                        pred.anomalyType(),
+                        String.format("%.3f", pred.anomalyScore()),
+                        String.valueOf(pred.nEff()))));
+    }
+
     private String mapAnomalyTypeToAlertType(String anomalyType) {
         return switch (anomalyType) {
             case "abrupt_change", "circadian_disruption" -> "TEMPERATURE_ABNORMAL";
@@ -2,6 +2,7 @@ package com.smartlivestock.health.application.service;
 
 import com.smartlivestock.health.application.dto.HealthDtos;
 import com.smartlivestock.health.application.dto.HealthDtos.*;
+import com.smartlivestock.health.domain.event.HealthSnapshotsChangedEvent;
 import com.smartlivestock.health.domain.port.HealthSubscriptionPort;
 import com.smartlivestock.health.domain.port.RanchQueryPort;
 import com.smartlivestock.health.domain.port.RanchCommandPort;
@@ -13,6 +14,7 @@ import com.smartlivestock.health.domain.repository.*;
 import com.smartlivestock.health.domain.service.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,6 +24,7 @@ import java.time.Instant;
 import java.util.*;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -38,13 +41,18 @@ public class HealthApplicationService {
     private final RanchCommandPort ranchCommandPort;
     private final HealthSubscriptionPort subscriptionPort;
     private final HealthAnomalyService healthAnomalyService;
+    private final HealthWindowStore healthWindowStore;
+    private final HerdHealthAggregateStore herdAggregateStore;
+    private final AnomalyAssessmentScheduler anomalyAssessmentScheduler;
+    private final HealthRollupService rollupService;
+    private final LocalAnomalyService localAnomalyService;
+    private final ApplicationEventPublisher eventPublisher;
 
     private final FeverAnalysisService feverService;
     private final DigestiveAnalysisService digestiveService;
     private final EstrusAnalysisService estrusAnalysisService;
     private final EpidemicAnalysisService epidemicService;
 
-    private static final BigDecimal DEFAULT_BASELINE_TEMP = new BigDecimal("38.5");
     private static final BigDecimal DEFAULT_MOTILITY_BASELINE = new BigDecimal("3.0");
     private static final java.time.ZoneId DISPLAY_ZONE = java.time.ZoneId.of("Asia/Shanghai");
 
@@ -56,67 +64,162 @@ public class HealthApplicationService {
      * Branches on telemetry type:
      * - CAPSULE: ingest temperature + motility + activity, then refresh snapshot
      * - TRACKER: ingest activity (step_count + distance_meters), then refresh snapshot
+     * <p>
+     * The snapshot is loaded once and saved once per message; the assessments read the
+     * livestock's {@link HealthWindow}, updated with this message's readings, instead
+     * of querying the log tables again.
      */
     @Transactional
-    @SuppressWarnings("unchecked")
     public void processTelemetry(Long deviceId, Long livestockId, Long farmId,
                                   DeviceType deviceType,
                                   Map<String, Object> readings,
                                   Instant recordedAt,
                                   String source) {
+        processTelemetryBatch(List.of(
+                new TelemetryMessage(deviceId, livestockId, farmId, deviceType, readings, recordedAt, source)));
+    }
+
+    /**
+     * Processes several telemetry messages in one transaction, in order. Each livestock's
+     * messages are applied one after another to its snapshot and window, exactly as
+     * {@link #processTelemetry} would, but the snapshot is loaded and saved once per
+     * livestock and the logs of all messages are written in one batch per table.
+     */
+    @Transactional
+    public void processTelemetryBatch(List<TelemetryMessage> messages) {
+        Map<Long, List<TelemetryMessage>> byLivestock = new LinkedHashMap<>();
+        for (TelemetryMessage message : messages) {
+            byLivestock.computeIfAbsent(message.livestockId(), id -> new ArrayList<>()).add(message);
+        }
+
+        List<TemperatureLog> tempLogs = new ArrayList<>();
+        List<RumenMotilityLog> motilityLogs = new ArrayList<>();
+        List<ActivityLog> activityLogs = new ArrayList<>();
+        Map<Long, List<HealthSnapshotsChangedEvent.Change>> changesByFarm = new LinkedHashMap<>();
+        byLivestock.forEach((livestockId, livestockMessages) -> {
+            HealthSnapshotsChangedEvent.Change change = processLivestockTelemetry(
+                    livestockId, livestockMessages, tempLogs, motilityLogs, activityLogs);
+            if (change != null) {
+                changesByFarm.computeIfAbsent(livestockMessages.get(0).farmId(), f -> new ArrayList<>()).add(change);
+            }
+        });
+
+        // Plain JDBC batches: one round trip per table however many messages were coalesced.
+        if (!tempLogs.isEmpty()) tempLogRepo.saveAllBatch(tempLogs);
+        if (!motilityLogs.isEmpty()) motilityLogRepo.saveAllBatch(motilityLogs);
+        if (!activityLogs.isEmpty()) activityLogRepo.saveAllBatch(activityLogs);
+        rollupService.record(tempLogs, motilityLogs, activityLogs);
+        changesByFarm.forEach((farmId, changes) ->
+                eventPublisher.publishEvent(new HealthSnapshotsChangedEvent(farmId, changes)));
+    }
+
+    /** @return the snapshot's new statuses when the messages changed them, otherwise {@code null} */
+    private HealthSnapshotsChangedEvent.Change processLivestockTelemetry(Long livestockId, List<TelemetryMessage> messages,
+                                           List<TemperatureLog> tempLogs,
+                                           List<RumenMotilityLog> motilityLogs,
+                                           List<ActivityLog> activityLogs) {
+        Long farmId = messages.get(0).farmId();
+
+        // UPSERT: ensure snapshot row exists (race-safe, idempotent)
+        boolean created = snapshotRepo.ensureSnapshotExists(livestockId, farmId);
+        HealthSnapshot snapshot = snapshotRepo.findByLivestockId(livestockId)
+                .orElseThrow(() -> new IllegalStateException(
+                        "HealthSnapshot not found after ensureSnapshotExists for livestock " + livestockId));
+        Map<String, Long> herdContribution = created ? null : herdAggregateStore.contributionOf(snapshot);
+        TempStatus tempBefore = created ? null : snapshot.getTempStatus();
+        MotilityStatus motilityBefore = created ? null : snapshot.getMotilityStatus();
+        BigDecimal baseline = snapshot.getBaselineTemp() != null ? snapshot.getBaselineTemp() : HealthSnapshot.DEFAULT_BASELINE_TEMP;
+        HealthWindow window = healthWindowStore.get(livestockId);
+
+        int tempsFrom = tempLogs.size();
+        int motilityFrom = motilityLogs.size();
+        int activityFrom = activityLogs.size();
+        String effectiveSource = null;
+        for (TelemetryMessage message : messages) {
+            effectiveSource = normalizeSource(message.source());
+            applyTelemetry(message, effectiveSource, snapshot, baseline, window, tempLogs, motilityLogs, activityLogs);
+        }
+
+        snapshot.setLastAssessedAt(Instant.now());
+        snapshotRepo.save(snapshot);
+        healthWindowStore.put(livestockId, window);
+        herdAggregateStore.apply(farmId, herdContribution, herdAggregateStore.contributionOf(snapshot));
+
+        localAnomalyService.observe(livestockId,
+                tempLogs.subList(tempsFrom, tempLogs.size()),
+                motilityLogs.subList(motilityFrom, motilityLogs.size()),
+                activityLogs.subList(activityFrom, activityLogs.size()));
+        // AI anomaly detection runs batched on its own threads; this only marks the livestock.
+        anomalyAssessmentScheduler.markDirty(farmId, livestockId, effectiveSource);
+
+        if (snapshot.getTempStatus() == tempBefore && snapshot.getMotilityStatus() == motilityBefore) {
+            return null;
+        }
+        return new HealthSnapshotsChangedEvent.Change(livestockId,
+                statusName(snapshot.getTempStatus()), statusName(snapshot.getMotilityStatus()), null);
+    }
+
+    private static String statusName(Enum<?> status) {
+        return status != null ? status.name() : "NORMAL";
+    }
+
+    @SuppressWarnings("unchecked")
+    private void applyTelemetry(TelemetryMessage message, String effectiveSource, HealthSnapshot snapshot,
+                                BigDecimal baseline, HealthWindow window,
+                                List<TemperatureLog> tempLogs, List<RumenMotilityLog> motilityLogs,
+                                List<ActivityLog> activityLogs) {
+        Long deviceId = message.deviceId();
+        Long livestockId = message.livestockId();
+        DeviceType deviceType = message.deviceType();
+        Map<String, Object> readings = message.readings();
+        Instant recordedAt = message.recordedAt();
         log.debug("Processing telemetry for livestock [{}] deviceType [{}]", livestockId, deviceType);
-        String effectiveSource = normalizeSource(source);
 
         BigDecimal temperature = toBigDecimal(readings.get("temperature"));
         BigDecimal motilityFrequency = null;
 
         if (deviceType == DeviceType.CAPSULE) {
+            // A temperatures array (5-minute samples, newest last) is written in one batch,
+            // so a platform backfill of hours of samples costs a single round trip.
+            List<TemperatureLog> messageTemps = new ArrayList<>();
             Object tempsObj = readings.get("temperatures");
             if (tempsObj instanceof java.util.List<?> temps) {
                 for (int i = 0; i < temps.size(); i++) {
                     BigDecimal temp = toBigDecimal(temps.get(i));
                     Instant pointTime = recordedAt.minus(java.time.Duration.ofMinutes(5L * (temps.size() - 1 - i)));
-                    ingestTemperature(deviceId, livestockId, temp, pointTime, effectiveSource);
+                    addTemperature(messageTemps, deviceId, livestockId, temp, baseline, pointTime, effectiveSource);
                 }
                 if (!temps.isEmpty()) {
                     temperature = toBigDecimal(temps.get(temps.size() - 1));
                 }
             } else if (temperature != null) {
-                ingestTemperature(deviceId, livestockId, temperature, recordedAt, effectiveSource);
+                addTemperature(messageTemps, deviceId, livestockId, temperature, baseline, recordedAt, effectiveSource);
             }
+            messageTemps.forEach(window::addTemperature);
+            tempLogs.addAll(messageTemps);
 
             Object motilityObj = readings.get("gastricMotility");
             if (motilityObj != null) {
                 motilityFrequency = toBigDecimal(motilityObj).divide(new BigDecimal("100000"), 2, java.math.RoundingMode.HALF_UP);
-                ingestMotility(deviceId, livestockId, motilityFrequency, BigDecimal.ZERO,
+                ingestMotility(motilityLogs, deviceId, livestockId, motilityFrequency, BigDecimal.ZERO,
                         recordedAt, effectiveSource);
             }
 
-            ingestActivity(deviceId, livestockId,
+            ingestActivity(activityLogs, deviceId, livestockId,
                     toBigDecimal(readings.get("activityIndex")),
                     toInteger(readings.get("stepCount")),
                     toBigDecimal(readings.get("distanceMeters")),
-                    recordedAt, effectiveSource);
+                    recordedAt, effectiveSource, window);
 
         } else if (deviceType == DeviceType.TRACKER) {
-            ingestActivity(deviceId, livestockId,
+            ingestActivity(activityLogs, deviceId, livestockId,
                     toBigDecimal(readings.get("activityIndex")),
                     toInteger(readings.get("stepCount")),
                     toBigDecimal(readings.get("distanceMeters")),
-                    recordedAt, effectiveSource);
+                    recordedAt, effectiveSource, window);
         }
 
-        refreshSnapshot(livestockId, farmId, deviceType.name(), temperature,
-                motilityFrequency, effectiveSource);
-
-        // AI anomaly detection — temporarily disabled in processTelemetry.
-        // REQUIRES_NEW transaction corruption under backlog caused all telemetry
-        // processing to fail. TODO: move assess() to async scheduler.
-        // try {
-        //     healthAnomalyService.assess(1L, farmId, livestockId);
-        // } catch (Exception e) {
-        //     log.warn("AI anomaly assessment failed for livestock [{}]: {}", livestockId, e.getMessage());
-        // }
+        refreshSnapshot(snapshot, window, deviceType.name(), temperature, motilityFrequency);
     }
 
     private String normalizeSource(String source) {
@@ -140,26 +243,22 @@ public class HealthApplicationService {
         return Integer.parseInt(value.toString());
     }
 
-    private void ingestTemperature(Long deviceId, Long livestockId,
-                                    BigDecimal temperature, Instant recordedAt, String source) {
+    private void addTemperature(List<TemperatureLog> logs, Long deviceId, Long livestockId,
+                                BigDecimal temperature, BigDecimal baseline, Instant recordedAt,
+                                String source) {
         if (temperature == null) return;
 
         TemperatureLog log = new TemperatureLog();
         log.setLivestockId(livestockId);
         log.setDeviceId(deviceId);
         log.setTemperature(temperature);
-
-        HealthSnapshot snapshot = snapshotRepo.findByLivestockId(livestockId).orElse(null);
-        BigDecimal baseline = (snapshot != null && snapshot.getBaselineTemp() != null)
-                ? snapshot.getBaselineTemp() : DEFAULT_BASELINE_TEMP;
         log.setBaselineTemp(baseline);
-
         log.setRecordedAt(recordedAt);
         log.setSource(source);
-        tempLogRepo.save(log);
+        logs.add(log);
     }
 
-    private void ingestMotility(Long deviceId, Long livestockId,
+    private void ingestMotility(List<RumenMotilityLog> logs, Long deviceId, Long livestockId,
                                  BigDecimal frequency, BigDecimal intensity, Instant recordedAt,
                                  String source) {
         if (frequency == null) return;
@@ -171,12 +270,13 @@ public class HealthApplicationService {
         log.setIntensity(intensity);
         log.setRecordedAt(recordedAt);
         log.setSource(source);
-        motilityLogRepo.save(log);
+        logs.add(log);
     }
 
-    private void ingestActivity(Long deviceId, Long livestockId,
+    private void ingestActivity(List<ActivityLog> logs, Long deviceId, Long livestockId,
                                  BigDecimal activityIndex, Integer stepCount,
-                                 BigDecimal distanceMeters, Instant recordedAt, String source) {
+                                 BigDecimal distanceMeters, Instant recordedAt, String source,
+                                 HealthWindow window) {
         if (activityIndex == null && stepCount == null && distanceMeters == null) return;
 
         ActivityLog log = new ActivityLog();
@@ -187,25 +287,17 @@ public class HealthApplicationService {
         log.setDistanceMeters(distanceMeters);
         log.setRecordedAt(recordedAt);
         log.setSource(source);
-        activityLogRepo.save(log);
+        window.addActivity(log);
+        logs.add(log);
     }
 
-   private void refreshSnapshot(Long livestockId, Long farmId, String telemetryType,
-                                 BigDecimal latestTemp, BigDecimal latestMotilityFrequency,
-                                 String source) {
-        // UPSERT: ensure snapshot row exists (race-safe, idempotent)
-        snapshotRepo.ensureSnapshotExists(livestockId, farmId);
-
-        // Now guaranteed to exist — fetch and update
-        HealthSnapshot snapshot = snapshotRepo.findByLivestockId(livestockId)
-                .orElseThrow(() -> new IllegalStateException(
-                        "HealthSnapshot not found after ensureSnapshotExists for livestock " + livestockId));
-
+   private void refreshSnapshot(HealthSnapshot snapshot, HealthWindow window, String telemetryType,
+                                 BigDecimal latestTemp, BigDecimal latestMotilityFrequency) {
         // Update temperature status
         if ("CAPSULE".equals(telemetryType) && latestTemp != null) {
             snapshot.setCurrentTemp(latestTemp);
 
-            List<TemperatureLog> recentTemps = tempLogRepo.findByLivestockIdOrderByRecordedAtDesc(livestockId, 10);
+            List<TemperatureLog> recentTemps = window.recentTemperatures(10);
             TemperatureLog latestTempLog = recentTemps.isEmpty() ? null : recentTemps.get(0);
             TempStatus tempStatus = feverService.assessStatus(latestTempLog, recentTemps);
             snapshot.setTempStatus(tempStatus);
@@ -221,7 +313,7 @@ public class HealthApplicationService {
         }
 
         // Update activity status from latest activity log
-        List<ActivityLog> recentActivities = activityLogRepo.findByLivestockIdOrderByRecordedAtDesc(livestockId, 5);
+        List<ActivityLog> recentActivities = window.recentActivities(5);
         if (!recentActivities.isEmpty()) {
             BigDecimal idx = recentActivities.get(0).getActivityIndex();
             if (idx != null) {
@@ -229,78 +321,7 @@ public class HealthApplicationService {
             }
         }
 
-        snapshot.setLastAssessedAt(Instant.now());
-        snapshotRepo.save(snapshot);
-
-        // Trigger estrus scoring
-        triggerEstrusScoring(livestockId, farmId, source);
-    }
-
-    private void triggerEstrusScoring(Long livestockId, Long farmId, String source) {
-        List<ActivityLog> recentActivities = activityLogRepo.findByLivestockIdOrderByRecordedAtDesc(livestockId, 7);
-        List<TemperatureLog> recentTemps = tempLogRepo.findByLivestockIdOrderByRecordedAtDesc(livestockId, 7);
-
-        if (recentActivities.size() < 3 || recentTemps.size() < 2) return;
-
-        int stepIncreasePercent = calculateStepIncreasePercent(recentActivities);
-        BigDecimal tempDelta = calculateTempDelta(recentTemps);
-        BigDecimal distanceDelta = calculateDistanceDelta(recentActivities);
-
-        int score = estrusAnalysisService.calculateScore(stepIncreasePercent, tempDelta, distanceDelta);
-
-        EstrusScore estrusScore = new EstrusScore();
-        estrusScore.setFarmId(farmId);
-        estrusScore.setLivestockId(livestockId);
-        estrusScore.setScore(score);
-        estrusScore.setStepIncreasePercent(stepIncreasePercent);
-        estrusScore.setTempDelta(tempDelta);
-        estrusScore.setDistanceDelta(distanceDelta);
-        estrusScore.setAdvice(estrusAnalysisService.generateAdvice(score));
-        estrusScore.setScoredAt(Instant.now());
-        estrusScore.setSource(source);
-        estrusScoreRepo.save(estrusScore);
-
-        // Update snapshot with estrus score
-        HealthSnapshot snapshot = snapshotRepo.findByLivestockId(livestockId).orElse(null);
-        if (snapshot != null) {
-            snapshot.setEstrusScore(score);
-            snapshotRepo.save(snapshot);
-        }
-    }
-
-    private int calculateStepIncreasePercent(List<ActivityLog> logs) {
-        if (logs.size() < 2) return 0;
-        int recentSteps = logs.stream()
-                .limit(3)
-                .mapToInt(l -> l.getStepCount() != null ? l.getStepCount() : 0)
-                .sum();
-        int olderSteps = logs.stream()
-                .skip(3)
-                .mapToInt(l -> l.getStepCount() != null ? l.getStepCount() : 0)
-                .sum();
-        if (olderSteps == 0) return recentSteps > 0 ? 100 : 0;
-        return Math.round((float) (recentSteps - olderSteps) / olderSteps * 100);
-    }
-
-    private BigDecimal calculateTempDelta(List<TemperatureLog> logs) {
-        if (logs.size() < 2) return BigDecimal.ZERO;
-        BigDecimal latest = logs.get(0).getTemperature();
-        BigDecimal baseline = logs.get(logs.size() - 1).getBaselineTemp();
-        if (baseline == null) baseline = DEFAULT_BASELINE_TEMP;
-        return latest.subtract(baseline);
-    }
-
-    private BigDecimal calculateDistanceDelta(List<ActivityLog> logs) {
-        if (logs.size() < 2) return BigDecimal.ZERO;
-        BigDecimal recentDist = logs.stream()
-                .limit(3)
-                .map(l -> l.getDistanceMeters() != null ? l.getDistanceMeters() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        BigDecimal olderDist = logs.stream()
-                .skip(3)
-                .map(l -> l.getDistanceMeters() != null ? l.getDistanceMeters() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        return recentDist.subtract(olderDist);
+        // Estrus is scored herd-wide by EstrusScoringScheduler, not per message.
     }
 
     private ActivityStatus assessActivityStatus(BigDecimal activityIndex) {
@@ -314,55 +335,32 @@ public class HealthApplicationService {
     // ── Overview ────────────────────────────────────────────────
 
     public HealthOverviewResponse getOverview(Long farmId) {
-        List<HealthSnapshot> snapshots = snapshotRepo.findByFarmId(farmId);
-        List<LivestockInfo> livestockList = ranchQueryPort.findAllByFarmId(farmId);
-        int total = livestockList.size();
-
-        long healthyCount = snapshots.stream()
-                .filter(s -> s.getTempStatus() == TempStatus.NORMAL
-                        && s.getMotilityStatus() == MotilityStatus.NORMAL)
-                .count();
+        HerdHealthAggregate herd = herdAggregateStore.get(farmId);
+        int total = ranchQueryPort.countByFarmId(farmId);
+
+        long healthyCount = herd.healthyCount();
         Double healthyRate = total > 0 ? (double) healthyCount / total : null;
 
         int alertCount = ranchQueryPort.countActiveAlertsByFarmId(farmId);
-        int criticalCount = (int) snapshots.stream()
-                .filter(s -> s.getTempStatus() == TempStatus.CRITICAL).count();
-
-        int feverAbnormal = (int) snapshots.stream()
-                .filter(s -> s.getTempStatus() == TempStatus.FEVER || s.getTempStatus() == TempStatus.CRITICAL)
-                .count();
-        int feverCritical = (int) snapshots.stream()
-                .filter(s -> s.getTempStatus() == TempStatus.CRITICAL).count();
-
-        int digestiveAbnormal = (int) snapshots.stream()
-                .filter(s -> s.getMotilityStatus() == MotilityStatus.ABNORMAL).count();
-        int digestiveWatch = (int) snapshots.stream()
-                .filter(s -> s.getMotilityStatus() == MotilityStatus.LOW).count();
-
-        List<EstrusScore> estrusScores = estrusScoreRepo.findByFarmIdOrderByScoredAtDesc(farmId);
-        int estrusHigh = (int) estrusScores.stream()
-                .filter(e -> e.getScore() >= 70).count();
-        boolean breedingAdvice = estrusScores.stream().anyMatch(e -> e.getScore() >= 70);
-
-       EpidemicAnalysisService.HerdMetrics metrics = epidemicService.calculateHerdMetrics(snapshots);
+        int criticalCount = herd.criticalCount();
+
+        int feverAbnormal = herd.feverAbnormalCount();
+        int feverCritical = herd.criticalCount();
+
+        int digestiveAbnormal = herd.digestiveAbnormalCount();
+        int digestiveWatch = herd.digestiveWatchCount();
+
+        int estrusHigh = herd.estrusHighCount();
+        boolean breedingAdvice = estrusHigh > 0;
+
+       EpidemicAnalysisService.HerdMetrics metrics = epidemicService.calculateHerdMetrics(herd);
        String riskLevel = epidemicService.assessRiskLevel(metrics.abnormalRate());
 
         // AI anomaly stats
-        var aiSnapshots = snapshots.stream()
-                .filter(s -> s.getAiAnomalyScore() != null && s.getAiAnomalyScore().doubleValue() > 0)
-                .toList();
-        int aiAnomalyCount = aiSnapshots.size();
-        int aiHighScoreCount = (int) aiSnapshots.stream()
-                .filter(s -> s.getAiAnomalyScore().doubleValue() >= 0.7).count();
-        double aiAvgScore = aiSnapshots.isEmpty() ? 0.0
-                : aiSnapshots.stream()
-                        .mapToDouble(s -> s.getAiAnomalyScore().doubleValue())
-                        .average().orElse(0.0);
-        double aiAvgAllScore = snapshots.isEmpty() ? 0.0
-                : snapshots.stream()
-                        .filter(s -> s.getAiAnomalyScore() != null)
-                        .mapToDouble(s -> s.getAiAnomalyScore().doubleValue())
-                        .average().orElse(0.0);
+        int aiAnomalyCount = herd.aiAnomalyCount();
+        int aiHighScoreCount = herd.aiHighScoreCount();
+        double aiAvgScore = herd.aiAvgScore();
+        double aiAvgAllScore = herd.aiAvgAllScore();
 
         HealthOverviewStats stats = new HealthOverviewStats(
                 total, healthyRate != null ? Math.round(healthyRate * 100.0) / 100.0 : null,
@@ -378,10 +376,11 @@ public class HealthApplicationService {
                         Math.round(aiAvgScore * 1000.0) / 1000.0));
 
         List<PendingTask> tasks = new ArrayList<>();
-        for (HealthSnapshot snap : snapshots) {
+        List<HealthSnapshot> attention = needingAttention(farmId);
+        Map<Long, LivestockInfo> livestock = findLivestock(attention.stream().map(HealthSnapshot::getLivestockId));
+        for (HealthSnapshot snap : attention) {
+            String code = codeOf(livestock, snap.getLivestockId());
             if (snap.getTempStatus() == TempStatus.CRITICAL) {
-                String code = ranchQueryPort.findLivestockById(snap.getLivestockId())
-                        .map(LivestockInfo::livestockCode).orElse("?");
                tasks.add(new PendingTask(
                        "fever-" + snap.getLivestockId(),
                         code + " Critical Temperature",
@@ -389,8 +388,6 @@ public class HealthApplicationService {
                         "fever", "High"));
            }
            if (snap.getMotilityStatus() == MotilityStatus.ABNORMAL) {
-               String code = ranchQueryPort.findLivestockById(snap.getLivestockId())
-                       .map(LivestockInfo::livestockCode).orElse("?");
                tasks.add(new PendingTask(
                        "digestive-" + snap.getLivestockId(),
                         code + " Digestive Abnormal",
@@ -402,17 +399,39 @@ public class HealthApplicationService {
         return new HealthOverviewResponse(stats, sceneSummary, tasks);
     }
 
+    /** Livestock of a read model's rows, resolved in one lookup. */
+    private Map<Long, LivestockInfo> findLivestock(Stream<Long> livestockIds) {
+        Set<Long> ids = livestockIds.filter(Objects::nonNull).collect(Collectors.toSet());
+        return ids.isEmpty() ? Map.of() : ranchQueryPort.findLivestockByIds(ids);
+    }
+
+    private static String codeOf(Map<Long, LivestockInfo> livestock, Long livestockId) {
+        LivestockInfo info = livestock.get(livestockId);
+        return info != null ? info.livestockCode() : "?";
+    }
+
+    /** Snapshots with a CRITICAL temperature or ABNORMAL motility, each once. */
+    private List<HealthSnapshot> needingAttention(Long farmId) {
+        Map<Long, HealthSnapshot> byLivestock = new LinkedHashMap<>();
+        for (HealthSnapshot s : snapshotRepo.findWithAbnormalTemp(farmId)) {
+            if (s.getTempStatus() == TempStatus.CRITICAL) byLivestock.put(s.getLivestockId(), s);
+        }
+        for (HealthSnapshot s : snapshotRepo.findWithAbnormalMotility(farmId)) {
+            if (s.getMotilityStatus() == MotilityStatus.ABNORMAL) byLivestock.putIfAbsent(s.getLivestockId(), s);
+        }
+        return new ArrayList<>(byLivestock.values());
+    }
+
     // ── Fever ───────────────────────────────────────────────────
 
     public FeverListResponse getFeverList(Long farmId) {
-        List<HealthSnapshot> snapshots = snapshotRepo.findByFarmId(farmId);
+        List<HealthSnapshot> snapshots = snapshotRepo.findWithAbnormalTemp(farmId);
+        Map<Long, LivestockInfo> livestock = findLivestock(snapshots.stream().map(HealthSnapshot::getLivestockId));
         List<FeverListItem> items = snapshots.stream()
-                .filter(s -> s.getTempStatus() != null && s.getTempStatus() != TempStatus.NORMAL)
                 .map(s -> {
-                    String code = ranchQueryPort.findLivestockById(s.getLivestockId())
-                            .map(LivestockInfo::livestockCode).orElse("?");
-                    String breed = ranchQueryPort.findLivestockById(s.getLivestockId())
-                            .map(LivestockInfo::breed).orElse(null);
+                    LivestockInfo info = livestock.get(s.getLivestockId());
+                    String code = info != null ? info.livestockCode() : "?";
+                    String breed = info != null ? info.breed() : null;
                     BigDecimal delta = s.getCurrentTemp() != null && s.getBaselineTemp() != null
                             ? s.getCurrentTemp().subtract(s.getBaselineTemp())
                             : BigDecimal.ZERO;
@@ -460,14 +479,13 @@ public class HealthApplicationService {
     // ── Digestive ───────────────────────────────────────────────
 
     public DigestiveListResponse getDigestiveList(Long farmId) {
-        List<HealthSnapshot> snapshots = snapshotRepo.findByFarmId(farmId);
+        List<HealthSnapshot> snapshots = snapshotRepo.findWithAbnormalMotility(farmId);
+        Map<Long, LivestockInfo> livestock = findLivestock(snapshots.stream().map(HealthSnapshot::getLivestockId));
         List<DigestiveListItem> items = snapshots.stream()
-                .filter(s -> s.getMotilityStatus() != null && s.getMotilityStatus() != MotilityStatus.NORMAL)
                 .map(s -> {
-                    String code = ranchQueryPort.findLivestockById(s.getLivestockId())
-                            .map(LivestockInfo::livestockCode).orElse("?");
-                    String breed = ranchQueryPort.findLivestockById(s.getLivestockId())
-                            .map(LivestockInfo::breed).orElse(null);
+                    LivestockInfo info = livestock.get(s.getLivestockId());
+                    String code = info != null ? info.livestockCode() : "?";
+                    String breed = info != null ? info.breed() : null;
                     return new DigestiveListItem(
                             String.valueOf(s.getLivestockId()), code, breed,
                             s.getMotilityBaseline(), s.getCurrentMotility(),
@@ -508,23 +526,17 @@ public class HealthApplicationService {
     // ── Estrus ──────────────────────────────────────────────────
 
     public EstrusListResponse getEstrusList(Long farmId) {
-        List<EstrusScore> scores = estrusScoreRepo.findByFarmIdOrderByScoredAtDesc(farmId);
-
-        Map<Long, EstrusScore> latestPerLivestock = new LinkedHashMap<>();
-        for (EstrusScore score : scores) {
-            latestPerLivestock.putIfAbsent(score.getLivestockId(), score);
-        }
-
-        List<EstrusListItem> items = latestPerLivestock.values().stream()
+        List<EstrusScore> ranked = estrusScoreRepo.findLatestByFarmId(farmId).stream()
                 .filter(e -> e.getScore() > 0)
                 .sorted(Comparator.comparingInt(EstrusScore::getScore).reversed())
+                .toList();
+        Map<Long, LivestockInfo> livestock = findLivestock(ranked.stream().map(EstrusScore::getLivestockId));
+        List<EstrusListItem> items = ranked.stream()
                 .map(e -> {
-                    String code = ranchQueryPort.findLivestockById(e.getLivestockId())
-                            .map(LivestockInfo::livestockCode).orElse("?");
-                    String breed = ranchQueryPort.findLivestockById(e.getLivestockId())
-                            .map(LivestockInfo::breed).orElse(null);
-                    String gender = ranchQueryPort.findLivestockById(e.getLivestockId())
-                            .map(LivestockInfo::gender).orElse(null);
+                    LivestockInfo info = livestock.get(e.getLivestockId());
+                    String code = info != null ? info.livestockCode() : "?";
+                    String breed = info != null ? info.breed() : null;
+                    String gender = info != null ? info.gender() : null;
                     return new EstrusListItem(
                             String.valueOf(e.getLivestockId()), code, breed, gender,
                             e.getScore(), e.getStepIncreasePercent(),
@@ -565,29 +577,26 @@ public class HealthApplicationService {
 
     /**
      * Daily fever hours bar chart data (Standard+ tier).
-     * Returns daily hours where temperature exceeded baseline+1.0°C.
+     * Returns daily hours where temperature exceeded baseline+1.0°C, counting each
+     * sample above it as half an hour, from the daily rollups.
      */
     public List<HealthDtos.DailyFeverHour> getFeverDurationChart(Long farmId, Long livestockId) {
         if (!subscriptionPort.hasFeature("health_score")) {
             return List.of();
         }
         int retentionDays = Math.min(subscriptionPort.getRetentionDays("health_score"), 7);
-        Instant now = Instant.now();
-        List<TemperatureLog> logs = tempLogRepo.findByLivestockIdAndTimeRange(
-                livestockId, now.minus(Duration.ofDays(retentionDays)), now);
+        java.time.LocalDate today = java.time.LocalDate.now(DISPLAY_ZONE);
 
         Map<String, Double> dailyHours = new LinkedHashMap<>();
         for (int i = retentionDays - 1; i >= 0; i--) {
-            String dateStr = java.time.LocalDate.now().minusDays(i).toString();
-            dailyHours.put(dateStr, 0.0);
+            dailyHours.put(today.minusDays(i).toString(), 0.0);
         }
 
-        BigDecimal threshold = DEFAULT_BASELINE_TEMP.add(new BigDecimal("1.0"));
-        for (TemperatureLog log : logs) {
-            if (log.getTemperature() != null && log.getTemperature().compareTo(threshold) > 0) {
-                String dateStr = log.getRecordedAt().atZone(DISPLAY_ZONE).toLocalDate().toString();
-                dailyHours.merge(dateStr, 0.5, Double::sum);
-            }
+        Instant from = today.minusDays(retentionDays - 1L).atStartOfDay(DISPLAY_ZONE).toInstant();
+        Instant to = today.plusDays(1).atStartOfDay(DISPLAY_ZONE).toInstant();
+        for (HealthRollup day : rollupService.find(HealthRollup.Period.DAY, livestockId, from, to)) {
+            String dateStr = day.getBucketStart().atZone(DISPLAY_ZONE).toLocalDate().toString();
+            dailyHours.merge(dateStr, day.getFeverSamples() * 0.5, Double::sum);
         }
 
         return dailyHours.entrySet().stream()
@@ -596,24 +605,23 @@ public class HealthApplicationService {
     }
 
     /**
-     * 24h motility intensity heatmap data (Standard+ tier).
+     * 24h motility intensity heatmap data (Standard+ tier), from the hourly rollups of
+     * the current hour and the 23 before it.
      */
     public List<HealthDtos.IntensityCell> getIntensityHeatmap(Long farmId, Long livestockId) {
         if (!subscriptionPort.hasFeature("health_score")) {
             return List.of();
         }
-        Instant now = Instant.now();
-        List<RumenMotilityLog> logs = motilityLogRepo.findByLivestockIdAndTimeRange(
-                livestockId, now.minus(Duration.ofHours(24)), now);
+        Instant currentHour = HealthRollupService.bucketStart(HealthRollup.Period.HOUR, Instant.now());
+        List<HealthRollup> hours = rollupService.find(HealthRollup.Period.HOUR, livestockId,
+                currentHour.minus(Duration.ofHours(23)), currentHour.plus(Duration.ofHours(1)));
 
         double[] avgIntensity = new double[24];
         int[] counts = new int[24];
-        for (RumenMotilityLog log : logs) {
-            int hour = log.getRecordedAt().atZone(DISPLAY_ZONE).getHour();
-            if (log.getIntensity() != null) {
-                avgIntensity[hour] += log.getIntensity().doubleValue();
-                counts[hour]++;
-            }
+        for (HealthRollup rollup : hours) {
+            int hour = rollup.getBucketStart().atZone(DISPLAY_ZONE).getHour();
+            avgIntensity[hour] += rollup.getIntensitySum().doubleValue();
+            counts[hour] += rollup.getMotilityCount();
         }
 
         List<HealthDtos.IntensityCell> cells = new ArrayList<>();
@@ -626,28 +634,30 @@ public class HealthApplicationService {
     }
 
     /**
-     * Activity comparison data (Premium+ tier).
+     * Activity comparison data (Premium+ tier): the last 24 hourly rollups against the
+     * 24 before them.
      */
     public HealthDtos.ActivityComparisonData getActivityComparison(Long farmId, Long livestockId) {
         if (!subscriptionPort.hasFeature("estrus_detect")) {
             return null;
         }
-        Instant now = Instant.now();
-        List<ActivityLog> recent = activityLogRepo.findByLivestockIdAndTimeRange(
-                livestockId, now.minus(Duration.ofHours(24)), now);
-        List<ActivityLog> older = activityLogRepo.findByLivestockIdAndTimeRange(
-                livestockId, now.minus(Duration.ofHours(48)), now.minus(Duration.ofHours(24)));
-
-        int recentSteps = recent.stream().mapToInt(l -> l.getStepCount() != null ? l.getStepCount() : 0).sum();
-        int baselineSteps = older.stream().mapToInt(l -> l.getStepCount() != null ? l.getStepCount() : 0).sum();
-        double recentDist = recent.stream().map(l -> l.getDistanceMeters() != null ? l.getDistanceMeters() : BigDecimal.ZERO).reduce(BigDecimal.ZERO, BigDecimal::add).doubleValue();
-        double baselineDist = older.stream().map(l -> l.getDistanceMeters() != null ? l.getDistanceMeters() : BigDecimal.ZERO).reduce(BigDecimal.ZERO, BigDecimal::add).doubleValue();
-        double recentActIdx = recent.stream().map(l -> l.getActivityIndex() != null ? l.getActivityIndex() : BigDecimal.ZERO).reduce(BigDecimal.ZERO, BigDecimal::add).doubleValue() / Math.max(1, recent.size());
-        double baselineActIdx = older.stream().map(l -> l.getActivityIndex() != null ? l.getActivityIndex() : BigDecimal.ZERO).reduce(BigDecimal.ZERO, BigDecimal::add).doubleValue() / Math.max(1, older.size());
+        Instant end = HealthRollupService.bucketStart(HealthRollup.Period.HOUR, Instant.now())
+                .plus(Duration.ofHours(1));
+        Instant split = end.minus(Duration.ofHours(24));
+        HealthRollup recent = new HealthRollup(livestockId, split);
+        HealthRollup older = new HealthRollup(livestockId, split.minus(Duration.ofHours(24)));
+        for (HealthRollup hour : rollupService.find(HealthRollup.Period.HOUR, livestockId,
+                older.getBucketStart(), end)) {
+            (hour.getBucketStart().isBefore(split) ? older : recent).add(hour);
+        }
+
+        double recentActIdx = recent.getActivityIndexSum().doubleValue() / Math.max(1, recent.getActivityCount());
+        double baselineActIdx = older.getActivityIndexSum().doubleValue() / Math.max(1, older.getActivityCount());
 
         return new HealthDtos.ActivityComparisonData(
-                recentSteps, baselineSteps,
-                Math.round(recentDist * 100.0) / 100.0, Math.round(baselineDist * 100.0) / 100.0,
+                (int) recent.getStepSum(), (int) older.getStepSum(),
+                Math.round(recent.getDistanceSum().doubleValue() * 100.0) / 100.0,
+                Math.round(older.getDistanceSum().doubleValue() * 100.0) / 100.0,
                 Math.round(recentActIdx * 100.0) / 100.0, Math.round(baselineActIdx * 100.0) / 100.0);
     }
 
@@ -655,32 +665,42 @@ public class HealthApplicationService {
 
     /**
      * Get contact network for a diseased livestock (Premium+ tier).
-     * Returns contacts grouped with 3D risk scores.
+     * Returns one node per contact animal, its episodes of the last 72h combined
+     * (closest distance, total duration, latest contact), with 3D risk scores.
      */
     public HealthDtos.ContactNetworkResponse getContactNetwork(Long farmId, Long livestockId) {
-        String sourceCode = ranchQueryPort.findLivestockById(livestockId)
-                .map(LivestockInfo::livestockCode).orElse("?");
-
         List<ContactTrace> traces = contactTraceRepo.findByFromLivestockIdOrderByLastContactAtDesc(livestockId);
         Instant now = Instant.now();
 
-        List<HealthDtos.ContactNode> nodes = traces.stream()
+        List<ContactTrace> recent = traces.stream()
                 .filter(t -> t.getLastContactAt() != null
                         && t.getLastContactAt().isAfter(now.minus(Duration.ofHours(72))))
-                .map(t -> {
-                    String contactCode = ranchQueryPort.findLivestockById(t.getToLivestockId())
-                            .map(LivestockInfo::livestockCode).orElse("?");
-                    long hoursAgo = Duration.between(t.getLastContactAt(), now).toHours();
+                .toList();
+        Map<Long, LivestockInfo> livestock = findLivestock(Stream.concat(
+                Stream.of(livestockId), recent.stream().map(ContactTrace::getToLivestockId)));
+        String sourceCode = codeOf(livestock, livestockId);
+
+        // Episodes arrive newest first, so each animal keeps its latest contact's place.
+        Map<Long, ContactSummary> byContact = new LinkedHashMap<>();
+        for (ContactTrace t : recent) {
+            byContact.merge(t.getToLivestockId(), ContactSummary.of(t), ContactSummary::merge);
+        }
+
+        List<HealthDtos.ContactNode> nodes = byContact.entrySet().stream()
+                .map(e -> {
+                    ContactSummary c = e.getValue();
+                    String contactCode = codeOf(livestock, e.getKey());
+                    long hoursAgo = Duration.between(c.lastContactAt(), now).toHours();
                     int timeScore = calculateTimeScore(hoursAgo);
-                    int distanceScore = calculateDistanceScore(t.getProximityMeters());
-                    int durationScore = calculateDurationScore(t.getContactDurationMinutes());
+                    int distanceScore = calculateDistanceScore(c.proximityMeters());
+                    int durationScore = calculateDurationScore(c.durationMinutes());
                     int totalScore = timeScore + distanceScore + durationScore;
                     String riskLevel = totalScore >= 70 ? "HIGH" : totalScore >= 40 ? "MEDIUM" : "LOW";
                     return new HealthDtos.ContactNode(
-                            String.valueOf(t.getToLivestockId()), contactCode,
-                            t.getProximityMeters() != null ? t.getProximityMeters().doubleValue() : 0,
-                            t.getContactDurationMinutes() != null ? t.getContactDurationMinutes() : 0,
-                            t.getLastContactAt(), (int) hoursAgo,
+                            String.valueOf(e.getKey()), contactCode,
+                            c.proximityMeters() != null ? c.proximityMeters().doubleValue() : 0,
+                            c.durationMinutes() != null ? c.durationMinutes() : 0,
+                            c.lastContactAt(), (int) hoursAgo,
                             timeScore, distanceScore, durationScore,
                             totalScore, riskLevel);
                 })
@@ -721,6 +741,25 @@ public class HealthApplicationService {
         }
     }
 
+    /** One contact animal's episodes combined; null distance or duration means unknown. */
+    private record ContactSummary(BigDecimal proximityMeters, Integer durationMinutes, Instant lastContactAt) {
+
+        static ContactSummary of(ContactTrace t) {
+            return new ContactSummary(t.getProximityMeters(), t.getContactDurationMinutes(), t.getLastContactAt());
+        }
+
+        ContactSummary merge(ContactSummary other) {
+            BigDecimal proximity = proximityMeters == null ? other.proximityMeters
+                    : other.proximityMeters == null ? proximityMeters
+                    : proximityMeters.min(other.proximityMeters);
+            Integer duration = durationMinutes == null ? other.durationMinutes
+                    : other.durationMinutes == null ? durationMinutes
+                    : durationMinutes + other.durationMinutes;
+            Instant last = lastContactAt.isAfter(other.lastContactAt) ? lastContactAt : other.lastContactAt;
+            return new ContactSummary(proximity, duration, last);
+        }
+    }
+
     private int calculateTimeScore(long hoursAgo) {
         if (hoursAgo <= 24) return 40;
         if (hoursAgo <= 48) return 25;
@@ -747,18 +786,26 @@ public class HealthApplicationService {
     // ── Epidemic ────────────────────────────────────────────────
 
     public EpidemicResponse getEpidemicOverview(Long farmId) {
-        List<HealthSnapshot> snapshots = snapshotRepo.findByFarmId(farmId);
-        EpidemicAnalysisService.HerdMetrics metrics = epidemicService.calculateHerdMetrics(snapshots);
+        EpidemicAnalysisService.HerdMetrics metrics = epidemicService.calculateHerdMetrics(herdAggregateStore.get(farmId));
         String riskLevel = epidemicService.assessRiskLevel(metrics.abnormalRate());
 
+        // Each episode is stored once per direction; list every pair once, by its latest episode.
         List<ContactTrace> contacts = contactTraceRepo.findByFarmIdOrderByLastContactAtDesc(farmId);
-        List<ContactTraceItem> contactItems = contacts.stream()
+        Set<List<Long>> seenPairs = new HashSet<>();
+        List<ContactTrace> latest = contacts.stream()
+                .filter(c -> seenPairs.add(List.of(
+                        Math.min(c.getFromLivestockId(), c.getToLivestockId()),
+                        Math.max(c.getFromLivestockId(), c.getToLivestockId()))))
                 .limit(20)
+                .toList();
+        Map<Long, LivestockInfo> livestock = findLivestock(latest.stream()
+                .flatMap(c -> Stream.of(c.getFromLivestockId(), c.getToLivestockId())));
+        List<ContactTraceItem> contactItems = latest.stream()
                 .map(c -> new ContactTraceItem(
                         String.valueOf(c.getFromLivestockId()),
-                        ranchQueryPort.findLivestockById(c.getFromLivestockId()).map(LivestockInfo::livestockCode).orElse("?"),
+                        codeOf(livestock, c.getFromLivestockId()),
                         String.valueOf(c.getToLivestockId()),
-                        ranchQueryPort.findLivestockById(c.getToLivestockId()).map(LivestockInfo::livestockCode).orElse("?"),
+                        codeOf(livestock, c.getToLivestockId()),
                         c.getProximityMeters(),
                         c.getLastContactAt()))
                 .toList();
@@ -772,27 +819,19 @@ public class HealthApplicationService {
 
 
     public HealthDtos.StatsResponse getStats(Long farmId) {
-        List<HealthSnapshot> snapshots = snapshotRepo.findByFarmId(farmId);
-        var livestockList = ranchQueryPort.findAllByFarmId(farmId);
-        int total = livestockList.size();
-
-        long healthyCount = snapshots.stream()
-                .filter(s -> s.getTempStatus() == TempStatus.NORMAL
-                        && s.getMotilityStatus() == MotilityStatus.NORMAL)
-                .count();
+        HerdHealthAggregate herd = herdAggregateStore.get(farmId);
+        int total = ranchQueryPort.countByFarmId(farmId);
+
+        long healthyCount = herd.healthyCount();
         Double healthyRate = total > 0 ? (double) healthyCount / total : null;
 
         int alertCount = ranchQueryPort.countActiveAlertsByFarmId(farmId);
-        int criticalCount = (int) snapshots.stream()
-                .filter(s -> s.getTempStatus() == TempStatus.CRITICAL).count();
+        int criticalCount = herd.criticalCount();
 
-        double avgTemp = snapshots.stream()
-                .mapToDouble(s -> s.getCurrentTemp() != null ? s.getCurrentTemp().doubleValue() : 38.5)
-                .average().orElse(38.5);
+        // Snapshots without a reading count as 38.5 / 0.0, as the per-snapshot average did.
+        double avgTemp = herd.avgTemperatureOrDefault(38.5);
 
-        double avgMotility = snapshots.stream()
-                .mapToDouble(s -> s.getCurrentMotility() != null ? s.getCurrentMotility().doubleValue() : 0.0)
-                .average().orElse(3.0);
+        double avgMotility = herd.avgMotility(3.0);
 
         var summary = new HealthDtos.StatsSummary(
                 total, healthyRate,
@@ -801,8 +840,7 @@ public class HealthApplicationService {
                 Math.round(avgMotility * 100.0) / 100.0);
 
         long normal = healthyCount;
-        long warning = snapshots.stream().filter(s -> s.getTempStatus() == TempStatus.FEVER
-                || s.getMotilityStatus() == MotilityStatus.ABNORMAL).count();
+        long warning = herd.warningCount();
         long crit = criticalCount;
         java.util.Map<String, Integer> distribution = java.util.Map.of(
                 "healthy", (int) normal,
@@ -0,0 +1,122 @@
+package com.smartlivestock.health.application.service;
+
+import com.smartlivestock.health.domain.model.ActivityLog;
+import com.smartlivestock.health.domain.model.HealthRollup;
+import com.smartlivestock.health.domain.model.HealthRollup.Period;
+import com.smartlivestock.health.domain.model.RumenMotilityLog;
+import com.smartlivestock.health.domain.model.TemperatureLog;
+import com.smartlivestock.health.domain.repository.HealthRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Keeps the hourly and daily {@link HealthRollup}s that the detail charts read.
+ * <p>
+ * Ingest adds each message's logs to their buckets ({@link #record}) in the same
+ * transaction as the logs themselves. A nightly job rebuilds the previous
+ * {@code health.rollup.reconcile-days} display-zone days from the log tables, which
+ * corrects any bucket that missed an increment (logs written by other paths,
+ * partitions dropped and re-imported). On an empty rollup table the last
+ * {@code health.rollup.backfill-days} and today are rebuilt at startup.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HealthRollupService {
+
+    static final ZoneId DISPLAY_ZONE = ZoneId.of("Asia/Shanghai");
+    /** Baseline 38.5 plus 1.0, the fever-hours chart threshold. */
+    static final BigDecimal FEVER_THRESHOLD = new BigDecimal("39.5");
+
+    private final HealthRollupRepository rollupRepo;
+
+    @Value("${health.rollup.reconcile-days:2}")
+    private int reconcileDays = 2;
+
+    @Value("${health.rollup.backfill-days:7}")
+    private int backfillDays = 7;
+
+    /** Adds the logs of one ingest to their hourly and daily buckets. */
+    public void record(List<TemperatureLog> temperatures, List<RumenMotilityLog> motility,
+                       List<ActivityLog> activity) {
+        for (Period period : Period.values()) {
+            Map<Key, HealthRollup> buckets = new LinkedHashMap<>();
+            add(buckets, period, temperatures, TemperatureLog::getLivestockId, TemperatureLog::getRecordedAt,
+                    (r, log) -> r.addTemperature(log, FEVER_THRESHOLD));
+            add(buckets, period, motility, RumenMotilityLog::getLivestockId, RumenMotilityLog::getRecordedAt,
+                    HealthRollup::addMotility);
+            add(buckets, period, activity, ActivityLog::getLivestockId, ActivityLog::getRecordedAt,
+                    HealthRollup::addActivity);
+            if (!buckets.isEmpty()) {
+                rollupRepo.increment(period, new ArrayList<>(buckets.values()));
+            }
+        }
+    }
+
+    public List<HealthRollup> find(Period period, Long livestockId, Instant from, Instant to) {
+        return rollupRepo.find(period, livestockId, from, to);
+    }
+
+    /** Start of the bucket containing {@code time}. */
+    public static Instant bucketStart(Period period, Instant time) {
+        return period == Period.HOUR
+                ? time.truncatedTo(ChronoUnit.HOURS)
+                : time.atZone(DISPLAY_ZONE).toLocalDate().atStartOfDay(DISPLAY_ZONE).toInstant();
+    }
+
+    @Scheduled(cron = "${health.rollup.reconcile-cron:0 30 1 * * *}", zone = "Asia/Shanghai")
+    @Transactional
+    public void reconcile() {
+        // Today is left to the increments: a rebuild racing live ingest could overwrite them.
+        LocalDate today = LocalDate.now(DISPLAY_ZONE);
+        rebuild(today.minusDays(reconcileDays), today);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillIfEmpty() {
+        if (rollupRepo.isEmpty(Period.DAY)) {
+            LocalDate today = LocalDate.now(DISPLAY_ZONE);
+            rebuild(today.minusDays(backfillDays), today.plusDays(1));
+        }
+    }
+
+    /** Rebuilds the display-zone days [firstDay, endDay). */
+    private void rebuild(LocalDate firstDay, LocalDate endDay) {
+        Instant from = firstDay.atStartOfDay(DISPLAY_ZONE).toInstant();
+        Instant to = endDay.atStartOfDay(DISPLAY_ZONE).toInstant();
+        int hours = rollupRepo.rebuild(Period.HOUR, from, to, FEVER_THRESHOLD, DISPLAY_ZONE);
+        int dayRows = rollupRepo.rebuild(Period.DAY, from, to, FEVER_THRESHOLD, DISPLAY_ZONE);
+        log.info("Rebuilt health rollups since {}: {} hourly, {} daily bucket(s)", from, hours, dayRows);
+    }
+
+    private static <T> void add(Map<Key, HealthRollup> buckets, Period period, List<T> logs,
+                                Function<T, Long> livestockId,
+                                Function<T, Instant> recordedAt,
+                                BiConsumer<HealthRollup, T> adder) {
+        for (T log : logs) {
+            Key key = new Key(livestockId.apply(log), bucketStart(period, recordedAt.apply(log)));
+            adder.accept(buckets.computeIfAbsent(key, k -> new HealthRollup(k.livestockId(), k.bucketStart())), log);
+        }
+    }
+
+    private record Key(Long livestockId, Instant bucketStart) {}
+}
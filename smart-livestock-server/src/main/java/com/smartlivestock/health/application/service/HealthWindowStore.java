@@ -0,0 +1,111 @@
+package com.smartlivestock.health.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartlivestock.health.domain.model.HealthWindow;
+import com.smartlivestock.health.domain.repository.ActivityLogRepository;
+import com.smartlivestock.health.domain.repository.TemperatureLogRepository;
+import com.smartlivestock.shared.cache.RedisCacheService;
+import com.smartlivestock.shared.common.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-livestock {@link HealthWindow}s for telemetry processing.
+ * <p>
+ * Windows live in memory and in Redis ({@code health:window:<livestockId>}). A local
+ * entry is trusted for {@code health.window.local-ttl-ms}, after which Redis is read
+ * again so a livestock whose messages move to another consumer node picks up that
+ * node's updates. With neither, the window is seeded from the log tables. Every
+ * window is rebuilt from the tables once it is {@code health.window.reseed-minutes}
+ * old, which bounds drift from readings that bypassed the consumer or from two
+ * messages of one livestock processed at the same time.
+ * <p>
+ * {@link #get} hands out a copy; {@link #put} publishes it after the surrounding
+ * transaction commits, so a rolled-back or redelivered message sees the old window.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HealthWindowStore {
+
+    static final String KEY_PREFIX = "health:window:";
+
+    private final TemperatureLogRepository tempLogRepo;
+    private final ActivityLogRepository activityLogRepo;
+    private final RedisCacheService redisCacheService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${health.window.local-ttl-ms:30000}")
+    private long localTtlMs = 30_000;
+
+    @Value("${health.window.reseed-minutes:30}")
+    private long reseedMinutes = 30;
+
+    @Value("${health.window.ttl-hours:24}")
+    private long ttlHours = 24;
+
+    private final Map<Long, Cached> byLivestock = new ConcurrentHashMap<>();
+
+    /** The livestock's current window, as a private copy the caller may update. */
+    public HealthWindow get(Long livestockId) {
+        long now = System.currentTimeMillis();
+        Cached cached = byLivestock.get(livestockId);
+        HealthWindow window = cached != null && now - cached.loadedAt < localTtlMs ? cached.window : null;
+        if (window == null) {
+            window = load(livestockId);
+            if (window != null) {
+                byLivestock.put(livestockId, new Cached(window, now));
+            }
+        }
+        if (window == null || now - window.getSeededAt() >= Duration.ofMinutes(reseedMinutes).toMillis()) {
+            window = HealthWindow.seed(now,
+                    tempLogRepo.findByLivestockIdOrderByRecordedAtDesc(livestockId, HealthWindow.TEMPERATURE_CAPACITY),
+                    activityLogRepo.findByLivestockIdOrderByRecordedAtDesc(livestockId, HealthWindow.ACTIVITY_CAPACITY));
+        }
+        return window.copy();
+    }
+
+    /** Stores {@code window} once the surrounding transaction commits. */
+    public void put(Long livestockId, HealthWindow window) {
+        AfterCommit.run(() -> {
+            byLivestock.put(livestockId, new Cached(window, System.currentTimeMillis()));
+            try {
+                redisCacheService.set(KEY_PREFIX + livestockId, objectMapper.writeValueAsString(Stored.of(window)),
+                        Duration.ofHours(ttlHours));
+            } catch (Exception e) {
+                log.warn("Failed to store health window for livestock [{}]: {}", livestockId, e.getMessage());
+            }
+        });
+    }
+
+    private HealthWindow load(Long livestockId) {
+        try {
+            String json = redisCacheService.get(KEY_PREFIX + livestockId);
+            return json != null ? objectMapper.readValue(json, Stored.class).toWindow() : null;
+        } catch (Exception e) {
+            log.debug("Health window lookup failed for livestock [{}]: {}", livestockId, e.getMessage());
+            return null;
+        }
+    }
+
+    private record Cached(HealthWindow window, long loadedAt) {}
+
+    private record Stored(long seededAt, List<HealthWindow.TemperaturePoint> temperatures,
+                          List<HealthWindow.ActivityPoint> activities) {
+
+        static Stored of(HealthWindow window) {
+            return new Stored(window.getSeededAt(), window.getTemperatures(), window.getActivities());
+        }
+
+        HealthWindow toWindow() {
+            return new HealthWindow(seededAt, temperatures, activities);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.smartlivestock.health.application.service;
+
+import com.smartlivestock.health.domain.event.HealthSnapshotsChangedEvent;
+import com.smartlivestock.health.domain.model.EstrusScore;
+import com.smartlivestock.health.domain.model.HerdEstrusScores;
+import com.smartlivestock.health.domain.model.HerdEstrusWindows;
+import com.smartlivestock.health.domain.model.HerdHealthAggregate;
+import com.smartlivestock.health.domain.repository.EstrusScoreRepository;
+import com.smartlivestock.health.domain.repository.HealthSnapshotRepository;
+import com.smartlivestock.health.domain.service.EstrusAnalysisService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Scores a whole farm's estrus in one pass: the windows of every livestock are read
+ * with one query ({@link EstrusScoreRepository#findWindowsByFarmId}), scored by
+ * {@link EstrusAnalysisService#scoreHerd}, and only scores that differ from the
+ * livestock's latest row are written, so {@code estrus_scores} holds one row per
+ * change and the 7-point trend shows changes rather than repeats.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HerdEstrusService {
+
+    private final EstrusScoreRepository estrusScoreRepo;
+    private final HealthSnapshotRepository snapshotRepo;
+    private final EstrusAnalysisService estrusAnalysisService;
+    private final HerdHealthAggregateStore herdAggregateStore;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${health.estrus.lookback-hours:72}")
+    private long lookbackHours = 72;
+
+    /** @return number of score rows written */
+    @Transactional
+    public int scoreFarm(Long farmId, Instant now) {
+        HerdEstrusWindows herd = estrusScoreRepo.findWindowsByFarmId(farmId, now.minus(Duration.ofHours(lookbackHours)));
+        if (herd.size() == 0) {
+            return 0;
+        }
+        HerdEstrusScores scores = estrusAnalysisService.scoreHerd(herd);
+
+        Map<Long, EstrusScore> latest = new HashMap<>();
+        for (EstrusScore score : estrusScoreRepo.findLatestByFarmId(farmId)) {
+            latest.put(score.getLivestockId(), score);
+        }
+
+        List<EstrusScore> changed = new ArrayList<>();
+        Map<Long, Integer> snapshotScores = new HashMap<>();
+        long highBefore = 0;
+        long highAfter = 0;
+        for (int i = 0; i < herd.size(); i++) {
+            int score = scores.score(i);
+            if (score == HerdEstrusScores.UNSCORED) continue;
+            long livestockId = herd.livestockId(i);
+
+            EstrusScore row = toRow(farmId, livestockId, herd, scores, i, now);
+            if (!sameReading(latest.get(livestockId), row)) {
+                changed.add(row);
+            }
+            int current = herd.currentScore(i);
+            if (current != score) {
+                snapshotScores.put(livestockId, score);
+                if (current >= HerdHealthAggregate.ESTRUS_HIGH_SCORE) highBefore++;
+                if (score >= HerdHealthAggregate.ESTRUS_HIGH_SCORE) highAfter++;
+            }
+        }
+
+        estrusScoreRepo.saveAllBatch(changed);
+        snapshotRepo.updateEstrusScores(snapshotScores);
+        herdAggregateStore.apply(farmId,
+                Map.of(HerdHealthAggregate.ESTRUS_HIGH, highBefore),
+                Map.of(HerdHealthAggregate.ESTRUS_HIGH, highAfter));
+        if (!snapshotScores.isEmpty()) {
+            List<HealthSnapshotsChangedEvent.Change> snapshotChanges = new ArrayList<>();
+            snapshotScores.forEach((livestockId, score) ->
+                    snapshotChanges.add(new HealthSnapshotsChangedEvent.Change(livestockId, null, null, score)));
+            eventPublisher.publishEvent(new HealthSnapshotsChangedEvent(farmId, snapshotChanges));
+        }
+        log.debug("Estrus pass for farm [{}]: {} livestock, {} changed score(s)", farmId, herd.size(), changed.size());
+        return changed.size();
+    }
+
+    private EstrusScore toRow(Long farmId, long livestockId, HerdEstrusWindows herd, HerdEstrusScores scores,
+                              int i, Instant now) {
+        EstrusScore row = new EstrusScore();
+        row.setFarmId(farmId);
+        row.setLivestockId(livestockId);
+        row.setScore(scores.score(i));
+        row.setStepIncreasePercent(scores.stepIncreasePercent(i));
+        row.setTempDelta(BigDecimal.valueOf(scores.tempDelta(i)).setScale(2, RoundingMode.HALF_UP));
+        row.setDistanceDelta(BigDecimal.valueOf(scores.distanceDelta(i)).setScale(2, RoundingMode.HALF_UP));
+        row.setAdvice(estrusAnalysisService.generateAdvice(scores.score(i)));
+        row.setScoredAt(now);
+        row.setSource(herd.source(i));
+        return row;
+    }
+
+    private static boolean sameReading(EstrusScore previous, EstrusScore next) {
+        return previous != null
+                && Objects.equals(previous.getScore(), next.getScore())
+                && Objects.equals(previous.getStepIncreasePercent(), next.getStepIncreasePercent())
+                && sameDecimal(previous.getTempDelta(), next.getTempDelta())
+                && sameDecimal(previous.getDistanceDelta(), next.getDistanceDelta());
+    }
+
+    private static boolean sameDecimal(BigDecimal a, BigDecimal b) {
+        return a == null ? b == null : b != null && a.compareTo(b) == 0;
+    }
+}
@@ -0,0 +1,125 @@
+package com.smartlivestock.health.application.service;
+
+import com.smartlivestock.health.domain.model.HealthSnapshot;
+import com.smartlivestock.health.domain.model.HerdHealthAggregate;
+import com.smartlivestock.health.domain.repository.HealthSnapshotRepository;
+import com.smartlivestock.shared.cache.RedisCacheService;
+import com.smartlivestock.shared.common.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-farm {@link HerdHealthAggregate}s for the health dashboard.
+ * <p>
+ * The aggregate lives in a Redis hash ({@code health:herd:<farmId>}) shared by all
+ * nodes. Whoever changes a snapshot calls {@link #apply} with its contributions
+ * before and after; the difference is added with HINCRBY once the transaction
+ * commits, so readers on every node see it without re-reading the herd. Reads are
+ * cached locally for {@code health.herd.local-ttl-ms}.
+ * <p>
+ * The hash is rebuilt from the snapshots when it is missing or
+ * {@code health.herd.rebuild-minutes} old. That bounds drift from changes made
+ * outside these paths (seed scripts, deleted livestock) and from concurrent updates
+ * of one snapshot, whose deltas are computed from the same "before".
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HerdHealthAggregateStore {
+
+    static final String KEY_PREFIX = "health:herd:";
+    static final String REBUILT_AT = "rebuiltAt";
+
+    private final HealthSnapshotRepository snapshotRepo;
+    private final RedisCacheService redisCacheService;
+
+    @Value("${health.herd.local-ttl-ms:5000}")
+    private long localTtlMs = 5_000;
+
+    @Value("${health.herd.rebuild-minutes:30}")
+    private long rebuildMinutes = 30;
+
+    private final Map<Long, Cached> byFarm = new ConcurrentHashMap<>();
+
+    public HerdHealthAggregate get(Long farmId) {
+        long now = System.currentTimeMillis();
+        Cached cached = byFarm.get(farmId);
+        if (cached != null && now - cached.loadedAt < localTtlMs) {
+            return cached.aggregate;
+        }
+        HerdHealthAggregate aggregate = load(farmId, now);
+        if (aggregate == null) {
+            aggregate = rebuild(farmId, now);
+        }
+        byFarm.put(farmId, new Cached(aggregate, now));
+        return aggregate;
+    }
+
+    /** The snapshot's current contribution, to pass to {@link #apply}; {@code null} for none. */
+    public Map<String, Long> contributionOf(HealthSnapshot snapshot) {
+        return snapshot != null ? HerdHealthAggregate.contribution(snapshot) : null;
+    }
+
+    /**
+     * Adds the change from {@code before} to {@code after} (either {@code null} when the
+     * snapshot did not exist) to the farm's aggregate once the transaction commits.
+     */
+    public void apply(Long farmId, Map<String, Long> before, Map<String, Long> after) {
+        Map<String, Long> delta = HerdHealthAggregate.delta(before, after);
+        if (delta.isEmpty()) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            byFarm.remove(farmId);
+            try {
+                redisCacheService.incrementHash(KEY_PREFIX + farmId, delta);
+            } catch (Exception e) {
+                log.warn("Failed to update herd aggregate for farm [{}]: {}", farmId, e.getMessage());
+            }
+        });
+    }
+
+    private HerdHealthAggregate load(Long farmId, long now) {
+        try {
+            Map<String, String> hash = redisCacheService.getHash(KEY_PREFIX + farmId);
+            String rebuiltAt = hash.get(REBUILT_AT);
+            // A hash without rebuiltAt was created by an increment after expiry or eviction.
+            if (rebuiltAt == null || now - Long.parseLong(rebuiltAt) >= Duration.ofMinutes(rebuildMinutes).toMillis()) {
+                return null;
+            }
+            Map<String, Long> counters = new HashMap<>();
+            for (String field : HerdHealthAggregate.FIELDS) {
+                String value = hash.get(field);
+                if (value != null) counters.put(field, Long.parseLong(value));
+            }
+            return new HerdHealthAggregate(counters);
+        } catch (Exception e) {
+            log.debug("Herd aggregate lookup failed for farm [{}]: {}", farmId, e.getMessage());
+            return null;
+        }
+    }
+
+    private HerdHealthAggregate rebuild(Long farmId, long now) {
+        HerdHealthAggregate aggregate = HerdHealthAggregate.of(snapshotRepo.findByFarmId(farmId));
+        Map<String, String> hash = new HashMap<>();
+        for (String field : HerdHealthAggregate.FIELDS) {
+            hash.put(field, String.valueOf(aggregate.get(field)));
+        }
+        hash.put(REBUILT_AT, String.valueOf(now));
+        try {
+            redisCacheService.setHash(KEY_PREFIX + farmId, hash);
+        } catch (Exception e) {
+            log.debug("Failed to store herd aggregate for farm [{}]: {}", farmId, e.getMessage());
+        }
+        return aggregate;
+    }
+
+    private record Cached(HerdHealthAggregate aggregate, long loadedAt) {}
+}
@@ -0,0 +1,156 @@
+package com.smartlivestock.health.application.service;
+
+import com.smartlivestock.health.application.port.AnomalyScoreClient.AnomalyPrediction;
+import com.smartlivestock.health.domain.model.ActivityLog;
+import com.smartlivestock.health.domain.model.RumenMotilityLog;
+import com.smartlivestock.health.domain.model.StreamingAnomalyState;
+import com.smartlivestock.health.domain.model.TemperatureLog;
+import com.smartlivestock.health.domain.service.StreamingAnomalyDetector;
+import com.smartlivestock.health.domain.service.StreamingAnomalyDetector.Assessment;
+import com.smartlivestock.shared.cache.LruMap;
+import com.smartlivestock.shared.common.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-process anomaly scoring for when ai-platform is unavailable.
+ * <p>
+ * Every reading the telemetry path stores is fed to {@link StreamingAnomalyDetector},
+ * whose per-livestock state is kept here in memory (the {@code ai.local.max-tracked}
+ * most recently updated livestock), so scores are ready without reading any
+ * history. Activity is tracked by activity index; step counts are a different scale
+ * and are not mixed into the same baseline. When an ai-platform batch comes back
+ * empty, {@link #assess} records the local scores of that batch instead, marked
+ * {@code capability_used = local_streaming} and alerted like platform scores. A
+ * livestock is recorded at most once per {@code ai.local.record-interval-minutes}.
+ * <p>
+ * The state is per node and starts empty: after a restart a livestock is scored once
+ * each metric has seen {@link StreamingAnomalyDetector#WARMUP} readings.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LocalAnomalyService {
+
+    static final String CAPABILITY = "local_streaming";
+
+    private final StreamingAnomalyDetector detector;
+    private final HealthAnomalyService healthAnomalyService;
+
+    @Value("${ai.local.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${ai.local.max-tracked:200000}")
+    private int maxTracked = 200_000;
+
+    @Value("${ai.local.record-interval-minutes:15}")
+    private long recordIntervalMinutes = 15;
+
+    private final LruMap<Long, Tracked> tracked = new LruMap<>(() -> maxTracked);
+
+    /**
+     * Feeds one livestock's new readings to its detectors, in order, once the
+     * transaction storing them commits; a batch that is rolled back and retried is
+     * therefore counted once.
+     */
+    public void observe(Long livestockId, List<TemperatureLog> temps,
+                        List<RumenMotilityLog> motility, List<ActivityLog> activity) {
+        if (!enabled || (temps.isEmpty() && motility.isEmpty() && activity.isEmpty())) {
+            return;
+        }
+        List<TemperatureLog> tempsCopy = List.copyOf(temps);
+        List<RumenMotilityLog> motilityCopy = List.copyOf(motility);
+        List<ActivityLog> activityCopy = List.copyOf(activity);
+        AfterCommit.run(() -> apply(livestockId, tempsCopy, motilityCopy, activityCopy));
+    }
+
+    private void apply(Long livestockId, List<TemperatureLog> temps,
+                       List<RumenMotilityLog> motility, List<ActivityLog> activity) {
+        Tracked entry = tracked.computeIfAbsent(livestockId, id -> new Tracked());
+        synchronized (entry) {
+            StreamingAnomalyState state = entry.state;
+            for (TemperatureLog log : temps) {
+                update(state, StreamingAnomalyState.TEMPERATURE, log.getTemperature());
+            }
+            for (RumenMotilityLog log : motility) {
+                update(state, StreamingAnomalyState.MOTILITY, log.getFrequency());
+            }
+            for (ActivityLog log : activity) {
+                update(state, StreamingAnomalyState.ACTIVITY, log.getActivityIndex());
+            }
+        }
+    }
+
+    /**
+     * Records local scores for a batch ai-platform could not assess.
+     *
+     * @param batch livestockId → telemetry source
+     * @return number of livestock recorded
+     */
+    public int assess(Long farmId, Map<Long, String> batch) {
+        if (!enabled) {
+            return 0;
+        }
+        long now = System.currentTimeMillis();
+        long intervalMs = Duration.ofMinutes(recordIntervalMinutes).toMillis();
+        List<AnomalyPrediction> predictions = new ArrayList<>();
+        List<Tracked> assessed = new ArrayList<>();
+        for (Long livestockId : batch.keySet()) {
+            Tracked entry = tracked.get(livestockId);
+            if (entry == null) {
+                continue;
+            }
+            Assessment assessment;
+            synchronized (entry) {
+                if (now - entry.recordedAt < intervalMs) {
+                    continue;
+                }
+                assessment = detector.assess(entry.state);
+                if (assessment == null) {
+                    continue;
+                }
+            }
+            predictions.add(toPrediction(livestockId, assessment));
+            assessed.add(entry);
+        }
+        if (predictions.isEmpty()) {
+            return 0;
+        }
+        healthAnomalyService.recordPredictions(
+                AnomalyAssessmentScheduler.DEFAULT_TENANT_ID, farmId, predictions, batch);
+        // Stamped only once written, so a failed write is retried on the next batch
+        for (Tracked entry : assessed) {
+            synchronized (entry) {
+                entry.recordedAt = now;
+            }
+        }
+        log.debug("Recorded {} local anomaly scores for farm [{}]", predictions.size(), farmId);
+        return predictions.size();
+    }
+
+    private void update(StreamingAnomalyState state, int metric, BigDecimal value) {
+        if (value != null) {
+            detector.update(state, metric, value.doubleValue());
+        }
+    }
+
+    private AnomalyPrediction toPrediction(Long livestockId, Assessment a) {
+        return new AnomalyPrediction(livestockId, a.score(), a.type(),
+                a.zScoreComponent(), a.cusumComponent(), a.jointComponent(),
+                CAPABILITY, (int) Math.min(Integer.MAX_VALUE, a.readings()),
+                "{\"detector\":\"ewma_cusum\"}");
+    }
+
+    private static final class Tracked {
+        final StreamingAnomalyState state = new StreamingAnomalyState();
+        long recordedAt;
+    }
+}
@@ -0,0 +1,27 @@
+package com.smartlivestock.health.domain.event;
+
+import com.smartlivestock.shared.domain.DomainEvent;
+
+import java.util.List;
+
+/**
+ * Domain event fired when the temperature status, motility status or estrus score of
+ * one or more of a farm's health snapshots changes. Published once per transaction
+ * and farm.
+ */
+public class HealthSnapshotsChangedEvent extends DomainEvent {
+
+    /** New values; a {@code null} field did not change. */
+    public record Change(Long livestockId, String tempStatus, String motilityStatus, Integer estrusScore) {}
+
+    private final Long farmId;
+    private final List<Change> changes;
+
+    public HealthSnapshotsChangedEvent(Long farmId, List<Change> changes) {
+        this.farmId = farmId;
+        this.changes = List.copyOf(changes);
+    }
+
+    public Long getFarmId() { return farmId; }
+    public List<Change> getChanges() { return changes; }
+}
@@ -17,6 +17,8 @@ public class ContactTrace {
     private Instant markedAt;
     private Integer riskScore;
     private String riskLevel;
+    /** Start of the contact episode this row covers; null for rows that predate episode tracking. */
+    private Instant episodeStartedAt;
 
     public ContactTrace() {}
 
@@ -55,4 +57,7 @@ public class ContactTrace {
 
     public String getRiskLevel() { return riskLevel; }
     public void setRiskLevel(String riskLevel) { this.riskLevel = riskLevel; }
+
+    public Instant getEpisodeStartedAt() { return episodeStartedAt; }
+    public void setEpisodeStartedAt(Instant episodeStartedAt) { this.episodeStartedAt = episodeStartedAt; }
 }
@@ -0,0 +1,141 @@
+package com.smartlivestock.health.domain.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * One livestock's readings summarised over an hour or a day, for the detail charts.
+ * <p>
+ * Only sums, counts and extremes are kept, so rollups of the same bucket can be
+ * added together ({@link #add(HealthRollup)}) and maintained by incrementing the
+ * stored row. {@code feverSamples} counts temperatures above the fever threshold
+ * the rollup was built with.
+ */
+public class HealthRollup {
+
+    /** Bucket size; a DAY bucket starts at midnight of the display zone. */
+    public enum Period { HOUR, DAY }
+
+    private final Long livestockId;
+    private final Instant bucketStart;
+    private int tempCount;
+    private BigDecimal tempSum = BigDecimal.ZERO;
+    private BigDecimal tempMin;
+    private BigDecimal tempMax;
+    private int feverSamples;
+    private int motilityCount;
+    private BigDecimal frequencySum = BigDecimal.ZERO;
+    private BigDecimal frequencyMin;
+    private BigDecimal frequencyMax;
+    private BigDecimal intensitySum = BigDecimal.ZERO;
+    private int activityCount;
+    private long stepSum;
+    private BigDecimal distanceSum = BigDecimal.ZERO;
+    private BigDecimal activityIndexSum = BigDecimal.ZERO;
+
+    public HealthRollup(Long livestockId, Instant bucketStart) {
+        this.livestockId = livestockId;
+        this.bucketStart = bucketStart;
+    }
+
+    public void addTemperature(TemperatureLog log, BigDecimal feverThreshold) {
+        BigDecimal t = log.getTemperature();
+        if (t == null) return;
+        tempCount++;
+        tempSum = tempSum.add(t);
+        tempMin = min(tempMin, t);
+        tempMax = max(tempMax, t);
+        if (t.compareTo(feverThreshold) > 0) feverSamples++;
+    }
+
+    public void addMotility(RumenMotilityLog log) {
+        motilityCount++;
+        if (log.getFrequency() != null) {
+            frequencySum = frequencySum.add(log.getFrequency());
+            frequencyMin = min(frequencyMin, log.getFrequency());
+            frequencyMax = max(frequencyMax, log.getFrequency());
+        }
+        if (log.getIntensity() != null) {
+            intensitySum = intensitySum.add(log.getIntensity());
+        }
+    }
+
+    public void addActivity(ActivityLog log) {
+        activityCount++;
+        if (log.getStepCount() != null) stepSum += log.getStepCount();
+        if (log.getDistanceMeters() != null) distanceSum = distanceSum.add(log.getDistanceMeters());
+        if (log.getActivityIndex() != null) activityIndexSum = activityIndexSum.add(log.getActivityIndex());
+    }
+
+    /** Adds another rollup of any bucket into this one, e.g. to sum a chart window. */
+    public void add(HealthRollup other) {
+        tempCount += other.tempCount;
+        tempSum = tempSum.add(other.tempSum);
+        tempMin = min(tempMin, other.tempMin);
+        tempMax = max(tempMax, other.tempMax);
+        feverSamples += other.feverSamples;
+        motilityCount += other.motilityCount;
+        frequencySum = frequencySum.add(other.frequencySum);
+        frequencyMin = min(frequencyMin, other.frequencyMin);
+        frequencyMax = max(frequencyMax, other.frequencyMax);
+        intensitySum = intensitySum.add(other.intensitySum);
+        activityCount += other.activityCount;
+        stepSum += other.stepSum;
+        distanceSum = distanceSum.add(other.distanceSum);
+        activityIndexSum = activityIndexSum.add(other.activityIndexSum);
+    }
+
+    /** Restores a stored rollup. */
+    public static HealthRollup of(Long livestockId, Instant bucketStart,
+                                  int tempCount, BigDecimal tempSum, BigDecimal tempMin, BigDecimal tempMax,
+                                  int feverSamples, int motilityCount, BigDecimal frequencySum,
+                                  BigDecimal frequencyMin, BigDecimal frequencyMax, BigDecimal intensitySum,
+                                  int activityCount, long stepSum, BigDecimal distanceSum,
+                                  BigDecimal activityIndexSum) {
+        HealthRollup r = new HealthRollup(livestockId, bucketStart);
+        r.tempCount = tempCount;
+        r.tempSum = tempSum;
+        r.tempMin = tempMin;
+        r.tempMax = tempMax;
+        r.feverSamples = feverSamples;
+        r.motilityCount = motilityCount;
+        r.frequencySum = frequencySum;
+        r.frequencyMin = frequencyMin;
+        r.frequencyMax = frequencyMax;
+        r.intensitySum = intensitySum;
+        r.activityCount = activityCount;
+        r.stepSum = stepSum;
+        r.distanceSum = distanceSum;
+        r.activityIndexSum = activityIndexSum;
+        return r;
+    }
+
+    public Long getLivestockId() { return livestockId; }
+    public Instant getBucketStart() { return bucketStart; }
+    public int getTempCount() { return tempCount; }
+    public BigDecimal getTempSum() { return tempSum; }
+    public BigDecimal getTempMin() { return tempMin; }
+    public BigDecimal getTempMax() { return tempMax; }
+    public int getFeverSamples() { return feverSamples; }
+    public int getMotilityCount() { return motilityCount; }
+    public BigDecimal getFrequencySum() { return frequencySum; }
+    public BigDecimal getFrequencyMin() { return frequencyMin; }
+    public BigDecimal getFrequencyMax() { return frequencyMax; }
+    public BigDecimal getIntensitySum() { return intensitySum; }
+    public int getActivityCount() { return activityCount; }
+    public long getStepSum() { return stepSum; }
+    public BigDecimal getDistanceSum() { return distanceSum; }
+    public BigDecimal getActivityIndexSum() { return activityIndexSum; }
+
+    private static BigDecimal min(BigDecimal a, BigDecimal b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.min(b);
+    }
+
+    private static BigDecimal max(BigDecimal a, BigDecimal b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.max(b);
+    }
+}
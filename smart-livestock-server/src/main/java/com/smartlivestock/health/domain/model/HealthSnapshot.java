@@ -5,6 +5,9 @@ import java.time.Instant;
 
 public class HealthSnapshot {
 
+    /** Baseline for livestock whose snapshot has none; the snapshot row is created with it too. */
+    public static final BigDecimal DEFAULT_BASELINE_TEMP = new BigDecimal("38.5");
+
     private Long id;
     private Long livestockId;
     private Long farmId;
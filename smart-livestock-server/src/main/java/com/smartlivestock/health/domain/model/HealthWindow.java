@@ -0,0 +1,117 @@
+package com.smartlivestock.health.domain.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rolling window of one livestock's most recent readings: the inputs of the fever,
+ * activity and estrus assessments, kept up to date as telemetry arrives instead of
+ * being re-read from the log tables on every message.
+ * <p>
+ * Both lists are newest first, like {@code findByLivestockIdOrderByRecordedAtDesc},
+ * and capped at the longest history any assessment reads. Late readings are
+ * inserted at their time position, so the window matches what the log tables
+ * would return.
+ */
+public class HealthWindow {
+
+    public static final int TEMPERATURE_CAPACITY = 10;
+    public static final int ACTIVITY_CAPACITY = 7;
+
+    /** When the window was last rebuilt from the log tables (epoch millis). */
+    private final long seededAt;
+    private final List<TemperaturePoint> temperatures;
+    private final List<ActivityPoint> activities;
+
+    public HealthWindow(long seededAt, List<TemperaturePoint> temperatures, List<ActivityPoint> activities) {
+        this.seededAt = seededAt;
+        this.temperatures = new ArrayList<>(temperatures);
+        this.activities = new ArrayList<>(activities);
+    }
+
+    /** Builds a window from logs as returned by the repositories, newest first. */
+    public static HealthWindow seed(long seededAt, List<TemperatureLog> temperatureLogs, List<ActivityLog> activityLogs) {
+        HealthWindow window = new HealthWindow(seededAt, List.of(), List.of());
+        temperatureLogs.forEach(window::addTemperature);
+        activityLogs.forEach(window::addActivity);
+        return window;
+    }
+
+    public HealthWindow copy() {
+        return new HealthWindow(seededAt, temperatures, activities);
+    }
+
+    public void addTemperature(TemperatureLog log) {
+        if (log.getTemperature() == null || log.getRecordedAt() == null) return;
+        insert(temperatures, new TemperaturePoint(log.getTemperature(), log.getBaselineTemp(), log.getRecordedAt()),
+                TEMPERATURE_CAPACITY);
+    }
+
+    public void addActivity(ActivityLog log) {
+        if (log.getRecordedAt() == null) return;
+        insert(activities, new ActivityPoint(log.getStepCount(), log.getActivityIndex(),
+                log.getDistanceMeters(), log.getRecordedAt()), ACTIVITY_CAPACITY);
+    }
+
+    /** Up to {@code limit} temperature logs, newest first, with delta filled in as the table computes it. */
+    public List<TemperatureLog> recentTemperatures(int limit) {
+        List<TemperatureLog> logs = new ArrayList<>(Math.min(limit, temperatures.size()));
+        for (int i = 0; i < temperatures.size() && i < limit; i++) {
+            TemperaturePoint point = temperatures.get(i);
+            TemperatureLog log = new TemperatureLog();
+            log.setTemperature(point.temperature());
+            log.setBaselineTemp(point.baselineTemp());
+            if (point.baselineTemp() != null) {
+                log.setDelta(point.temperature().subtract(point.baselineTemp()).setScale(2, RoundingMode.HALF_UP));
+            }
+            log.setRecordedAt(point.recordedAt());
+            logs.add(log);
+        }
+        return logs;
+    }
+
+    /** Up to {@code limit} activity logs, newest first. */
+    public List<ActivityLog> recentActivities(int limit) {
+        List<ActivityLog> logs = new ArrayList<>(Math.min(limit, activities.size()));
+        for (int i = 0; i < activities.size() && i < limit; i++) {
+            ActivityPoint point = activities.get(i);
+            ActivityLog log = new ActivityLog();
+            log.setStepCount(point.stepCount());
+            log.setActivityIndex(point.activityIndex());
+            log.setDistanceMeters(point.distanceMeters());
+            log.setRecordedAt(point.recordedAt());
+            logs.add(log);
+        }
+        return logs;
+    }
+
+    public long getSeededAt() { return seededAt; }
+    public List<TemperaturePoint> getTemperatures() { return List.copyOf(temperatures); }
+    public List<ActivityPoint> getActivities() { return List.copyOf(activities); }
+
+    /** Inserts before the first point that is not newer, then drops the oldest beyond capacity. */
+    private static <P extends Point> void insert(List<P> points, P point, int capacity) {
+        int at = 0;
+        while (at < points.size() && points.get(at).recordedAt().isAfter(point.recordedAt())) {
+            at++;
+        }
+        if (at >= capacity) return;
+        points.add(at, point);
+        if (points.size() > capacity) {
+            points.remove(points.size() - 1);
+        }
+    }
+
+    private interface Point {
+        Instant recordedAt();
+    }
+
+    public record TemperaturePoint(BigDecimal temperature, BigDecimal baselineTemp, Instant recordedAt)
+            implements Point {}
+
+    public record ActivityPoint(Integer stepCount, BigDecimal activityIndex, BigDecimal distanceMeters,
+                                Instant recordedAt) implements Point {}
+}
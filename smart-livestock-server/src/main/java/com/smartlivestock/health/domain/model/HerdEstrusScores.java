@@ -0,0 +1,18 @@
+package com.smartlivestock.health.domain.model;
+
+/**
+ * Estrus scores of a {@link HerdEstrusWindows}, index for index. A livestock without
+ * enough readings (three activities and two temperatures) has score {@link #UNSCORED}.
+ * Deltas are rounded to two decimals, the scale they are stored with.
+ */
+public record HerdEstrusScores(int[] scores, int[] stepIncreasePercents,
+                               double[] tempDeltas, double[] distanceDeltas) {
+
+    public static final int UNSCORED = -1;
+
+    public int size() { return scores.length; }
+    public int score(int i) { return scores[i]; }
+    public int stepIncreasePercent(int i) { return stepIncreasePercents[i]; }
+    public double tempDelta(int i) { return tempDeltas[i]; }
+    public double distanceDelta(int i) { return distanceDeltas[i]; }
+}
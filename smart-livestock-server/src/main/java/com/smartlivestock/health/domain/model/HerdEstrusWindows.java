@@ -0,0 +1,128 @@
+package com.smartlivestock.health.domain.model;
+
+import java.util.Arrays;
+
+/**
+ * A farm's estrus inputs in columnar form: for each livestock, its most recent
+ * activity and temperature readings (newest first, at most {@link #WINDOW} of each)
+ * packed into primitive arrays, so the whole herd is scored without building a log
+ * object per reading.
+ * <p>
+ * Livestock {@code i} owns activity slots {@code [activityStart(i), activityStart(i + 1))}
+ * and temperature slots {@code [temperatureStart(i), temperatureStart(i + 1))}. A
+ * missing step count or distance is stored as 0, a missing baseline as {@code NaN}.
+ */
+public final class HerdEstrusWindows {
+
+    /** Readings of each kind the estrus score looks at, as the per-message scoring did. */
+    public static final int WINDOW = 7;
+
+    private final long[] livestockIds;
+    private final int[] currentScores;
+    private final String[] sources;
+    private final int[] activityOffsets;
+    private final int[] steps;
+    private final double[] distances;
+    private final int[] temperatureOffsets;
+    private final double[] temperatures;
+    private final double[] baselines;
+
+    private HerdEstrusWindows(Builder b) {
+        this.livestockIds = Arrays.copyOf(b.livestockIds, b.size);
+        this.currentScores = Arrays.copyOf(b.currentScores, b.size);
+        this.sources = Arrays.copyOf(b.sources, b.size);
+        this.activityOffsets = Arrays.copyOf(b.activityOffsets, b.size + 1);
+        this.activityOffsets[b.size] = b.activityCount;
+        this.steps = Arrays.copyOf(b.steps, b.activityCount);
+        this.distances = Arrays.copyOf(b.distances, b.activityCount);
+        this.temperatureOffsets = Arrays.copyOf(b.temperatureOffsets, b.size + 1);
+        this.temperatureOffsets[b.size] = b.temperatureCount;
+        this.temperatures = Arrays.copyOf(b.temperatures, b.temperatureCount);
+        this.baselines = Arrays.copyOf(b.baselines, b.temperatureCount);
+    }
+
+    public int size() { return livestockIds.length; }
+    public long livestockId(int i) { return livestockIds[i]; }
+    /** The score currently on the livestock's health snapshot. */
+    public int currentScore(int i) { return currentScores[i]; }
+    /** Source of the newest activity reading, for the score row; {@code null} if none. */
+    public String source(int i) { return sources[i]; }
+    public int activityStart(int i) { return activityOffsets[i]; }
+    public int temperatureStart(int i) { return temperatureOffsets[i]; }
+    public int step(int slot) { return steps[slot]; }
+    public double distance(int slot) { return distances[slot]; }
+    public double temperature(int slot) { return temperatures[slot]; }
+    public double baseline(int slot) { return baselines[slot]; }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Accumulates rows as they are read: {@link #livestock} starts the next livestock,
+     * and the readings that follow belong to it, newest first. Readings beyond
+     * {@link #WINDOW} are ignored.
+     */
+    public static final class Builder {
+        private int size;
+        private long[] livestockIds = new long[64];
+        private int[] currentScores = new int[64];
+        private String[] sources = new String[64];
+        private int[] activityOffsets = new int[65];
+        private int[] temperatureOffsets = new int[65];
+        private int activityCount;
+        private int[] steps = new int[256];
+        private double[] distances = new double[256];
+        private int temperatureCount;
+        private double[] temperatures = new double[256];
+        private double[] baselines = new double[256];
+
+        public Builder livestock(long livestockId, int currentScore) {
+            if (size == livestockIds.length) {
+                int capacity = size * 2;
+                livestockIds = Arrays.copyOf(livestockIds, capacity);
+                currentScores = Arrays.copyOf(currentScores, capacity);
+                sources = Arrays.copyOf(sources, capacity);
+                activityOffsets = Arrays.copyOf(activityOffsets, capacity + 1);
+                temperatureOffsets = Arrays.copyOf(temperatureOffsets, capacity + 1);
+            }
+            livestockIds[size] = livestockId;
+            currentScores[size] = currentScore;
+            activityOffsets[size] = activityCount;
+            temperatureOffsets[size] = temperatureCount;
+            size++;
+            return this;
+        }
+
+        public Builder activity(Integer stepCount, Double distanceMeters, String source) {
+            int i = size - 1;
+            if (activityCount - activityOffsets[i] >= WINDOW) return this;
+            if (activityCount == steps.length) {
+                steps = Arrays.copyOf(steps, activityCount * 2);
+                distances = Arrays.copyOf(distances, activityCount * 2);
+            }
+            if (activityCount == activityOffsets[i]) sources[i] = source;
+            steps[activityCount] = stepCount != null ? stepCount : 0;
+            distances[activityCount] = distanceMeters != null ? distanceMeters : 0;
+            activityCount++;
+            return this;
+        }
+
+        public Builder temperature(double temperature, Double baseline) {
+            int i = size - 1;
+            if (temperatureCount - temperatureOffsets[i] >= WINDOW) return this;
+            if (temperatureCount == temperatures.length) {
+                temperatures = Arrays.copyOf(temperatures, temperatureCount * 2);
+                baselines = Arrays.copyOf(baselines, temperatureCount * 2);
+            }
+            temperatures[temperatureCount] = temperature;
+            baselines[temperatureCount] = baseline != null ? baseline : Double.NaN;
+            temperatureCount++;
+            return this;
+        }
+
+        public HerdEstrusWindows build() {
+            return new HerdEstrusWindows(this);
+        }
+    }
+}
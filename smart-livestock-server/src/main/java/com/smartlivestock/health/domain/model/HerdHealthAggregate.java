@@ -0,0 +1,173 @@
+package com.smartlivestock.health.domain.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-farm counters over the health snapshots, from which the overview, stats and
+ * epidemic cards are computed without reading the herd.
+ * <p>
+ * Every snapshot contributes a fixed set of counters ({@link #contribution}); the
+ * aggregate is their sum, so a snapshot change is applied as the difference of its
+ * contributions before and after ({@link #delta}). Sums are kept as fixed-point longs
+ * (temperature and motility in hundredths, AI scores in thousandths, the scales of
+ * their columns) so they can be incremented atomically in a Redis hash.
+ */
+public class HerdHealthAggregate {
+
+    public static final String SNAPSHOTS = "snapshots";
+    /** Temperature and motility both NORMAL. */
+    public static final String HEALTHY = "healthy";
+    public static final String FEVER = "fever";
+    public static final String CRITICAL = "critical";
+    public static final String DIGESTIVE_ABNORMAL = "digestiveAbnormal";
+    public static final String DIGESTIVE_LOW = "digestiveLow";
+    /** FEVER or motility ABNORMAL: the stats "warning" bucket. */
+    public static final String WARNING = "warning";
+    /** FEVER, CRITICAL or motility ABNORMAL: the epidemic abnormal count. */
+    public static final String ABNORMAL = "abnormal";
+    public static final String TEMP_COUNT = "tempCount";
+    public static final String TEMP_SUM = "tempSum";
+    public static final String MOTILITY_SUM = "motilitySum";
+    public static final String AI_SCORED = "aiScored";
+    public static final String AI_SCORE_SUM = "aiScoreSum";
+    public static final String AI_POSITIVE = "aiPositive";
+    public static final String AI_POSITIVE_SUM = "aiPositiveSum";
+    public static final String AI_HIGH = "aiHigh";
+    public static final String ESTRUS_HIGH = "estrusHigh";
+
+    public static final List<String> FIELDS = List.of(SNAPSHOTS, HEALTHY, FEVER, CRITICAL,
+            DIGESTIVE_ABNORMAL, DIGESTIVE_LOW, WARNING, ABNORMAL, TEMP_COUNT, TEMP_SUM, MOTILITY_SUM,
+            AI_SCORED, AI_SCORE_SUM, AI_POSITIVE, AI_POSITIVE_SUM, AI_HIGH, ESTRUS_HIGH);
+
+    public static final double AI_HIGH_SCORE = 0.7;
+    public static final int ESTRUS_HIGH_SCORE = 70;
+
+    private final Map<String, Long> counters;
+
+    public HerdHealthAggregate(Map<String, Long> counters) {
+        this.counters = new HashMap<>(counters);
+    }
+
+    public static HerdHealthAggregate of(List<HealthSnapshot> snapshots) {
+        Map<String, Long> counters = new HashMap<>();
+        for (HealthSnapshot snapshot : snapshots) {
+            contribution(snapshot).forEach((field, value) -> counters.merge(field, value, Long::sum));
+        }
+        return new HerdHealthAggregate(counters);
+    }
+
+    /** The counters one snapshot adds to its farm's aggregate. */
+    public static Map<String, Long> contribution(HealthSnapshot s) {
+        Map<String, Long> c = new HashMap<>();
+        TempStatus temp = s.getTempStatus();
+        MotilityStatus motility = s.getMotilityStatus();
+        c.put(SNAPSHOTS, 1L);
+        if (temp == TempStatus.NORMAL && motility == MotilityStatus.NORMAL) c.put(HEALTHY, 1L);
+        if (temp == TempStatus.FEVER) c.put(FEVER, 1L);
+        if (temp == TempStatus.CRITICAL) c.put(CRITICAL, 1L);
+        if (motility == MotilityStatus.ABNORMAL) c.put(DIGESTIVE_ABNORMAL, 1L);
+        if (motility == MotilityStatus.LOW) c.put(DIGESTIVE_LOW, 1L);
+        if (temp == TempStatus.FEVER || motility == MotilityStatus.ABNORMAL) c.put(WARNING, 1L);
+        if (temp == TempStatus.FEVER || temp == TempStatus.CRITICAL || motility == MotilityStatus.ABNORMAL) {
+            c.put(ABNORMAL, 1L);
+        }
+        if (s.getCurrentTemp() != null) {
+            c.put(TEMP_COUNT, 1L);
+            c.put(TEMP_SUM, fixed(s.getCurrentTemp(), 2));
+        }
+        if (s.getCurrentMotility() != null) {
+            c.put(MOTILITY_SUM, fixed(s.getCurrentMotility(), 2));
+        }
+        BigDecimal ai = s.getAiAnomalyScore();
+        if (ai != null) {
+            c.put(AI_SCORED, 1L);
+            c.put(AI_SCORE_SUM, fixed(ai, 3));
+            if (ai.signum() > 0) {
+                c.put(AI_POSITIVE, 1L);
+                c.put(AI_POSITIVE_SUM, fixed(ai, 3));
+                if (ai.doubleValue() >= AI_HIGH_SCORE) c.put(AI_HIGH, 1L);
+            }
+        }
+        if (s.getEstrusScore() != null && s.getEstrusScore() >= ESTRUS_HIGH_SCORE) c.put(ESTRUS_HIGH, 1L);
+        return c;
+    }
+
+    /**
+     * Non-zero counter changes turning {@code before} into {@code after}; either may be
+     * {@code null} for a snapshot that did not exist or no longer exists.
+     */
+    public static Map<String, Long> delta(Map<String, Long> before, Map<String, Long> after) {
+        Map<String, Long> delta = new HashMap<>();
+        if (after != null) after.forEach((field, value) -> delta.merge(field, value, Long::sum));
+        if (before != null) before.forEach((field, value) -> delta.merge(field, -value, Long::sum));
+        delta.values().removeIf(v -> v == 0L);
+        return delta;
+    }
+
+    public Map<String, Long> getCounters() { return Map.copyOf(counters); }
+
+    public long get(String field) {
+        return counters.getOrDefault(field, 0L);
+    }
+
+    public int snapshotCount() { return (int) get(SNAPSHOTS); }
+    public int healthyCount() { return (int) get(HEALTHY); }
+    public int criticalCount() { return (int) get(CRITICAL); }
+    /** FEVER or CRITICAL. */
+    public int feverAbnormalCount() { return (int) (get(FEVER) + get(CRITICAL)); }
+    public int digestiveAbnormalCount() { return (int) get(DIGESTIVE_ABNORMAL); }
+    public int digestiveWatchCount() { return (int) get(DIGESTIVE_LOW); }
+    public int warningCount() { return (int) get(WARNING); }
+    public int abnormalCount() { return (int) get(ABNORMAL); }
+    public int estrusHighCount() { return (int) get(ESTRUS_HIGH); }
+    public int aiAnomalyCount() { return (int) get(AI_POSITIVE); }
+    public int aiHighScoreCount() { return (int) get(AI_HIGH); }
+
+    /** Mean current temperature over snapshots that have one, as EpidemicAnalysisService computed it. */
+    public BigDecimal avgTemperature() {
+        long count = get(TEMP_COUNT);
+        return count > 0
+                ? BigDecimal.valueOf(get(TEMP_SUM), 2).divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+    }
+
+    /** Mean current temperature over all snapshots, a missing reading counting as {@code missingAs}. */
+    public double avgTemperatureOrDefault(double missingAs) {
+        long total = get(SNAPSHOTS);
+        if (total == 0) return missingAs;
+        return (get(TEMP_SUM) / 100.0 + missingAs * (total - get(TEMP_COUNT))) / total;
+    }
+
+    /** Mean current motility over all snapshots, a missing reading counting as zero. */
+    public double avgMotility(double whenEmpty) {
+        long total = get(SNAPSHOTS);
+        return total > 0 ? get(MOTILITY_SUM) / 100.0 / total : whenEmpty;
+    }
+
+    public BigDecimal abnormalRate() {
+        long total = get(SNAPSHOTS);
+        return total > 0
+                ? BigDecimal.valueOf(get(ABNORMAL)).divide(BigDecimal.valueOf(total), 4, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+    }
+
+    /** Mean AI score over snapshots scored above zero. */
+    public double aiAvgScore() {
+        long count = get(AI_POSITIVE);
+        return count > 0 ? get(AI_POSITIVE_SUM) / 1000.0 / count : 0.0;
+    }
+
+    /** Mean AI score over all scored snapshots. */
+    public double aiAvgAllScore() {
+        long count = get(AI_SCORED);
+        return count > 0 ? get(AI_SCORE_SUM) / 1000.0 / count : 0.0;
+    }
+
+    private static long fixed(BigDecimal value, int scale) {
+        return value.movePointRight(scale).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+}
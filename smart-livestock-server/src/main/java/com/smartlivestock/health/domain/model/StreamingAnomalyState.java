@@ -0,0 +1,42 @@
+package com.smartlivestock.health.domain.model;
+
+/**
+ * One livestock's streaming detector state: for each metric an EWMA mean and
+ * variance, the two CUSUM sums and the z-score of the latest reading.
+ * <p>
+ * The size is fixed whatever the history, so the state can be kept in memory for the
+ * whole herd and updated on every reading. It is not thread-safe; callers serialise
+ * updates of one livestock.
+ */
+public class StreamingAnomalyState {
+
+    public static final int TEMPERATURE = 0;
+    public static final int MOTILITY = 1;
+    public static final int ACTIVITY = 2;
+    public static final int METRICS = 3;
+
+    private final long[] count = new long[METRICS];
+    private final double[] mean = new double[METRICS];
+    private final double[] variance = new double[METRICS];
+    private final double[] cusumHigh = new double[METRICS];
+    private final double[] cusumLow = new double[METRICS];
+    private final double[] lastZ = new double[METRICS];
+
+    public long count(int metric) { return count[metric]; }
+    public double mean(int metric) { return mean[metric]; }
+    public double variance(int metric) { return variance[metric]; }
+    public double cusumHigh(int metric) { return cusumHigh[metric]; }
+    public double cusumLow(int metric) { return cusumLow[metric]; }
+    public double lastZ(int metric) { return lastZ[metric]; }
+
+    /** Advances one metric; the detector computes the new values. */
+    public void set(int metric, double newMean, double newVariance,
+                    double newCusumHigh, double newCusumLow, double z) {
+        count[metric]++;
+        mean[metric] = newMean;
+        variance[metric] = newVariance;
+        cusumHigh[metric] = newCusumHigh;
+        cusumLow[metric] = newCusumLow;
+        lastZ[metric] = z;
+    }
+}
@@ -0,0 +1,13 @@
+package com.smartlivestock.health.domain.port;
+
+import com.smartlivestock.health.domain.port.dto.DevicePlacement;
+
+import java.util.Optional;
+
+/**
+ * ACL query port for Health context to read IoT context data.
+ */
+public interface IoTQueryPort {
+    /** The livestock and farm a device is currently installed on, if any. */
+    Optional<DevicePlacement> findPlacement(Long deviceId);
+}
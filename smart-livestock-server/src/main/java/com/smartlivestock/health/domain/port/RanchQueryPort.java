@@ -2,7 +2,9 @@ package com.smartlivestock.health.domain.port;
 
 import com.smartlivestock.health.domain.port.dto.LivestockInfo;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -10,6 +12,11 @@ import java.util.Optional;
  */
 public interface RanchQueryPort {
     Optional<LivestockInfo> findLivestockById(Long livestockId);
+
+    /** The livestock among {@code livestockIds} that exist, by id, in one round trip. */
+    Map<Long, LivestockInfo> findLivestockByIds(Collection<Long> livestockIds);
+
     List<LivestockInfo> findAllByFarmId(Long farmId);
+    int countByFarmId(Long farmId);
     int countActiveAlertsByFarmId(Long farmId);
 }
@@ -9,4 +9,7 @@ public interface ActivityLogRepository {
     List<ActivityLog> findByLivestockIdAndTimeRange(Long livestockId, Instant from, Instant to);
     List<ActivityLog> findByLivestockIdOrderByRecordedAtDesc(Long livestockId, int limit);
     ActivityLog save(ActivityLog log);
+
+    /** Inserts all logs in one JDBC batch; returns the number of rows written. */
+    int saveAllBatch(List<ActivityLog> logs);
 }
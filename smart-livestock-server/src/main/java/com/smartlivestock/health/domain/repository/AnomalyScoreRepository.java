@@ -7,6 +7,7 @@ import java.util.Optional;
 
 public interface AnomalyScoreRepository {
     AnomalyScore save(AnomalyScore score);
+    int saveAllBatch(List<AnomalyScore> scores);
     Optional<AnomalyScore> findLatestByFarmIdAndLivestockId(Long farmId, Long livestockId);
     List<AnomalyScore> findByFarmIdAndLivestockId(Long farmId, Long livestockId, int limit);
 }
@@ -8,4 +8,11 @@ public interface ContactTraceRepository {
     List<ContactTrace> findByFarmIdOrderByLastContactAtDesc(Long farmId);
     List<ContactTrace> findByFromLivestockIdOrderByLastContactAtDesc(Long fromLivestockId);
     ContactTrace save(ContactTrace trace);
+
+    /**
+     * Inserts or extends episode rows in one JDBC batch, keyed by
+     * (from, to, episodeStartedAt). A new row inherits the disease marking of the
+     * source livestock's latest marked trace.
+     */
+    void upsertEpisodes(List<ContactTrace> traces);
 }
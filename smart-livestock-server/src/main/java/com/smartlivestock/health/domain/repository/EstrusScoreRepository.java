@@ -1,6 +1,7 @@
 package com.smartlivestock.health.domain.repository;
 
 import com.smartlivestock.health.domain.model.EstrusScore;
+import com.smartlivestock.health.domain.model.HerdEstrusWindows;
 
 import java.time.Instant;
 import java.util.List;
@@ -11,4 +12,15 @@ public interface EstrusScoreRepository {
     List<EstrusScore> findByLivestockIdOrderByScoredAtDesc(Long livestockId, int limit);
     Optional<EstrusScore> findLatestByLivestockId(Long livestockId);
     EstrusScore save(EstrusScore score);
+
+    /** The newest score of each livestock of the farm. */
+    List<EstrusScore> findLatestByFarmId(Long farmId);
+
+    int saveAllBatch(List<EstrusScore> scores);
+
+    /**
+     * Estrus inputs of every livestock with a health snapshot on the farm: its newest
+     * activity and temperature readings recorded since {@code since}.
+     */
+    HerdEstrusWindows findWindowsByFarmId(Long farmId, Instant since);
 }
@@ -0,0 +1,28 @@
+package com.smartlivestock.health.domain.repository;
+
+import com.smartlivestock.health.domain.model.HealthRollup;
+import com.smartlivestock.health.domain.model.HealthRollup.Period;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+
+public interface HealthRollupRepository {
+
+    /** Adds each rollup to its stored bucket, creating the bucket if needed. */
+    void increment(Period period, List<HealthRollup> rollups);
+
+    /** Buckets of one livestock starting in [from, to), oldest first. */
+    List<HealthRollup> find(Period period, Long livestockId, Instant from, Instant to);
+
+    /**
+     * Recomputes every bucket starting in [from, to) from the log tables, replacing the
+     * stored values; {@code zone} places DAY buckets.
+     *
+     * @return number of buckets written
+     */
+    int rebuild(Period period, Instant from, Instant to, BigDecimal feverThreshold, ZoneId zone);
+
+    boolean isEmpty(Period period);
+}
@@ -1,13 +1,33 @@
 package com.smartlivestock.health.domain.repository;
 
+import com.smartlivestock.health.domain.model.AnomalyScore;
 import com.smartlivestock.health.domain.model.HealthSnapshot;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface HealthSnapshotRepository {
     List<HealthSnapshot> findByFarmId(Long farmId);
     Optional<HealthSnapshot> findByLivestockId(Long livestockId);
+    List<HealthSnapshot> findByLivestockIds(List<Long> livestockIds);
+
+    /** Snapshots whose temperature status is set and not NORMAL. */
+    List<HealthSnapshot> findWithAbnormalTemp(Long farmId);
+
+    /** Snapshots whose motility status is set and not NORMAL. */
+    List<HealthSnapshot> findWithAbnormalMotility(Long farmId);
     HealthSnapshot save(HealthSnapshot snapshot);
-    void ensureSnapshotExists(Long livestockId, Long farmId);
+    /** Inserts a default snapshot unless one exists; {@code true} if it was inserted. */
+    boolean ensureSnapshotExists(Long livestockId, Long farmId);
+
+    /** Sets the AI columns of each scored livestock's snapshot, leaving the rule-engine columns alone. */
+    void updateAiAssessments(List<AnomalyScore> scores, Instant assessedAt);
+
+    /** Farms that have at least one snapshot. */
+    List<Long> findFarmIds();
+
+    /** Sets the estrus score of each livestock's snapshot, by livestock id. */
+    void updateEstrusScores(Map<Long, Integer> scores);
 }
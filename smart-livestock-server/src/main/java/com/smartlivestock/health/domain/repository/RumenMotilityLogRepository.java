@@ -9,4 +9,7 @@ public interface RumenMotilityLogRepository {
     List<RumenMotilityLog> findByLivestockIdAndTimeRange(Long livestockId, Instant from, Instant to);
     List<RumenMotilityLog> findByLivestockIdOrderByRecordedAtDesc(Long livestockId, int limit);
     RumenMotilityLog save(RumenMotilityLog log);
+
+    /** Inserts all logs in one JDBC batch; returns the number of rows written. */
+    int saveAllBatch(List<RumenMotilityLog> logs);
 }
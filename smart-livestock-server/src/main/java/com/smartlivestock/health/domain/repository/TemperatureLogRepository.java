@@ -10,4 +10,7 @@ public interface TemperatureLogRepository {
     List<TemperatureLog> findLatestByLivestockIds(List<Long> livestockIds, int limitPerLivestock);
     List<TemperatureLog> findByLivestockIdOrderByRecordedAtDesc(Long livestockId, int limit);
     TemperatureLog save(TemperatureLog log);
+
+    /** Inserts all logs in one JDBC batch; returns the number of rows written. */
+    int saveAllBatch(List<TemperatureLog> logs);
 }
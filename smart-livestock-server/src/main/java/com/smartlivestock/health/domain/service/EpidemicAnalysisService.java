@@ -1,6 +1,7 @@
 package com.smartlivestock.health.domain.service;
 
 import com.smartlivestock.health.domain.model.HealthSnapshot;
+import com.smartlivestock.health.domain.model.HerdHealthAggregate;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -50,6 +51,15 @@ public class EpidemicAnalysisService {
         return new HerdMetrics(avgTemp, BigDecimal.ZERO, abnormalRate, total, abnormalCount);
     }
 
+    /** Same metrics from the farm's maintained aggregate, without reading the snapshots. */
+    public HerdMetrics calculateHerdMetrics(HerdHealthAggregate aggregate) {
+        if (aggregate.snapshotCount() == 0) {
+            return new HerdMetrics(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, 0, 0);
+        }
+        return new HerdMetrics(aggregate.avgTemperature(), BigDecimal.ZERO, aggregate.abnormalRate(),
+                aggregate.snapshotCount(), aggregate.abnormalCount());
+    }
+
     public String assessRiskLevel(BigDecimal abnormalRate) {
         if (abnormalRate == null) return "正常";
         double rate = abnormalRate.doubleValue();
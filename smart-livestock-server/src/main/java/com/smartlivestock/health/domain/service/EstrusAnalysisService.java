@@ -1,11 +1,12 @@
 package com.smartlivestock.health.domain.service;
 
-import com.smartlivestock.health.domain.model.ActivityLog;
-import com.smartlivestock.health.domain.model.TemperatureLog;
+import com.smartlivestock.health.domain.model.HealthSnapshot;
+import com.smartlivestock.health.domain.model.HerdEstrusScores;
+import com.smartlivestock.health.domain.model.HerdEstrusWindows;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.util.List;
+import java.util.stream.IntStream;
 
 /**
  * Multi-dimensional estrus scoring (0-100).
@@ -14,7 +15,19 @@ import java.util.List;
 @Service
 public class EstrusAnalysisService {
 
+    /** Baseline for temperature readings stored without one. */
+    private static final double DEFAULT_BASELINE_TEMP = HealthSnapshot.DEFAULT_BASELINE_TEMP.doubleValue();
+
+    /** Herds smaller than this are scored on the calling thread. */
+    private static final int PARALLEL_THRESHOLD = 1024;
+
     public int calculateScore(int stepIncreasePercent, BigDecimal tempDelta, BigDecimal distanceDelta) {
+        return calculateScore(stepIncreasePercent,
+                tempDelta != null ? tempDelta.doubleValue() : 0,
+                distanceDelta != null ? distanceDelta.doubleValue() : 0);
+    }
+
+    public int calculateScore(int stepIncreasePercent, double tempDelta, double distanceDelta) {
         double stepScore = scoreStepIncrease(stepIncreasePercent);
         double tempScore = scoreTempDelta(tempDelta);
         double distScore = scoreDistanceDelta(distanceDelta);
@@ -22,6 +35,65 @@ public class EstrusAnalysisService {
        return (int) Math.round(Math.max(0, Math.min(100, raw)));
     }
 
+    /**
+     * Scores every livestock of the herd. Step increase and distance delta compare the
+     * three newest activity readings with the older ones in the window; temperature
+     * delta is the newest reading against the baseline of the oldest.
+     */
+    public HerdEstrusScores scoreHerd(HerdEstrusWindows herd) {
+        int n = herd.size();
+        HerdEstrusScores result = new HerdEstrusScores(new int[n], new int[n], new double[n], new double[n]);
+        IntStream indexes = IntStream.range(0, n);
+        if (n >= PARALLEL_THRESHOLD) {
+            indexes = indexes.parallel();
+        }
+        // Each index writes only its own slots.
+        indexes.forEach(i -> scoreOne(herd, i, result));
+        return result;
+    }
+
+    private void scoreOne(HerdEstrusWindows herd, int i, HerdEstrusScores out) {
+        int activityFrom = herd.activityStart(i);
+        int activityTo = herd.activityStart(i + 1);
+        int tempFrom = herd.temperatureStart(i);
+        int tempTo = herd.temperatureStart(i + 1);
+        if (activityTo - activityFrom < 3 || tempTo - tempFrom < 2) {
+            out.scores()[i] = HerdEstrusScores.UNSCORED;
+            return;
+        }
+
+        int recentSteps = 0;
+        int olderSteps = 0;
+        double recentDist = 0;
+        double olderDist = 0;
+        for (int slot = activityFrom; slot < activityTo; slot++) {
+            if (slot - activityFrom < 3) {
+                recentSteps += herd.step(slot);
+                recentDist += herd.distance(slot);
+            } else {
+                olderSteps += herd.step(slot);
+                olderDist += herd.distance(slot);
+            }
+        }
+        int stepIncrease = olderSteps == 0
+                ? (recentSteps > 0 ? 100 : 0)
+                : Math.round((float) (recentSteps - olderSteps) / olderSteps * 100);
+
+        double baseline = herd.baseline(tempTo - 1);
+        if (Double.isNaN(baseline)) baseline = DEFAULT_BASELINE_TEMP;
+        double tempDelta = round2(herd.temperature(tempFrom) - baseline);
+        double distanceDelta = round2(recentDist - olderDist);
+
+        out.scores()[i] = calculateScore(stepIncrease, tempDelta, distanceDelta);
+        out.stepIncreasePercents()[i] = stepIncrease;
+        out.tempDeltas()[i] = tempDelta;
+        out.distanceDeltas()[i] = distanceDelta;
+    }
+
+    private static double round2(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
    public String generateAdvice(int score) {
        if (score >= 70) {
             return "High estrus score. Breeding recommended within 12 hours.";
@@ -38,17 +110,13 @@ public class EstrusAnalysisService {
         return increasePercent / 50.0 * 20;
     }
 
-    private double scoreTempDelta(BigDecimal delta) {
-        if (delta == null) return 0;
-        double d = delta.doubleValue();
+    private double scoreTempDelta(double d) {
         if (d > 0.5) return 40 + Math.min((d - 0.5) / 0.5 * 20, 20);
         if (d > 0.2) return 10 + (d - 0.2) / 0.3 * 30;
         return d / 0.2 * 10;
     }
 
-    private double scoreDistanceDelta(BigDecimal delta) {
-        if (delta == null) return 0;
-        double d = delta.doubleValue();
+    private double scoreDistanceDelta(double d) {
         if (d > 2000) return 50 + Math.min((d - 2000) / 1000.0 * 20, 20);
         if (d > 500) return 15 + (d - 500) / 1500.0 * 35;
         return d / 500.0 * 15;
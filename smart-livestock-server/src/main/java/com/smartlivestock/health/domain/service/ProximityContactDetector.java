@@ -0,0 +1,109 @@
+package com.smartlivestock.health.domain.service;
+
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds the pairs of livestock within a contact radius among one farm's positions
+ * for one time slice.
+ * <p>
+ * Positions are projected to local metres (equirectangular, centred on the mean
+ * latitude) and hashed into a grid whose cells are one radius wide, so any pair in
+ * range sits in the same or an adjacent cell. Each cell is compared with itself
+ * and four of its eight neighbours, which visits every adjacent cell pair once.
+ * Cost is O(n + pairs in neighbouring cells) rather than O(n²); it only degrades
+ * when a large part of the herd is packed within a few radii, where the number of
+ * real contacts is quadratic anyway.
+ */
+@Service
+public class ProximityContactDetector {
+
+    private static final double METERS_PER_DEG_LAT = 110_540.0;
+    private static final double METERS_PER_DEG_LNG = 111_320.0;
+    /** Forward neighbours: with the cell itself they cover each adjacent pair once. */
+    private static final int[][] NEIGHBOURS = {{1, 0}, {-1, 1}, {0, 1}, {1, 1}};
+
+    public record Position(Long livestockId, double latitude, double longitude, Instant recordedAt) {}
+
+    /** A pair in range; {@code livestockA < livestockB}, {@code at} is the later of the two fixes. */
+    public record Contact(Long livestockA, Long livestockB, double distanceMeters, Instant at) {}
+
+    /**
+     * @param positions one position per livestock
+     * @return every pair closer than {@code radiusMeters}, in no particular order
+     */
+    public List<Contact> detect(List<Position> positions, double radiusMeters) {
+        int n = positions.size();
+        List<Contact> contacts = new ArrayList<>();
+        if (n < 2 || radiusMeters <= 0) {
+            return contacts;
+        }
+
+        double meanLat = 0;
+        for (Position p : positions) {
+            meanLat += p.latitude();
+        }
+        meanLat /= n;
+        double kx = Math.cos(Math.toRadians(meanLat)) * METERS_PER_DEG_LNG;
+        double[] x = new double[n];
+        double[] y = new double[n];
+        Map<Long, List<Integer>> grid = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            Position p = positions.get(i);
+            x[i] = p.longitude() * kx;
+            y[i] = p.latitude() * METERS_PER_DEG_LAT;
+            grid.computeIfAbsent(cellKey(cell(x[i], radiusMeters), cell(y[i], radiusMeters)), k -> new ArrayList<>())
+                    .add(i);
+        }
+
+        double radius2 = radiusMeters * radiusMeters;
+        for (Map.Entry<Long, List<Integer>> entry : grid.entrySet()) {
+            List<Integer> members = entry.getValue();
+            long cx = entry.getKey() >> 32;
+            long cy = (int) (long) entry.getKey();
+            for (int a = 0; a < members.size(); a++) {
+                int i = members.get(a);
+                for (int b = a + 1; b < members.size(); b++) {
+                    addIfInRange(positions, x, y, i, members.get(b), radius2, contacts);
+                }
+                for (int[] offset : NEIGHBOURS) {
+                    List<Integer> neighbours = grid.get(cellKey(cx + offset[0], cy + offset[1]));
+                    if (neighbours == null) continue;
+                    for (int j : neighbours) {
+                        addIfInRange(positions, x, y, i, j, radius2, contacts);
+                    }
+                }
+            }
+        }
+        return contacts;
+    }
+
+    private static void addIfInRange(List<Position> positions, double[] x, double[] y, int i, int j,
+                                     double radius2, List<Contact> out) {
+        double dx = x[i] - x[j];
+        double dy = y[i] - y[j];
+        double d2 = dx * dx + dy * dy;
+        if (d2 >= radius2) return;
+        Position p = positions.get(i);
+        Position q = positions.get(j);
+        Instant at = p.recordedAt().isAfter(q.recordedAt()) ? p.recordedAt() : q.recordedAt();
+        if (p.livestockId() < q.livestockId()) {
+            out.add(new Contact(p.livestockId(), q.livestockId(), Math.sqrt(d2), at));
+        } else {
+            out.add(new Contact(q.livestockId(), p.livestockId(), Math.sqrt(d2), at));
+        }
+    }
+
+    private static long cell(double meters, double size) {
+        return (long) Math.floor(meters / size);
+    }
+
+    private static long cellKey(long cx, long cy) {
+        return (cx << 32) | (cy & 0xFFFF_FFFFL);
+    }
+}
@@ -0,0 +1,122 @@
+package com.smartlivestock.health.domain.service;
+
+import com.smartlivestock.health.domain.model.StreamingAnomalyState;
+import org.springframework.stereotype.Service;
+
+import static com.smartlivestock.health.domain.model.StreamingAnomalyState.METRICS;
+
+/**
+ * Streaming anomaly detection over temperature, motility and activity, updated one
+ * reading at a time in O(1).
+ * <p>
+ * Each reading is compared with the EWMA baseline of its metric: the z-score of that
+ * reading catches abrupt changes, and a two-sided CUSUM of the z-scores catches small
+ * shifts that persist. The baseline then absorbs the reading, so a lasting change
+ * stops scoring once it has become the animal's new normal. Standard deviations are
+ * floored per metric; otherwise a perfectly steady sensor would turn noise into
+ * large z-scores.
+ * <p>
+ * {@link #assess} turns a state into a 0-1 score shaped like ai-platform's: the
+ * z-score and CUSUM components stand in for its STL and CUSUM contributions, and the
+ * joint component is high only when two metrics deviate together.
+ */
+@Service
+public class StreamingAnomalyDetector {
+
+    /** EWMA weight of a new reading; about the last 30 readings dominate the baseline. */
+    static final double ALPHA = 0.06;
+    /** CUSUM slack in standard deviations; drifts smaller than this are ignored. */
+    static final double CUSUM_K = 0.5;
+    /** CUSUM decision interval: a sum this large scores 0.7, the default alert threshold. */
+    static final double CUSUM_H = 5.0;
+    /** Z-scores are clipped so one glitch cannot push the CUSUM far past its alarm level. */
+    static final double Z_CAP = 8.0;
+    /** |z| at or below this scores zero; {@link #Z_ALARM} scores 0.7. */
+    static final double Z_QUIET = 3.0;
+    static final double Z_ALARM = 5.0;
+    /** Readings per metric before it is scored, so the baseline has settled. */
+    public static final int WARMUP = 12;
+
+    private static final double[] SD_FLOOR = {0.1, 0.05, 1.0};
+    private static final double[] SD_FLOOR_RELATIVE = {0.0, 0.05, 0.05};
+    private static final double LN_1_OVER_0_3 = Math.log(1 / 0.3);
+    /** Indexed by metric. */
+    private static final String[] SHIFT_TYPES = {"abrupt_change", "motility_shift", "activity_shift"};
+
+    /**
+     * @param score     max of the three components, 0-1
+     * @param type      {@code normal}, {@code multivariate} or the shift type of the metric
+     *                  that scored highest
+     * @param readings  readings behind the scored metrics (the fewest of them)
+     */
+    public record Assessment(double score, String type, double zScoreComponent,
+                             double cusumComponent, double jointComponent, long readings) {}
+
+    public void update(StreamingAnomalyState state, int metric, double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return;
+        }
+        if (state.count(metric) == 0) {
+            state.set(metric, value, 0, 0, 0, 0);
+            return;
+        }
+        double mean = state.mean(metric);
+        double variance = state.variance(metric);
+        double diff = value - mean;
+        double sd = Math.max(Math.sqrt(variance),
+                Math.max(SD_FLOOR[metric], SD_FLOOR_RELATIVE[metric] * Math.abs(mean)));
+        double z = Math.max(-Z_CAP, Math.min(Z_CAP, diff / sd));
+        double high = Math.max(0, state.cusumHigh(metric) + z - CUSUM_K);
+        double low = Math.max(0, state.cusumLow(metric) - z - CUSUM_K);
+        double newMean = mean + ALPHA * diff;
+        double newVariance = (1 - ALPHA) * (variance + ALPHA * diff * diff);
+        state.set(metric, newMean, newVariance, high, low, z);
+    }
+
+    /** @return {@code null} while no metric has {@link #WARMUP} readings */
+    public Assessment assess(StreamingAnomalyState state) {
+        double zComponent = 0;
+        double cusumComponent = 0;
+        double top = 0;
+        double second = 0;
+        int topMetric = -1;
+        long readings = Long.MAX_VALUE;
+        for (int m = 0; m < METRICS; m++) {
+            if (state.count(m) < WARMUP) {
+                continue;
+            }
+            readings = Math.min(readings, state.count(m));
+            double z = saturate(Math.abs(state.lastZ(m)), Z_QUIET, Z_ALARM);
+            double cusum = saturate(Math.max(state.cusumHigh(m), state.cusumLow(m)), CUSUM_H / 2, CUSUM_H);
+            double metricScore = Math.max(z, cusum);
+            zComponent = Math.max(zComponent, z);
+            cusumComponent = Math.max(cusumComponent, cusum);
+            if (metricScore > top) {
+                second = top;
+                top = metricScore;
+                topMetric = m;
+            } else if (metricScore > second) {
+                second = metricScore;
+            }
+        }
+        if (readings == Long.MAX_VALUE) {
+            return null;
+        }
+        double joint = Math.sqrt(top * second);
+        double score = Math.max(zComponent, Math.max(cusumComponent, joint));
+        String type;
+        if (score < 0.3) {
+            type = "normal";
+        } else if (joint >= Math.max(zComponent, cusumComponent) * 0.8) {
+            type = "multivariate";
+        } else {
+            type = SHIFT_TYPES[topMetric];
+        }
+        return new Assessment(score, type, zComponent, cusumComponent, joint, readings);
+    }
+
+    /** 0 up to {@code quiet}, 0.7 at {@code alarm}, approaching 1 beyond. */
+    private static double saturate(double x, double quiet, double alarm) {
+        return x <= quiet ? 0 : 1 - Math.exp(-(x - quiet) * LN_1_OVER_0_3 / (alarm - quiet));
+    }
+}
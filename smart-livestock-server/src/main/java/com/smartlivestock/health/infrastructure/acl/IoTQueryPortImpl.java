@@ -0,0 +1,28 @@
+package com.smartlivestock.health.infrastructure.acl;
+
+import com.smartlivestock.health.domain.port.IoTQueryPort;
+import com.smartlivestock.health.domain.port.dto.DevicePlacement;
+import com.smartlivestock.iot.application.DeviceContextCache;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+@Component("healthIoTQueryPort")
+public class IoTQueryPortImpl implements IoTQueryPort {
+
+    private final DeviceContextCache deviceContextCache;
+
+    public IoTQueryPortImpl(DeviceContextCache deviceContextCache) {
+        this.deviceContextCache = deviceContextCache;
+    }
+
+    // Served from the device context near-cache: called once per GPS point.
+    @Override
+    public Optional<DevicePlacement> findPlacement(Long deviceId) {
+        DeviceContextCache.DeviceContext context = deviceContextCache.get(deviceId);
+        if (!context.installed() || context.farmId() == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new DevicePlacement(deviceId, context.livestockId(), context.farmId()));
+    }
+}
@@ -38,14 +38,7 @@ public class RanchCommandPortImpl implements RanchCommandPort {
 
     @Override
     public void resolveAlert(Long livestockId, String alertType) {
-        AlertType type = AlertType.valueOf(alertType);
-        var activeAlerts = alertRepository.findByLivestockIdAndTypeAndStatus(
-                livestockId, type,
-                com.smartlivestock.ranch.domain.model.AlertStatus.ACTIVE);
-        for (Alert alert : activeAlerts) {
-            alert.autoResolve();
-            alertRepository.save(alert);
-        }
+        alertRepository.autoResolveActive(livestockId, java.util.List.of(AlertType.valueOf(alertType)), null);
     }
 
     private String toJson(java.util.List<?> args) {
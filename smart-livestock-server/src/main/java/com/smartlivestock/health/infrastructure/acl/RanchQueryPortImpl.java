@@ -2,20 +2,49 @@ package com.smartlivestock.health.infrastructure.acl;
 
 import com.smartlivestock.health.domain.port.RanchQueryPort;
 import com.smartlivestock.health.domain.port.dto.LivestockInfo;
+import com.smartlivestock.ranch.domain.event.LivestockChangedEvent;
+import com.smartlivestock.ranch.domain.model.AlertStatus;
 import com.smartlivestock.ranch.domain.model.Livestock;
 import com.smartlivestock.ranch.domain.repository.AlertRepository;
 import com.smartlivestock.ranch.domain.repository.LivestockRepository;
+import com.smartlivestock.shared.cache.LruMap;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+/**
+ * Livestock lookups are served from a near-cache: code, breed and gender are
+ * read-mostly, and the health read models resolve them for every row they list.
+ * <p>
+ * A local update or delete evicts the entry right after commit. Changes made on
+ * other nodes are picked up once the entry is older than
+ * {@code health.livestock-cache.ttl-ms}. At most
+ * {@code health.livestock-cache.max-size} entries are kept, least recently used
+ * first out.
+ */
 @Component("healthRanchQueryPort")
 public class RanchQueryPortImpl implements RanchQueryPort {
 
     private final LivestockRepository livestockRepository;
     private final AlertRepository alertRepository;
 
+    @Value("${health.livestock-cache.ttl-ms:60000}")
+    private long ttlMs = 60_000;
+
+    @Value("${health.livestock-cache.max-size:50000}")
+    private int maxSize = 50_000;
+
+    private final LruMap<Long, Cached> byId = new LruMap<>(() -> maxSize);
+
     public RanchQueryPortImpl(LivestockRepository livestockRepository, AlertRepository alertRepository) {
         this.livestockRepository = livestockRepository;
         this.alertRepository = alertRepository;
@@ -23,8 +52,31 @@ public class RanchQueryPortImpl implements RanchQueryPort {
 
     @Override
     public Optional<LivestockInfo> findLivestockById(Long livestockId) {
-        return livestockRepository.findById(livestockId)
-                .map(this::toInfo);
+        return Optional.ofNullable(findLivestockByIds(List.of(livestockId)).get(livestockId));
+    }
+
+    @Override
+    public Map<Long, LivestockInfo> findLivestockByIds(Collection<Long> livestockIds) {
+        long now = System.currentTimeMillis();
+        Map<Long, LivestockInfo> found = new HashMap<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long id : livestockIds) {
+            if (id == null || found.containsKey(id)) continue;
+            Cached cached = byId.get(id);
+            if (cached != null && now - cached.loadedAt < ttlMs) {
+                found.put(id, cached.info);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (Livestock livestock : livestockRepository.findAllByIds(missing)) {
+                LivestockInfo info = toInfo(livestock);
+                found.put(info.id(), info);
+                byId.put(info.id(), new Cached(info, now));
+            }
+        }
+        return found;
     }
 
     @Override
@@ -34,14 +86,24 @@ public class RanchQueryPortImpl implements RanchQueryPort {
                 .toList();
     }
 
+    @Override
+    public int countByFarmId(Long farmId) {
+        return (int) livestockRepository.countByFarmId(farmId);
+    }
+
     @Override
     public int countActiveAlertsByFarmId(Long farmId) {
-        return (int) alertRepository.findByFarmId(farmId).stream()
-                .filter(a -> "ACTIVE".equals(a.getStatus()))
-                .count();
+        return (int) alertRepository.countByFarmIdAndStatus(farmId, AlertStatus.ACTIVE);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLivestockChanged(LivestockChangedEvent event) {
+        byId.remove(event.getLivestockId());
     }
 
     private LivestockInfo toInfo(Livestock l) {
         return new LivestockInfo(l.getId(), l.getFarmId(), l.getLivestockCode(), l.getGender(), l.getBreed());
     }
+
+    private record Cached(LivestockInfo info, long loadedAt) {}
 }
@@ -0,0 +1,76 @@
+package com.smartlivestock.health.infrastructure.mq;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartlivestock.health.application.service.ContactTracingService;
+import com.smartlivestock.health.domain.port.IoTQueryPort;
+import com.smartlivestock.health.domain.port.dto.DevicePlacement;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.rocketmq.spring.annotation.MessageModel;
+import org.apache.rocketmq.spring.annotation.RocketMQMessageListener;
+import org.apache.rocketmq.spring.core.RocketMQListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * RocketMQ consumer: listens on "gps-log-updated" topic and feeds positions to
+ * {@link ContactTracingService}.
+ * <p>
+ * BROADCASTING, unlike the ranch consumer: contact detection needs every position of
+ * a farm, while the clustered queues split a farm's devices across nodes. Only an
+ * in-memory buffer is touched here, so a failed message is logged and dropped
+ * rather than retried.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "health.contact.enabled", havingValue = "true", matchIfMissing = true)
+@RocketMQMessageListener(
+        topic = "gps-log-updated",
+        consumerGroup = "health-contact-consumer",
+        messageModel = MessageModel.BROADCASTING
+)
+@RequiredArgsConstructor
+public class GpsContactConsumer implements RocketMQListener<String> {
+
+    private final ObjectMapper objectMapper;
+    private final IoTQueryPort ioTQueryPort;
+    private final ContactTracingService contactTracingService;
+
+    @Override
+    public void onMessage(String message) {
+        try {
+            JsonNode root = objectMapper.readTree(message);
+
+            // Imported trajectories are test routes, not where the herd was.
+            String source = root.path("source").isTextual()
+                    ? root.path("source").asText() : "AGENTIC_PLATFORM";
+            if ("MANUAL_IMPORT".equals(source)) {
+                return;
+            }
+
+            String recordedAtStr = root.path("recordedAt").asText(null);
+            if (recordedAtStr == null) {
+                return;
+            }
+            double latitude = root.path("latitude").asDouble();
+            double longitude = root.path("longitude").asDouble();
+            if (latitude == 0 && longitude == 0) {
+                return;
+            }
+
+            Long deviceId = root.path("deviceId").asLong();
+            DevicePlacement placement = ioTQueryPort.findPlacement(deviceId).orElse(null);
+            if (placement == null) {
+                return;
+            }
+
+            contactTracingService.record(placement.farmId(), placement.livestockId(),
+                    latitude, longitude, Instant.parse(recordedAtStr));
+        } catch (Exception e) {
+            log.warn("Failed to record GPS position for contact tracing: {}", e.getMessage());
+        }
+    }
+}
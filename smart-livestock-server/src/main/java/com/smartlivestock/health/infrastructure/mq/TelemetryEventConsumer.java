@@ -2,73 +2,168 @@ package com.smartlivestock.health.infrastructure.mq;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartlivestock.health.application.dto.HealthDtos.TelemetryMessage;
 import com.smartlivestock.health.application.service.HealthApplicationService;
 import com.smartlivestock.iot.domain.model.DeviceType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.rocketmq.client.consumer.DefaultMQPushConsumer;
+import org.apache.rocketmq.client.consumer.listener.ConsumeOrderlyStatus;
+import org.apache.rocketmq.client.consumer.listener.MessageListenerOrderly;
+import org.apache.rocketmq.common.message.MessageExt;
+import org.apache.rocketmq.spring.annotation.ConsumeMode;
 import org.apache.rocketmq.spring.annotation.RocketMQMessageListener;
 import org.apache.rocketmq.spring.core.RocketMQListener;
+import org.apache.rocketmq.spring.core.RocketMQPushConsumerLifecycleListener;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * RocketMQ consumer: listens on "telemetry-received" topic, deserializes
  * TelemetryReceivedEvent JSON, and delegates to HealthApplicationService.
+ * <p>
+ * With {@code health.telemetry.lanes.enabled} (the default) messages go through
+ * {@link TelemetryLanes}, which orders them per livestock and commits several in one
+ * transaction. With lanes disabled each message is processed in its own transaction.
+ * <p>
+ * Consumed ORDERLY: the bridge keys every message by livestock, so one animal's
+ * readings sit on one queue and are delivered in send order. With lanes, a queue's
+ * thread takes up to {@code health.telemetry.batch-size} messages at once, hands
+ * them all to the lanes and acks once every one of them has committed; a lane thus
+ * gathers many messages per queue instead of one, and waits once per batch. If any
+ * message still fails after the lanes' one-by-one retry, the whole batch is
+ * redelivered (at-least-once), and later readings of the failed animal in that batch
+ * may already be stored.
  */
 @Slf4j
 @Component
 @RocketMQMessageListener(
        topic = "telemetry-received",
        consumerGroup = "health-telemetry-consumer",
-       consumeThreadMax = 20
+       consumeMode = ConsumeMode.ORDERLY,
+       maxReconsumeTimes = 5,
+       consumeThreadNumber = 64,
+       consumeThreadMax = 64
 )
 @RequiredArgsConstructor
-public class TelemetryEventConsumer implements RocketMQListener<String> {
+public class TelemetryEventConsumer implements RocketMQListener<String>, RocketMQPushConsumerLifecycleListener {
 
     private final ObjectMapper objectMapper;
     private final HealthApplicationService healthApplicationService;
+    private final TelemetryLanes telemetryLanes;
+
+    @Value("${health.telemetry.lanes.enabled:true}")
+    private boolean lanesEnabled = true;
+
+    @Value("${health.telemetry.lanes.wait-ms:60000}")
+    private long laneWaitMs = 60_000;
+
+    /** Messages one queue delivers at once when lanes are enabled. */
+    @Value("${health.telemetry.batch-size:32}")
+    private int batchSize = 32;
+
+    /** With lanes, replaces the per-message listener with one that consumes whole batches. */
+    @Override
+    public void prepareStart(DefaultMQPushConsumer consumer) {
+        if (!lanesEnabled) {
+            return;
+        }
+        consumer.setConsumeMessageBatchMaxSize(batchSize);
+        consumer.registerMessageListener((MessageListenerOrderly) (messages, context) -> consumeBatch(messages));
+    }
 
     @Override
     public void onMessage(String message) {
         try {
-            JsonNode root = objectMapper.readTree(message);
-
-            // Jackson's asLong() maps missing/null nodes to 0, turning an
-            // absent farm/livestock context into farm_id=0 and tripping the
-            // health_snapshots FK. Parse to a real null instead.
-            Long deviceId = nullableLong(root.path("deviceId"));
-            Long livestockId = nullableLong(root.path("livestockId"));
-            Long farmId = nullableLong(root.path("farmId"));
-            String deviceTypeStr = root.path("deviceType").asText("CAPSULE");
-            DeviceType deviceType = DeviceType.valueOf(deviceTypeStr);
-
-            // Telemetry for a device without an active installation carries no
-            // livestock/farm context, so it cannot produce a health snapshot.
-            // ACK and skip it instead of letting the INSERT fail and trigger
-            // broker retries, which exhaust the DB pool and block web requests.
-            if (livestockId == null || livestockId <= 0 || farmId == null || farmId <= 0) {
-                log.warn("Skipping telemetry without valid context: deviceId={}, livestockId={}, farmId={}",
-                        deviceId, livestockId, farmId);
+            TelemetryMessage telemetry = parse(message);
+            if (telemetry == null) {
                 return;
             }
+            if (lanesEnabled) {
+                awaitLane(telemetry);
+            } else {
+                healthApplicationService.processTelemetry(
+                        telemetry.deviceId(), telemetry.livestockId(), telemetry.farmId(),
+                        telemetry.deviceType(), telemetry.readings(), telemetry.recordedAt(), telemetry.source());
+            }
+        } catch (Exception e) {
+            log.error("Failed to process telemetry message: {}", e.getMessage(), e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    /** Submits every message before waiting, so the lanes can commit them together. */
+    ConsumeOrderlyStatus consumeBatch(List<MessageExt> messages) {
+        List<CompletableFuture<Void>> pending = new ArrayList<>(messages.size());
+        try {
+            for (MessageExt message : messages) {
+                TelemetryMessage telemetry = parse(new String(message.getBody(), StandardCharsets.UTF_8));
+                if (telemetry != null) {
+                    pending.add(telemetryLanes.submit(telemetry));
+                }
+            }
+            CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new))
+                    .get(laneWaitMs, TimeUnit.MILLISECONDS);
+            log.debug("Consumed telemetry batch of {} messages", messages.size());
+            return ConsumeOrderlyStatus.SUCCESS;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ConsumeOrderlyStatus.SUSPEND_CURRENT_QUEUE_A_MOMENT;
+        } catch (Exception e) {
+            Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+            log.error("Failed to process telemetry batch of {} messages: {}", messages.size(), cause.getMessage(), cause);
+            return ConsumeOrderlyStatus.SUSPEND_CURRENT_QUEUE_A_MOMENT;
+        }
+    }
+
+    /** The message as a {@link TelemetryMessage}, or null when it carries no livestock context. */
+    private TelemetryMessage parse(String message) throws Exception {
+        JsonNode root = objectMapper.readTree(message);
+
+        // Jackson's asLong() maps missing/null nodes to 0, turning an
+        // absent farm/livestock context into farm_id=0 and tripping the
+        // health_snapshots FK. Parse to a real null instead.
+        Long deviceId = nullableLong(root.path("deviceId"));
+        Long livestockId = nullableLong(root.path("livestockId"));
+        Long farmId = nullableLong(root.path("farmId"));
+        String deviceTypeStr = root.path("deviceType").asText("CAPSULE");
+        DeviceType deviceType = DeviceType.valueOf(deviceTypeStr);
 
-            @SuppressWarnings("unchecked")
-            Map<String, Object> readings = objectMapper.convertValue(
-                    root.path("readings"), Map.class);
+        // Telemetry for a device without an active installation carries no
+        // livestock/farm context, so it cannot produce a health snapshot.
+        // ACK and skip it instead of letting the INSERT fail and trigger
+        // broker retries, which exhaust the DB pool and block web requests.
+        if (livestockId == null || livestockId <= 0 || farmId == null || farmId <= 0) {
+            log.warn("Skipping telemetry without valid context: deviceId={}, livestockId={}, farmId={}",
+                    deviceId, livestockId, farmId);
+            return null;
+        }
 
-            String recordedAtStr = root.path("recordedAt").asText(null);
-            java.time.Instant recordedAt = recordedAtStr != null
-                    ? java.time.Instant.parse(recordedAtStr) : java.time.Instant.now();
-            String source = root.path("source").isTextual()
-                    ? root.path("source").asText() : "UNKNOWN";
+        @SuppressWarnings("unchecked")
+        Map<String, Object> readings = objectMapper.convertValue(
+                root.path("readings"), Map.class);
 
-            healthApplicationService.processTelemetry(
-                    deviceId, livestockId, farmId, deviceType, readings, recordedAt, source);
+        String recordedAtStr = root.path("recordedAt").asText(null);
+        java.time.Instant recordedAt = recordedAtStr != null
+                ? java.time.Instant.parse(recordedAtStr) : java.time.Instant.now();
+        String source = root.path("source").isTextual()
+                ? root.path("source").asText() : "UNKNOWN";
+        return new TelemetryMessage(deviceId, livestockId, farmId, deviceType, readings, recordedAt, source);
+    }
 
-        } catch (Exception e) {
-            log.error("Failed to process telemetry message: {}", e.getMessage(), e);
-            throw new RuntimeException(e);
+    private void awaitLane(TelemetryMessage message) throws Exception {
+        try {
+            telemetryLanes.submit(message).get(laneWaitMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
         }
     }
 
@@ -0,0 +1,126 @@
+package com.smartlivestock.health.infrastructure.mq;
+
+import com.smartlivestock.health.application.dto.HealthDtos.TelemetryMessage;
+import com.smartlivestock.health.application.service.HealthApplicationService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Per-livestock ordered lanes between {@link TelemetryEventConsumer} and
+ * {@link HealthApplicationService}.
+ * <p>
+ * A message goes to lane {@code livestockId mod health.telemetry.lanes.count}, each
+ * drained by a single thread, so one animal's messages never run concurrently and
+ * cannot race on its snapshot. Whatever a lane has queued when its thread picks up
+ * work (up to {@code health.telemetry.lanes.max-batch}) is processed together by
+ * {@link HealthApplicationService#processTelemetryBatch}: one transaction, one
+ * snapshot write per livestock.
+ * <p>
+ * The consumer thread waits for its message's batch to commit before acking, so
+ * delivery stays at-least-once. If a batch fails its messages are retried one by
+ * one, and only those that fail again are reported back for broker redelivery.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TelemetryLanes {
+
+    private final HealthApplicationService healthApplicationService;
+
+    @Value("${health.telemetry.lanes.count:8}")
+    private int laneCount = 8;
+
+    @Value("${health.telemetry.lanes.max-batch:50}")
+    private int maxBatch = 50;
+
+    private List<BlockingQueue<Pending>> queues;
+    private List<Thread> workers;
+    private volatile boolean running;
+
+    @PostConstruct
+    void init() {
+        queues = new ArrayList<>(laneCount);
+        workers = new ArrayList<>(laneCount);
+        running = true;
+        for (int i = 0; i < laneCount; i++) {
+            BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+            Thread worker = new Thread(() -> drain(queue), "telemetry-lane-" + i);
+            worker.setDaemon(true);
+            queues.add(queue);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // The flag, not only the interrupt: processing may swallow the interrupt
+        running = false;
+        workers.forEach(Thread::interrupt);
+        for (BlockingQueue<Pending> queue : queues) {
+            List<Pending> left = new ArrayList<>();
+            queue.drainTo(left);
+            left.forEach(p -> p.done.completeExceptionally(new IllegalStateException("Telemetry lanes shut down")));
+        }
+    }
+
+    /** Queues the message on its livestock's lane; completes once it has been committed. */
+    public CompletableFuture<Void> submit(TelemetryMessage message) {
+        Pending pending = new Pending(message, new CompletableFuture<>());
+        queues.get(laneOf(message.livestockId())).add(pending);
+        return pending.done;
+    }
+
+    int laneOf(Long livestockId) {
+        return Math.floorMod(Long.hashCode(livestockId), laneCount);
+    }
+
+    private void drain(BlockingQueue<Pending> queue) {
+        List<Pending> batch = new ArrayList<>(maxBatch);
+        while (running && !Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(batch, maxBatch - 1);
+            process(batch);
+            batch.clear();
+        }
+    }
+
+    void process(List<Pending> batch) {
+        try {
+            healthApplicationService.processTelemetryBatch(batch.stream().map(Pending::message).toList());
+            batch.forEach(p -> p.done.complete(null));
+            return;
+        } catch (Exception e) {
+            if (batch.size() == 1) {
+                batch.get(0).done.completeExceptionally(e);
+                return;
+            }
+            log.warn("Telemetry batch of {} failed, retrying one by one: {}", batch.size(), e.getMessage());
+        }
+        for (Pending pending : batch) {
+            try {
+                healthApplicationService.processTelemetryBatch(List.of(pending.message));
+                pending.done.complete(null);
+            } catch (Exception e) {
+                pending.done.completeExceptionally(e);
+            }
+        }
+    }
+
+    record Pending(TelemetryMessage message, CompletableFuture<Void> done) {}
+}
@@ -45,6 +45,9 @@ public class ContactTraceJpaEntity {
     @Column(name = "risk_level")
     private String riskLevel;
 
+    @Column(name = "episode_started_at")
+    private Instant episodeStartedAt;
+
     @PrePersist
     protected void onCreate() { this.createdAt = Instant.now(); }
 
@@ -72,4 +75,7 @@ public class ContactTraceJpaEntity {
     public void setRiskScore(Integer riskScore) { this.riskScore = riskScore; }
     public String getRiskLevel() { return riskLevel; }
     public void setRiskLevel(String riskLevel) { this.riskLevel = riskLevel; }
+
+    public Instant getEpisodeStartedAt() { return episodeStartedAt; }
+    public void setEpisodeStartedAt(Instant episodeStartedAt) { this.episodeStartedAt = episodeStartedAt; }
 }
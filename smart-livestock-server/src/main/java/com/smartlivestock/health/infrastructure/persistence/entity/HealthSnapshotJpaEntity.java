@@ -36,7 +36,8 @@ public class HealthSnapshotJpaEntity {
     @Column(name = "motility_status", nullable = false, length = 20)
     private String motilityStatus;
 
-    @Column(name = "estrus_score")
+    // Written only by the herd estrus pass (updateEstrusScores); snapshot saves leave it alone.
+    @Column(name = "estrus_score", updatable = false)
     private Integer estrusScore;
 
     @Column(name = "activity_status", nullable = false, length = 20)
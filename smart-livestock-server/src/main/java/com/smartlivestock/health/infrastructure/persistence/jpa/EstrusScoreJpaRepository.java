@@ -2,6 +2,8 @@ package com.smartlivestock.health.infrastructure.persistence.jpa;
 
 import com.smartlivestock.health.infrastructure.persistence.entity.EstrusScoreJpaEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -10,4 +12,11 @@ public interface EstrusScoreJpaRepository extends JpaRepository<EstrusScoreJpaEn
     List<EstrusScoreJpaEntity> findByFarmIdOrderByScoredAtDesc(Long farmId);
     List<EstrusScoreJpaEntity> findByLivestockIdOrderByScoredAtDesc(Long livestockId);
     Optional<EstrusScoreJpaEntity> findTopByLivestockIdOrderByScoredAtDesc(Long livestockId);
+
+    @Query(value = """
+            SELECT DISTINCT ON (livestock_id) * FROM estrus_scores
+            WHERE farm_id = :farmId
+            ORDER BY livestock_id, scored_at DESC, id DESC
+            """, nativeQuery = true)
+    List<EstrusScoreJpaEntity> findLatestByFarmId(@Param("farmId") Long farmId);
 }
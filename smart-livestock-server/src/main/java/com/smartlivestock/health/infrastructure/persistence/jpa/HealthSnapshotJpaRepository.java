@@ -12,6 +12,16 @@ import java.util.Optional;
 public interface HealthSnapshotJpaRepository extends JpaRepository<HealthSnapshotJpaEntity, Long> {
     List<HealthSnapshotJpaEntity> findByFarmId(Long farmId);
     Optional<HealthSnapshotJpaEntity> findByLivestockId(Long livestockId);
+    List<HealthSnapshotJpaEntity> findByLivestockIdIn(List<Long> livestockIds);
+
+    @Query("SELECT s FROM HealthSnapshotJpaEntity s WHERE s.farmId = :farmId AND s.tempStatus <> 'NORMAL'")
+    List<HealthSnapshotJpaEntity> findWithAbnormalTemp(@Param("farmId") Long farmId);
+
+    @Query("SELECT s FROM HealthSnapshotJpaEntity s WHERE s.farmId = :farmId AND s.motilityStatus <> 'NORMAL'")
+    List<HealthSnapshotJpaEntity> findWithAbnormalMotility(@Param("farmId") Long farmId);
+
+    @Query("SELECT DISTINCT s.farmId FROM HealthSnapshotJpaEntity s")
+    List<Long> findDistinctFarmIds();
 
     // UPSERT: race-safe idempotent insert; does nothing if a snapshot for this livestock already exists
     @Modifying
@@ -26,5 +36,5 @@ public interface HealthSnapshotJpaRepository extends JpaRepository<HealthSnapsho
                  NOW(), NOW())
             ON CONFLICT (livestock_id) DO NOTHING
             """, nativeQuery = true)
-    void ensureSnapshotExists(@Param("livestockId") Long livestockId, @Param("farmId") Long farmId);
+    int ensureSnapshotExists(@Param("livestockId") Long livestockId, @Param("farmId") Long farmId);
 }
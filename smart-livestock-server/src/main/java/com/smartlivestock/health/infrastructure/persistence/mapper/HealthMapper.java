@@ -190,6 +190,7 @@ public final class HealthMapper {
         d.setMarkedAt(e.getMarkedAt());
         d.setRiskScore(e.getRiskScore());
         d.setRiskLevel(e.getRiskLevel());
+        d.setEpisodeStartedAt(e.getEpisodeStartedAt());
         return d;
     }
 
@@ -207,6 +208,7 @@ public final class HealthMapper {
         e.setMarkedAt(d.getMarkedAt());
         e.setRiskScore(d.getRiskScore());
         e.setRiskLevel(d.getRiskLevel());
+        e.setEpisodeStartedAt(d.getEpisodeStartedAt());
         return e;
     }
 }
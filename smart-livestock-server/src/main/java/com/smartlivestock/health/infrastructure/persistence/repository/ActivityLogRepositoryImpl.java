@@ -4,9 +4,14 @@ import com.smartlivestock.health.domain.model.ActivityLog;
 import com.smartlivestock.health.domain.repository.ActivityLogRepository;
 import com.smartlivestock.health.infrastructure.persistence.jpa.ActivityLogJpaRepository;
 import com.smartlivestock.health.infrastructure.persistence.mapper.HealthMapper;
+import com.smartlivestock.shared.persistence.JdbcBatch;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.Instant;
 import java.util.List;
 
@@ -14,8 +19,17 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ActivityLogRepositoryImpl implements ActivityLogRepository {
 
+    private static final String INSERT_SQL = """
+            INSERT INTO activity_logs (livestock_id, device_id, step_count, activity_index, distance_meters,
+                                       recorded_at, source, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, NOW())
+            """;
+
     private final ActivityLogJpaRepository jpaRepo;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Override
     public List<ActivityLog> findByLivestockIdAndTimeRange(Long livestockId, Instant from, Instant to) {
         return jpaRepo.findByLivestockIdAndRecordedAtBetweenOrderByRecordedAtAsc(livestockId, from, to)
@@ -32,4 +46,21 @@ public class ActivityLogRepositoryImpl implements ActivityLogRepository {
     public ActivityLog save(ActivityLog log) {
         return HealthMapper.toDomain(jpaRepo.save(HealthMapper.toJpa(log)));
     }
+
+    @Override
+    public int saveAllBatch(List<ActivityLog> logs) {
+        return JdbcBatch.execute(entityManager, INSERT_SQL, logs, (ps, log) -> {
+            ps.setLong(1, log.getLivestockId());
+            ps.setLong(2, log.getDeviceId());
+            if (log.getStepCount() != null) {
+                ps.setInt(3, log.getStepCount());
+            } else {
+                ps.setNull(3, Types.INTEGER);
+            }
+            ps.setBigDecimal(4, log.getActivityIndex());
+            ps.setBigDecimal(5, log.getDistanceMeters());
+            ps.setTimestamp(6, Timestamp.from(log.getRecordedAt()));
+            ps.setString(7, log.getSource() != null ? log.getSource() : "UNKNOWN");
+        });
+    }
 }
@@ -6,12 +6,17 @@ import com.smartlivestock.health.domain.model.AnomalyScore;
 import com.smartlivestock.health.domain.repository.AnomalyScoreRepository;
 import com.smartlivestock.health.infrastructure.persistence.entity.AnomalyScoreJpaEntity;
 import com.smartlivestock.health.infrastructure.persistence.jpa.AnomalyScoreJpaRepository;
+import com.smartlivestock.shared.persistence.JdbcBatch;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.sql.Types;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -22,9 +27,18 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class AnomalyScoreRepositoryImpl implements AnomalyScoreRepository {
 
+    private static final String INSERT_SQL = """
+            INSERT INTO anomaly_scores (tenant_id, farm_id, livestock_id, window_start, window_end, anomaly_score,
+                                        anomaly_type, contributions, capability_used, n_eff, model_meta, source, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, CAST(? AS jsonb), ?, ?, CAST(? AS jsonb), ?, NOW())
+            """;
+
     private final AnomalyScoreJpaRepository jpaRepository;
     private final ObjectMapper objectMapper;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Override
     public AnomalyScore save(AnomalyScore score) {
         AnomalyScoreJpaEntity entity = toEntity(score);
@@ -32,6 +46,24 @@ public class AnomalyScoreRepositoryImpl implements AnomalyScoreRepository {
         return toDomain(entity);
     }
 
+    @Override
+    public int saveAllBatch(List<AnomalyScore> scores) {
+        return JdbcBatch.execute(entityManager, INSERT_SQL, scores, (ps, score) -> {
+            ps.setLong(1, score.getTenantId());
+            ps.setLong(2, score.getFarmId());
+            ps.setLong(3, score.getLivestockId());
+            ps.setTimestamp(4, Timestamp.from(score.getWindowStart()));
+            ps.setTimestamp(5, Timestamp.from(score.getWindowEnd()));
+            ps.setBigDecimal(6, score.getAnomalyScore());
+            ps.setString(7, score.getAnomalyType());
+            ps.setString(8, toJson(score.getContributions()));
+            ps.setString(9, score.getCapabilityUsed());
+            ps.setObject(10, score.getNEff(), Types.INTEGER);
+            ps.setString(11, toJson(score.getModelMeta()));
+            ps.setString(12, score.getSource() != null ? score.getSource() : "UNKNOWN");
+        });
+    }
+
     @Override
     public Optional<AnomalyScore> findLatestByFarmIdAndLivestockId(Long farmId, Long livestockId) {
         return jpaRepository.findFirstByFarmIdAndLivestockIdOrderByCreatedAtDesc(farmId, livestockId)
@@ -4,17 +4,44 @@ import com.smartlivestock.health.domain.model.ContactTrace;
 import com.smartlivestock.health.domain.repository.ContactTraceRepository;
 import com.smartlivestock.health.infrastructure.persistence.jpa.ContactTraceJpaRepository;
 import com.smartlivestock.health.infrastructure.persistence.mapper.HealthMapper;
+import com.smartlivestock.shared.persistence.JdbcBatch;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
 import java.util.List;
 
 @Repository
 @RequiredArgsConstructor
 public class ContactTraceRepositoryImpl implements ContactTraceRepository {
 
+    private static final String UPSERT_EPISODE_SQL = """
+            INSERT INTO contact_traces (
+                farm_id, from_livestock_id, to_livestock_id, proximity_meters,
+                contact_duration_minutes, last_contact_at, episode_started_at,
+                disease_type, marked_at, created_at
+            )
+            SELECT ?, ?, ?, ?, ?, ?, ?, m.disease_type, m.marked_at, NOW()
+            FROM (SELECT 1) one
+            LEFT JOIN LATERAL (
+                SELECT disease_type, marked_at FROM contact_traces
+                WHERE from_livestock_id = ? AND disease_type IS NOT NULL
+                ORDER BY marked_at DESC NULLS LAST LIMIT 1
+            ) m ON TRUE
+            ON CONFLICT (from_livestock_id, to_livestock_id, episode_started_at) DO UPDATE SET
+                proximity_meters = LEAST(contact_traces.proximity_meters, EXCLUDED.proximity_meters),
+                contact_duration_minutes = GREATEST(contact_traces.contact_duration_minutes,
+                                                    EXCLUDED.contact_duration_minutes),
+                last_contact_at = GREATEST(contact_traces.last_contact_at, EXCLUDED.last_contact_at)
+            """;
+
     private final ContactTraceJpaRepository jpaRepo;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Override
     public List<ContactTrace> findByFarmIdOrderByLastContactAtDesc(Long farmId) {
         return jpaRepo.findByFarmIdOrderByLastContactAtDesc(farmId).stream()
@@ -31,4 +58,18 @@ public class ContactTraceRepositoryImpl implements ContactTraceRepository {
     public ContactTrace save(ContactTrace trace) {
         return HealthMapper.toDomain(jpaRepo.save(HealthMapper.toJpa(trace)));
     }
+
+    @Override
+    public void upsertEpisodes(List<ContactTrace> traces) {
+        JdbcBatch.execute(entityManager, UPSERT_EPISODE_SQL, traces, (ps, trace) -> {
+            ps.setLong(1, trace.getFarmId());
+            ps.setLong(2, trace.getFromLivestockId());
+            ps.setLong(3, trace.getToLivestockId());
+            ps.setBigDecimal(4, trace.getProximityMeters());
+            ps.setInt(5, trace.getContactDurationMinutes());
+            ps.setTimestamp(6, Timestamp.from(trace.getLastContactAt()));
+            ps.setTimestamp(7, Timestamp.from(trace.getEpisodeStartedAt()));
+            ps.setLong(8, trace.getFromLivestockId());
+        });
+    }
 }
@@ -1,12 +1,21 @@
 package com.smartlivestock.health.infrastructure.persistence.repository;
 
 import com.smartlivestock.health.domain.model.EstrusScore;
+import com.smartlivestock.health.domain.model.HerdEstrusWindows;
 import com.smartlivestock.health.domain.repository.EstrusScoreRepository;
 import com.smartlivestock.health.infrastructure.persistence.jpa.EstrusScoreJpaRepository;
 import com.smartlivestock.health.infrastructure.persistence.mapper.HealthMapper;
+import com.smartlivestock.shared.persistence.JdbcBatch;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
 import org.springframework.stereotype.Repository;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,8 +23,42 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class EstrusScoreRepositoryImpl implements EstrusScoreRepository {
 
+    private static final String INSERT_SQL = """
+            INSERT INTO estrus_scores (farm_id, livestock_id, score, step_increase_percent, temp_delta,
+                                       distance_delta, advice, scored_at, source, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, NOW())
+            """;
+
+    /*
+     * One row per reading (kind 0 = activity, 1 = temperature), grouped by livestock and
+     * newest first; a livestock without readings yields a single row with a null kind.
+     * Each lateral branch reads the newest rows of one livestock from the
+     * (livestock_id, recorded_at DESC) indexes.
+     */
+    private static final String WINDOWS_SQL = """
+            SELECT s.livestock_id, COALESCE(s.estrus_score, 0), w.kind, w.v1, w.v2, w.source
+            FROM health_snapshots s
+            LEFT JOIN LATERAL (
+                (SELECT 0 AS kind, a.recorded_at, a.step_count::float8 AS v1,
+                        a.distance_meters::float8 AS v2, a.source
+                 FROM activity_logs a
+                 WHERE a.livestock_id = s.livestock_id AND a.recorded_at >= ?
+                 ORDER BY a.recorded_at DESC LIMIT ?)
+                UNION ALL
+                (SELECT 1, t.recorded_at, t.temperature::float8, t.baseline_temp::float8, t.source
+                 FROM temperature_logs t
+                 WHERE t.livestock_id = s.livestock_id AND t.recorded_at >= ?
+                 ORDER BY t.recorded_at DESC LIMIT ?)
+            ) w ON TRUE
+            WHERE s.farm_id = ?
+            ORDER BY s.livestock_id, w.kind, w.recorded_at DESC
+            """;
+
     private final EstrusScoreJpaRepository jpaRepo;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Override
     public List<EstrusScore> findByFarmIdOrderByScoredAtDesc(Long farmId) {
         return jpaRepo.findByFarmIdOrderByScoredAtDesc(farmId).stream()
@@ -38,4 +81,61 @@ public class EstrusScoreRepositoryImpl implements EstrusScoreRepository {
     public EstrusScore save(EstrusScore score) {
         return HealthMapper.toDomain(jpaRepo.save(HealthMapper.toJpa(score)));
     }
+
+    @Override
+    public List<EstrusScore> findLatestByFarmId(Long farmId) {
+        return jpaRepo.findLatestByFarmId(farmId).stream().map(HealthMapper::toDomain).toList();
+    }
+
+    @Override
+    public int saveAllBatch(List<EstrusScore> scores) {
+        return JdbcBatch.execute(entityManager, INSERT_SQL, scores, (ps, score) -> {
+            ps.setLong(1, score.getFarmId());
+            ps.setLong(2, score.getLivestockId());
+            ps.setInt(3, score.getScore());
+            ps.setObject(4, score.getStepIncreasePercent());
+            ps.setBigDecimal(5, score.getTempDelta());
+            ps.setBigDecimal(6, score.getDistanceDelta());
+            ps.setString(7, score.getAdvice());
+            ps.setTimestamp(8, Timestamp.from(score.getScoredAt()));
+            ps.setString(9, score.getSource() != null ? score.getSource() : "UNKNOWN");
+        });
+    }
+
+    @Override
+    public HerdEstrusWindows findWindowsByFarmId(Long farmId, Instant since) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(WINDOWS_SQL)) {
+                ps.setTimestamp(1, Timestamp.from(since));
+                ps.setInt(2, HerdEstrusWindows.WINDOW);
+                ps.setTimestamp(3, Timestamp.from(since));
+                ps.setInt(4, HerdEstrusWindows.WINDOW);
+                ps.setLong(5, farmId);
+                ps.setFetchSize(10_000);
+                HerdEstrusWindows.Builder herd = HerdEstrusWindows.builder();
+                long current = Long.MIN_VALUE;
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        long livestockId = rs.getLong(1);
+                        if (livestockId != current) {
+                            herd.livestock(livestockId, rs.getInt(2));
+                            current = livestockId;
+                        }
+                        int kind = rs.getInt(3);
+                        if (rs.wasNull()) continue;
+                        double v1 = rs.getDouble(4);
+                        boolean v1Null = rs.wasNull();
+                        double v2 = rs.getDouble(5);
+                        Double second = rs.wasNull() ? null : v2;
+                        if (kind == 0) {
+                            herd.activity(v1Null ? null : (int) v1, second, rs.getString(6));
+                        } else if (!v1Null) {
+                            herd.temperature(v1, second);
+                        }
+                    }
+                }
+                return herd.build();
+            }
+        });
+    }
 }
@@ -0,0 +1,205 @@
+package com.smartlivestock.health.infrastructure.persistence.repository;
+
+import com.smartlivestock.health.domain.model.HealthRollup;
+import com.smartlivestock.health.domain.model.HealthRollup.Period;
+import com.smartlivestock.health.domain.repository.HealthRollupRepository;
+import com.smartlivestock.shared.persistence.JdbcBatch;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rollup rows are written with plain JDBC: increments are one batched upsert per
+ * period, and a rebuild is a single INSERT ... SELECT over the three log tables.
+ */
+@Repository
+public class HealthRollupRepositoryImpl implements HealthRollupRepository {
+
+    private static final String COLUMNS = """
+            livestock_id, bucket_start, temp_count, temp_sum, temp_min, temp_max, fever_samples,
+            motility_count, frequency_sum, frequency_min, frequency_max, intensity_sum,
+            activity_count, step_sum, distance_sum, activity_index_sum""";
+
+    private static final String INCREMENT_SQL = """
+            INSERT INTO %1$s (%2$s, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, NOW())
+            ON CONFLICT (livestock_id, bucket_start) DO UPDATE SET
+                temp_count = %1$s.temp_count + EXCLUDED.temp_count,
+                temp_sum = %1$s.temp_sum + EXCLUDED.temp_sum,
+                temp_min = LEAST(%1$s.temp_min, EXCLUDED.temp_min),
+                temp_max = GREATEST(%1$s.temp_max, EXCLUDED.temp_max),
+                fever_samples = %1$s.fever_samples + EXCLUDED.fever_samples,
+                motility_count = %1$s.motility_count + EXCLUDED.motility_count,
+                frequency_sum = %1$s.frequency_sum + EXCLUDED.frequency_sum,
+                frequency_min = LEAST(%1$s.frequency_min, EXCLUDED.frequency_min),
+                frequency_max = GREATEST(%1$s.frequency_max, EXCLUDED.frequency_max),
+                intensity_sum = %1$s.intensity_sum + EXCLUDED.intensity_sum,
+                activity_count = %1$s.activity_count + EXCLUDED.activity_count,
+                step_sum = %1$s.step_sum + EXCLUDED.step_sum,
+                distance_sum = %1$s.distance_sum + EXCLUDED.distance_sum,
+                activity_index_sum = %1$s.activity_index_sum + EXCLUDED.activity_index_sum,
+                updated_at = NOW()
+            """;
+
+    private static final String FIND_SQL = """
+            SELECT %s FROM %s
+            WHERE livestock_id = ? AND bucket_start >= ? AND bucket_start < ?
+            ORDER BY bucket_start
+            """;
+
+    /*
+     * Log timestamps are stored as the JVM's local time (:dbZone). Hour buckets are
+     * truncated directly; day buckets are truncated in the display zone (:zone) and
+     * converted back, so they start at its midnight.
+     */
+    private static final String HOUR_BUCKET = "date_trunc('hour', recorded_at)";
+    private static final String DAY_BUCKET = "timezone(:dbZone, timezone(:zone, "
+            + "date_trunc('day', timezone(:zone, timezone(:dbZone, recorded_at)))))";
+
+    private static final String REBUILD_SQL = """
+            INSERT INTO %1$s (%2$s, updated_at)
+            SELECT livestock_id, bucket_start,
+                   SUM(temp_count), SUM(temp_sum), MIN(temp_min), MAX(temp_max), SUM(fever_samples),
+                   SUM(motility_count), SUM(frequency_sum), MIN(frequency_min), MAX(frequency_max),
+                   SUM(intensity_sum), SUM(activity_count), SUM(step_sum), SUM(distance_sum),
+                   SUM(activity_index_sum), NOW()
+            FROM (
+                SELECT livestock_id, %3$s AS bucket_start,
+                       COUNT(temperature) AS temp_count, COALESCE(SUM(temperature), 0) AS temp_sum,
+                       MIN(temperature) AS temp_min, MAX(temperature) AS temp_max,
+                       COUNT(*) FILTER (WHERE temperature > :fever) AS fever_samples,
+                       0 AS motility_count, 0 AS frequency_sum, NULL::DECIMAL AS frequency_min,
+                       NULL::DECIMAL AS frequency_max, 0 AS intensity_sum,
+                       0 AS activity_count, 0 AS step_sum, 0 AS distance_sum, 0 AS activity_index_sum
+                FROM temperature_logs
+                WHERE recorded_at >= :from AND recorded_at < :to
+                GROUP BY 1, 2
+                UNION ALL
+                SELECT livestock_id, %3$s,
+                       0, 0, NULL, NULL, 0,
+                       COUNT(*), COALESCE(SUM(frequency), 0), MIN(frequency), MAX(frequency),
+                       COALESCE(SUM(intensity), 0),
+                       0, 0, 0, 0
+                FROM rumen_motility_logs
+                WHERE recorded_at >= :from AND recorded_at < :to
+                GROUP BY 1, 2
+                UNION ALL
+                SELECT livestock_id, %3$s,
+                       0, 0, NULL, NULL, 0,
+                       0, 0, NULL, NULL, 0,
+                       COUNT(*), COALESCE(SUM(step_count), 0), COALESCE(SUM(distance_meters), 0),
+                       COALESCE(SUM(activity_index), 0)
+                FROM activity_logs
+                WHERE recorded_at >= :from AND recorded_at < :to
+                GROUP BY 1, 2
+            ) parts
+            GROUP BY livestock_id, bucket_start
+            ON CONFLICT (livestock_id, bucket_start) DO UPDATE SET
+                temp_count = EXCLUDED.temp_count,
+                temp_sum = EXCLUDED.temp_sum,
+                temp_min = EXCLUDED.temp_min,
+                temp_max = EXCLUDED.temp_max,
+                fever_samples = EXCLUDED.fever_samples,
+                motility_count = EXCLUDED.motility_count,
+                frequency_sum = EXCLUDED.frequency_sum,
+                frequency_min = EXCLUDED.frequency_min,
+                frequency_max = EXCLUDED.frequency_max,
+                intensity_sum = EXCLUDED.intensity_sum,
+                activity_count = EXCLUDED.activity_count,
+                step_sum = EXCLUDED.step_sum,
+                distance_sum = EXCLUDED.distance_sum,
+                activity_index_sum = EXCLUDED.activity_index_sum,
+                updated_at = NOW()
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void increment(Period period, List<HealthRollup> rollups) {
+        if (rollups.isEmpty()) {
+            return;
+        }
+        // Upsert in a stable key order so concurrent batches lock rows in the same order.
+        List<HealthRollup> ordered = new ArrayList<>(rollups);
+        ordered.sort((a, b) -> a.getLivestockId().equals(b.getLivestockId())
+                ? a.getBucketStart().compareTo(b.getBucketStart())
+                : a.getLivestockId().compareTo(b.getLivestockId()));
+        String sql = INCREMENT_SQL.formatted(table(period), COLUMNS);
+        JdbcBatch.execute(entityManager, sql, ordered, (ps, r) -> {
+            ps.setLong(1, r.getLivestockId());
+            ps.setTimestamp(2, Timestamp.from(r.getBucketStart()));
+            ps.setInt(3, r.getTempCount());
+            ps.setBigDecimal(4, r.getTempSum());
+            ps.setBigDecimal(5, r.getTempMin());
+            ps.setBigDecimal(6, r.getTempMax());
+            ps.setInt(7, r.getFeverSamples());
+            ps.setInt(8, r.getMotilityCount());
+            ps.setBigDecimal(9, r.getFrequencySum());
+            ps.setBigDecimal(10, r.getFrequencyMin());
+            ps.setBigDecimal(11, r.getFrequencyMax());
+            ps.setBigDecimal(12, r.getIntensitySum());
+            ps.setInt(13, r.getActivityCount());
+            ps.setLong(14, r.getStepSum());
+            ps.setBigDecimal(15, r.getDistanceSum());
+            ps.setBigDecimal(16, r.getActivityIndexSum());
+        });
+    }
+
+    @Override
+    public List<HealthRollup> find(Period period, Long livestockId, Instant from, Instant to) {
+        String sql = FIND_SQL.formatted(COLUMNS, table(period));
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                ps.setLong(1, livestockId);
+                ps.setTimestamp(2, Timestamp.from(from));
+                ps.setTimestamp(3, Timestamp.from(to));
+                List<HealthRollup> rollups = new ArrayList<>();
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        rollups.add(HealthRollup.of(rs.getLong(1), rs.getTimestamp(2).toInstant(),
+                                rs.getInt(3), rs.getBigDecimal(4), rs.getBigDecimal(5), rs.getBigDecimal(6),
+                                rs.getInt(7), rs.getInt(8), rs.getBigDecimal(9),
+                                rs.getBigDecimal(10), rs.getBigDecimal(11), rs.getBigDecimal(12),
+                                rs.getInt(13), rs.getLong(14), rs.getBigDecimal(15), rs.getBigDecimal(16)));
+                    }
+                }
+                return rollups;
+            }
+        });
+    }
+
+    @Override
+    public int rebuild(Period period, Instant from, Instant to, BigDecimal feverThreshold, ZoneId zone) {
+        String bucket = period == Period.HOUR ? HOUR_BUCKET : DAY_BUCKET;
+        var query = entityManager.createNativeQuery(REBUILD_SQL.formatted(table(period), COLUMNS, bucket))
+                .setParameter("from", Timestamp.from(from))
+                .setParameter("to", Timestamp.from(to))
+                .setParameter("fever", feverThreshold);
+        if (period == Period.DAY) {
+            query.setParameter("dbZone", ZoneId.systemDefault().getId())
+                    .setParameter("zone", zone.getId());
+        }
+        return query.executeUpdate();
+    }
+
+    @Override
+    public boolean isEmpty(Period period) {
+        return entityManager.createNativeQuery("SELECT 1 FROM " + table(period) + " LIMIT 1")
+                .getResultList().isEmpty();
+    }
+
+    private static String table(Period period) {
+        return period == Period.HOUR ? "health_hourly_rollups" : "health_daily_rollups";
+    }
+}
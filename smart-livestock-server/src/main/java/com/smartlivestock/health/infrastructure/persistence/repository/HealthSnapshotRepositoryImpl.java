@@ -1,21 +1,42 @@
 package com.smartlivestock.health.infrastructure.persistence.repository;
 
+import com.smartlivestock.health.domain.model.AnomalyScore;
 import com.smartlivestock.health.domain.model.HealthSnapshot;
 import com.smartlivestock.health.domain.repository.HealthSnapshotRepository;
 import com.smartlivestock.health.infrastructure.persistence.jpa.HealthSnapshotJpaRepository;
 import com.smartlivestock.health.infrastructure.persistence.mapper.HealthMapper;
+import com.smartlivestock.shared.persistence.JdbcBatch;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Repository
 @RequiredArgsConstructor
 public class HealthSnapshotRepositoryImpl implements HealthSnapshotRepository {
 
+    private static final String UPDATE_AI_SQL = """
+            UPDATE health_snapshots
+            SET ai_anomaly_score = ?, ai_anomaly_type = ?, ai_assessed_at = ?, updated_at = NOW()
+            WHERE livestock_id = ?
+            """;
+
+    private static final String UPDATE_ESTRUS_SQL = """
+            UPDATE health_snapshots SET estrus_score = ?, updated_at = NOW()
+            WHERE livestock_id = ?
+            """;
+
     private final HealthSnapshotJpaRepository jpaRepo;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Override
     public List<HealthSnapshot> findByFarmId(Long farmId) {
         return jpaRepo.findByFarmId(farmId).stream().map(HealthMapper::toDomain).toList();
@@ -26,13 +47,54 @@ public class HealthSnapshotRepositoryImpl implements HealthSnapshotRepository {
         return jpaRepo.findByLivestockId(livestockId).map(HealthMapper::toDomain);
     }
 
+    @Override
+    public List<HealthSnapshot> findByLivestockIds(List<Long> livestockIds) {
+        if (livestockIds.isEmpty()) {
+            return List.of();
+        }
+        return jpaRepo.findByLivestockIdIn(livestockIds).stream().map(HealthMapper::toDomain).toList();
+    }
+
+    @Override
+    public List<HealthSnapshot> findWithAbnormalTemp(Long farmId) {
+        return jpaRepo.findWithAbnormalTemp(farmId).stream().map(HealthMapper::toDomain).toList();
+    }
+
+    @Override
+    public List<HealthSnapshot> findWithAbnormalMotility(Long farmId) {
+        return jpaRepo.findWithAbnormalMotility(farmId).stream().map(HealthMapper::toDomain).toList();
+    }
+
     @Override
     public HealthSnapshot save(HealthSnapshot snapshot) {
         return HealthMapper.toDomain(jpaRepo.save(HealthMapper.toJpa(snapshot)));
     }
 
     @Override
-    public void ensureSnapshotExists(Long livestockId, Long farmId) {
-        jpaRepo.ensureSnapshotExists(livestockId, farmId);
+    public boolean ensureSnapshotExists(Long livestockId, Long farmId) {
+        return jpaRepo.ensureSnapshotExists(livestockId, farmId) > 0;
+    }
+
+    @Override
+    public void updateAiAssessments(List<AnomalyScore> scores, Instant assessedAt) {
+        JdbcBatch.execute(entityManager, UPDATE_AI_SQL, scores, (ps, score) -> {
+            ps.setBigDecimal(1, score.getAnomalyScore());
+            ps.setString(2, score.getAnomalyType());
+            ps.setTimestamp(3, Timestamp.from(assessedAt));
+            ps.setLong(4, score.getLivestockId());
+        });
+    }
+
+    @Override
+    public List<Long> findFarmIds() {
+        return jpaRepo.findDistinctFarmIds();
+    }
+
+    @Override
+    public void updateEstrusScores(Map<Long, Integer> scores) {
+        JdbcBatch.execute(entityManager, UPDATE_ESTRUS_SQL, List.copyOf(scores.entrySet()), (ps, score) -> {
+            ps.setInt(1, score.getValue());
+            ps.setLong(2, score.getKey());
+        });
     }
 }
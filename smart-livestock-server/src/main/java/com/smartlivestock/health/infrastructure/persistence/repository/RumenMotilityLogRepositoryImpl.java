@@ -4,9 +4,13 @@ import com.smartlivestock.health.domain.model.RumenMotilityLog;
 import com.smartlivestock.health.domain.repository.RumenMotilityLogRepository;
 import com.smartlivestock.health.infrastructure.persistence.jpa.RumenMotilityLogJpaRepository;
 import com.smartlivestock.health.infrastructure.persistence.mapper.HealthMapper;
+import com.smartlivestock.shared.persistence.JdbcBatch;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.List;
 
@@ -14,8 +18,16 @@ import java.util.List;
 @RequiredArgsConstructor
 public class RumenMotilityLogRepositoryImpl implements RumenMotilityLogRepository {
 
+    private static final String INSERT_SQL = """
+            INSERT INTO rumen_motility_logs (livestock_id, device_id, frequency, intensity, recorded_at, source, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, NOW())
+            """;
+
     private final RumenMotilityLogJpaRepository jpaRepo;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Override
     public List<RumenMotilityLog> findByLivestockIdAndTimeRange(Long livestockId, Instant from, Instant to) {
         return jpaRepo.findByLivestockIdAndRecordedAtBetweenOrderByRecordedAtAsc(livestockId, from, to)
@@ -28,6 +40,18 @@ public class RumenMotilityLogRepositoryImpl implements RumenMotilityLogRepositor
                 .limit(limit).map(HealthMapper::toDomain).toList();
     }
 
+    @Override
+    public int saveAllBatch(List<RumenMotilityLog> logs) {
+        return JdbcBatch.execute(entityManager, INSERT_SQL, logs, (ps, log) -> {
+            ps.setLong(1, log.getLivestockId());
+            ps.setLong(2, log.getDeviceId());
+            ps.setBigDecimal(3, log.getFrequency());
+            ps.setBigDecimal(4, log.getIntensity());
+            ps.setTimestamp(5, Timestamp.from(log.getRecordedAt()));
+            ps.setString(6, log.getSource() != null ? log.getSource() : "UNKNOWN");
+        });
+    }
+
     @Override
     public RumenMotilityLog save(RumenMotilityLog log) {
         return HealthMapper.toDomain(jpaRepo.save(HealthMapper.toJpa(log)));
@@ -4,9 +4,13 @@ import com.smartlivestock.health.domain.model.TemperatureLog;
 import com.smartlivestock.health.domain.repository.TemperatureLogRepository;
 import com.smartlivestock.health.infrastructure.persistence.jpa.TemperatureLogJpaRepository;
 import com.smartlivestock.health.infrastructure.persistence.mapper.HealthMapper;
+import com.smartlivestock.shared.persistence.JdbcBatch;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.List;
 
@@ -14,8 +18,16 @@ import java.util.List;
 @RequiredArgsConstructor
 public class TemperatureLogRepositoryImpl implements TemperatureLogRepository {
 
+    private static final String INSERT_SQL = """
+            INSERT INTO temperature_logs (livestock_id, device_id, temperature, baseline_temp, recorded_at, source, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, NOW())
+            """;
+
     private final TemperatureLogJpaRepository jpaRepo;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Override
     public List<TemperatureLog> findByLivestockIdAndTimeRange(Long livestockId, Instant from, Instant to) {
         return jpaRepo.findByLivestockIdAndRecordedAtBetweenOrderByRecordedAtAsc(livestockId, from, to)
@@ -35,6 +47,18 @@ public class TemperatureLogRepositoryImpl implements TemperatureLogRepository {
                 .limit(limit).map(HealthMapper::toDomain).toList();
     }
 
+    @Override
+    public int saveAllBatch(List<TemperatureLog> logs) {
+        return JdbcBatch.execute(entityManager, INSERT_SQL, logs, (ps, log) -> {
+            ps.setLong(1, log.getLivestockId());
+            ps.setLong(2, log.getDeviceId());
+            ps.setBigDecimal(3, log.getTemperature());
+            ps.setBigDecimal(4, log.getBaselineTemp());
+            ps.setTimestamp(5, Timestamp.from(log.getRecordedAt()));
+            ps.setString(6, log.getSource() != null ? log.getSource() : "UNKNOWN");
+        });
+    }
+
     @Override
     public TemperatureLog save(TemperatureLog log) {
         return HealthMapper.toDomain(jpaRepo.save(HealthMapper.toJpa(log)));
@@ -28,8 +28,8 @@ public class B2bFacade {
         return ranchQueryPort.findLivestockByFarmId(farmId);
     }
 
-    public List<AlertDto> findAlertsByFarmId(Long farmId) {
-        return ranchQueryPort.findAlertsByFarmId(farmId);
+    public List<AlertDto> findActiveAlertsByFarmId(Long farmId) {
+        return ranchQueryPort.findActiveAlertsByFarmId(farmId);
     }
 
     public List<InstallationDto> findInstallationsByFarmId(Long farmId) {
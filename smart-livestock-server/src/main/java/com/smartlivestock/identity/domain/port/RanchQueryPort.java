@@ -7,5 +7,6 @@ import java.util.List;
 
 public interface RanchQueryPort {
     List<LivestockDto> findLivestockByFarmId(Long farmId);
-    List<AlertDto> findAlertsByFarmId(Long farmId);
+    /** The farm's open (ACTIVE) alerts; resolved history is not loaded. */
+    List<AlertDto> findActiveAlertsByFarmId(Long farmId);
 }
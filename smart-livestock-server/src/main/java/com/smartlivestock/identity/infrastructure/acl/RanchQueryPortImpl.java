@@ -29,8 +29,8 @@ public class RanchQueryPortImpl implements RanchQueryPort {
     }
 
     @Override
-    public List<AlertDto> findAlertsByFarmId(Long farmId) {
-        return alertApplicationService.listByFarm(farmId).stream()
+    public List<AlertDto> findActiveAlertsByFarmId(Long farmId) {
+        return alertApplicationService.listActive(farmId).stream()
                 .map(this::toIdentityAlertDto)
                 .toList();
     }
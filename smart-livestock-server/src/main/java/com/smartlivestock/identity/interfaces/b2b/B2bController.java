@@ -8,6 +8,7 @@ import com.smartlivestock.identity.domain.model.Role;
 import com.smartlivestock.identity.domain.model.User;
 import com.smartlivestock.identity.domain.repository.FarmRepository;
 import com.smartlivestock.identity.application.facade.B2bFacade;
+import com.smartlivestock.identity.domain.port.dto.AlertDto;
 import com.smartlivestock.identity.domain.repository.UserFarmAssignmentRepository;
 import com.smartlivestock.identity.domain.repository.UserRepository;
 import com.smartlivestock.identity.infrastructure.persistence.entity.UserFarmAssignmentJpaEntity;
@@ -57,14 +58,16 @@ public class B2bController {
         int pendingAlerts = 0;
         List<Map<String, Object>> farmSummaries = new ArrayList<>();
         List<Map<String, Object>> alertSummary = new ArrayList<>();
+        Map<Long, List<AlertDto>> activeAlertsByFarm = new HashMap<>();
 
         int totalWorkers = 0;
         for (FarmDto farm : farms) {
             long livestockCount = b2bFacade.findLivestockByFarmId(farm.id()).size();
             long workerCount = assignmentRepository.countByFarmIdAndStatus(farm.id(), "ACTIVE");
-            long alertCount = b2bFacade.findAlertsByFarmId(farm.id()).stream()
-                    .filter(a -> "PENDING".equals(a.status()) || "ACKNOWLEDGED".equals(a.status()))
-                    .count();
+            // Legacy PENDING/ACKNOWLEDGED alerts are ACTIVE in the current model
+            List<AlertDto> activeAlerts = b2bFacade.findActiveAlertsByFarmId(farm.id());
+            activeAlertsByFarm.put(farm.id(), activeAlerts);
+            long alertCount = activeAlerts.size();
 
             totalLivestock += livestockCount;
             pendingAlerts += (int) alertCount;
@@ -114,8 +117,7 @@ public class B2bController {
 
         // Alert severity summary
         for (FarmDto farm : farms) {
-            b2bFacade.findAlertsByFarmId(farm.id()).stream()
-                    .filter(a -> "PENDING".equals(a.status()))
+            activeAlertsByFarm.get(farm.id())
                     .forEach(a -> {
                         Map<String, Object> item = new LinkedHashMap<>();
                         item.put("farmId", farm.id());
@@ -0,0 +1,88 @@
+package com.smartlivestock.iot.application;
+
+import java.util.concurrent.CancellationException;
+import java.util.function.Supplier;
+
+/**
+ * AIMD concurrency limit for calls to a remote service.
+ * <p>
+ * Every call that succeeds within {@code targetLatencyMs} while the limit is in
+ * use adds {@code 1 / limit}, so the limit grows by about one per round of calls.
+ * A failure or a slow call halves it, at most once per target-latency window so
+ * one burst of errors counts as a single congestion signal. Callers beyond the
+ * limit wait for a slot; an interrupt while waiting abandons the call.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double BACKOFF_RATIO = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+
+    private double limit;
+    private int inFlight;
+    private long lastDecreaseNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long targetLatencyMs) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.max(this.minLimit, Math.min(this.maxLimit, initialLimit));
+        this.targetLatencyNanos = targetLatencyMs * 1_000_000L;
+        this.lastDecreaseNanos = System.nanoTime() - targetLatencyNanos;
+    }
+
+    /**
+     * Runs {@code call} inside a slot; an exception counts as a failure and is rethrown.
+     * If the thread is interrupted while waiting for a slot, the call is not made and a
+     * {@link CancellationException} is thrown with the interrupt flag restored.
+     */
+    public <T> T call(Supplier<T> call) {
+        try {
+            acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for a call slot");
+        }
+        long start = System.nanoTime();
+        boolean ok = false;
+        try {
+            T result = call.get();
+            ok = true;
+            return result;
+        } finally {
+            release(System.nanoTime() - start, ok);
+        }
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    synchronized void acquire() throws InterruptedException {
+        while (inFlight >= (int) limit) {
+            wait();
+        }
+        inFlight++;
+    }
+
+    synchronized void release(long latencyNanos, boolean ok) {
+        boolean saturated = inFlight >= (int) limit;
+        inFlight--;
+        long now = System.nanoTime();
+        if (!ok || latencyNanos > targetLatencyNanos) {
+            if (now - lastDecreaseNanos >= targetLatencyNanos) {
+                limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+                lastDecreaseNanos = now;
+            }
+        } else if (saturated) {
+            // Only grow when the limit was actually the bottleneck.
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+        notifyAll();
+    }
+}
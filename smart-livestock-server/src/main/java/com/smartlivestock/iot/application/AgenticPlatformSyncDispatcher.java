@@ -31,6 +31,10 @@ import java.util.concurrent.TimeUnit;
  * with CallerRunsPolicy so no device task is ever silently dropped.
  * If the previous cycle hasn't finished, the queue still has pending
  * tasks and dispatch() skips the new cycle entirely (logged as INFO).
+ * <p>
+ * The pool is sized to {@code max-concurrency}; how many platform calls
+ * actually run at once is decided by the sync job's adaptive limiter, so
+ * workers beyond the current limit simply wait for a slot.
  */
 @Component
 @RequiredArgsConstructor
@@ -44,7 +48,7 @@ public class AgenticPlatformSyncDispatcher {
     @Value("${agentic-platform.sync.batch-size:1000}")
     private int batchSize;
 
-    @Value("${agentic-platform.sync.concurrency:5}")
+    @Value("${agentic-platform.sync.max-concurrency:20}")
     private int concurrency;
 
     private ThreadPoolExecutor syncExecutor;
@@ -95,7 +99,8 @@ public class AgenticPlatformSyncDispatcher {
         }
 
         if (total > 0) {
-            log.info("[PlatformSync] dispatched {} device sync tasks (concurrency={}, queueCapacity={})", total, concurrency, queueCapacity);
+            log.info("[PlatformSync] dispatched {} device sync tasks (workers={}, concurrencyLimit={}, queueCapacity={})",
+                    total, concurrency, syncJob.getConcurrencyLimit(), queueCapacity);
         }
     }
 
@@ -15,6 +15,8 @@ import org.springframework.dao.DataIntegrityViolationException;
 
 import java.math.BigDecimal;
 import feign.codec.DecodeException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -22,15 +24,28 @@ import org.springframework.stereotype.Component;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Syncs a single device's telemetry from agentic-middle-platform.
  * Called by AgenticPlatformSyncWorker (RocketMQ consumer).
  * <p>
- * Flow: read cursor → paginate report-record/page → parse decodeData → apply accel conversion → ingest().
+ * Flow: read cursor → paginate report-record/page → parse decodeData → apply accel conversion → ingestBatch().
+ * <p>
+ * Page 1 is fetched alone; once its total is known the remaining pages are fetched
+ * in parallel waves ({@code max-concurrency} pages at a time on a first sync,
+ * {@code page-prefetch} ahead of the scan when a cursor allows early exit). Every
+ * platform call, across all devices,
+ * passes through one {@link AdaptiveConcurrencyLimiter}, so fleet-wide parallelism
+ * follows the platform's latency and error rate instead of a fixed pool size.
  * <p>
  * Includes automatic token cache eviction + single retry when the platform returns
  * a token-expired response (which manifests as Feign DecodeException because the
@@ -50,9 +65,58 @@ public class AgenticPlatformTelemetrySyncJob {
     @Value("${agentic-platform.sync.page-size:100}")
     private int pageSize;
 
+    /** Records per ingestBatch() transaction. */
+    @Value("${agentic-platform.sync.ingest-batch-size:500}")
+    private int ingestBatchSize;
+
     @Value("${agentic-platform.oauth2.service-user-id:2074385063398711296}")
     private String serviceUserId;
 
+    /** Starting limit on concurrent platform calls across all device syncs. */
+    @Value("${agentic-platform.sync.concurrency:5}")
+    private int initialConcurrency;
+
+    @Value("${agentic-platform.sync.min-concurrency:1}")
+    private int minConcurrency;
+
+    @Value("${agentic-platform.sync.max-concurrency:20}")
+    private int maxConcurrency;
+
+    /** Calls slower than this count as congestion and halve the concurrency limit. */
+    @Value("${agentic-platform.sync.target-latency-ms:2000}")
+    private long targetLatencyMs;
+
+    /** Pages fetched ahead of the scan for an incremental (cursor) sync. */
+    @Value("${agentic-platform.sync.page-prefetch:4}")
+    private int pagePrefetch;
+
+    private AdaptiveConcurrencyLimiter platformLimiter;
+    private ThreadPoolExecutor pageExecutor;
+
+    @PostConstruct
+    void init() {
+        platformLimiter = new AdaptiveConcurrencyLimiter(
+                initialConcurrency, minConcurrency, maxConcurrency, targetLatencyMs);
+        // Page tasks only wait on the platform; the limiter bounds how many run at once.
+        pageExecutor = new ThreadPoolExecutor(
+                maxConcurrency, maxConcurrency,
+                60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>());
+        pageExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (pageExecutor != null) {
+            pageExecutor.shutdownNow();
+        }
+    }
+
+    /** Current adaptive limit on concurrent platform calls. */
+    public int getConcurrencyLimit() {
+        return platformLimiter.getLimit();
+    }
+
     /**
      * Sync a single device by its local deviceId.
      */
@@ -76,8 +140,8 @@ public class AgenticPlatformTelemetrySyncJob {
         // fails (token expiry, network, etc.), fall through to full sync.
         if (cursor != null) {
             try {
-                InternalResponse<DeviceDetailResp> detail = deviceClient.getDeviceDetail(
-                        new DeviceDetailReq(platformDeviceId));
+                InternalResponse<DeviceDetailResp> detail = platformLimiter.call(() ->
+                        deviceClient.getDeviceDetail(new DeviceDetailReq(platformDeviceId)));
                 if (detail != null && detail.isOk() && detail.getData() != null) {
                     String lastActiveStr = detail.getData().getLastActiveTime();
                     if (lastActiveStr != null && !lastActiveStr.isBlank()) {
@@ -97,116 +161,198 @@ public class AgenticPlatformTelemetrySyncJob {
 
         log.info("[PlatformSync] device {} (platformId={}) sync start, cursor={}", deviceId, platformDeviceId, cursor);
 
-       List<ReportRecordPageResp.ReportRecord> toProcess = new ArrayList<>();
-       int page = 1;
+        List<TimedRecord> toProcess = new ArrayList<>();
+        int page = 1;
         // Safety limit: cap pagination to avoid infinite loops when the platform
         // returns cyclical/repeated data beyond the actual record count.
         int maxPages = 500;
         int consecutiveSkipped = 0;
-       while (true) {
-           InternalResponse<ReportRecordPageResp> resp;
-           try {
-               resp = queryReportRecordsWithTokenRetry(platformDeviceId, page, pageSize);
-           } catch (Exception e) {
-               log.error("[PlatformSync] device {} (platformId={}) report-record fetch failed: {}",
-                       deviceId, platformDeviceId, e.getMessage());
-               throw e;
-           }
-
-           if (resp == null) {
-               log.warn("[PlatformSync] device {} (platformId={}) page {} returned null response",
-                       deviceId, platformDeviceId, page);
-               break;
-           }
-           if (!resp.isOk()) {
-               log.warn("[PlatformSync] device {} (platformId={}) page {} returned code={} msg={}",
-                       deviceId, platformDeviceId, page, resp.getCode(), resp.getMsg());
-               break;
-           }
-           if (resp.getData() == null || resp.getData().getRecords() == null
-                   || resp.getData().getRecords().isEmpty()) {
-               log.info("[PlatformSync] device {} (platformId={}) page {} returned empty records (total={})",
-                       deviceId, platformDeviceId, page,
-                       resp.getData() != null ? resp.getData().getTotal() : "null");
-               break;
-           }
-            // Use total from first page to compute max pages dynamically.
-            if (page == 1 && resp.getData().getTotal() != null && resp.getData().getTotal() > 0) {
-                int computedMax = (int) (resp.getData().getTotal() / pageSize) + 2;
-                if (computedMax < maxPages) maxPages = computedMax;
+        // The first wave is page 1 alone; its total decides how far to prefetch.
+        int wave = 1;
+        int lastPage = maxPages;
+        pages:
+        while (true) {
+            List<InternalResponse<ReportRecordPageResp>> responses;
+            try {
+                responses = fetchPages(platformDeviceId, page, wave);
+            } catch (Exception e) {
+                log.error("[PlatformSync] device {} (platformId={}) report-record fetch failed: {}",
+                        deviceId, platformDeviceId, e.getMessage());
+                throw e;
             }
 
-           for (ReportRecordPageResp.ReportRecord record : resp.getData().getRecords()) {
-               Instant reportTime = AgenticPlatformReportData.parseReportTime(record.getReportTime());
-                if (cursor != null && !reportTime.isAfter(cursor)) {
-                    consecutiveSkipped++;
-                    continue;
+            // Pages are consumed in order, so the stop conditions below behave exactly
+            // as in a sequential walk; prefetched pages past a stop are discarded.
+            for (InternalResponse<ReportRecordPageResp> resp : responses) {
+                if (resp == null) {
+                    log.warn("[PlatformSync] device {} (platformId={}) page {} returned null response",
+                            deviceId, platformDeviceId, page);
+                    break pages;
                 }
-                consecutiveSkipped = 0;
-               toProcess.add(record);
-           }
-
-            // Early exit: if we've skipped many consecutive old records, the remaining
-            // pages are all older than cursor — no need to continue.
-            if (cursor != null && consecutiveSkipped >= pageSize) {
-                log.info("[PlatformSync] device {} (platformId={}) early exit at page {} ({} consecutive old records skipped)",
-                        deviceId, platformDeviceId, page, consecutiveSkipped);
-                break;
-            }
+                if (!resp.isOk()) {
+                    log.warn("[PlatformSync] device {} (platformId={}) page {} returned code={} msg={}",
+                            deviceId, platformDeviceId, page, resp.getCode(), resp.getMsg());
+                    break pages;
+                }
+                if (resp.getData() == null || resp.getData().getRecords() == null
+                        || resp.getData().getRecords().isEmpty()) {
+                    log.info("[PlatformSync] device {} (platformId={}) page {} returned empty records (total={})",
+                            deviceId, platformDeviceId, page,
+                            resp.getData() != null ? resp.getData().getTotal() : "null");
+                    break pages;
+                }
+                // Use total from first page to compute max pages dynamically.
+                if (page == 1 && resp.getData().getTotal() != null && resp.getData().getTotal() > 0) {
+                    int computedMax = (int) (resp.getData().getTotal() / pageSize) + 2;
+                    if (computedMax < maxPages) maxPages = computedMax;
+                    lastPage = (int) Math.min(maxPages, (resp.getData().getTotal() + pageSize - 1) / pageSize);
+                }
+
+                for (ReportRecordPageResp.ReportRecord record : resp.getData().getRecords()) {
+                    Instant reportTime = AgenticPlatformReportData.parseReportTime(record.getReportTime());
+                    if (cursor != null && !reportTime.isAfter(cursor)) {
+                        consecutiveSkipped++;
+                        continue;
+                    }
+                    consecutiveSkipped = 0;
+                    toProcess.add(new TimedRecord(reportTime, record));
+                }
+
+                // Early exit: if we've skipped many consecutive old records, the remaining
+                // pages are all older than cursor — no need to continue.
+                if (cursor != null && consecutiveSkipped >= pageSize) {
+                    log.info("[PlatformSync] device {} (platformId={}) early exit at page {} ({} consecutive old records skipped)",
+                            deviceId, platformDeviceId, page, consecutiveSkipped);
+                    break pages;
+                }
+
+                if (page >= maxPages) {
+                    log.warn("[PlatformSync] device {} (platformId={}) hit max page limit {} (total={}), stopping pagination",
+                            deviceId, platformDeviceId, maxPages,
+                            resp.getData().getTotal());
+                    break pages;
+                }
+                if (resp.getData().getRecords().size() < pageSize) break pages;
+                page++;
 
-            if (page >= maxPages) {
-                log.warn("[PlatformSync] device {} (platformId={}) hit max page limit {} (total={}), stopping pagination",
-                        deviceId, platformDeviceId, maxPages,
-                        resp.getData().getTotal());
-                break;
+                if (page == 2) {
+                    // First sync has no early exit, so every page up to total is needed:
+                    // fetch as many at once as can run at once. With a cursor the newest
+                    // pages usually suffice, so only a few are fetched ahead of the scan.
+                    Long total = resp.getData().getTotal();
+                    int remaining = total != null && total > 0
+                            ? (int) Math.min(maxPages, (total + pageSize - 1) / pageSize) - 1
+                            : 1;
+                    wave = Math.min(maxConcurrency, cursor == null ? Math.max(1, remaining) : pagePrefetch);
+                }
             }
-           if (resp.getData().getRecords().size() < pageSize) break;
-           page++;
-       }
+            // Waves stop at the last page the total accounts for; past it, pages are
+            // probed one at a time as the sequential walk did.
+            wave = Math.max(1, Math.min(wave, Math.min(maxPages, lastPage) - page + 1));
+        }
 
         if (toProcess.isEmpty()) {
             log.info("[PlatformSync] device {} (platformId={}) no new records to process", deviceId, platformDeviceId);
             return;
         }
 
-        toProcess.sort(Comparator.comparing(r ->
-                AgenticPlatformReportData.parseReportTime(r.getReportTime())));
+        toProcess.sort(Comparator.comparing(TimedRecord::reportTime));
+
+        List<TelemetryIngestionService.Reading> readings = new ArrayList<>(toProcess.size());
+        for (TimedRecord timed : toProcess) {
+            readings.add(toReading(deviceId, device.getDeviceType(), timed));
+        }
 
         int ingested = 0;
         int skipped = 0;
-        for (ReportRecordPageResp.ReportRecord record : toProcess) {
-           Instant reportTime = AgenticPlatformReportData.parseReportTime(record.getReportTime());
-           Map<String, Object> readings = AgenticPlatformReportData.toReadings(
-                   record, device.getDeviceType());
-           if (device.getDeviceType() == DeviceType.TRACKER) {
-               AgenticPlatformReportData.applyAccelerometerConversion(readings);
-           }
-           // Validate GPS values to prevent numeric overflow (precision 10,7 = max 999.x)
-           Object latObj = readings.get("latitude");
-           Object lngObj = readings.get("longitude");
-           if (latObj instanceof BigDecimal lat && lat.abs().compareTo(BigDecimal.valueOf(1000)) >= 0) {
-               log.warn("[PlatformSync] device {} has out-of-range latitude={}, clamping", deviceId, lat);
-               readings.put("latitude", null);
-           }
-           if (lngObj instanceof BigDecimal lng && lng.abs().compareTo(BigDecimal.valueOf(1000)) >= 0) {
-               log.warn("[PlatformSync] device {} has out-of-range longitude={}, clamping", deviceId, lng);
-               readings.put("longitude", null);
-           }
-           try {
-               telemetryIngestionService.ingest(deviceId, readings, reportTime, TelemetrySource.AGENTIC_PLATFORM);
-               ingested++;
-           } catch (DataIntegrityViolationException e) {
-               // Skip bad record so the sync cursor still advances.
-               log.error("[PlatformSync] device {} skipping bad record (rt={}): readings={} err={}",
-                       deviceId, reportTime, readings, e.getMessage());
-               skipped++;
-           }
+        for (int from = 0; from < readings.size(); from += ingestBatchSize) {
+            List<TelemetryIngestionService.Reading> batch =
+                    readings.subList(from, Math.min(from + ingestBatchSize, readings.size()));
+            try {
+                int written = telemetryIngestionService.ingestBatch(deviceId, batch, TelemetrySource.AGENTIC_PLATFORM);
+                ingested += written;
+                skipped += batch.size() - written;
+            } catch (DataIntegrityViolationException e) {
+                // A bad row fails the whole batch; redo it per record so only that row is lost.
+                log.warn("[PlatformSync] device {} batch of {} failed ({}), falling back to per-record ingest",
+                        deviceId, batch.size(), e.getMessage());
+                for (TelemetryIngestionService.Reading reading : batch) {
+                    if (ingestOne(deviceId, reading)) {
+                        ingested++;
+                    } else {
+                        skipped++;
+                    }
+                }
+            }
         }
 
         log.info("[PlatformSync] device {} (platformId={}) synced {} records (ingested={}, skipped={})",
                 deviceId, platformDeviceId, toProcess.size(), ingested, skipped);
     }
 
+    private TelemetryIngestionService.Reading toReading(Long deviceId, DeviceType deviceType,
+                                                       TimedRecord timed) {
+        Map<String, Object> readings = AgenticPlatformReportData.toReadings(timed.record(), deviceType);
+        if (deviceType == DeviceType.TRACKER) {
+            AgenticPlatformReportData.applyAccelerometerConversion(readings);
+        }
+        // Validate GPS values to prevent numeric overflow (precision 10,7 = max 999.x)
+        Object latObj = readings.get("latitude");
+        Object lngObj = readings.get("longitude");
+        if (latObj instanceof BigDecimal lat && lat.abs().compareTo(BigDecimal.valueOf(1000)) >= 0) {
+            log.warn("[PlatformSync] device {} has out-of-range latitude={}, clamping", deviceId, lat);
+            readings.put("latitude", null);
+        }
+        if (lngObj instanceof BigDecimal lng && lng.abs().compareTo(BigDecimal.valueOf(1000)) >= 0) {
+            log.warn("[PlatformSync] device {} has out-of-range longitude={}, clamping", deviceId, lng);
+            readings.put("longitude", null);
+        }
+        return new TelemetryIngestionService.Reading(readings, timed.reportTime());
+    }
+
+    /**
+     * Fetches {@code count} consecutive pages starting at {@code fromPage}, in page order.
+     * A single page is fetched on the calling thread; a wave runs in parallel on the
+     * page executor, each call still going through the platform limiter.
+     */
+    private List<InternalResponse<ReportRecordPageResp>> fetchPages(String platformDeviceId, int fromPage, int count) {
+        if (count == 1) {
+            return Collections.singletonList(queryReportRecordsWithTokenRetry(platformDeviceId, fromPage, pageSize));
+        }
+        List<CompletableFuture<InternalResponse<ReportRecordPageResp>>> futures = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int page = fromPage + i;
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> queryReportRecordsWithTokenRetry(platformDeviceId, page, pageSize), pageExecutor));
+        }
+        List<InternalResponse<ReportRecordPageResp>> responses = new ArrayList<>(count);
+        try {
+            for (CompletableFuture<InternalResponse<ReportRecordPageResp>> future : futures) {
+                responses.add(future.join());
+            }
+        } catch (CompletionException e) {
+            futures.forEach(f -> f.cancel(false));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return responses;
+    }
+
+    private boolean ingestOne(Long deviceId, TelemetryIngestionService.Reading reading) {
+        try {
+            telemetryIngestionService.ingest(deviceId, reading.readings(), reading.recordedAt(),
+                    TelemetrySource.AGENTIC_PLATFORM);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // Skip bad record so the sync cursor still advances.
+            log.error("[PlatformSync] device {} skipping bad record (rt={}): readings={} err={}",
+                    deviceId, reading.recordedAt(), reading.readings(), e.getMessage());
+            return false;
+        }
+    }
+
     /**
      * Wraps report-record query with automatic token cache eviction on token expiry.
      * <p>
@@ -224,12 +370,16 @@ public class AgenticPlatformTelemetrySyncJob {
     private InternalResponse<ReportRecordPageResp> queryReportRecordsWithTokenRetry(
             String platformDeviceId, int page, int pageSize) {
         try {
-            return historyClient.queryReportRecords(platformDeviceId, page, pageSize);
+            return platformLimiter.call(() -> historyClient.queryReportRecords(platformDeviceId, page, pageSize));
         } catch (DecodeException e) {
             log.warn("[PlatformSync] token likely expired for platformId={} page={} (Feign DecodeException), evicting and retrying",
                     platformDeviceId, page);
             gatewayTokenService.evictToken(serviceUserId);
-            return historyClient.queryReportRecords(platformDeviceId, page, pageSize);
+            return platformLimiter.call(() -> historyClient.queryReportRecords(platformDeviceId, page, pageSize));
         }
     }
+
+    /** A report record with its reportTime parsed once, for filtering, sorting and ingest. */
+    private record TimedRecord(Instant reportTime, ReportRecordPageResp.ReportRecord record) {
+    }
 }
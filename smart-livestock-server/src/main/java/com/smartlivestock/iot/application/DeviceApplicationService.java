@@ -13,6 +13,7 @@ import com.smartlivestock.iot.infrastructure.client.agenticplatform.dto.DeviceRe
 import com.smartlivestock.iot.infrastructure.client.agenticplatform.dto.InternalResponse;
 import com.smartlivestock.iot.infrastructure.client.agenticplatform.dto.LicenseStatusResp;
 import com.smartlivestock.iot.infrastructure.client.agenticplatform.dto.LoginUser;
+import com.smartlivestock.iot.domain.event.DeviceContextChangedEvent;
 import com.smartlivestock.iot.domain.model.Device;
 import com.smartlivestock.iot.domain.model.DeviceType;
 import com.smartlivestock.iot.domain.model.DeviceStatus;
@@ -22,6 +23,7 @@ import com.smartlivestock.shared.common.ErrorCode;
 import com.smartlivestock.shared.tenant.TenantContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -39,6 +41,7 @@ public class DeviceApplicationService {
     private final AgenticPlatformDeviceClient platformDeviceClient;
     private final AgenticPlatformLicenseClient platformLicenseClient;
     private final InstallationApplicationService installationApplicationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /** Platform device type code mapping (local DeviceType → platform code). */
     private static final Map<DeviceType, String> PLATFORM_TYPE_CODES = Map.of(
@@ -472,6 +475,7 @@ public class DeviceApplicationService {
         }
         device.setDeletedAt(Instant.now());
         deviceRepository.save(device);
+        eventPublisher.publishEvent(new DeviceContextChangedEvent(id));
     }
 
     /**
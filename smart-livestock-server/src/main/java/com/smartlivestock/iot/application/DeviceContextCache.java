@@ -0,0 +1,89 @@
+package com.smartlivestock.iot.application;
+
+import com.smartlivestock.iot.domain.event.DeviceContextChangedEvent;
+import com.smartlivestock.iot.domain.model.Installation;
+import com.smartlivestock.iot.domain.port.RanchQueryPort;
+import com.smartlivestock.iot.domain.port.dto.LivestockInfo;
+import com.smartlivestock.iot.domain.repository.InstallationRepository;
+import com.smartlivestock.shared.cache.LruMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+
+/**
+ * Near-cache of the device → installation → livestock → farm chain for the
+ * telemetry hot path, so it is resolved once per device change instead of once
+ * per reading.
+ * <p>
+ * Devices without an active installation are cached too. Local changes evict the
+ * device right after commit via {@link DeviceContextChangedEvent}; changes made on
+ * other nodes are picked up once an entry is older than
+ * {@code telemetry.device-context.ttl-ms}. At most
+ * {@code telemetry.device-context.max-size} devices are kept, dropping the least
+ * recently used.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DeviceContextCache {
+
+    private final InstallationRepository installationRepository;
+    private final RanchQueryPort ranchQueryPort;
+
+    @Value("${telemetry.device-context.ttl-ms:60000}")
+    private long ttlMs = 60_000;
+
+    @Value("${telemetry.device-context.max-size:50000}")
+    private int maxSize = 50_000;
+
+    private final LruMap<Long, Cached> byDevice = new LruMap<>(() -> maxSize);
+
+    /**
+     * The device's current context; all fields but {@code deviceId} are null when the
+     * device is not installed.
+     */
+    public DeviceContext get(Long deviceId) {
+        long now = System.currentTimeMillis();
+        Cached cached = byDevice.get(deviceId);
+        if (cached != null && now - cached.loadedAt < ttlMs) {
+            return cached.context;
+        }
+        DeviceContext context = load(deviceId);
+        byDevice.put(deviceId, new Cached(context, now));
+        return context;
+    }
+
+    public void invalidate(Long deviceId) {
+        byDevice.remove(deviceId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDeviceContextChanged(DeviceContextChangedEvent event) {
+        invalidate(event.getDeviceId());
+    }
+
+    private DeviceContext load(Long deviceId) {
+        Installation installation = installationRepository.findActiveByDeviceId(deviceId).orElse(null);
+        if (installation == null) {
+            return new DeviceContext(deviceId, null, null, null);
+        }
+        Long livestockId = installation.getLivestockId();
+        Long farmId = ranchQueryPort.findLivestockById(livestockId)
+                .map(LivestockInfo::farmId)
+                .orElse(null);
+        return new DeviceContext(deviceId, installation.getId(), livestockId, farmId);
+    }
+
+    public record DeviceContext(Long deviceId, Long installationId, Long livestockId, Long farmId) {
+
+        public boolean installed() {
+            return installationId != null;
+        }
+    }
+
+    private record Cached(DeviceContext context, long loadedAt) {}
+}
@@ -1,6 +1,7 @@
 package com.smartlivestock.iot.application;
 
 import com.smartlivestock.iot.domain.model.GpsIngestionTask;
+import com.smartlivestock.iot.domain.model.GpsLog;
 import com.smartlivestock.iot.domain.model.GpsIngestionTaskStatus;
 import com.smartlivestock.iot.domain.repository.GpsIngestionTaskRepository;
 import lombok.RequiredArgsConstructor;
@@ -23,9 +24,31 @@ public class GpsIngestionTaskProcessor {
         return taskRepository.findReadyTaskIds(now, limit);
     }
 
+    @Transactional(readOnly = true)
+    public List<Long> findReadyTaskIds(Instant now, int limit, int shard, int shardCount) {
+        return taskRepository.findReadyTaskIds(now, limit, shard, shardCount);
+    }
+
     @Transactional
     public boolean processTask(Long taskId) {
-        Optional<GpsIngestionTask> existing = taskRepository.findById(taskId);
+        return processTask(taskId, 0, 1);
+    }
+
+    /**
+     * Per-task fallback of {@link #drainShard}, under the same guarantees: the shard's
+     * lease is taken, the task is claimed with SKIP LOCKED, and its event goes out under
+     * the shard's routing key, so a retry never races another node's drain of the shard
+     * nor overtakes that device's queued positions.
+     *
+     * @return whether the task was written (false when not ready, gone, or the shard or
+     *         task is held by another drain)
+     */
+    @Transactional
+    public boolean processTask(Long taskId, int shard, int shardCount) {
+        if (shardCount > 1 && !taskRepository.tryLockShard(shard)) {
+            return false;
+        }
+        Optional<GpsIngestionTask> existing = taskRepository.claimTask(taskId);
         if (existing.isEmpty()) {
             return false;
         }
@@ -36,17 +59,64 @@ public class GpsIngestionTaskProcessor {
             return false;
         }
 
-        gpsLogApplicationService.logGps(
+        gpsLogApplicationService.logGpsBatch(List.of(toGpsLog(task)), routingKey(shard, shardCount));
+        // Completed tasks are removed in the same transaction as the GPS upsert;
+        // a later duplicate re-enqueues and the gps_logs unique key keeps it idempotent.
+        taskRepository.delete(task);
+        return true;
+    }
+
+    /**
+     * Claims up to {@code limit} ready tasks with SKIP LOCKED, upserts them into gps_logs
+     * in one statement and deletes them in one statement, all in a single transaction.
+     * Any failure rolls the whole batch back; the scheduler then re-drains those rows
+     * one by one through {@link #processTask(Long, int, int)} so a poison row cannot block the rest.
+     *
+     * @return number of tasks drained
+     */
+    @Transactional
+    public int drainBatch(int limit) {
+        return drainShard(0, 1, limit);
+    }
+
+    /**
+     * {@link #drainBatch} restricted to one {@code device_id} shard. With more than one
+     * shard the drain first takes the shard's cluster-wide lease; if another node holds
+     * it the call returns 0 without touching any rows. Events of a shard are published
+     * under one routing key so every device keeps its position order downstream.
+     *
+     * @return number of tasks drained (0 when empty or the shard is busy elsewhere)
+     */
+    @Transactional
+    public int drainShard(int shard, int shardCount, int limit) {
+        if (shardCount > 1 && !taskRepository.tryLockShard(shard)) {
+            return 0;
+        }
+        List<GpsIngestionTask> claimed = taskRepository.claimReadyTasks(Instant.now(), limit, shard, shardCount);
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        List<GpsLog> gpsLogs = claimed.stream()
+                .map(GpsIngestionTaskProcessor::toGpsLog)
+                .toList();
+        gpsLogApplicationService.logGpsBatch(gpsLogs, routingKey(shard, shardCount));
+        taskRepository.deleteAllById(claimed.stream().map(GpsIngestionTask::getId).toList());
+        return claimed.size();
+    }
+
+    private static GpsLog toGpsLog(GpsIngestionTask task) {
+        return new GpsLog(
                 task.getDeviceId(),
                 task.getLatitude(),
                 task.getLongitude(),
                 task.getAccuracy(),
                 task.getRecordedAt(),
                 task.getSource());
-        // Completed tasks are removed in the same transaction as the GPS upsert;
-        // a later duplicate re-enqueues and the gps_logs unique key keeps it idempotent.
-        taskRepository.delete(task);
-        return true;
+    }
+
+    private static String routingKey(int shard, int shardCount) {
+        return shardCount > 1 ? "gps-shard-" + shard : null;
     }
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
@@ -1,5 +1,6 @@
 package com.smartlivestock.iot.application;
 
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -8,8 +9,27 @@ import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Drains the GPS ingestion outbox.
+ * <p>
+ * With {@code gps.ingestion.shards > 1} the outbox is split by {@code device_id}
+ * modulo the shard count (must be identical on every node). Each tick hands every
+ * shard to a local worker pool of {@code gps.ingestion.workers} threads; a shard
+ * is drained under a transaction-scoped advisory lock, so at any moment exactly one
+ * worker in the cluster owns it. Shards run concurrently across cores and nodes
+ * while each device's positions are still written and published in order. Nodes
+ * start at a random shard offset so they rarely contend for the same lease.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -25,9 +45,50 @@ public class GpsIngestionTaskScheduler {
     @Value("${gps.ingestion.retry-delay:30s}")
     private Duration retryDelay;
 
+    /**
+     * Set-based drain: claim, upsert and delete a whole batch per transaction. Per-task
+     * processing remains the fallback whenever a batch fails.
+     */
+    @Value("${gps.ingestion.batch-drain:true}")
+    private boolean batchDrain;
+
+    /** Cluster-wide shard count; 1 keeps the single-drain behaviour. */
+    @Value("${gps.ingestion.shards:1}")
+    private int shards;
+
+    /** Worker threads per node draining shards concurrently. */
+    @Value("${gps.ingestion.workers:4}")
+    private int workers;
+
+    private final AtomicLong drainedTotal = new AtomicLong();
+    private final AtomicLong drainNanosTotal = new AtomicLong();
+    private final int nodeShardOffset = ThreadLocalRandom.current().nextInt(1 << 16);
+
+    private ThreadPoolExecutor shardExecutor;
+
     @Scheduled(fixedDelayString = "${gps.ingestion.poll-ms:500}")
     public void processReadyTasks() {
-        List<Long> taskIds = processor.findReadyTaskIds(Instant.now(), batchSize);
+        if (shards > 1) {
+            drainAllShards();
+            return;
+        }
+        drainShard(0, 1);
+    }
+
+    private void drainShard(int shard, int shardCount) {
+        if (batchDrain) {
+            int drained;
+            do {
+                drained = drainBatch(shard, shardCount);
+            } while (drained == batchSize);
+            if (drained >= 0) {
+                return;
+            }
+        }
+
+        List<Long> taskIds = shardCount > 1
+                ? processor.findReadyTaskIds(Instant.now(), batchSize, shard, shardCount)
+                : processor.findReadyTaskIds(Instant.now(), batchSize);
         if (taskIds.isEmpty()) {
             return;
         }
@@ -36,7 +97,7 @@ public class GpsIngestionTaskScheduler {
         int failed = 0;
         for (Long taskId : taskIds) {
             try {
-                if (processor.processTask(taskId)) {
+                if (processor.processTask(taskId, shard, shardCount)) {
                     succeeded++;
                 }
             } catch (Exception e) {
@@ -54,9 +115,97 @@ public class GpsIngestionTaskScheduler {
         }
 
         if (failed > 0) {
-            log.warn("GPS ingestion batch complete: succeeded={}, failed={}", succeeded, failed);
+            log.warn("GPS ingestion batch complete: shard={}, succeeded={}, failed={}", shard, succeeded, failed);
         } else {
-            log.info("GPS ingestion batch complete: succeeded={}", succeeded);
+            log.info("GPS ingestion batch complete: shard={}, succeeded={}", shard, succeeded);
+        }
+    }
+
+    /**
+     * Submits every shard to the worker pool and waits for the round to finish, so the
+     * fixed-delay schedule never overlaps two rounds on one node.
+     */
+    private void drainAllShards() {
+        if (shardExecutor == null || shardExecutor.isShutdown()) {
+            int threads = Math.max(1, Math.min(workers, shards));
+            shardExecutor = new ThreadPoolExecutor(
+                    threads, threads,
+                    0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(shards),
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+
+        List<Future<?>> round = new ArrayList<>(shards);
+        for (int i = 0; i < shards; i++) {
+            int shard = (nodeShardOffset + i) % shards;
+            round.add(shardExecutor.submit(() -> {
+                try {
+                    drainShard(shard, shards);
+                } catch (Exception e) {
+                    log.error("GPS ingestion shard [{}] drain failed: {}", shard, e.getMessage());
+                }
+            }));
+        }
+        for (Future<?> future : round) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                log.error("GPS ingestion shard worker failed: {}", e.getCause().getMessage());
+            }
+        }
+    }
+
+    /**
+     * Drains one batch set-based. A full batch means more rows are likely ready, so the
+     * caller keeps draining within the same tick instead of waiting for the next poll.
+     *
+     * @return tasks drained, or {@code -1} when the batch rolled back and the caller
+     *         should isolate failures per task
+     */
+    private int drainBatch(int shard, int shardCount) {
+        long start = System.nanoTime();
+        int drained;
+        try {
+            drained = shardCount > 1
+                    ? processor.drainShard(shard, shardCount, batchSize)
+                    : processor.drainBatch(batchSize);
+        } catch (Exception e) {
+            log.warn("GPS ingestion batch drain failed for shard [{}], falling back to per-task processing ({}): {}",
+                    shard, e.getClass().getSimpleName(), e.getMessage());
+            return -1;
+        }
+        if (drained == 0) {
+            return 0;
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        long total = drainedTotal.addAndGet(drained);
+        long totalNanos = drainNanosTotal.addAndGet(elapsedNanos);
+        log.info("GPS ingestion batch drained: shard={}, tasks={}/{}, elapsedMs={}, rate={}/s, total={}, avgRate={}/s",
+                shard, drained, batchSize, elapsedNanos / 1_000_000,
+                ratePerSecond(drained, elapsedNanos), total, ratePerSecond(total, totalNanos));
+        return drained;
+    }
+
+    private static long ratePerSecond(long count, long nanos) {
+        return nanos > 0 ? count * 1_000_000_000L / nanos : 0;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (shardExecutor != null) {
+            shardExecutor.shutdown();
+            try {
+                if (!shardExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+                    shardExecutor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                shardExecutor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
         }
     }
 }
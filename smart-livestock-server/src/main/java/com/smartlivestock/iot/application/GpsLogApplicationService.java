@@ -1,10 +1,14 @@
 package com.smartlivestock.iot.application;
 
 import com.smartlivestock.iot.application.dto.GpsLogDto;
+import com.smartlivestock.iot.domain.event.GpsLogBatchUpdatedEvent;
 import com.smartlivestock.iot.domain.event.GpsLogUpdatedEvent;
 import com.smartlivestock.iot.domain.model.GpsLog;
+import com.smartlivestock.iot.domain.model.GpsLogBlock;
 import com.smartlivestock.iot.domain.model.TelemetrySource;
+import com.smartlivestock.iot.domain.repository.GpsLogBlockRepository;
 import com.smartlivestock.iot.domain.repository.GpsLogRepository;
+import com.smartlivestock.iot.domain.service.TrajectorySimplifier;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
@@ -12,14 +16,20 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.TreeMap;
 
 @Service
 @RequiredArgsConstructor
 public class GpsLogApplicationService {
 
     private final GpsLogRepository gpsLogRepository;
+    private final GpsLogBlockRepository gpsLogBlockRepository;
     private final ApplicationEventPublisher eventPublisher;
+    private final TrajectorySimplifier trajectorySimplifier = new TrajectorySimplifier();
 
     @Transactional
     public GpsLogDto logGps(Long deviceId, BigDecimal latitude, BigDecimal longitude,
@@ -35,6 +45,42 @@ public class GpsLogApplicationService {
         return GpsLogDto.from(saved);
     }
 
+    /**
+     * Set-based variant of {@link #logGps}: one multi-row upsert and one batch event
+     * instead of a round-trip and a publish per point. Logs repeating a (deviceId,
+     * recordedAt) are stored once, the last winning; the order given is the order
+     * events are published in.
+     */
+    @Transactional
+    public int logGpsBatch(List<GpsLog> gpsLogs) {
+        return logGpsBatch(gpsLogs, null);
+    }
+
+    /**
+     * @param routingKey when non-null, the events are sent in order on the message
+     *                   queue selected by this key (see {@link GpsLogBatchUpdatedEvent})
+     */
+    @Transactional
+    public int logGpsBatch(List<GpsLog> gpsLogs, String routingKey) {
+        if (gpsLogs.isEmpty()) {
+            return 0;
+        }
+        gpsLogRepository.upsertAll(gpsLogs);
+
+        List<GpsLogUpdatedEvent> events = gpsLogs.stream()
+                .map(gpsLog -> new GpsLogUpdatedEvent(
+                        gpsLog.getDeviceId(), gpsLog.getLatitude(), gpsLog.getLongitude(),
+                        gpsLog.getRecordedAt(),
+                        gpsLog.getSource() != null ? gpsLog.getSource().name() : null))
+                .toList();
+        eventPublisher.publishEvent(new GpsLogBatchUpdatedEvent(events, routingKey));
+        return gpsLogs.size();
+    }
+
+    /**
+     * The device's recent positions, newest first: the rows not yet archived. Archived
+     * days are only read for an explicit range ({@link #getByDeviceAndTimeRange}).
+     */
     @Transactional(readOnly = true)
     public List<GpsLogDto> getByDevice(Long deviceId) {
         return gpsLogRepository.findByDeviceId(deviceId).stream()
@@ -42,15 +88,35 @@ public class GpsLogApplicationService {
                 .toList();
     }
 
+    /**
+     * The device's newest position: one row lookup, plus one block decode only when
+     * the newest point is already archived.
+     */
+    @Transactional(readOnly = true)
+    public Optional<GpsLogDto> getLatestByDevice(Long deviceId) {
+        Optional<GpsLog> row = gpsLogRepository.findLatestByDeviceId(deviceId);
+        Optional<GpsLogBlock> block = gpsLogBlockRepository.findLatestByDeviceId(deviceId)
+                .filter(b -> row.isEmpty() || b.getLastAt().isAfter(row.get().getRecordedAt()));
+        if (block.isEmpty()) {
+            return row.map(GpsLogDto::from);
+        }
+        List<GpsLogDto> archived = newestFirst(block.stream().toList(), null, null, row.stream().toList());
+        return archived.stream().findFirst();
+    }
+
     @Transactional(readOnly = true)
     public List<GpsLogDto> getByDeviceAndTimeRange(Long deviceId, Instant from, Instant to) {
-        return gpsLogRepository.findByDeviceIdAndRecordedAtBetween(deviceId, from, to).stream()
-                .map(GpsLogDto::from)
-                .toList();
+        return newestFirst(gpsLogBlockRepository.findByDeviceIdOverlapping(deviceId, from, to), from, to,
+                gpsLogRepository.findByDeviceIdAndRecordedAtBetween(deviceId, from, to));
     }
 
     @Transactional(readOnly = true)
     public List<GpsLogDto> sampleByDeviceAndTimeRange(Long deviceId, Instant from, Instant to, int sampleSize) {
+        List<GpsLogBlock> blocks = gpsLogBlockRepository.findByDeviceIdOverlapping(deviceId, from, to);
+        if (!blocks.isEmpty()) {
+            return sample(newestFirst(blocks, from, to,
+                    gpsLogRepository.findByDeviceIdAndRecordedAtBetween(deviceId, from, to)), sampleSize);
+        }
         long total = gpsLogRepository.countByDeviceIdAndRecordedAtBetween(deviceId, from, to);
         if (total <= sampleSize) {
             return gpsLogRepository.findByDeviceIdAndRecordedAtBetween(deviceId, from, to).stream()
@@ -62,4 +128,81 @@ public class GpsLogApplicationService {
                 .map(GpsLogDto::from)
                 .toList();
     }
+
+    /**
+     * Shape-preserving alternative to {@link #sampleByDeviceAndTimeRange}: the track in
+     * [from, to], oldest first, reduced with {@link TrajectorySimplifier}. The tolerance is
+     * {@code toleranceMeters}, or one screen pixel at {@code zoom} when only a zoom is
+     * given; with both the larger one applies.
+     */
+    @Transactional(readOnly = true)
+    public List<GpsLogDto> simplifyByDeviceAndTimeRange(Long deviceId, Instant from, Instant to,
+                                                        Double toleranceMeters, Integer zoom) {
+        List<GpsLogDto> track = new ArrayList<>(getByDeviceAndTimeRange(deviceId, from, to));
+        Collections.reverse(track);
+        int n = track.size();
+        if (n <= 2) {
+            return track;
+        }
+        double[] lats = new double[n];
+        double[] lngs = new double[n];
+        for (int i = 0; i < n; i++) {
+            lats[i] = track.get(i).latitude().doubleValue();
+            lngs[i] = track.get(i).longitude().doubleValue();
+        }
+        double tolerance = toleranceMeters != null ? toleranceMeters : 0;
+        if (zoom != null) {
+            tolerance = Math.max(tolerance, TrajectorySimplifier.toleranceForZoom(zoom, lats[0]));
+        }
+
+        boolean[] keep = trajectorySimplifier.simplify(lats, lngs, tolerance);
+        List<GpsLogDto> simplified = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (keep[i]) {
+                simplified.add(track.get(i));
+            }
+        }
+        return simplified;
+    }
+
+    /**
+     * Archived points in [from, to] (null = unbounded) merged with rows, newest first
+     * like the row queries. Rows win on the same timestamp; (0, 0) fixes are dropped
+     * as the row queries do.
+     */
+    private static List<GpsLogDto> newestFirst(List<GpsLogBlock> blocks, Instant from, Instant to, List<GpsLog> rows) {
+        if (blocks.isEmpty()) {
+            return rows.stream().map(GpsLogDto::from).toList();
+        }
+        TreeMap<Instant, GpsLog> byTime = new TreeMap<>();
+        for (GpsLogBlock block : blocks) {
+            block.forEach(from, to, log -> {
+                if (log.getLatitude().signum() != 0 || log.getLongitude().signum() != 0) {
+                    byTime.put(log.getRecordedAt(), log);
+                }
+            });
+        }
+        for (GpsLog row : rows) {
+            byTime.put(row.getRecordedAt(), row);
+        }
+        List<GpsLogDto> result = new ArrayList<>(byTime.size());
+        for (GpsLog log : byTime.descendingMap().values()) {
+            result.add(GpsLogDto.from(log));
+        }
+        return result;
+    }
+
+    /** In-memory twin of the {@code ROW_NUMBER() MOD stride} row sample, oldest first. */
+    private static List<GpsLogDto> sample(List<GpsLogDto> newestFirst, int sampleSize) {
+        int total = newestFirst.size();
+        if (total <= sampleSize) {
+            return newestFirst;
+        }
+        int stride = total / sampleSize;
+        List<GpsLogDto> sampled = new ArrayList<>(total / stride);
+        for (int rn = stride; rn <= total; rn += stride) {
+            sampled.add(newestFirst.get(total - rn));
+        }
+        return sampled;
+    }
 }
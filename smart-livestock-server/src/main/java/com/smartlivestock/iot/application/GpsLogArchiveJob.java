@@ -0,0 +1,78 @@
+package com.smartlivestock.iot.application;
+
+import com.smartlivestock.iot.domain.repository.GpsLogRepository.DeviceDay;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Nightly GPS archive run: every (device, day) older than the newest
+ * {@code gps.archive.row-days} days is compacted from {@code gps_logs} into
+ * {@code gps_log_blocks}, one transaction per device-day. Off unless
+ * {@code gps.archive.enabled} is set, since row-level readers (quality tests,
+ * telemetry joins) then only see the row window.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GpsLogArchiveJob {
+
+    private final GpsLogArchiveService archiveService;
+
+    @Value("${gps.archive.enabled:false}")
+    private boolean enabled;
+
+    /** Days kept as plain rows, including today. */
+    @Value("${gps.archive.row-days:2}")
+    private int rowDays;
+
+    @Value("${gps.archive.batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(cron = "${gps.archive.cron:0 40 2 * * *}")
+    public void archiveClosedDays() {
+        if (!enabled) {
+            return;
+        }
+        ZoneId zone = archiveService.zone();
+        Instant cutoff = LocalDate.now(zone).minusDays(Math.max(1, rowDays) - 1L)
+                .atStartOfDay(zone).toInstant();
+
+        long rows = 0;
+        int blocks = 0;
+        int failed = 0;
+        while (true) {
+            List<DeviceDay> pending = archiveService.findDeviceDaysBefore(cutoff, batchSize);
+            int progressed = 0;
+            for (DeviceDay deviceDay : pending) {
+                try {
+                    int archived = archiveService.compact(deviceDay);
+                    if (archived > 0) {
+                        rows += archived;
+                        blocks++;
+                        progressed++;
+                    }
+                } catch (Exception e) {
+                    failed++;
+                    log.warn("GPS archive failed for device [{}] day {}: {}",
+                            deviceDay.deviceId(), deviceDay.day(), e.getMessage());
+                }
+            }
+            // A short page means everything before the cutoff was visited; a page with
+            // no progress is held by another node or failing, so leave it for the next run.
+            if (pending.size() < batchSize || progressed == 0) {
+                break;
+            }
+        }
+        if (blocks > 0 || failed > 0) {
+            log.info("GPS archive run complete: cutoff={}, blocks={}, rows={}, failed={}", cutoff, blocks, rows, failed);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.smartlivestock.iot.application;
+
+import com.smartlivestock.iot.domain.model.GpsLog;
+import com.smartlivestock.iot.domain.model.GpsLogBlock;
+import com.smartlivestock.iot.domain.repository.GpsLogBlockRepository;
+import com.smartlivestock.iot.domain.repository.GpsLogRepository;
+import com.smartlivestock.iot.domain.repository.GpsLogRepository.DeviceDay;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Moves closed days of {@code gps_logs} into per-device, per-day {@link GpsLogBlock}s.
+ * <p>
+ * Days are calendar days in {@code gps.archive.zone}, both when the database lists
+ * pending device-days and when a day's bounds are computed here, so every listed
+ * day is emptied by its compaction. Rows
+ * that arrive for a day after it was compacted (late outbox retries, platform
+ * backfills) stay in {@code gps_logs} until the next run merges them into the
+ * existing block; readers merge both tiers in the meantime.
+ */
+@Service
+@RequiredArgsConstructor
+public class GpsLogArchiveService {
+
+    private final GpsLogRepository gpsLogRepository;
+    private final GpsLogBlockRepository gpsLogBlockRepository;
+
+    @Value("${gps.archive.zone:Asia/Shanghai}")
+    private String zone = "Asia/Shanghai";
+
+    public ZoneId zone() {
+        return ZoneId.of(zone);
+    }
+
+    @Transactional(readOnly = true)
+    public List<DeviceDay> findDeviceDaysBefore(Instant before, int limit) {
+        return gpsLogRepository.findDeviceDaysBefore(before, zone(), limit);
+    }
+
+    /**
+     * Compacts one device's rows of one day into its block and deletes them, in one
+     * transaction. Returns the number of rows archived (0 when another node holds
+     * the device or the rows are already gone).
+     */
+    @Transactional
+    public int compact(DeviceDay deviceDay) {
+        if (!gpsLogBlockRepository.tryLockDevice(deviceDay.deviceId())) {
+            return 0;
+        }
+        ZoneId zone = zone();
+        Instant from = deviceDay.day().atStartOfDay(zone).toInstant();
+        Instant to = deviceDay.day().plusDays(1).atStartOfDay(zone).toInstant();
+
+        List<GpsLog> rows = gpsLogRepository.findAllByDeviceIdInRange(deviceDay.deviceId(), from, to);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        Map<Instant, GpsLog> byTime = new TreeMap<>();
+        gpsLogBlockRepository.findByDeviceIdAndDay(deviceDay.deviceId(), deviceDay.day())
+                .ifPresent(existing -> existing.forEach(null, null, log -> byTime.put(log.getRecordedAt(), log)));
+        // Rows win over archived points: they were upserted later.
+        for (GpsLog row : rows) {
+            byTime.put(row.getRecordedAt(), row);
+        }
+
+        gpsLogBlockRepository.save(GpsLogBlock.encode(deviceDay.deviceId(), deviceDay.day(), List.copyOf(byTime.values())));
+        gpsLogRepository.deleteByDeviceIdInRange(deviceDay.deviceId(), from, to);
+        return rows.size();
+    }
+}
@@ -2,6 +2,7 @@ package com.smartlivestock.iot.application;
 
 import com.smartlivestock.iot.application.command.InstallDeviceCommand;
 import com.smartlivestock.iot.application.dto.InstallationDto;
+import com.smartlivestock.iot.domain.event.DeviceContextChangedEvent;
 import com.smartlivestock.iot.domain.model.Device;
 import com.smartlivestock.iot.domain.model.DeviceStatus;
 import com.smartlivestock.iot.domain.model.DeviceType;
@@ -11,6 +12,7 @@ import com.smartlivestock.iot.domain.repository.InstallationRepository;
 import com.smartlivestock.shared.common.ApiException;
 import com.smartlivestock.shared.common.ErrorCode;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +25,7 @@ public class InstallationApplicationService {
 
     private final DeviceRepository deviceRepository;
     private final InstallationRepository installationRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public InstallationDto install(InstallDeviceCommand command) {
@@ -44,6 +47,7 @@ public class InstallationApplicationService {
         }
        Installation installation = new Installation(command.deviceId(), command.livestockId(), command.operatorId());
         Installation saved = installationRepository.save(installation);
+        eventPublisher.publishEvent(new DeviceContextChangedEvent(command.deviceId()));
         return InstallationDto.from(saved);
     }
 
@@ -65,6 +69,7 @@ public class InstallationApplicationService {
                 .orElseThrow(() -> new ApiException(ErrorCode.RESOURCE_NOT_FOUND, "设备无活跃安装记录: " + deviceId));
         installation.remove();
         installationRepository.save(installation);
+        eventPublisher.publishEvent(new DeviceContextChangedEvent(deviceId));
     }
 
     @Transactional(readOnly = true)
@@ -85,6 +90,7 @@ public class InstallationApplicationService {
                 .orElseThrow(() -> new ApiException(ErrorCode.RESOURCE_NOT_FOUND, "安装记录不存在: " + installationId));
         installation.remove();
         Installation saved = installationRepository.save(installation);
+        eventPublisher.publishEvent(new DeviceContextChangedEvent(saved.getDeviceId()));
         return InstallationDto.from(saved);
     }
 
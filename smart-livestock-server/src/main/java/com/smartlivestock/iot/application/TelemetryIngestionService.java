@@ -5,14 +5,10 @@ import com.smartlivestock.iot.domain.model.Device;
 import com.smartlivestock.iot.domain.model.DeviceStatus;
 import com.smartlivestock.iot.domain.model.DeviceTelemetryLog;
 import com.smartlivestock.iot.domain.model.GpsIngestionTask;
-import com.smartlivestock.iot.domain.model.Installation;
 import com.smartlivestock.iot.domain.model.TelemetrySource;
-import com.smartlivestock.iot.domain.port.RanchQueryPort;
-import com.smartlivestock.iot.domain.port.dto.LivestockInfo;
 import com.smartlivestock.iot.domain.repository.DeviceRepository;
 import com.smartlivestock.iot.domain.repository.DeviceTelemetryLogRepository;
 import com.smartlivestock.iot.domain.repository.GpsIngestionTaskRepository;
-import com.smartlivestock.iot.domain.repository.InstallationRepository;
 import com.smartlivestock.ranch.domain.model.Alert;
 import com.smartlivestock.ranch.domain.model.AlertStatus;
 import com.smartlivestock.ranch.domain.model.AlertType;
@@ -29,14 +25,19 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
 
 /**
  * Unified telemetry ingestion service (Phase 3 upgrade — 分流+透传 mode).
  * <p>
  * All data sources (agentic-middle-platform polling / datagen synthesis / HTTP push)
- * go through a single ingest() method that:
+ * go through ingest() (one reading) or ingestBatch() (a run of one device's readings), which:
  * <ol>
  *   <li>Updates device runtime status snapshot (devices table)</li>
  *   <li>Writes device operational timeseries (device_telemetry_logs)</li>
@@ -53,8 +54,7 @@ public class TelemetryIngestionService {
 
     private final DeviceRepository deviceRepository;
     private final DeviceTelemetryLogRepository deviceTelemetryLogRepository;
-    private final InstallationRepository installationRepository;
-    private final RanchQueryPort ranchQueryPort;
+    private final DeviceContextCache deviceContextCache;
     private final GpsIngestionTaskRepository gpsIngestionTaskRepository;
     private final AlertRepository alertRepository;
     private final ApplicationEventPublisher eventPublisher;
@@ -73,26 +73,8 @@ public class TelemetryIngestionService {
                        Instant recordedAt, TelemetrySource source) {
         Instant effectiveRecordedAt = recordedAt != null ? recordedAt : Instant.now();
 
-        Device device = deviceRepository.findById(deviceId)
-                .orElseThrow(() -> new ApiException(ErrorCode.RESOURCE_NOT_FOUND,
-                        "设备不存在: " + deviceId));
-
-        if (device.getStatus() != DeviceStatus.ACTIVE) {
-            throw new ApiException(ErrorCode.STATE_CONFLICT,
-                    "设备未激活: " + device.getStatus());
-        }
-
-        // Resolve installation + farm context
-        Long livestockId = null;
-        Long farmId = null;
-        Installation installation = installationRepository.findActiveByDeviceId(deviceId).orElse(null);
-        if (installation != null) {
-            livestockId = installation.getLivestockId();
-            LivestockInfo livestock = ranchQueryPort.findLivestockById(livestockId).orElse(null);
-            if (livestock != null) {
-                farmId = livestock.farmId();
-            }
-        }
+        Device device = findActiveDevice(deviceId);
+        Context context = resolveContext(deviceId);
 
         // 1. Update device runtime status snapshot.
         // MANUAL_IMPORT backfills historical rows: it must not rewrite the
@@ -102,26 +84,27 @@ public class TelemetryIngestionService {
             deviceRepository.save(device);
         }
 
-       // 2. Write device operational timeseries
-       logDeviceTelemetry(device, readings, effectiveRecordedAt, source);
-
-        // 2a. Compute stepNumber delta (累计值 → 周期增量) and inject into readings
-        computeStepDelta(device, readings);
+        // 2. Compute stepNumber delta (累计值 → 周期增量) against the previous row, then
+        // write device operational timeseries
+        Integer lastStep = deviceTelemetryLogRepository.findLatestByDeviceId(deviceId)
+                .map(DeviceTelemetryLog::getStepNumber)
+                .orElse(null);
+        applyStepDelta(deviceId, readings, lastStep);
+        deviceTelemetryLogRepository.save(toTelemetryLog(device, readings, effectiveRecordedAt, source));
 
         // 3. Enqueue GPS for TRACKER devices; gps_logs is written by the outbox worker.
-        enqueueGps(device, readings, effectiveRecordedAt, source);
+        GpsIngestionTask gpsTask = toGpsTask(device, readings, effectiveRecordedAt, source);
+        if (gpsTask != null) {
+            gpsIngestionTaskRepository.enqueue(gpsTask);
+        }
 
         // 4. Detect device alerts (only for AGENTIC_PLATFORM source)
         if (source == TelemetrySource.AGENTIC_PLATFORM) {
-            detectDeviceAlerts(device, farmId, readings);
+            detectDeviceAlerts(device, context.farmId(), isTampered(readings), isLowBattery(device));
         }
 
         // 5. Publish telemetry event for cross-context consumption
-        TelemetryReceivedEvent event = new TelemetryReceivedEvent(
-                device.getId(), livestockId, farmId,
-                device.getDeviceType(), readings, effectiveRecordedAt,
-                source != null ? source.name() : "UNKNOWN");
-        eventPublisher.publishEvent(event);
+        eventPublisher.publishEvent(toEvent(device, context, readings, effectiveRecordedAt, source));
 
         // 6. Advance sync cursor to the ingested reportTime (not Instant.now()).
         // The cursor and reportTime must share the same time basis so the
@@ -138,6 +121,119 @@ public class TelemetryIngestionService {
                 deviceId, source, device.getDeviceType());
     }
 
+    /**
+     * Ingests a run of readings of one device in a single transaction, with the same
+     * effects as calling {@link #ingest} for each reading in report-time order.
+     * <p>
+     * Per-batch instead of per-reading: device, installation and livestock are
+     * resolved once; the stepNumber baseline is read once and carried in memory;
+     * telemetry rows and GPS outbox rows are written with one batched insert each;
+     * device alerts are checked once; the device snapshot and sync cursor are saved
+     * once at the end. Readings whose report time is already stored (or repeated in
+     * the batch) are skipped, as the per-reading path would reject them on the
+     * (device_id, report_time) unique key.
+     *
+     * @return number of readings ingested
+     */
+    @Transactional
+    public int ingestBatch(Long deviceId, List<Reading> batch, TelemetrySource source) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        Objects.requireNonNull(source, "source must not be null");
+
+        Device device = findActiveDevice(deviceId);
+        Context context = resolveContext(deviceId);
+
+        TreeMap<Instant, Map<String, Object>> byTime = new TreeMap<>();
+        Instant now = Instant.now();
+        for (Reading reading : batch) {
+            byTime.putIfAbsent(reading.recordedAt() != null ? reading.recordedAt() : now, reading.readings());
+        }
+        Set<Instant> stored = new HashSet<>(deviceTelemetryLogRepository
+                .findReportTimesByDeviceIdAndReportTimeBetween(deviceId, byTime.firstKey(), byTime.lastKey()));
+        Integer lastStep = deviceTelemetryLogRepository.findLatestByDeviceId(deviceId)
+                .map(DeviceTelemetryLog::getStepNumber)
+                .orElse(null);
+
+        List<DeviceTelemetryLog> logs = new ArrayList<>(byTime.size());
+        List<GpsIngestionTask> gpsTasks = new ArrayList<>();
+        List<TelemetryReceivedEvent> events = new ArrayList<>(byTime.size());
+        boolean tampered = false;
+        boolean lowBattery = false;
+
+        for (Map.Entry<Instant, Map<String, Object>> entry : byTime.entrySet()) {
+            Instant recordedAt = entry.getKey();
+            Map<String, Object> readings = entry.getValue();
+            if (stored.contains(recordedAt)) {
+                continue;
+            }
+            if (source != TelemetrySource.MANUAL_IMPORT) {
+                updateDeviceRuntimeStatus(device, readings);
+            }
+            lastStep = applyStepDelta(deviceId, readings, lastStep);
+            logs.add(toTelemetryLog(device, readings, recordedAt, source));
+            GpsIngestionTask gpsTask = toGpsTask(device, readings, recordedAt, source);
+            if (gpsTask != null) {
+                gpsTasks.add(gpsTask);
+            }
+            if (source == TelemetrySource.AGENTIC_PLATFORM) {
+                tampered |= isTampered(readings);
+                lowBattery |= isLowBattery(device);
+            }
+            events.add(toEvent(device, context, readings, recordedAt, source));
+        }
+
+        deviceTelemetryLogRepository.insertAll(logs);
+        if (!gpsTasks.isEmpty()) {
+            gpsIngestionTaskRepository.enqueueAll(gpsTasks);
+        }
+        if (source == TelemetrySource.AGENTIC_PLATFORM) {
+            detectDeviceAlerts(device, context.farmId(), tampered, lowBattery);
+            // Already-stored readings still move the cursor past them.
+            device.setLastTelemetrySyncedAt(byTime.lastKey());
+        }
+        if (source != TelemetrySource.MANUAL_IMPORT) {
+            deviceRepository.save(device);
+        }
+        events.forEach(eventPublisher::publishEvent);
+
+        log.debug("Ingested {} of {} telemetry readings for device [{}], source [{}]",
+                logs.size(), batch.size(), deviceId, source);
+        return logs.size();
+    }
+
+    /** One reading of a batch: sensor readings (standard keys) and their report time. */
+    public record Reading(Map<String, Object> readings, Instant recordedAt) {}
+
+    private record Context(Long livestockId, Long farmId) {}
+
+    private Device findActiveDevice(Long deviceId) {
+        Device device = deviceRepository.findById(deviceId)
+                .orElseThrow(() -> new ApiException(ErrorCode.RESOURCE_NOT_FOUND,
+                        "设备不存在: " + deviceId));
+
+        if (device.getStatus() != DeviceStatus.ACTIVE) {
+            throw new ApiException(ErrorCode.STATE_CONFLICT,
+                    "设备未激活: " + device.getStatus());
+        }
+        return device;
+    }
+
+    /** Resolve installation + farm context (cached per device, see {@link DeviceContextCache}). */
+    private Context resolveContext(Long deviceId) {
+        DeviceContextCache.DeviceContext context = deviceContextCache.get(deviceId);
+        return new Context(context.livestockId(), context.farmId());
+    }
+
+    private TelemetryReceivedEvent toEvent(Device device, Context context, Map<String, Object> readings,
+                                           Instant recordedAt, TelemetrySource source) {
+        return new TelemetryReceivedEvent(
+                device.getId(), context.livestockId(), context.farmId(),
+                device.getDeviceType(), readings, recordedAt,
+                source != null ? source.name() : "UNKNOWN");
+    }
+
     /**
      * Backward-compatible ingest without source (defaults to HTTP).
      */
@@ -152,18 +248,17 @@ public class TelemetryIngestionService {
      * Compute stepNumber delta: platform reports cumulative value, activity_logs needs per-cycle increment.
      * Injects result as "stepCount" into readings for downstream HealthApplicationService consumption.
      * Three cases: first report (skip), normal delta (inject), regression/reset (discard).
+     *
+     * @param lastStep stepNumber of the previous report, or null if none
+     * @return the baseline for the next report
      */
-    private void computeStepDelta(Device device, Map<String, Object> readings) {
+    private Integer applyStepDelta(Long deviceId, Map<String, Object> readings, Integer lastStep) {
         Integer currentStep = getInteger(readings, "stepNumber");
-        if (currentStep == null) return;
-
-        Integer lastStep = deviceTelemetryLogRepository.findLatestByDeviceId(device.getId())
-                .map(DeviceTelemetryLog::getStepNumber)
-                .orElse(null);
+        if (currentStep == null) return lastStep;
 
         if (lastStep == null) {
             // First report: baseline only, no delta to inject
-            return;
+            return currentStep;
         }
 
         if (currentStep > lastStep) {
@@ -171,8 +266,9 @@ public class TelemetryIngestionService {
             readings.put("stepCount", delta);
         } else {
             // Regression or reset: discard this cycle
-            log.warn("stepNumber regression: last={}, current={}, device={}", lastStep, currentStep, device.getId());
+            log.warn("stepNumber regression: last={}, current={}, device={}", lastStep, currentStep, deviceId);
         }
+        return currentStep;
     }
 
     private void updateDeviceRuntimeStatus(Device device, Map<String, Object> readings) {
@@ -211,8 +307,8 @@ public class TelemetryIngestionService {
         return "online";
     }
 
-    private void logDeviceTelemetry(Device device, Map<String, Object> readings, Instant recordedAt,
-                                    TelemetrySource source) {
+    private DeviceTelemetryLog toTelemetryLog(Device device, Map<String, Object> readings, Instant recordedAt,
+                                              TelemetrySource source) {
         DeviceTelemetryLog logEntry = new DeviceTelemetryLog();
         logEntry.setDeviceId(device.getId());
         logEntry.setTenantId(device.getTenantId());
@@ -244,12 +340,13 @@ public class TelemetryIngestionService {
         logEntry.setPitchDegrees(getBigDecimal(readings, "pitchDegrees"));
         logEntry.setSource(source);
         logEntry.setReportTime(recordedAt);
-        deviceTelemetryLogRepository.save(logEntry);
+        return logEntry;
     }
 
-   private void enqueueGps(Device device, Map<String, Object> readings, Instant recordedAt,
-                           TelemetrySource source) {
-       if (device.getDeviceType() != com.smartlivestock.iot.domain.model.DeviceType.TRACKER) return;
+   /** Outbox task for a TRACKER reading with a valid fix, or null. */
+   private GpsIngestionTask toGpsTask(Device device, Map<String, Object> readings, Instant recordedAt,
+                                      TelemetrySource source) {
+       if (device.getDeviceType() != com.smartlivestock.iot.domain.model.DeviceType.TRACKER) return null;
 
        Object latObj = readings.get("latitude");
        Object lngObj = readings.get("longitude");
@@ -261,20 +358,20 @@ public class TelemetryIngestionService {
                longitude = toBigDecimal(lngObj);
            } catch (RuntimeException e) {
                log.warn("Skipping unparseable GPS for device [{}]: {}", device.getId(), e.getMessage());
-               return;
+               return null;
            }
            if (latitude == null || longitude == null
                    || latitude.abs().compareTo(BigDecimal.valueOf(90)) > 0
                    || longitude.abs().compareTo(BigDecimal.valueOf(180)) > 0) {
                log.warn("Skipping out-of-range GPS for device [{}]: lat={}, lng={}",
                        device.getId(), latObj, lngObj);
-               return;
+               return null;
            }
            // Skip invalid GPS fixes (0,0 means no fix)
            if (latitude.compareTo(BigDecimal.ZERO) == 0
                    && longitude.compareTo(BigDecimal.ZERO) == 0) {
                log.debug("Skipping invalid GPS (0,0) for device [{}]", device.getId());
-               return;
+               return null;
            }
            GpsIngestionTask task = new GpsIngestionTask();
            task.setDeviceId(device.getId());
@@ -282,18 +379,27 @@ public class TelemetryIngestionService {
            task.setLongitude(longitude);
            task.setRecordedAt(recordedAt);
            task.setSource(source);
-           gpsIngestionTaskRepository.enqueue(task);
+           return task;
        }
+       return null;
    }
 
-    private void detectDeviceAlerts(Device device, Long farmId, Map<String, Object> readings) {
+    private boolean isTampered(Map<String, Object> readings) {
         Object antiDis = readings.get("antiDisassemblyStatus");
-        if (antiDis != null && toInteger(antiDis) != 0) {
+        return antiDis != null && toInteger(antiDis) != 0;
+    }
+
+    private boolean isLowBattery(Device device) {
+        return device.getBatteryLevel() != null && device.getBatteryLevel() < 20;
+    }
+
+    private void detectDeviceAlerts(Device device, Long farmId, boolean tampered, boolean lowBattery) {
+        if (tampered) {
             createDeviceAlertIfNotExists(device, farmId, AlertType.DEVICE_TAMPER, Severity.CRITICAL,
                     "设备防拆卸告警: " + device.getDeviceCode(),
                     "alert.device.tamper", List.of(device.getDeviceCode()));
         }
-        if (device.getBatteryLevel() != null && device.getBatteryLevel() < 20) {
+        if (lowBattery) {
             createDeviceAlertIfNotExists(device, farmId, AlertType.DEVICE_LOW_BATTERY, Severity.WARNING,
                     "设备低电量: " + device.getBatteryLevel() + "%",
                     "alert.device.lowBattery", List.of(device.getBatteryLevel()));
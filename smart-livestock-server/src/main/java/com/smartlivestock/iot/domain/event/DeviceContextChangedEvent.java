@@ -0,0 +1,18 @@
+package com.smartlivestock.iot.domain.event;
+
+import com.smartlivestock.shared.domain.DomainEvent;
+
+/**
+ * Domain event fired when a device's installation → livestock → farm chain may have
+ * changed (install, uninstall, device soft-delete, livestock removal).
+ */
+public class DeviceContextChangedEvent extends DomainEvent {
+
+    private final Long deviceId;
+
+    public DeviceContextChangedEvent(Long deviceId) {
+        this.deviceId = deviceId;
+    }
+
+    public Long getDeviceId() { return deviceId; }
+}
@@ -0,0 +1,34 @@
+package com.smartlivestock.iot.domain.event;
+
+import com.smartlivestock.shared.domain.DomainEvent;
+
+import java.util.List;
+
+/**
+ * Domain event fired once per drained outbox batch.
+ * <p>
+ * Carries the individual {@link GpsLogUpdatedEvent}s in recorded-at order. The
+ * bridge sends them to RocketMQ as one batch send, so consumers still receive
+ * one {@code gps-log-updated} message per position.
+ * <p>
+ * A non-null {@code routingKey} asks for an ordered send: every batch with the
+ * same key lands on the same queue, which the sharded outbox drain relies on to
+ * keep each device's positions in sequence across batches and nodes.
+ */
+public class GpsLogBatchUpdatedEvent extends DomainEvent {
+
+    private final List<GpsLogUpdatedEvent> events;
+    private final String routingKey;
+
+    public GpsLogBatchUpdatedEvent(List<GpsLogUpdatedEvent> events) {
+        this(events, null);
+    }
+
+    public GpsLogBatchUpdatedEvent(List<GpsLogUpdatedEvent> events, String routingKey) {
+        this.events = List.copyOf(events);
+        this.routingKey = routingKey;
+    }
+
+    public List<GpsLogUpdatedEvent> getEvents() { return events; }
+    public String getRoutingKey() { return routingKey; }
+}
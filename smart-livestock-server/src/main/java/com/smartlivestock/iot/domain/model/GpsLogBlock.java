@@ -0,0 +1,276 @@
+package com.smartlivestock.iot.domain.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * One device's GPS positions for one closed day, compacted into a single columnar
+ * block (gps_log_blocks) by the archive job.
+ * <p>
+ * Points are sorted by time and stored as zigzag varint deltas against the
+ * previous point: the timestamp in the coarsest unit that is exact for the whole
+ * block (seconds, millis or micros), latitude / longitude as fixed-point integers
+ * at the 1e-7 degree scale of {@code gps_logs}, and accuracy in hundredths
+ * (0 = null). Sources are a small per-block dictionary; the per-point index is
+ * omitted when the whole block has one source. A herd fix every 30 s typically
+ * takes 6-8 bytes instead of a full row plus its index entries.
+ * <p>
+ * Layout: {@code version, timeUnitExp, count, sourceCount, sourceNames..., points...}.
+ */
+public class GpsLogBlock {
+
+    static final int FORMAT_VERSION = 1;
+
+    private static final int COORD_SCALE = 7;
+    private static final int ACCURACY_SCALE = 2;
+
+    private final Long deviceId;
+    private final LocalDate day;
+    private final int pointCount;
+    private final Instant firstAt;
+    private final Instant lastAt;
+    private final byte[] data;
+
+    public GpsLogBlock(Long deviceId, LocalDate day, int pointCount,
+                       Instant firstAt, Instant lastAt, byte[] data) {
+        this.deviceId = deviceId;
+        this.day = day;
+        this.pointCount = pointCount;
+        this.firstAt = firstAt;
+        this.lastAt = lastAt;
+        this.data = data;
+    }
+
+    /**
+     * Encodes one device's logs for {@code day}. Logs must be unique on recordedAt;
+     * they may come in any order.
+     */
+    public static GpsLogBlock encode(Long deviceId, LocalDate day, List<GpsLog> logs) {
+        if (logs.isEmpty()) {
+            throw new IllegalArgumentException("A GPS log block needs at least one point");
+        }
+        List<GpsLog> sorted = new ArrayList<>(logs);
+        sorted.sort(Comparator.comparing(GpsLog::getRecordedAt));
+
+        int timeUnitExp = 6;
+        Map<TelemetrySource, Integer> sources = new LinkedHashMap<>();
+        for (GpsLog log : sorted) {
+            long micros = toMicros(log.getRecordedAt());
+            while (timeUnitExp > 0 && micros % pow10(timeUnitExp) != 0) {
+                timeUnitExp -= 3;
+            }
+            sources.putIfAbsent(sourceOf(log), sources.size());
+        }
+        long unit = pow10(timeUnitExp);
+
+        Writer out = new Writer(16 + sorted.size() * 8);
+        out.writeByte(FORMAT_VERSION);
+        out.writeByte(timeUnitExp);
+        out.writeVarLong(sorted.size());
+        out.writeVarLong(sources.size());
+        for (TelemetrySource source : sources.keySet()) {
+            byte[] name = source.name().getBytes(StandardCharsets.US_ASCII);
+            out.writeVarLong(name.length);
+            out.writeBytes(name);
+        }
+
+        long prevTime = 0;
+        long prevLat = 0;
+        long prevLng = 0;
+        long prevAccuracy = 0;
+        for (GpsLog log : sorted) {
+            long time = toMicros(log.getRecordedAt()) / unit;
+            long lat = toUnits(log.getLatitude(), COORD_SCALE);
+            long lng = toUnits(log.getLongitude(), COORD_SCALE);
+            long accuracy = log.getAccuracy() != null ? toUnits(log.getAccuracy(), ACCURACY_SCALE) + 1 : 0;
+            out.writeZigZag(time - prevTime);
+            out.writeZigZag(lat - prevLat);
+            out.writeZigZag(lng - prevLng);
+            out.writeZigZag(accuracy - prevAccuracy);
+            if (sources.size() > 1) {
+                out.writeVarLong(sources.get(sourceOf(log)));
+            }
+            prevTime = time;
+            prevLat = lat;
+            prevLng = lng;
+            prevAccuracy = accuracy;
+        }
+
+        return new GpsLogBlock(deviceId, day, sorted.size(),
+                sorted.get(0).getRecordedAt(), sorted.get(sorted.size() - 1).getRecordedAt(),
+                out.toByteArray());
+    }
+
+    /** All points, oldest first. */
+    public List<GpsLog> decode() {
+        List<GpsLog> logs = new ArrayList<>(pointCount);
+        forEach(null, null, logs::add);
+        return logs;
+    }
+
+    /**
+     * Streams the points recorded within [from, to] (either bound may be null),
+     * oldest first. Points outside the range are skipped without being materialized.
+     */
+    public void forEach(Instant from, Instant to, Consumer<GpsLog> sink) {
+        Reader in = new Reader(data);
+        int version = in.readByte();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalStateException("Unsupported GPS log block format: " + version);
+        }
+        long unit = pow10(in.readByte());
+        int count = (int) in.readVarLong();
+        TelemetrySource[] sources = new TelemetrySource[(int) in.readVarLong()];
+        for (int i = 0; i < sources.length; i++) {
+            byte[] name = in.readBytes((int) in.readVarLong());
+            sources[i] = TelemetrySource.valueOf(new String(name, StandardCharsets.US_ASCII));
+        }
+
+        long fromMicros = from != null ? toMicros(from) : Long.MIN_VALUE;
+        long toMicros = to != null ? toMicros(to) : Long.MAX_VALUE;
+        long time = 0;
+        long lat = 0;
+        long lng = 0;
+        long accuracy = 0;
+        for (int i = 0; i < count; i++) {
+            time += in.readZigZag();
+            lat += in.readZigZag();
+            lng += in.readZigZag();
+            accuracy += in.readZigZag();
+            TelemetrySource source = sources.length > 1 ? sources[(int) in.readVarLong()] : sources[0];
+
+            long micros = time * unit;
+            if (micros < fromMicros) {
+                continue;
+            }
+            if (micros > toMicros) {
+                return;
+            }
+            GpsLog log = new GpsLog(deviceId,
+                    BigDecimal.valueOf(lat, COORD_SCALE),
+                    BigDecimal.valueOf(lng, COORD_SCALE),
+                    accuracy != 0 ? BigDecimal.valueOf(accuracy - 1, ACCURACY_SCALE) : null,
+                    Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000L),
+                    source);
+            sink.accept(log);
+        }
+    }
+
+    // --- Getters ---
+
+    public Long getDeviceId() { return deviceId; }
+    public LocalDate getDay() { return day; }
+    public int getPointCount() { return pointCount; }
+    public Instant getFirstAt() { return firstAt; }
+    public Instant getLastAt() { return lastAt; }
+    public byte[] getData() { return data; }
+
+    private static TelemetrySource sourceOf(GpsLog log) {
+        return log.getSource() != null ? log.getSource() : TelemetrySource.AGENTIC_PLATFORM;
+    }
+
+    private static long toMicros(Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000L), instant.getNano() / 1_000L);
+    }
+
+    private static long toUnits(BigDecimal value, int scale) {
+        return value.setScale(scale, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static long pow10(int exp) {
+        return switch (exp) {
+            case 0 -> 1L;
+            case 3 -> 1_000L;
+            case 6 -> 1_000_000L;
+            default -> throw new IllegalStateException("Unsupported time unit exponent: " + exp);
+        };
+    }
+
+    private static final class Writer {
+        private byte[] buf;
+        private int size;
+
+        Writer(int capacity) {
+            buf = new byte[capacity];
+        }
+
+        void writeByte(int b) {
+            ensure(1);
+            buf[size++] = (byte) b;
+        }
+
+        void writeBytes(byte[] bytes) {
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buf, size, bytes.length);
+            size += bytes.length;
+        }
+
+        void writeZigZag(long v) {
+            writeVarLong((v << 1) ^ (v >> 63));
+        }
+
+        void writeVarLong(long v) {
+            ensure(10);
+            while ((v & ~0x7FL) != 0) {
+                buf[size++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            buf[size++] = (byte) v;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, size);
+        }
+
+        private void ensure(int n) {
+            if (size + n > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, size + n));
+            }
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buf;
+        private int pos;
+
+        Reader(byte[] buf) {
+            this.buf = buf;
+        }
+
+        int readByte() {
+            return buf[pos++];
+        }
+
+        byte[] readBytes(int n) {
+            byte[] bytes = Arrays.copyOfRange(buf, pos, pos + n);
+            pos += n;
+            return bytes;
+        }
+
+        long readZigZag() {
+            long v = readVarLong();
+            return (v >>> 1) ^ -(v & 1);
+        }
+
+        long readVarLong() {
+            long v = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = buf[pos++];
+                v |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return v;
+                }
+            }
+        }
+    }
+}
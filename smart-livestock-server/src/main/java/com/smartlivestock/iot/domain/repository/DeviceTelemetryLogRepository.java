@@ -9,6 +9,12 @@ import java.util.Optional;
 public interface DeviceTelemetryLogRepository {
     DeviceTelemetryLog save(DeviceTelemetryLog log);
 
+    /**
+     * Multi-row insert; rows whose (device_id, report_time) already exist are skipped.
+     * Returns the number of rows written.
+     */
+    int insertAll(List<DeviceTelemetryLog> logs);
+
     /** Find the most recent telemetry log for a device (used for stepNumber delta calculation). */
     Optional<DeviceTelemetryLog> findLatestByDeviceId(Long deviceId);
 
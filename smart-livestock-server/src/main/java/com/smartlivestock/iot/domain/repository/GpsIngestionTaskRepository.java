@@ -3,17 +3,44 @@ package com.smartlivestock.iot.domain.repository;
 import com.smartlivestock.iot.domain.model.GpsIngestionTask;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface GpsIngestionTaskRepository {
     void enqueue(GpsIngestionTask task);
 
+    /** Multi-row {@link #enqueue}; a single call must not carry two tasks with the same (device, recordedAt). */
+    void enqueueAll(List<GpsIngestionTask> tasks);
+
     List<Long> findReadyTaskIds(Instant now, int limit);
 
+    /** Ready task ids whose {@code device_id} falls in {@code shard} of {@code shardCount}. */
+    List<Long> findReadyTaskIds(Instant now, int limit, int shard, int shardCount);
+
     Optional<GpsIngestionTask> findById(Long id);
 
     GpsIngestionTask save(GpsIngestionTask task);
 
     void delete(GpsIngestionTask task);
+
+    /**
+     * Locks up to {@code limit} ready tasks of one device shard with
+     * {@code FOR UPDATE SKIP LOCKED}; rows already claimed by another drain
+     * transaction are skipped rather than waited on. {@code shardCount == 1}
+     * covers the whole outbox.
+     */
+    List<GpsIngestionTask> claimReadyTasks(Instant now, int limit, int shard, int shardCount);
+
+    /** {@link #claimReadyTasks} for one task: empty if it is gone or locked by another drain. */
+    Optional<GpsIngestionTask> claimTask(Long id);
+
+    /**
+     * Tries to take the cluster-wide lease on a device shard for the current
+     * transaction. Only one drain transaction across all nodes can hold a shard,
+     * which keeps each device's positions in recorded-at order.
+     */
+    boolean tryLockShard(int shard);
+
+    void deleteAllById(Collection<Long> ids);
 }
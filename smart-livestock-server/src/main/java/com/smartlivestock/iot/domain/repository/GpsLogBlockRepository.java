@@ -0,0 +1,32 @@
+package com.smartlivestock.iot.domain.repository;
+
+import com.smartlivestock.iot.domain.model.GpsLogBlock;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/** Archived per-device, per-day GPS blocks (see {@link GpsLogBlock}). */
+public interface GpsLogBlockRepository {
+
+    /** Upsert on (device_id, day). */
+    void save(GpsLogBlock block);
+
+    Optional<GpsLogBlock> findByDeviceIdAndDay(Long deviceId, LocalDate day);
+
+    /** Blocks of one device holding any point within [from, to], oldest first. */
+    List<GpsLogBlock> findByDeviceIdOverlapping(Long deviceId, Instant from, Instant to);
+
+    /** All blocks of one device, oldest first. */
+    List<GpsLogBlock> findByDeviceId(Long deviceId);
+
+    /** The device's block holding its newest archived point. */
+    Optional<GpsLogBlock> findLatestByDeviceId(Long deviceId);
+
+    /**
+     * Tries to take the cluster-wide archive lease on one device for the current
+     * transaction, so two nodes never compact the same device at once.
+     */
+    boolean tryLockDevice(Long deviceId);
+}
@@ -4,11 +4,26 @@ import com.smartlivestock.iot.domain.model.GpsLog;
 import com.smartlivestock.iot.domain.port.dto.GpsPointWithTelemetry;
 
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.List;
+import java.util.Optional;
 
 public interface GpsLogRepository {
     GpsLog save(GpsLog gpsLog);
+
+    /**
+     * Multi-row idempotent upsert on (device_id, recorded_at). Logs repeating a key
+     * within one call, such as a device resend, are written once, the last winning.
+     * Returns the number of rows written.
+     */
+    int upsertAll(List<GpsLog> gpsLogs);
+
     List<GpsLog> findByDeviceId(Long deviceId);
+
+    /** The device's newest row other than a (0, 0) fix. */
+    Optional<GpsLog> findLatestByDeviceId(Long deviceId);
+
     List<GpsLog> findByDeviceIdAndRecordedAtBetween(Long deviceId, Instant from, Instant to);
     long countByDeviceIdAndRecordedAtBetween(Long deviceId, Instant from, Instant to);
 
@@ -16,4 +31,18 @@ public interface GpsLogRepository {
 
     /** GPS points joined with telemetry (step/motion/activity) for a device time window. */
     List<GpsPointWithTelemetry> findByDeviceIdAndTimeRangeWithTelemetry(Long deviceId, Instant from, Instant to);
+
+    /**
+     * Up to {@code limit} (device, day) pairs that still have rows before {@code before},
+     * oldest day first; days are calendar days in {@code zone}.
+     */
+    List<DeviceDay> findDeviceDaysBefore(Instant before, ZoneId zone, int limit);
+
+    /** Every row of one device in [from, to), oldest first, including (0, 0) fixes. */
+    List<GpsLog> findAllByDeviceIdInRange(Long deviceId, Instant from, Instant to);
+
+    /** Deletes the rows of one device in [from, to). */
+    int deleteByDeviceIdInRange(Long deviceId, Instant from, Instant to);
+
+    record DeviceDay(Long deviceId, LocalDate day) {}
 }
@@ -0,0 +1,105 @@
+package com.smartlivestock.iot.domain.service;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * Pure domain service for map playback: Douglas-Peucker simplification of a
+ * time-ordered track. A point is kept when it lies farther than the tolerance
+ * from the segment spanning its neighbours that survived, so turning points
+ * stay while straight or stationary runs collapse to their end points.
+ * <p>
+ * Distances use the same equirectangular local projection as
+ * {@link TrackLineCalculator}, centred on the track's mean latitude. The split
+ * loop is iterative, so week-long tracks cannot overflow the stack.
+ */
+public class TrajectorySimplifier {
+
+    private static final double METERS_PER_DEG_LAT = 110_540.0;
+    private static final double METERS_PER_DEG_LNG = 111_320.0;
+    /** Web Mercator ground resolution at the equator for zoom 0 with 256 px tiles. */
+    private static final double MERCATOR_METERS_PER_PIXEL_Z0 = 156_543.033_92;
+    private static final int MAX_ZOOM = 22;
+
+    /**
+     * Tolerance for a map zoom level: the ground size of one screen pixel at
+     * {@code latitude}, so the simplified line is indistinguishable from the raw one.
+     */
+    public static double toleranceForZoom(int zoom, double latitude) {
+        int z = Math.max(0, Math.min(MAX_ZOOM, zoom));
+        return MERCATOR_METERS_PER_PIXEL_Z0 * Math.cos(Math.toRadians(latitude)) / (1L << z);
+    }
+
+    /**
+     * Marks the points to keep.
+     *
+     * @param latitudes       point latitudes, oldest first
+     * @param longitudes      point longitudes, same order
+     * @param toleranceMeters maximum deviation of a dropped point from the simplified line;
+     *                        {@code <= 0} keeps every point
+     * @return one flag per point; the first and last point are always kept
+     */
+    public boolean[] simplify(double[] latitudes, double[] longitudes, double toleranceMeters) {
+        int n = latitudes.length;
+        boolean[] keep = new boolean[n];
+        if (n <= 2 || toleranceMeters <= 0) {
+            Arrays.fill(keep, true);
+            return keep;
+        }
+
+        double meanLat = 0;
+        for (double lat : latitudes) {
+            meanLat += lat;
+        }
+        meanLat /= n;
+        double kx = Math.cos(Math.toRadians(meanLat)) * METERS_PER_DEG_LNG;
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = (longitudes[i] - longitudes[0]) * kx;
+            y[i] = (latitudes[i] - latitudes[0]) * METERS_PER_DEG_LAT;
+        }
+
+        double tolerance2 = toleranceMeters * toleranceMeters;
+        keep[0] = true;
+        keep[n - 1] = true;
+        Deque<int[]> ranges = new ArrayDeque<>();
+        ranges.push(new int[]{0, n - 1});
+        while (!ranges.isEmpty()) {
+            int[] range = ranges.pop();
+            int first = range[0];
+            int last = range[1];
+            double worst = -1;
+            int worstIndex = -1;
+            for (int i = first + 1; i < last; i++) {
+                double d2 = segmentDistanceSquared(x[i], y[i], x[first], y[first], x[last], y[last]);
+                if (d2 > worst) {
+                    worst = d2;
+                    worstIndex = i;
+                }
+            }
+            if (worstIndex >= 0 && worst > tolerance2) {
+                keep[worstIndex] = true;
+                ranges.push(new int[]{first, worstIndex});
+                ranges.push(new int[]{worstIndex, last});
+            }
+        }
+        return keep;
+    }
+
+    /**
+     * Squared distance to the segment rather than its line, so a track that doubles
+     * back on itself keeps the far end of the excursion.
+     */
+    private static double segmentDistanceSquared(double px, double py, double ax, double ay, double bx, double by) {
+        double dx = bx - ax;
+        double dy = by - ay;
+        double len2 = dx * dx + dy * dy;
+        double t = len2 == 0 ? 0 : ((px - ax) * dx + (py - ay) * dy) / len2;
+        t = Math.max(0, Math.min(1, t));
+        double ex = px - (ax + t * dx);
+        double ey = py - (ay + t * dy);
+        return ex * ex + ey * ey;
+    }
+}
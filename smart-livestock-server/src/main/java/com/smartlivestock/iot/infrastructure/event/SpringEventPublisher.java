@@ -1,9 +1,11 @@
 package com.smartlivestock.iot.infrastructure.event;
 
 import com.smartlivestock.iot.domain.event.DeviceActivatedEvent;
+import com.smartlivestock.iot.domain.event.GpsLogBatchUpdatedEvent;
 import com.smartlivestock.iot.domain.event.GpsLogUpdatedEvent;
 import com.smartlivestock.iot.domain.event.LicenseExpiredEvent;
 import com.smartlivestock.iot.domain.event.TelemetryReceivedEvent;
+import com.smartlivestock.ranch.domain.event.AlertStatusBatchChangedEvent;
 import com.smartlivestock.ranch.domain.event.AlertStatusChangedEvent;
 import com.smartlivestock.ranch.domain.event.FenceBreachDetectedEvent;
 import com.smartlivestock.shared.domain.event.*;
@@ -12,6 +14,10 @@ import com.smartlivestock.shared.messaging.Topics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
 
 /**
  * Bridge that listens for Spring ApplicationEvents published by application services
@@ -38,6 +44,20 @@ public class SpringEventPublisher {
         rocketMQEventPublisher.publish(Topics.GPS_LOG_UPDATED, event);
     }
 
+    /**
+     * Sent once the drain commits: the batch is published inside the drain's
+     * transaction, and a rolled-back drain is retried task by task.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onGpsLogBatchUpdated(GpsLogBatchUpdatedEvent event) {
+        log.info("Bridging GpsLogBatchUpdatedEvent with [{}] positions", event.getEvents().size());
+        if (event.getRoutingKey() != null) {
+            rocketMQEventPublisher.publishBatchOrderly(Topics.GPS_LOG_UPDATED, event.getEvents(), event.getRoutingKey());
+        } else {
+            rocketMQEventPublisher.publishBatch(Topics.GPS_LOG_UPDATED, event.getEvents());
+        }
+    }
+
     @EventListener
     public void onDeviceActivated(DeviceActivatedEvent event) {
         log.info("Bridging DeviceActivatedEvent for device [{}]", event.getDeviceId());
@@ -50,11 +70,17 @@ public class SpringEventPublisher {
         rocketMQEventPublisher.publish(Topics.LICENSE_EXPIRED, event);
     }
 
-    @EventListener
+    /**
+     * Keyed by livestock (device when unassigned) so one animal's readings share a
+     * queue and reach the orderly health consumer in the order they were received.
+     * Sent after the ingesting transaction commits, so a rollback sends nothing.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
     public void onTelemetryReceived(TelemetryReceivedEvent event) {
         log.info("Bridging TelemetryReceivedEvent for device [{}], type [{}]",
                 event.getDeviceId(), event.getDeviceType());
-        rocketMQEventPublisher.publish(Topics.TELEMETRY_RECEIVED, event);
+        Long key = event.getLivestockId() != null ? event.getLivestockId() : event.getDeviceId();
+        rocketMQEventPublisher.publishBatchOrderly(Topics.TELEMETRY_RECEIVED, List.of(event), String.valueOf(key));
     }
 
     // ── Ranch Events ───────────────────────────────────────────
@@ -65,13 +91,23 @@ public class SpringEventPublisher {
         rocketMQEventPublisher.publish(Topics.FENCE_BREACH_DETECTED, event);
     }
 
-    @EventListener
+    /**
+     * Alerts are saved inside the caller's transaction (often the GPS consumer's);
+     * they are only announced once that commits, so a rollback sends nothing.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
     public void onAlertStatusChanged(AlertStatusChangedEvent event) {
-        log.info("Bridging AlertStatusChangedEvent for alert [{}] to [{}]",
+        log.debug("Bridging AlertStatusChangedEvent for alert [{}] to [{}]",
                 event.getAlertId(), event.getNewStatus());
         rocketMQEventPublisher.publish(Topics.ALERT_STATUS_CHANGED, event);
     }
 
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAlertStatusBatchChanged(AlertStatusBatchChangedEvent event) {
+        log.info("Bridging AlertStatusBatchChangedEvent with [{}] alerts", event.getEvents().size());
+        rocketMQEventPublisher.publishBatch(Topics.ALERT_STATUS_CHANGED, event.getEvents());
+    }
+
     // ── Commerce Events (shared.domain.event) ──────────────────
 
     @EventListener
@@ -3,10 +3,18 @@ package com.smartlivestock.iot.infrastructure.persistence;
 import com.smartlivestock.iot.domain.model.DeviceTelemetryLog;
 import com.smartlivestock.iot.domain.repository.DeviceTelemetryLogRepository;
 import com.smartlivestock.iot.infrastructure.persistence.mapper.DeviceTelemetryLogMapper;
+import com.smartlivestock.iot.domain.model.TelemetrySource;
+import com.smartlivestock.shared.persistence.JdbcBatch;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
@@ -15,13 +23,57 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class JpaDeviceTelemetryLogRepositoryImpl implements DeviceTelemetryLogRepository {
 
+    private static final String INSERT_SQL = """
+            INSERT INTO device_telemetry_logs (
+                device_id, tenant_id, battery_level, rssi, snr, gateway_id, anti_disassembly_status,
+                step_number, latitude, longitude, accel_x_raw, accel_y_raw, accel_z_raw,
+                accel_x_g, accel_y_g, accel_z_g, accel_magnitude_g, motion_intensity,
+                activity_class, roll_degrees, pitch_degrees, source, report_time, created_at
+            ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, NOW())
+            ON CONFLICT (device_id, report_time) DO NOTHING
+            """;
+
     private final SpringDataDeviceTelemetryLogRepository springDataRepo;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Override
     public DeviceTelemetryLog save(DeviceTelemetryLog log) {
         return DeviceTelemetryLogMapper.toDomain(springDataRepo.save(DeviceTelemetryLogMapper.toJpaEntity(log)));
     }
 
+    @Override
+    public int insertAll(List<DeviceTelemetryLog> logs) {
+        return JdbcBatch.execute(entityManager, INSERT_SQL, logs, JpaDeviceTelemetryLogRepositoryImpl::bind);
+    }
+
+    private static void bind(PreparedStatement ps, DeviceTelemetryLog log) throws SQLException {
+        ps.setLong(1, log.getDeviceId());
+        ps.setLong(2, log.getTenantId());
+        ps.setObject(3, log.getBatteryLevel(), Types.INTEGER);
+        ps.setObject(4, log.getRssi(), Types.INTEGER);
+        ps.setObject(5, log.getSnr(), Types.NUMERIC);
+        ps.setObject(6, log.getGatewayId(), Types.VARCHAR);
+        ps.setObject(7, log.getAntiDisassemblyStatus(), Types.INTEGER);
+        ps.setObject(8, log.getStepNumber(), Types.INTEGER);
+        ps.setObject(9, log.getLatitude(), Types.NUMERIC);
+        ps.setObject(10, log.getLongitude(), Types.NUMERIC);
+        ps.setObject(11, log.getAccelXRaw(), Types.INTEGER);
+        ps.setObject(12, log.getAccelYRaw(), Types.INTEGER);
+        ps.setObject(13, log.getAccelZRaw(), Types.INTEGER);
+        ps.setObject(14, log.getAccelXG(), Types.NUMERIC);
+        ps.setObject(15, log.getAccelYG(), Types.NUMERIC);
+        ps.setObject(16, log.getAccelZG(), Types.NUMERIC);
+        ps.setObject(17, log.getAccelMagnitudeG(), Types.NUMERIC);
+        ps.setObject(18, log.getMotionIntensity(), Types.NUMERIC);
+        ps.setObject(19, log.getActivityClass(), Types.VARCHAR);
+        ps.setObject(20, log.getRollDegrees(), Types.NUMERIC);
+        ps.setObject(21, log.getPitchDegrees(), Types.NUMERIC);
+        ps.setString(22, log.getSource() != null ? log.getSource().name() : TelemetrySource.AGENTIC_PLATFORM.name());
+        ps.setTimestamp(23, Timestamp.from(log.getReportTime()));
+    }
+
     @Override
     public Optional<DeviceTelemetryLog> findLatestByDeviceId(Long deviceId) {
         return springDataRepo.findLatestByDeviceId(deviceId, PageRequest.of(0, 1))
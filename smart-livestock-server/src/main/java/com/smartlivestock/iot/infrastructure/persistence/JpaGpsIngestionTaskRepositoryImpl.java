@@ -5,19 +5,30 @@ import com.smartlivestock.iot.domain.model.TelemetrySource;
 import com.smartlivestock.iot.domain.repository.GpsIngestionTaskRepository;
 import com.smartlivestock.iot.infrastructure.persistence.entity.GpsIngestionTaskJpaEntity;
 import com.smartlivestock.iot.infrastructure.persistence.mapper.GpsIngestionTaskMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 @RequiredArgsConstructor
 public class JpaGpsIngestionTaskRepositoryImpl implements GpsIngestionTaskRepository {
+    /** Advisory-lock namespace for GPS outbox shard leases (first key of the two-int lock). */
+    private static final int SHARD_LOCK_CLASS = 0x67707331;
+    private static final int ENQUEUE_CHUNK_SIZE = 500;
+
     private final SpringDataGpsIngestionTaskRepository springDataRepo;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Override
     public void enqueue(GpsIngestionTask task) {
         springDataRepo.enqueue(
@@ -30,11 +41,64 @@ public class JpaGpsIngestionTaskRepositoryImpl implements GpsIngestionTaskReposi
         springDataRepo.flush();
     }
 
+    @Override
+    public void enqueueAll(List<GpsIngestionTask> tasks) {
+        for (int from = 0; from < tasks.size(); from += ENQUEUE_CHUNK_SIZE) {
+            enqueueChunk(tasks.subList(from, Math.min(from + ENQUEUE_CHUNK_SIZE, tasks.size())));
+        }
+    }
+
+    private void enqueueChunk(List<GpsIngestionTask> chunk) {
+        StringBuilder sql = new StringBuilder("""
+                INSERT INTO gps_ingestion_tasks (
+                    device_id, latitude, longitude, accuracy, recorded_at, source,
+                    status, attempts, next_attempt_at, created_at, updated_at
+                ) VALUES\s""");
+        for (int i = 0; i < chunk.size(); i++) {
+            int p = i * 6;
+            if (i > 0) sql.append(", ");
+            // accuracy is nullable; the cast keeps a null bind typed as numeric
+            sql.append("(?").append(p + 1).append(", ?").append(p + 2).append(", ?").append(p + 3)
+                    .append(", CAST(?").append(p + 4).append(" AS DECIMAL(6,2)), ?").append(p + 5)
+                    .append(", ?").append(p + 6).append(", 'PENDING', 0, NOW(), NOW(), NOW())");
+        }
+        sql.append("""
+                 ON CONFLICT (device_id, recorded_at) DO UPDATE SET
+                    latitude = EXCLUDED.latitude,
+                    longitude = EXCLUDED.longitude,
+                    accuracy = EXCLUDED.accuracy,
+                    source = EXCLUDED.source,
+                    status = 'PENDING',
+                    attempts = 0,
+                    next_attempt_at = NOW(),
+                    last_error = NULL,
+                    updated_at = NOW()
+                """);
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        for (int i = 0; i < chunk.size(); i++) {
+            GpsIngestionTask task = chunk.get(i);
+            int p = i * 6;
+            query.setParameter(p + 1, task.getDeviceId());
+            query.setParameter(p + 2, task.getLatitude());
+            query.setParameter(p + 3, task.getLongitude());
+            query.setParameter(p + 4, task.getAccuracy());
+            query.setParameter(p + 5, task.getRecordedAt());
+            query.setParameter(p + 6, task.getSource() != null ? task.getSource().name() : TelemetrySource.HTTP.name());
+        }
+        query.executeUpdate();
+    }
+
     @Override
     public List<Long> findReadyTaskIds(Instant now, int limit) {
         return springDataRepo.findReadyTaskIds(now, PageRequest.of(0, limit));
     }
 
+    @Override
+    public List<Long> findReadyTaskIds(Instant now, int limit, int shard, int shardCount) {
+        return springDataRepo.findReadyTaskIdsInShard(now, shard, shardCount, PageRequest.of(0, limit));
+    }
+
     @Override
     public Optional<GpsIngestionTask> findById(Long id) {
         return springDataRepo.findById(id).map(GpsIngestionTaskMapper::toDomain);
@@ -53,6 +117,31 @@ public class JpaGpsIngestionTaskRepositoryImpl implements GpsIngestionTaskReposi
         springDataRepo.deleteById(task.getId());
     }
 
+    @Override
+    public List<GpsIngestionTask> claimReadyTasks(Instant now, int limit, int shard, int shardCount) {
+        return springDataRepo.claimReadyTasks(now, limit, shard, shardCount).stream()
+                .map(GpsIngestionTaskMapper::toDomain)
+                .toList();
+    }
+
+    @Override
+    public Optional<GpsIngestionTask> claimTask(Long id) {
+        return springDataRepo.claimById(id).map(GpsIngestionTaskMapper::toDomain);
+    }
+
+    @Override
+    public boolean tryLockShard(int shard) {
+        return springDataRepo.tryAdvisoryXactLock(SHARD_LOCK_CLASS, shard);
+    }
+
+    @Override
+    public void deleteAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        springDataRepo.deleteAllByIdIn(ids);
+    }
+
     private void applyChanges(GpsIngestionTaskJpaEntity entity, GpsIngestionTask task) {
         entity.setId(task.getId());
         entity.setDeviceId(task.getDeviceId());
@@ -0,0 +1,57 @@
+package com.smartlivestock.iot.infrastructure.persistence;
+
+import com.smartlivestock.iot.domain.model.GpsLogBlock;
+import com.smartlivestock.iot.domain.repository.GpsLogBlockRepository;
+import com.smartlivestock.iot.infrastructure.persistence.mapper.GpsLogBlockMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class JpaGpsLogBlockRepositoryImpl implements GpsLogBlockRepository {
+    /** Advisory-lock namespace for GPS archive device leases (first key of the two-int lock). */
+    private static final int ARCHIVE_LOCK_CLASS = 0x67706c61;
+
+    private final SpringDataGpsLogBlockRepository springDataRepo;
+
+    @Override
+    public void save(GpsLogBlock block) {
+        springDataRepo.upsert(block.getDeviceId(), block.getDay(), block.getPointCount(),
+                block.getFirstAt(), block.getLastAt(), block.getData());
+    }
+
+    @Override
+    public Optional<GpsLogBlock> findByDeviceIdAndDay(Long deviceId, LocalDate day) {
+        return springDataRepo.findByDeviceIdAndLogDate(deviceId, day).map(GpsLogBlockMapper::toDomain);
+    }
+
+    @Override
+    public List<GpsLogBlock> findByDeviceIdOverlapping(Long deviceId, Instant from, Instant to) {
+        return springDataRepo.findOverlapping(deviceId, from, to).stream()
+                .map(GpsLogBlockMapper::toDomain)
+                .toList();
+    }
+
+    @Override
+    public List<GpsLogBlock> findByDeviceId(Long deviceId) {
+        return springDataRepo.findByDeviceIdOrderByFirstAtAsc(deviceId).stream()
+                .map(GpsLogBlockMapper::toDomain)
+                .toList();
+    }
+
+    @Override
+    public Optional<GpsLogBlock> findLatestByDeviceId(Long deviceId) {
+        return springDataRepo.findFirstByDeviceIdOrderByLastAtDesc(deviceId).map(GpsLogBlockMapper::toDomain);
+    }
+
+    @Override
+    public boolean tryLockDevice(Long deviceId) {
+        // Collisions between device ids only make a run skip a device until the next one.
+        return springDataRepo.tryAdvisoryXactLock(ARCHIVE_LOCK_CLASS, Long.hashCode(deviceId));
+    }
+}
@@ -6,21 +6,35 @@ import com.smartlivestock.iot.domain.port.dto.GpsPointWithTelemetry;
 import com.smartlivestock.iot.domain.repository.GpsLogRepository;
 import com.smartlivestock.iot.infrastructure.persistence.entity.GpsLogJpaEntity;
 import com.smartlivestock.iot.infrastructure.persistence.mapper.GpsLogMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Repository
 @RequiredArgsConstructor
 public class JpaGpsLogRepositoryImpl implements GpsLogRepository {
 
+    /** Rows per multi-row INSERT; 6 binds per row stays well below the 32767 parameter cap. */
+    private static final int UPSERT_CHUNK_SIZE = 500;
+
     private final SpringDataGpsLogRepository springDataRepo;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Override
     public GpsLog save(GpsLog gpsLog) {
         // Idempotent upsert on (device_id, recorded_at): re-syncs from the
@@ -40,6 +54,59 @@ public class JpaGpsLogRepositoryImpl implements GpsLogRepository {
         return rows.isEmpty() ? gpsLog : GpsLogMapper.toDomain(rows.get(0));
     }
 
+    /**
+     * Rows repeating a (device_id, recorded_at), such as a device resend, are written
+     * once with the last one's values: a single ON CONFLICT statement cannot update
+     * the same row twice.
+     */
+    @Override
+    public int upsertAll(List<GpsLog> gpsLogs) {
+        Map<DeviceTime, GpsLog> unique = new LinkedHashMap<>();
+        for (GpsLog gpsLog : gpsLogs) {
+            unique.put(new DeviceTime(gpsLog.getDeviceId(), gpsLog.getRecordedAt()), gpsLog);
+        }
+        List<GpsLog> rows = new ArrayList<>(unique.values());
+        int written = 0;
+        for (int from = 0; from < rows.size(); from += UPSERT_CHUNK_SIZE) {
+            written += upsertChunk(rows.subList(from, Math.min(from + UPSERT_CHUNK_SIZE, rows.size())));
+        }
+        return written;
+    }
+
+    private record DeviceTime(Long deviceId, Instant recordedAt) {}
+
+    private int upsertChunk(List<GpsLog> chunk) {
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO gps_logs (device_id, latitude, longitude, accuracy, recorded_at, source, created_at) VALUES ");
+        for (int i = 0; i < chunk.size(); i++) {
+            int p = i * 6;
+            if (i > 0) sql.append(", ");
+            // accuracy is nullable; the cast keeps a null bind typed as numeric
+            sql.append("(?").append(p + 1).append(", ?").append(p + 2).append(", ?").append(p + 3)
+                    .append(", CAST(?").append(p + 4).append(" AS DECIMAL(6,2)), ?").append(p + 5)
+                    .append(", ?").append(p + 6).append(", NOW())");
+        }
+        sql.append(" ON CONFLICT (device_id, recorded_at) DO UPDATE")
+                .append(" SET latitude = EXCLUDED.latitude,")
+                .append(" longitude = EXCLUDED.longitude,")
+                .append(" accuracy = EXCLUDED.accuracy,")
+                .append(" source = EXCLUDED.source");
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        for (int i = 0; i < chunk.size(); i++) {
+            GpsLog gpsLog = chunk.get(i);
+            int p = i * 6;
+            query.setParameter(p + 1, gpsLog.getDeviceId());
+            query.setParameter(p + 2, gpsLog.getLatitude());
+            query.setParameter(p + 3, gpsLog.getLongitude());
+            query.setParameter(p + 4, gpsLog.getAccuracy());
+            query.setParameter(p + 5, gpsLog.getRecordedAt());
+            query.setParameter(p + 6, gpsLog.getSource() != null ? gpsLog.getSource().name()
+                    : TelemetrySource.AGENTIC_PLATFORM.name());
+        }
+        return query.executeUpdate();
+    }
+
     @Override
     public List<GpsLog> findByDeviceId(Long deviceId) {
         return springDataRepo.findByDeviceId(deviceId).stream()
@@ -47,6 +114,11 @@ public class JpaGpsLogRepositoryImpl implements GpsLogRepository {
                 .toList();
     }
 
+    @Override
+    public Optional<GpsLog> findLatestByDeviceId(Long deviceId) {
+        return springDataRepo.findLatestByDeviceId(deviceId).map(GpsLogMapper::toDomain);
+    }
+
     @Override
     public List<GpsLog> findByDeviceIdAndRecordedAtBetween(Long deviceId, Instant from, Instant to) {
         return springDataRepo.findByDeviceIdAndRecordedAtBetween(deviceId, from, to).stream()
@@ -88,6 +160,25 @@ public class JpaGpsLogRepositoryImpl implements GpsLogRepository {
         return result;
     }
 
+    @Override
+    public List<DeviceDay> findDeviceDaysBefore(Instant before, ZoneId zone, int limit) {
+        return springDataRepo.findDeviceDaysBefore(before, zone.getId(), limit).stream()
+                .map(row -> new DeviceDay(((Number) row[0]).longValue(), toLocalDate(row[1])))
+                .toList();
+    }
+
+    @Override
+    public List<GpsLog> findAllByDeviceIdInRange(Long deviceId, Instant from, Instant to) {
+        return springDataRepo.findAllByDeviceIdInRange(deviceId, from, to).stream()
+                .map(GpsLogMapper::toDomain)
+                .toList();
+    }
+
+    @Override
+    public int deleteByDeviceIdInRange(Long deviceId, Instant from, Instant to) {
+        return springDataRepo.deleteByDeviceIdInRange(deviceId, from, to);
+    }
+
     private static BigDecimal toBigDecimal(Object o) {
         if (o == null) return null;
         if (o instanceof BigDecimal bd) return bd;
@@ -103,4 +194,10 @@ public class JpaGpsLogRepositoryImpl implements GpsLogRepository {
         if (o instanceof java.time.OffsetDateTime odt) return odt.toInstant();
         throw new IllegalStateException("Cannot convert to Instant: " + o.getClass());
     }
+
+    private static LocalDate toLocalDate(Object o) {
+        if (o instanceof LocalDate d) return d;
+        if (o instanceof java.sql.Date d) return d.toLocalDate();
+        throw new IllegalStateException("Cannot convert to LocalDate: " + o.getClass());
+    }
 }
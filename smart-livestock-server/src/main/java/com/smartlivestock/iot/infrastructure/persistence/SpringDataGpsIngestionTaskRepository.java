@@ -9,7 +9,9 @@ import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface SpringDataGpsIngestionTaskRepository extends JpaRepository<GpsIngestionTaskJpaEntity, Long> {
     @Modifying
@@ -46,4 +48,39 @@ public interface SpringDataGpsIngestionTaskRepository extends JpaRepository<GpsI
            ORDER BY t.recordedAt ASC
            """)
     List<Long> findReadyTaskIds(@Param("now") Instant now, Pageable pageable);
+
+    @Query("""
+           SELECT t.id FROM GpsIngestionTaskJpaEntity t
+           WHERE t.status = 'PENDING' AND t.nextAttemptAt <= :now
+             AND MOD(t.deviceId, :shardCount) = :shard
+           ORDER BY t.recordedAt ASC
+           """)
+    List<Long> findReadyTaskIdsInShard(@Param("now") Instant now,
+                                       @Param("shard") long shard,
+                                       @Param("shardCount") long shardCount,
+                                       Pageable pageable);
+
+    @Query(value = """
+           SELECT * FROM gps_ingestion_tasks
+           WHERE status = 'PENDING' AND next_attempt_at <= :now
+             AND MOD(device_id, :shardCount) = :shard
+           ORDER BY recorded_at ASC
+           LIMIT :limit
+           FOR UPDATE SKIP LOCKED
+           """, nativeQuery = true)
+    List<GpsIngestionTaskJpaEntity> claimReadyTasks(@Param("now") Instant now,
+                                                    @Param("limit") int limit,
+                                                    @Param("shard") int shard,
+                                                    @Param("shardCount") int shardCount);
+
+    @Query(value = "SELECT * FROM gps_ingestion_tasks WHERE id = :id FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<GpsIngestionTaskJpaEntity> claimById(@Param("id") Long id);
+
+    /** Transaction-scoped advisory lock; released automatically on commit or rollback. */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:lockClass, :shard)", nativeQuery = true)
+    boolean tryAdvisoryXactLock(@Param("lockClass") int lockClass, @Param("shard") int shard);
+
+    @Modifying
+    @Query("DELETE FROM GpsIngestionTaskJpaEntity t WHERE t.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
 }
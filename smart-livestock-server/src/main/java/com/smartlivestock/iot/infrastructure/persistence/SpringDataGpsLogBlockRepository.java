@@ -0,0 +1,48 @@
+package com.smartlivestock.iot.infrastructure.persistence;
+
+import com.smartlivestock.iot.infrastructure.persistence.entity.GpsLogBlockJpaEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface SpringDataGpsLogBlockRepository extends JpaRepository<GpsLogBlockJpaEntity, Long> {
+
+    @Modifying
+    @Query(value = """
+           INSERT INTO gps_log_blocks (device_id, log_date, point_count, first_at, last_at, data, created_at, updated_at)
+           VALUES (:deviceId, :logDate, :pointCount, :firstAt, :lastAt, :data, NOW(), NOW())
+           ON CONFLICT (device_id, log_date) DO UPDATE
+           SET point_count = EXCLUDED.point_count,
+               first_at = EXCLUDED.first_at,
+               last_at = EXCLUDED.last_at,
+               data = EXCLUDED.data,
+               updated_at = NOW()
+           """, nativeQuery = true)
+    void upsert(@Param("deviceId") Long deviceId,
+                @Param("logDate") LocalDate logDate,
+                @Param("pointCount") int pointCount,
+                @Param("firstAt") Instant firstAt,
+                @Param("lastAt") Instant lastAt,
+                @Param("data") byte[] data);
+
+    Optional<GpsLogBlockJpaEntity> findByDeviceIdAndLogDate(Long deviceId, LocalDate logDate);
+
+    @Query("SELECT b FROM GpsLogBlockJpaEntity b WHERE b.deviceId = :deviceId AND b.firstAt <= :to AND b.lastAt >= :from ORDER BY b.firstAt ASC")
+    List<GpsLogBlockJpaEntity> findOverlapping(@Param("deviceId") Long deviceId,
+                                               @Param("from") Instant from,
+                                               @Param("to") Instant to);
+
+    List<GpsLogBlockJpaEntity> findByDeviceIdOrderByFirstAtAsc(Long deviceId);
+
+    Optional<GpsLogBlockJpaEntity> findFirstByDeviceIdOrderByLastAtDesc(Long deviceId);
+
+    /** Transaction-scoped advisory lock; released automatically on commit or rollback. */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:lockClass, :key)", nativeQuery = true)
+    boolean tryAdvisoryXactLock(@Param("lockClass") int lockClass, @Param("key") int key);
+}
@@ -9,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 public interface SpringDataGpsLogRepository extends JpaRepository<GpsLogJpaEntity, Long> {
     /**
@@ -85,4 +86,34 @@ public interface SpringDataGpsLogRepository extends JpaRepository<GpsLogJpaEntit
           @Param("deviceId") Long deviceId,
           @Param("startTime") Instant startTime,
           @Param("endTime") Instant endTime);
+
+    @Query(value = """
+           SELECT device_id, CAST(recorded_at AT TIME ZONE :zone AS DATE) AS log_date
+           FROM gps_logs
+           WHERE recorded_at < :before
+           GROUP BY device_id, CAST(recorded_at AT TIME ZONE :zone AS DATE)
+           ORDER BY log_date, device_id
+           LIMIT :limit
+           """, nativeQuery = true)
+    List<Object[]> findDeviceDaysBefore(@Param("before") Instant before, @Param("zone") String zone,
+                                        @Param("limit") int limit);
+
+    @Query(value = """
+           SELECT * FROM gps_logs
+           WHERE device_id = :deviceId AND (latitude <> 0 OR longitude <> 0)
+           ORDER BY recorded_at DESC
+           LIMIT 1
+           """, nativeQuery = true)
+    Optional<GpsLogJpaEntity> findLatestByDeviceId(@Param("deviceId") Long deviceId);
+
+    @Query("SELECT g FROM GpsLogJpaEntity g WHERE g.deviceId = :deviceId AND g.recordedAt >= :from AND g.recordedAt < :to ORDER BY g.recordedAt ASC")
+    List<GpsLogJpaEntity> findAllByDeviceIdInRange(@Param("deviceId") Long deviceId,
+                                                   @Param("from") Instant from,
+                                                   @Param("to") Instant to);
+
+    @Modifying
+    @Query("DELETE FROM GpsLogJpaEntity g WHERE g.deviceId = :deviceId AND g.recordedAt >= :from AND g.recordedAt < :to")
+    int deleteByDeviceIdInRange(@Param("deviceId") Long deviceId,
+                                @Param("from") Instant from,
+                                @Param("to") Instant to);
 }
@@ -0,0 +1,14 @@
+package com.smartlivestock.iot.infrastructure.persistence.mapper;
+
+import com.smartlivestock.iot.domain.model.GpsLogBlock;
+import com.smartlivestock.iot.infrastructure.persistence.entity.GpsLogBlockJpaEntity;
+
+public final class GpsLogBlockMapper {
+
+    private GpsLogBlockMapper() {}
+
+    public static GpsLogBlock toDomain(GpsLogBlockJpaEntity jpa) {
+        return new GpsLogBlock(jpa.getDeviceId(), jpa.getLogDate(), jpa.getPointCount(),
+                jpa.getFirstAt(), jpa.getLastAt(), jpa.getData());
+    }
+}
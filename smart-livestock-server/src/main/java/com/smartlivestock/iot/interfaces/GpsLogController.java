@@ -12,7 +12,6 @@ import org.springframework.web.bind.annotation.*;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -33,10 +32,8 @@ public class GpsLogController {
             @PathVariable Long farmId) {
         // Cross-context: get active installations → latest GPS per device
         List<GpsLogDto> latestLogs = installationApplicationService.findAllActive().stream()
-                .map(inst -> gpsLogApplicationService.getByDevice(inst.deviceId()).stream()
-                        .reduce((first, second) -> second) // last = latest
-                        .orElse(null))
-                .filter(Objects::nonNull)
+                .map(inst -> gpsLogApplicationService.getLatestByDevice(inst.deviceId()))
+                .flatMap(Optional::stream)
                 .collect(Collectors.toList());
 
         Map<String, Object> data = Map.of("items", latestLogs);
@@ -47,6 +44,8 @@ public class GpsLogController {
      * GET /api/v1/farms/{farmId}/livestock/{livestockId}/gps-logs
      * Get GPS history for a specific livestock.
      * Path: livestock -> installation -> device -> gps_logs
+     * With a time range plus toleranceMeters and/or zoom, returns the simplified
+     * playback polyline (oldest first, unpaged) instead.
      */
     @GetMapping("/livestock/{livestockId}/gps-logs")
     public ResponseEntity<ApiResponse<Map<String, Object>>> getLivestockGpsHistory(
@@ -56,12 +55,19 @@ public class GpsLogController {
             @RequestParam(required = false) String endTime,
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "100") int pageSize,
-            @RequestParam(required = false) Integer sampleSize) {
+            @RequestParam(required = false) Integer sampleSize,
+            @RequestParam(required = false) Double toleranceMeters,
+            @RequestParam(required = false) Integer zoom) {
+        boolean simplify = startTime != null && endTime != null && (toleranceMeters != null || zoom != null);
         // Cross-context: livestock → active installation → device → GPS logs
         return installationApplicationService.getActiveInstallationByLivestock(livestockId)
                 .map(inst -> {
                     List<GpsLogDto> allLogs;
-                   if (startTime != null && endTime != null && sampleSize != null && sampleSize > 0) {
+                    if (simplify) {
+                        allLogs = gpsLogApplicationService.simplifyByDeviceAndTimeRange(
+                                inst.deviceId(), parseInstant(startTime), parseInstant(endTime),
+                                toleranceMeters, zoom);
+                    } else if (startTime != null && endTime != null && sampleSize != null && sampleSize > 0) {
                        allLogs = gpsLogApplicationService.sampleByDeviceAndTimeRange(
                                inst.deviceId(),
                                 parseInstant(startTime),
@@ -76,9 +82,9 @@ public class GpsLogController {
                         allLogs = gpsLogApplicationService.getByDevice(inst.deviceId());
                     }
                     int total = allLogs.size();
-                    // When sampling is requested, return all sampled points
+                    // When sampling or simplification is requested, return all points
                     // without further pagination — the sample IS the page.
-                    if (sampleSize != null && sampleSize > 0) {
+                    if (simplify || (sampleSize != null && sampleSize > 0)) {
                         return ResponseEntity.ok(ApiResponse.ok(Map.of(
                                 "items", allLogs,
                                 "total", total
@@ -118,9 +124,14 @@ public class GpsLogController {
             @PathVariable Long deviceId,
             @RequestParam(required = false) String startTime,
             @RequestParam(required = false) String endTime,
-            @RequestParam(required = false) Integer sampleSize) {
+            @RequestParam(required = false) Integer sampleSize,
+            @RequestParam(required = false) Double toleranceMeters,
+            @RequestParam(required = false) Integer zoom) {
         List<GpsLogDto> logs;
-        if (startTime != null && endTime != null && sampleSize != null && sampleSize > 0) {
+        if (startTime != null && endTime != null && (toleranceMeters != null || zoom != null)) {
+            logs = gpsLogApplicationService.simplifyByDeviceAndTimeRange(
+                    deviceId, parseInstant(startTime), parseInstant(endTime), toleranceMeters, zoom);
+        } else if (startTime != null && endTime != null && sampleSize != null && sampleSize > 0) {
             logs = gpsLogApplicationService.sampleByDeviceAndTimeRange(
                     deviceId, parseInstant(startTime), parseInstant(endTime), sampleSize);
         } else if (startTime != null && endTime != null) {
@@ -13,7 +13,7 @@ import org.springframework.web.bind.annotation.*;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -41,10 +41,8 @@ public class OpenGpsController {
         apiKeyAuthService.validateFarmAccess(apiKey, farmId);
 
         List<GpsLogDto> latestLogs = installationApplicationService.findAllActive().stream()
-                .map(inst -> gpsLogApplicationService.getByDevice(inst.deviceId()).stream()
-                        .reduce((first, second) -> second)
-                        .orElse(null))
-                .filter(Objects::nonNull)
+                .map(inst -> gpsLogApplicationService.getLatestByDevice(inst.deviceId()))
+                .flatMap(Optional::stream)
                 .collect(Collectors.toList());
 
         Map<String, Object> data = Map.of("items", latestLogs);
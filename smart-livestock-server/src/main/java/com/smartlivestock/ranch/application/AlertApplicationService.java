@@ -2,10 +2,13 @@ package com.smartlivestock.ranch.application;
 
 import com.smartlivestock.ranch.application.dto.AlertDto;
 import com.smartlivestock.ranch.application.service.AlertMessageLocalizer;
+import com.smartlivestock.ranch.application.service.FenceStateTracker;
 import com.smartlivestock.ranch.domain.model.Alert;
 import com.smartlivestock.ranch.domain.model.AlertStatus;
 import com.smartlivestock.ranch.domain.model.AlertType;
 import com.smartlivestock.ranch.domain.model.Severity;
+import com.smartlivestock.ranch.domain.repository.AlertFilter;
+import com.smartlivestock.ranch.domain.repository.AlertQuery;
 import com.smartlivestock.ranch.domain.repository.AlertRepository;
 import com.smartlivestock.ranch.infrastructure.persistence.SpringDataAlertReadStatusRepository;
 import com.smartlivestock.ranch.infrastructure.persistence.entity.AlertReadStatusJpaEntity;
@@ -15,7 +18,13 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -23,9 +32,12 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class AlertApplicationService {
 
+    public static final int MAX_PAGE_SIZE = 200;
+
     private final AlertRepository alertRepository;
     private final SpringDataAlertReadStatusRepository readStatusRepository;
     private final AlertMessageLocalizer alertMessageLocalizer;
+    private final FenceStateTracker fenceStateTracker;
 
     // ── Create ──
 
@@ -86,11 +98,73 @@ public class AlertApplicationService {
                 .toList();
     }
 
+    /**
+     * One page of alerts, newest first. {@code nextCursor} is null on the last page;
+     * otherwise it can be passed back as the {@code cursor} of the next request.
+     * With a {@code userId} the per-user read flags are filled in.
+     * <p>
+     * {@code total} counts every matching alert, for clients paging by number; it is
+     * null for cursor pages, which do not need it.
+     */
+    @Transactional(readOnly = true)
+    public AlertPage listPage(AlertQuery query, Long userId) {
+        List<Alert> alerts = alertRepository.findPage(query.withLimit(query.limit() + 1));
+        boolean more = alerts.size() > query.limit();
+        if (more) {
+            alerts = alerts.subList(0, query.limit());
+        }
+        List<AlertDto> items = userId != null
+                ? enrichWithReadStatus(alerts, userId)
+                : alerts.stream().map(this::fromLocalized).toList();
+        String nextCursor = more ? String.valueOf(alerts.get(alerts.size() - 1).getId()) : null;
+        Long total = query.beforeId() == null ? alertRepository.countMatching(query.filter()) : null;
+        return new AlertPage(items, nextCursor, total);
+    }
+
+    @Transactional(readOnly = true)
+    public List<AlertDto> listActive(Long farmId) {
+        return listByFarmAndStatus(farmId, AlertStatus.ACTIVE);
+    }
+
+    /** ACTIVE alert counts by type; types without an ACTIVE alert are absent. */
+    @Transactional(readOnly = true)
+    public Map<AlertType, Long> countActiveByType(Long farmId) {
+        return alertRepository.countByFarmIdAndStatusGroupByType(farmId, AlertStatus.ACTIVE);
+    }
+
     @Transactional(readOnly = true)
     public long countByFarmAndType(Long farmId, AlertType type) {
-        return alertRepository.findByFarmId(farmId).stream()
-                .filter(a -> a.getType() == type && a.getStatus() == AlertStatus.ACTIVE)
-                .count();
+        return countActiveByType(farmId).getOrDefault(type, 0L);
+    }
+
+    /**
+     * Builds a filter from request parameters; blank parameters are no filter.
+     * Times are ISO-8601, with or without an offset (naive values are taken as UTC).
+     */
+    public static AlertFilter filter(Long farmId, String status, String type, String severity,
+                                     Long livestockId, String startTime, String endTime) {
+        return new AlertFilter(farmId,
+                parseEnum(AlertStatus.class, status, "告警状态"),
+                parseEnum(AlertType.class, type, "告警类型"),
+                parseEnum(Severity.class, severity, "告警级别"),
+                livestockId,
+                parseTime(startTime),
+                parseTime(endTime));
+    }
+
+    /**
+     * A page of {@code filter}: after {@code cursor} when one is given, otherwise page
+     * number {@code page} (1-based).
+     */
+    public static AlertQuery query(AlertFilter filter, String cursor, int page, int pageSize) {
+        Long beforeId;
+        try {
+            beforeId = isBlank(cursor) ? null : Long.valueOf(cursor);
+        } catch (NumberFormatException e) {
+            throw new ApiException(ErrorCode.VALIDATION_ERROR, "无效的分页游标: " + cursor);
+        }
+        int limit = Math.max(1, Math.min(pageSize, MAX_PAGE_SIZE));
+        return new AlertQuery(filter, beforeId, (Math.max(1, page) - 1) * limit, limit);
     }
 
     // ── Mark read (per-user) ──
@@ -102,16 +176,11 @@ public class AlertApplicationService {
         return getAlertWithReadStatus(alertId, userId);
     }
 
+    /** Marks the alerts read in one insert; returns how many of them exist. */
     @Transactional
     public int batchRead(List<Long> alertIds, Long userId) {
-        int count = 0;
-        for (Long alertId : alertIds) {
-            if (alertRepository.findById(alertId).isPresent()) {
-                readStatusRepository.insertOnConflictDoNothing(alertId, userId);
-                count++;
-            }
-        }
-        return count;
+        if (alertIds.isEmpty()) return 0;
+        return (int) readStatusRepository.insertAllOnConflictDoNothing(alertIds, userId);
     }
 
     // ── Dismiss / Auto-resolve ──
@@ -121,6 +190,7 @@ public class AlertApplicationService {
         Alert alert = getAlertDomain(alertId);
         alert.dismiss(userId);
         Alert saved = alertRepository.save(alert);
+        forgetFenceState(saved);
         return getAlertWithReadStatus(saved.getId(), userId);
     }
 
@@ -129,17 +199,59 @@ public class AlertApplicationService {
         Alert alert = getAlertDomain(alertId);
         alert.autoResolve();
         Alert saved = alertRepository.save(alert);
+        forgetFenceState(saved);
         return fromLocalized(saved);
     }
 
     @Transactional
     public void autoResolveByLivestockAndType(Long livestockId, AlertType type) {
-        List<Alert> activeAlerts = alertRepository.findByLivestockIdAndTypeAndStatus(
-                livestockId, type, AlertStatus.ACTIVE);
-        for (Alert alert : activeAlerts) {
-            alert.autoResolve();
-            alertRepository.save(alert);
+        forgetFenceState(alertRepository.autoResolveActive(livestockId, List.of(type), null));
+    }
+
+    /** Dismisses the farm's listed ACTIVE alerts in one update; returns how many changed. */
+    @Transactional
+    public int batchDismiss(Long farmId, List<Long> alertIds, Long userId) {
+        List<Alert> dismissed = alertRepository.dismissActive(farmId, alertIds, userId);
+        forgetFenceState(dismissed);
+        return dismissed.size();
+    }
+
+    /**
+     * Archives every ACTIVE alert of the farm matching the filter in one update, e.g.
+     * all fence breaches of an incident; returns how many changed. A filter that names
+     * nothing but the farm is rejected rather than archiving the whole farm.
+     */
+    @Transactional
+    public int archiveByFilter(AlertFilter filter) {
+        if (filter.type() == null && filter.severity() == null && filter.livestockId() == null
+                && filter.from() == null && filter.to() == null) {
+            throw new ApiException(ErrorCode.VALIDATION_ERROR, "批量归档至少需要一个筛选条件");
         }
+        List<Alert> archived = alertRepository.archiveActive(filter);
+        forgetFenceState(archived);
+        return archived.size();
+    }
+
+    /**
+     * A fence alert closed outside the GPS consumer invalidates its recorded fence
+     * state, so the next position is checked against the alert table again.
+     */
+    private void forgetFenceState(Alert alert) {
+        if (isFenceAlert(alert)) {
+            fenceStateTracker.forget(alert.getLivestockId());
+        }
+    }
+
+    private void forgetFenceState(List<Alert> alerts) {
+        fenceStateTracker.forgetAll(alerts.stream()
+                .filter(AlertApplicationService::isFenceAlert)
+                .map(Alert::getLivestockId)
+                .collect(Collectors.toSet()));
+    }
+
+    private static boolean isFenceAlert(Alert alert) {
+        return alert.getLivestockId() != null
+                && (alert.getType() == AlertType.FENCE_BREACH || alert.getType() == AlertType.FENCE_APPROACH);
     }
 
     // ── Legacy compatibility ──
@@ -174,7 +286,35 @@ public class AlertApplicationService {
                 .toList();
     }
 
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String label) {
+        if (isBlank(value)) return null;
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(ErrorCode.VALIDATION_ERROR, "无效的" + label + ": " + value);
+        }
+    }
+
+    private static Instant parseTime(String value) {
+        if (isBlank(value)) return null;
+        try {
+            return Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            try {
+                return LocalDateTime.parse(value).toInstant(ZoneOffset.UTC);
+            } catch (DateTimeParseException ex) {
+                throw new ApiException(ErrorCode.VALIDATION_ERROR, "无效的时间: " + value);
+            }
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
     private AlertDto fromLocalized(Alert alert) {
         return AlertDto.from(alert, alertMessageLocalizer.localize(alert));
     }
+
+    public record AlertPage(List<AlertDto> items, String nextCursor, Long total) {}
 }
@@ -3,6 +3,7 @@ package com.smartlivestock.ranch.application;
 import com.smartlivestock.ranch.application.command.CreateFenceCommand;
 import com.smartlivestock.ranch.application.command.UpdateFenceCommand;
 import com.smartlivestock.ranch.application.dto.FenceDto;
+import com.smartlivestock.ranch.domain.event.FenceChangedEvent;
 import com.smartlivestock.ranch.domain.model.Fence;
 import com.smartlivestock.ranch.domain.model.GpsCoordinate;
 import com.smartlivestock.ranch.domain.repository.FenceRepository;
@@ -10,6 +11,7 @@ import com.smartlivestock.ranch.domain.service.BufferPolygonCalculator;
 import com.smartlivestock.shared.common.ApiException;
 import com.smartlivestock.shared.common.ErrorCode;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,6 +25,7 @@ public class FenceApplicationService {
 
     private final FenceRepository fenceRepository;
     private final BufferPolygonCalculator bufferPolygonCalculator;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public FenceDto createFence(CreateFenceCommand command) {
@@ -32,6 +35,7 @@ public class FenceApplicationService {
         }
         computeBufferPolygon(fence);
         Fence saved = fenceRepository.save(fence);
+        eventPublisher.publishEvent(new FenceChangedEvent(saved.getFarmId(), saved.getId()));
         return FenceDto.from(saved);
     }
 
@@ -65,6 +69,7 @@ public class FenceApplicationService {
         computeBufferPolygon(fence);
         try {
             Fence saved = fenceRepository.save(fence);
+            eventPublisher.publishEvent(new FenceChangedEvent(saved.getFarmId(), saved.getId()));
             return FenceDto.from(saved);
         } catch (ObjectOptimisticLockingFailureException e) {
             throw new ApiException(ErrorCode.STATE_CONFLICT,
@@ -83,6 +88,7 @@ public class FenceApplicationService {
         computeBufferPolygon(fence);
         try {
             Fence saved = fenceRepository.save(fence);
+            eventPublisher.publishEvent(new FenceChangedEvent(saved.getFarmId(), saved.getId()));
             return FenceDto.from(saved);
         } catch (ObjectOptimisticLockingFailureException e) {
             throw new ApiException(ErrorCode.STATE_CONFLICT,
@@ -92,10 +98,10 @@ public class FenceApplicationService {
 
     @Transactional
     public void deleteFence(Long id) {
-        if (fenceRepository.findById(id).isEmpty()) {
-            throw new ApiException(ErrorCode.RESOURCE_NOT_FOUND, "围栏不存在: " + id);
-        }
+        Fence fence = fenceRepository.findById(id)
+                .orElseThrow(() -> new ApiException(ErrorCode.RESOURCE_NOT_FOUND, "围栏不存在: " + id));
         fenceRepository.deleteById(id);
+        eventPublisher.publishEvent(new FenceChangedEvent(fence.getFarmId(), id));
     }
 
     /**
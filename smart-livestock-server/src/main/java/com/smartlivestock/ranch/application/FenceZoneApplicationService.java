@@ -1,6 +1,7 @@
 package com.smartlivestock.ranch.application;
 
 import com.smartlivestock.ranch.application.dto.FenceZoneDto;
+import com.smartlivestock.ranch.application.service.RanchOverviewProjectionStore;
 import com.smartlivestock.ranch.domain.model.FenceZone;
 import com.smartlivestock.ranch.domain.model.GpsCoordinate;
 import com.smartlivestock.ranch.domain.repository.FenceZoneRepository;
@@ -17,6 +18,7 @@ import java.util.List;
 public class FenceZoneApplicationService {
 
     private final FenceZoneRepository fenceZoneRepository;
+    private final RanchOverviewProjectionStore overviewProjectionStore;
 
     @Transactional(readOnly = true)
     public List<FenceZoneDto> listByFarm(Long farmId) {
@@ -30,6 +32,7 @@ public class FenceZoneApplicationService {
                                List<GpsCoordinate> vertices, int alertRadius, String severity) {
         FenceZone zone = new FenceZone(fenceId, farmId, name, zoneType, vertices, alertRadius, severity);
         FenceZone saved = fenceZoneRepository.save(zone);
+        overviewProjectionStore.invalidate(farmId);
         return FenceZoneDto.from(saved);
     }
 }
@@ -1,6 +1,10 @@
 package com.smartlivestock.ranch.application;
 
 import com.smartlivestock.ranch.application.dto.LivestockDto;
+import com.smartlivestock.ranch.application.service.FenceIndexCache;
+import com.smartlivestock.ranch.application.service.RanchOverviewProjectionStore;
+import com.smartlivestock.ranch.domain.event.LivestockChangedEvent;
+import com.smartlivestock.ranch.domain.model.GpsCoordinate;
 import com.smartlivestock.ranch.domain.model.Livestock;
 import com.smartlivestock.ranch.domain.port.HealthQueryPort;
 import com.smartlivestock.ranch.domain.port.IoTQueryPort;
@@ -12,6 +16,7 @@ import com.smartlivestock.ranch.application.command.UpdateLivestockCommand;
 import com.smartlivestock.shared.common.ApiException;
 import com.smartlivestock.shared.common.ErrorCode;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,6 +33,9 @@ public class LivestockApplicationService {
     private final HealthQueryPort healthQueryPort;
     private final IoTQueryPort iotQueryPort;
     private final IoTCommandPort iotCommandPort;
+    private final RanchOverviewProjectionStore overviewProjectionStore;
+    private final FenceIndexCache fenceIndexCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public LivestockDto createLivestock(CreateLivestockCommand command) {
@@ -43,6 +51,7 @@ public class LivestockApplicationService {
         livestock.setBirthDate(command.birthDate());
         livestock.setWeight(command.weight());
         Livestock saved = livestockRepository.save(livestock);
+        overviewProjectionStore.invalidate(saved.getFarmId());
         return LivestockDto.from(saved);
     }
 
@@ -72,6 +81,9 @@ public class LivestockApplicationService {
                         "error.livestockNotFound", new Object[]{id}));
         livestock.updatePosition(lat, lng);
         livestockRepository.save(livestock);
+        // A position is one projection field, like a GPS point; no rebuild needed
+        overviewProjectionStore.recordPosition(livestock.getFarmId(), id, lat, lng,
+                fenceIndexCache.get(livestock.getFarmId()).containingFenceIds(new GpsCoordinate(lat, lng)));
     }
 
     @Transactional
@@ -93,6 +105,8 @@ public class LivestockApplicationService {
                 command.breed() != null ? command.breed() : livestock.getBreed(),
                 command.gender(), command.birthDate(), command.weight());
         Livestock saved = livestockRepository.save(livestock);
+        overviewProjectionStore.invalidate(saved.getFarmId());
+        eventPublisher.publishEvent(new LivestockChangedEvent(saved.getFarmId(), id));
         return LivestockDto.from(saved);
     }
 
@@ -104,6 +118,8 @@ public class LivestockApplicationService {
         // Cascade: uninstall all active devices before deleting
         iotCommandPort.removeAllActiveInstallations(id);
         livestockRepository.deleteById(id);
+        overviewProjectionStore.invalidate(livestock.getFarmId());
+        eventPublisher.publishEvent(new LivestockChangedEvent(livestock.getFarmId(), id));
     }
 
     /**
@@ -1,95 +1,147 @@
 package com.smartlivestock.ranch.application;
 
-import com.smartlivestock.ranch.application.dto.RanchOverviewDto;
 import com.smartlivestock.ranch.application.dto.RanchOverviewDto.*;
 import com.smartlivestock.ranch.application.service.AlertMessageLocalizer;
-import com.smartlivestock.ranch.domain.model.Alert;
-import com.smartlivestock.ranch.domain.model.AlertStatus;
-import com.smartlivestock.ranch.domain.model.AlertType;
-import com.smartlivestock.ranch.domain.model.Fence;
-import com.smartlivestock.ranch.domain.model.GpsCoordinate;
-import com.smartlivestock.ranch.domain.model.Livestock;
-import com.smartlivestock.ranch.domain.port.HealthQueryPort;
+import com.smartlivestock.ranch.application.service.RanchOverviewProjection;
+import com.smartlivestock.ranch.application.service.RanchOverviewProjection.AlertEntry;
+import com.smartlivestock.ranch.application.service.RanchOverviewProjection.Estrus;
+import com.smartlivestock.ranch.application.service.RanchOverviewProjection.HealthState;
+import com.smartlivestock.ranch.application.service.RanchOverviewProjection.Position;
+import com.smartlivestock.ranch.application.service.RanchOverviewProjectionStore;
 import com.smartlivestock.ranch.domain.port.HealthQueryPort.LivestockHealthState;
 import com.smartlivestock.ranch.domain.port.HealthQueryPort.HealthOverview;
-import com.smartlivestock.ranch.domain.port.IdentityQueryPort;
 import com.smartlivestock.ranch.domain.port.IoTQueryPort;
-import com.smartlivestock.ranch.domain.repository.AlertRepository;
-import com.smartlivestock.ranch.domain.repository.FenceRepository;
-import com.smartlivestock.ranch.domain.repository.FenceZoneRepository;
-import com.smartlivestock.ranch.domain.repository.LivestockRepository;
 import com.smartlivestock.ranch.infrastructure.persistence.SpringDataAlertReadStatusRepository;
-import com.smartlivestock.shared.cache.RedisCacheService;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import java.time.Duration;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.util.*;
-import java.util.Set;
 import java.util.stream.Collectors;
 
+/**
+ * Ranch overview, built from the farm's {@link RanchOverviewProjection}.
+ * <p>
+ * The projection holds everything shared by all viewers of a farm; per request only
+ * the viewer's read flags and the localized alert messages are laid over it, and the
+ * derived figures (fence counts, rates, summaries) are computed in memory.
+ * <p>
+ * Each response carries a version: the projection's latest change time, a hash of
+ * all entry stamps and a hash of the viewer's overlay (locale, read flags, device
+ * online rate). Given the version of an earlier response, only markers and alerts
+ * changed since then are returned. Entries are stamped by the node writing them, so
+ * "since" reaches back {@code ranch.overview.delta-slack-ms} to cover writes that
+ * landed after a reader had loaded the projection, and clock skew between nodes.
+ * A version older than the last rebuild gets a full response.
+ * <p>
+ * The version comes from {@link #loadState} alone, so a caller holding the current
+ * version can be answered before any response is built.
+ */
 @Service
 @RequiredArgsConstructor
 public class RanchOverviewApplicationService {
 
-    private final FenceRepository fenceRepository;
-    private final LivestockRepository livestockRepository;
-    private final AlertRepository alertRepository;
-    private final HealthQueryPort healthQueryPort;
+    private final RanchOverviewProjectionStore projectionStore;
     private final IoTQueryPort ioTQueryPort;
-    private final IdentityQueryPort identityQueryPort;
     private final SpringDataAlertReadStatusRepository readStatusRepository;
-    private final FenceZoneRepository fenceZoneRepository;
-    private final RedisCacheService redisCacheService;
-    private final ObjectMapper objectMapper;
     private final AlertMessageLocalizer alertMessageLocalizer;
 
+    @Value("${ranch.overview.delta-slack-ms:5000}")
+    private long deltaSlackMs = 5_000;
 
     @Transactional(readOnly = true)
     public RanchOverviewResponse getOverview(Long farmId, Long userId, Long tenantId) {
-        // 0. Short-TTL Redis cache to absorb polling bursts (30s timer) and concurrent viewers.
-        String cacheKey = "ranch:overview:" + farmId + ":" + userId + ":"
-                + LocaleContextHolder.getLocale().toLanguageTag();
-        try {
-            String cached = redisCacheService.get(cacheKey);
-            if (cached != null) {
-                return objectMapper.readValue(cached, RanchOverviewResponse.class);
-            }
-        } catch (Exception ignored) {
-            // Cache miss or deserialization error — fall through to DB query
-        }
+        return getOverview(farmId, userId, tenantId, null);
+    }
 
-        // 1. Livestock with health + GPS
-        List<Livestock> livestockList = livestockRepository.findByFarmId(farmId);
-
-        // 2. Fences
-        List<Fence> fences = fenceRepository.findByFarmId(farmId);
-        List<FenceData> fenceDataList = fences.stream()
-                .map(f -> new FenceData(
-                        f.getId(),
-                        f.getName(),
-                        f.isActive(),
-                        "POLYGON",
-                        f.getColor(),
-                        f.getVertices(),
-                        0.0,
-                        countLivestockInFence(livestockList, f),
-                        f.getVersion()
-                ))
+    /**
+     * @param since version of a response the caller already has, or {@code null} for
+     *              a full overview; an unknown or outdated version also gets one
+     */
+    @Transactional(readOnly = true)
+    public RanchOverviewResponse getOverview(Long farmId, Long userId, Long tenantId, String since) {
+        return getOverview(loadState(farmId, userId, tenantId), since);
+    }
+
+    /** What one viewer's overview is built from, and the version it will carry. */
+    public record OverviewState(RanchOverviewProjection projection, List<AlertEntry> activeAlerts,
+                                Set<Long> readAlertIds, double deviceOnlineRate,
+                                String overlay, String version) {}
+
+    /** The farm's projection with this viewer's overlay: active alerts, read flags, online rate. */
+    @Transactional(readOnly = true)
+    public OverviewState loadState(Long farmId, Long userId, Long tenantId) {
+        RanchOverviewProjection projection = projectionStore.get(farmId);
+        List<AlertEntry> activeAlerts = projection.alerts().values().stream()
+                .filter(AlertEntry::active)
                 .toList();
+        Set<Long> readAlertIds = userId != null && !activeAlerts.isEmpty()
+                ? readStatusRepository.findReadAlertIdsByUserId(userId,
+                        activeAlerts.stream().map(AlertEntry::id).toList())
+                : Set.of();
+        double deviceOnlineRate = tenantId != null
+                ? ioTQueryPort.getDeviceOnlineRate(tenantId)
+                : 0.85;
+        String overlay = Integer.toHexString(Objects.hash(
+                LocaleContextHolder.getLocale().toLanguageTag(), readAlertIds, deviceOnlineRate));
+        String version = projection.lastChangedAt() + "." + Integer.toHexString(projection.stamps()) + "." + overlay;
+        return new OverviewState(projection, activeAlerts, readAlertIds, deviceOnlineRate, overlay, version);
+    }
 
-        List<LivestockHealthState> healthStates = healthQueryPort.findHealthByFarmId(farmId);
-        Map<Long, LivestockHealthState> healthMap = healthStates.stream()
-                .collect(Collectors.toMap(LivestockHealthState::livestockId, h -> h, (a, b) -> a));
+    /**
+     * @param since version of a response the caller already has, or {@code null} for
+     *              a full overview; an unknown or outdated version also gets one
+     */
+    @Transactional(readOnly = true)
+    public RanchOverviewResponse getOverview(OverviewState state, String since) {
+        RanchOverviewProjection projection = state.projection();
+        Map<Long, String> livestock = projection.livestockCodes();
+        List<AlertEntry> activeAlerts = state.activeAlerts();
+        Set<Long> readAlertIds = state.readAlertIds();
+        double deviceOnlineRate = state.deviceOnlineRate();
+        String overlay = state.overlay();
+        String version = state.version();
+        long lastChangedAt = projection.lastChangedAt();
+
+        // 1. Positions of the farm's current livestock, and their health
+        Map<Long, Position> positions = new LinkedHashMap<>();
+        projection.positions().forEach((id, p) -> {
+            if (livestock.containsKey(id)) positions.put(id, p);
+        });
+        Map<Long, LivestockHealthState> healthMap = healthStates(projection);
+
+        // 2. Where the caller's version stands against this one
+        String[] sinceParts = since != null ? since.split("\\.") : new String[0];
+        Long sinceAt = sinceParts.length == 3 ? parseTime(sinceParts[0]) : null;
+        boolean delta = sinceAt != null && sinceAt >= projection.rebuiltAt() && sinceAt <= lastChangedAt;
+        // An unchanged version means no entry changed, so the slack need not be resent.
+        long changedAfter = !delta ? Long.MIN_VALUE
+                : version.equals(since) ? Long.MAX_VALUE
+                : sinceAt - deltaSlackMs;
+        boolean overlayChanged = !delta || !overlay.equals(sinceParts[2]);
+
+        // 3. Fences, counting livestock whose position is inside each active fence
+        Set<Long> activeFenceIds = projection.fences().stream()
+                .filter(FenceData::active)
+                .map(FenceData::id)
+                .collect(Collectors.toSet());
+        Map<Long, Integer> fenceCounts = new TreeMap<>();
+        for (Position p : positions.values()) {
+            for (Long fenceId : p.fenceIds()) {
+                if (activeFenceIds.contains(fenceId)) fenceCounts.merge(fenceId, 1, Integer::sum);
+            }
+        }
+        List<FenceData> fenceDataList = delta ? null : projection.fences().stream()
+                .map(f -> new FenceData(f.id(), f.name(), f.active(), f.type(), f.color(),
+                        f.points(), f.areaHectares(), fenceCounts.getOrDefault(f.id(), 0), f.version()))
+                .toList();
 
-        List<LivestockMarker> markers = livestockList.stream()
-                .filter(l -> l.getLastLatitude() != null && l.getLastLongitude() != null)
-                .map(l -> {
-                    var health = healthMap.get(l.getId());
+        List<LivestockMarker> markers = positions.entrySet().stream()
+                .filter(e -> !delta || markerChangedAfter(projection, e.getKey(), e.getValue(), changedAfter))
+                .map(e -> {
+                    var health = healthMap.get(e.getKey());
                     String healthStatus = "NORMAL";
                     String primaryAlert = "";
                     if (health != null) {
@@ -97,56 +149,50 @@ public class RanchOverviewApplicationService {
                         primaryAlert = derivePrimaryAlert(health);
                     }
                     return new LivestockMarker(
-                            String.valueOf(l.getId()),
-                            l.getLivestockCode(),
-                            l.getLastLatitude(),
-                            l.getLastLongitude(),
+                            String.valueOf(e.getKey()),
+                            livestock.get(e.getKey()),
+                            e.getValue().latitude(),
+                            e.getValue().longitude(),
                             healthStatus,
                             primaryAlert
                     );
                 })
                 .toList();
 
-        // 3. Alerts (active only)
-        List<Alert> allAlerts = alertRepository.findByFarmId(farmId);
-        List<Alert> activeAlerts = allAlerts.stream()
-                .filter(a -> a.getStatus() == AlertStatus.ACTIVE)
-                .toList();
-        Set<Long> readAlertIds = userId != null && !activeAlerts.isEmpty()
-                ? readStatusRepository.findReadAlertIdsByUserId(userId,
-                        activeAlerts.stream().map(Alert::getId).toList())
-                : Set.of();
+        // 4. Alerts with this viewer's read flags; all of them if the overlay changed
         List<AlertData> alertDataList = activeAlerts.stream()
+                .filter(a -> overlayChanged || a.changedAt() > changedAfter)
                 .map(a -> new AlertData(
-                        a.getId(),
-                        a.getType().name(),
-                        a.getSeverity().name(),
-                        a.getStatus().name(),
-                        alertMessageLocalizer.localize(a),
-                        a.getLivestockId(),
-                        a.getFenceId(),
+                        a.id(),
+                        a.type(),
+                        a.severity(),
+                        a.status(),
+                        alertMessageLocalizer.localize(a.toAlert()),
+                        a.livestockId(),
+                        a.fenceId(),
                         null,
-                        readAlertIds.contains(a.getId()),
-                        a.getResolvedType(),
-                        a.getResolvedAt(),
+                        readAlertIds.contains(a.id()),
+                        a.resolvedType(),
+                        a.resolvedAt(),
                         null,
                         null
                 ))
                 .toList();
+        List<Long> removedAlertIds = delta
+                ? projection.alerts().values().stream()
+                        .filter(a -> !a.active() && a.changedAt() > changedAfter)
+                        .map(AlertEntry::id)
+                        .toList()
+                : List.of();
 
-        // 4. Alert summaries grouped by type (ACTIVE only)
-        Map<String, Integer> fenceAlertSummary = buildFenceAlertSummary(allAlerts);
-        Map<String, Integer> healthAlertSummary = buildHealthAlertSummary(allAlerts);
+        // 5. Alert summaries grouped by type (ACTIVE only)
+        Map<String, Integer> fenceAlertSummary = buildFenceAlertSummary(activeAlerts);
+        Map<String, Integer> healthAlertSummary = buildHealthAlertSummary(activeAlerts);
 
-        // Reuse the already-loaded livestock/health/alerts data instead of re-querying
-        // (getHealthOverview would re-fetch snapshots, livestock, and alerts a second time).
-        HealthOverview healthOverview = buildHealthOverview(livestockList, healthStates, activeAlerts);
-        double deviceOnlineRate = tenantId != null
-                ? ioTQueryPort.getDeviceOnlineRate(tenantId)
-                : 0.85;
+        HealthOverview healthOverview = buildHealthOverview(livestock.keySet(), healthMap, activeAlerts);
 
         // 6. InFenceRate: livestock inside any fence / livestock with GPS
-        Double inFenceRate = calculateInFenceRate(livestockList, fences);
+        Double inFenceRate = calculateInFenceRate(livestock.size(), positions.values(), activeFenceIds);
 
         OverallStats overallStats = new OverallStats(
                 healthOverview.totalLivestock(),
@@ -170,23 +216,23 @@ public class RanchOverviewApplicationService {
 
         // 7. Pending tasks derived from critical/warning livestock
         List<PendingTask> pendingTasks = new ArrayList<>();
-        for (var l : livestockList) {
-            var health = healthMap.get(l.getId());
-            if (health == null) continue;
+        livestock.forEach((id, code) -> {
+            var health = healthMap.get(id);
+            if (health == null) return;
 
             String status = deriveHealthStatus(health);
             if ("CRITICAL".equals(status) || "WARNING".equals(status)) {
                 pendingTasks.add(new PendingTask(
-                        "task-" + l.getId(),
-                        l.getLivestockCode() + " " + buildTaskTitle(health),
+                        "task-" + id,
+                        code + " " + buildTaskTitle(health),
                         buildTaskSubtitle(health),
-                        buildTaskRoute(health, l.getId()),
+                        buildTaskRoute(health, id),
                         status
                 ));
             }
-        }
+        });
 
-        RanchOverviewResponse response = new RanchOverviewResponse(
+        return new RanchOverviewResponse(
                 overallStats,
                 sceneSummary,
                 pendingTasks,
@@ -195,68 +241,79 @@ public class RanchOverviewApplicationService {
                 alertDataList,
                 fenceAlertSummary,
                 healthAlertSummary,
-                fenceZoneRepository.findByFarmId(farmId).stream().map(FenceZoneData::from).toList()
+                delta ? null : projection.fenceZones(),
+                version,
+                delta,
+                fenceCounts,
+                removedAlertIds
         );
+    }
 
+    /** @return {@code null} if not a version we issued */
+    private static Long parseTime(String value) {
         try {
-            redisCacheService.set(cacheKey, objectMapper.writeValueAsString(response),
-                    Duration.ofSeconds(10));
-        } catch (Exception ignored) {
-            // Cache write failure is non-critical
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return null;
         }
+    }
 
-        return response;
+    private boolean markerChangedAfter(RanchOverviewProjection projection, Long livestockId,
+                                       Position position, long after) {
+        if (position.changedAt() > after) return true;
+        HealthState health = projection.health().get(livestockId);
+        if (health != null && health.changedAt() > after) return true;
+        Estrus estrus = projection.estrus().get(livestockId);
+        return estrus != null && estrus.changedAt() > after;
     }
 
     /**
-     * Calculate inFenceRate: count of livestock inside any active fence / total with GPS.
+     * Health statuses and estrus scores as one state per livestock. A score without
+     * statuses (snapshot created after the last rebuild) reads as NORMAL; a missing score is 0.
      */
-    private Double calculateInFenceRate(List<Livestock> livestockList, List<Fence> fences) {
-        List<Fence> activeFences = fences.stream().filter(Fence::isActive).toList();
-        if (livestockList.isEmpty()) return null; // no livestock = N/A
-        if (activeFences.isEmpty()) return 1.0; // no fences = all "inside"
-
-        long withGps = livestockList.stream()
-                .filter(l -> l.getLastLatitude() != null && l.getLastLongitude() != null)
-                .count();
-        if (withGps == 0) return null; // no GPS data = N/A
-
-        long inFence = livestockList.stream()
-                .filter(l -> l.getLastLatitude() != null && l.getLastLongitude() != null)
-                .filter(l -> {
-                    GpsCoordinate pos = new GpsCoordinate(l.getLastLatitude(), l.getLastLongitude());
-                    return activeFences.stream().anyMatch(f -> f.contains(pos));
-                })
-                .count();
-
-        return (double) inFence / withGps;
+    private Map<Long, LivestockHealthState> healthStates(RanchOverviewProjection projection) {
+        Set<Long> ids = new TreeSet<>(projection.health().keySet());
+        ids.addAll(projection.estrus().keySet());
+        Map<Long, LivestockHealthState> states = new HashMap<>();
+        for (Long id : ids) {
+            HealthState h = projection.health().get(id);
+            Estrus e = projection.estrus().get(id);
+            states.put(id, new LivestockHealthState(id,
+                    h != null ? h.tempStatus() : "NORMAL",
+                    h != null ? h.motilityStatus() : "NORMAL",
+                    e != null ? e.score() : 0,
+                    null, null, null));
+        }
+        return states;
     }
 
-    private int countLivestockInFence(List<Livestock> livestockList, Fence fence) {
-        if (!fence.isActive()) return 0;
-
-        return (int) livestockList.stream()
-                .filter(l -> l.getLastLatitude() != null && l.getLastLongitude() != null)
-                .filter(l -> fence.contains(
-                        new GpsCoordinate(l.getLastLatitude(), l.getLastLongitude())))
+    /**
+     * Calculate inFenceRate: count of livestock inside any active fence / total with GPS.
+     */
+    private Double calculateInFenceRate(int livestockCount, Collection<Position> positions,
+                                        Set<Long> activeFenceIds) {
+        if (livestockCount == 0) return null; // no livestock = N/A
+        if (activeFenceIds.isEmpty()) return 1.0; // no fences = all "inside"
+        if (positions.isEmpty()) return null; // no GPS data = N/A
+
+        long inFence = positions.stream()
+                .filter(p -> p.fenceIds().stream().anyMatch(activeFenceIds::contains))
                 .count();
+
+        return (double) inFence / positions.size();
     }
 
     /**
-     * Build HealthOverview from data already loaded by getOverview(), avoiding the
-     * duplicate snapshot/livestock/alert queries that getHealthOverview() would issue.
-     * Semantics mirror HealthQueryPortAdapter.getHealthOverview().
+     * Build HealthOverview from the projection, so no snapshot/livestock/alert queries
+     * are issued. Semantics mirror HealthQueryPortAdapter.getHealthOverview().
      */
     private HealthOverview buildHealthOverview(
-            List<Livestock> livestockList,
-            List<LivestockHealthState> healthStates,
-            List<Alert> activeAlerts) {
-        Set<Long> activeLivestockIds = livestockList.stream()
-                .map(Livestock::getId)
-                .collect(Collectors.toSet());
+            Set<Long> activeLivestockIds,
+            Map<Long, LivestockHealthState> healthStates,
+            List<AlertEntry> activeAlerts) {
         int total = activeLivestockIds.size();
 
-        List<LivestockHealthState> active = healthStates.stream()
+        List<LivestockHealthState> active = healthStates.values().stream()
                 .filter(h -> activeLivestockIds.contains(h.livestockId()))
                 .toList();
 
@@ -299,14 +356,13 @@ public class RanchOverviewApplicationService {
         );
     }
 
-    private Map<String, Integer> buildFenceAlertSummary(List<Alert> alerts) {
+    private Map<String, Integer> buildFenceAlertSummary(List<AlertEntry> alerts) {
         Map<String, Integer> summary = new java.util.LinkedHashMap<>();
         summary.put("FENCE_BREACH", 0);
         summary.put("FENCE_APPROACH", 0);
         summary.put("ZONE_APPROACH", 0);
-        for (Alert alert : alerts) {
-            if (alert.getStatus() != AlertStatus.ACTIVE) continue;
-            String type = alert.getType().name();
+        for (AlertEntry alert : alerts) {
+            String type = alert.type();
             if (summary.containsKey(type)) {
                 summary.merge(type, 1, Integer::sum);
             }
@@ -314,15 +370,14 @@ public class RanchOverviewApplicationService {
         return summary;
     }
 
-    private Map<String, Integer> buildHealthAlertSummary(List<Alert> alerts) {
+    private Map<String, Integer> buildHealthAlertSummary(List<AlertEntry> alerts) {
         Map<String, Integer> summary = new java.util.LinkedHashMap<>();
         summary.put("TEMPERATURE_ABNORMAL", 0);
         summary.put("DIGESTIVE_ABNORMAL", 0);
         summary.put("ESTRUS", 0);
         summary.put("EPIDEMIC", 0);
-        for (Alert alert : alerts) {
-            if (alert.getStatus() != AlertStatus.ACTIVE) continue;
-            String type = alert.getType().name();
+        for (AlertEntry alert : alerts) {
+            String type = alert.type();
             if (summary.containsKey(type)) {
                 summary.merge(type, 1, Integer::sum);
             }
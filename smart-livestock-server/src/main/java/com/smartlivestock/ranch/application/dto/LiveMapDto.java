@@ -0,0 +1,36 @@
+package com.smartlivestock.ranch.application.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Events of the live map stream ({@code GET /api/v1/farms/{farmId}/live-map}).
+ * <p>
+ * {@code positions}: the latest position of every livestock that moved since the
+ * previous one. {@code alert}: an alert raised or changing status. {@code resync}: the
+ * client fell behind and events were dropped; it should refresh the ranch overview.
+ */
+public final class LiveMapDto {
+
+    private LiveMapDto() {}
+
+    public record LivePosition(
+            String livestockId,
+            BigDecimal latitude,
+            BigDecimal longitude,
+            Instant recordedAt
+    ) {}
+
+    public record LivePositions(List<LivePosition> positions) {}
+
+    public record LiveAlert(
+            Long id,
+            String type,
+            String severity,
+            String status,
+            String message,
+            Long livestockId,
+            Long fenceId
+    ) {}
+}
@@ -106,6 +106,12 @@ public final class RanchOverviewDto {
             String direction
     ) {}
 
+    /**
+     * Full overview, or with {@code delta} only what changed since the requested
+     * version: markers and ACTIVE alerts that changed, alerts that left ACTIVE in
+     * {@code removedAlertIds}, and no fences or zones. Stats, summaries and pending
+     * tasks are always complete. {@code version} is opaque to clients.
+     */
     public record RanchOverviewResponse(
             OverallStats overallStats,
             SceneSummary sceneSummary,
@@ -115,6 +121,10 @@ public final class RanchOverviewDto {
             List<AlertData> alerts,
             Map<String, Integer> fenceAlertSummary,
             Map<String, Integer> healthAlertSummary,
-            List<FenceZoneData> fenceZones
+            List<FenceZoneData> fenceZones,
+            String version,
+            boolean delta,
+            Map<Long, Integer> fenceLivestockCounts,
+            List<Long> removedAlertIds
     ) {}
 }
@@ -0,0 +1,63 @@
+package com.smartlivestock.ranch.application.service;
+
+import com.smartlivestock.ranch.domain.event.FenceChangedEvent;
+import com.smartlivestock.ranch.domain.model.FenceIndex;
+import com.smartlivestock.ranch.domain.repository.FenceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-farm {@link FenceIndex} cache for the GPS hot path.
+ * <p>
+ * Local fence changes evict the farm right after commit. Changes made on other
+ * nodes are picked up by comparing fence versions: at most once per
+ * {@code ranch.fence-index.revalidate-ms} a farm's (id, version) pairs are read
+ * and the index is rebuilt only if they differ from the ones it was built from.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FenceIndexCache {
+
+    private final FenceRepository fenceRepository;
+
+    @Value("${ranch.fence-index.revalidate-ms:5000}")
+    private long revalidateMs;
+
+    private final Map<Long, Cached> byFarm = new ConcurrentHashMap<>();
+
+    public FenceIndex get(Long farmId) {
+        long now = System.currentTimeMillis();
+        Cached cached = byFarm.get(farmId);
+        if (cached != null && now - cached.checkedAt < revalidateMs) {
+            return cached.index;
+        }
+        if (cached != null && fenceRepository.findVersionsByFarmId(farmId).equals(cached.index.versions())) {
+            byFarm.put(farmId, new Cached(cached.index, now));
+            return cached.index;
+        }
+
+        FenceIndex index = FenceIndex.of(fenceRepository.findByFarmId(farmId));
+        byFarm.put(farmId, new Cached(index, now));
+        log.debug("Built fence index for farm [{}] with {} fences", farmId, index.versions().size());
+        return index;
+    }
+
+    public void invalidate(Long farmId) {
+        byFarm.remove(farmId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFenceChanged(FenceChangedEvent event) {
+        invalidate(event.getFarmId());
+    }
+
+    private record Cached(FenceIndex index, long checkedAt) {}
+}
@@ -0,0 +1,111 @@
+package com.smartlivestock.ranch.application.service;
+
+import com.smartlivestock.ranch.domain.model.FenceState;
+import com.smartlivestock.shared.cache.RedisCacheService;
+import com.smartlivestock.shared.common.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Last known {@link FenceState} per livestock, so the GPS consumer only creates or
+ * resolves fence alerts when the state changes.
+ * <p>
+ * States live in memory and in Redis ({@code ranch:fence-state:<livestockId>}).
+ * A local entry is trusted for {@code ranch.fence-state.local-ttl-ms}, after which
+ * Redis is read again; this bounds staleness when a device's queue moves to
+ * another consumer node. An unknown state always counts as changed, so a cold
+ * start or an expired key falls back to reconciling against the alert table.
+ * <p>
+ * Writes are applied after the surrounding transaction commits: a rolled-back or
+ * redelivered message must see the old state and redo its alert work.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FenceStateTracker {
+
+    static final String KEY_PREFIX = "ranch:fence-state:";
+
+    private final RedisCacheService redisCacheService;
+
+    @Value("${ranch.fence-state.local-ttl-ms:30000}")
+    private long localTtlMs;
+
+    @Value("${ranch.fence-state.ttl-hours:24}")
+    private long ttlHours;
+
+    private final Map<Long, Cached> byLivestock = new ConcurrentHashMap<>();
+
+    /** True when {@code state} differs from the last recorded one, or none is known. */
+    public boolean hasChanged(Long livestockId, FenceState state) {
+        return !state.value().equals(current(livestockId));
+    }
+
+    public void record(Long livestockId, FenceState state) {
+        AfterCommit.run(() -> {
+            byLivestock.put(livestockId, new Cached(state.value(), System.currentTimeMillis()));
+            try {
+                redisCacheService.set(KEY_PREFIX + livestockId, state.value(), Duration.ofHours(ttlHours));
+            } catch (Exception e) {
+                log.warn("Failed to store fence state for livestock [{}]: {}", livestockId, e.getMessage());
+            }
+        });
+    }
+
+    /** Drops the known state so the next GPS point reconciles alerts from scratch. */
+    public void forget(Long livestockId) {
+        AfterCommit.run(() -> {
+            byLivestock.remove(livestockId);
+            try {
+                redisCacheService.delete(KEY_PREFIX + livestockId);
+            } catch (Exception e) {
+                log.warn("Failed to clear fence state for livestock [{}]: {}", livestockId, e.getMessage());
+            }
+        });
+    }
+
+    /** {@link #forget} for many livestock, in one Redis call. */
+    public void forgetAll(Collection<Long> livestockIds) {
+        if (livestockIds.isEmpty()) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            livestockIds.forEach(byLivestock::remove);
+            try {
+                redisCacheService.delete(livestockIds.stream().map(id -> KEY_PREFIX + id).toList());
+            } catch (Exception e) {
+                log.warn("Failed to clear fence state for {} livestock: {}", livestockIds.size(), e.getMessage());
+            }
+        });
+    }
+
+    private String current(Long livestockId) {
+        long now = System.currentTimeMillis();
+        Cached cached = byLivestock.get(livestockId);
+        if (cached != null && now - cached.loadedAt < localTtlMs) {
+            return cached.value;
+        }
+        String value;
+        try {
+            value = redisCacheService.get(KEY_PREFIX + livestockId);
+        } catch (Exception e) {
+            log.debug("Fence state lookup failed for livestock [{}]: {}", livestockId, e.getMessage());
+            return null;
+        }
+        if (value == null) {
+            byLivestock.remove(livestockId);
+            return null;
+        }
+        byLivestock.put(livestockId, new Cached(value, now));
+        return value;
+    }
+
+    private record Cached(String value, long loadedAt) {}
+}
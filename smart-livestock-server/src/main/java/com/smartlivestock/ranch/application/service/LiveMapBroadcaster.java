@@ -0,0 +1,276 @@
+package com.smartlivestock.ranch.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartlivestock.ranch.application.dto.LiveMapDto.LiveAlert;
+import com.smartlivestock.ranch.application.dto.LiveMapDto.LivePosition;
+import com.smartlivestock.ranch.application.dto.LiveMapDto.LivePositions;
+import com.smartlivestock.ranch.application.service.RanchOverviewProjection.AlertEntry;
+import com.smartlivestock.shared.common.ApiException;
+import com.smartlivestock.shared.common.ErrorCode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes livestock positions and alerts to the live map viewers connected to this
+ * node, as server-sent events.
+ * <p>
+ * Positions are coalesced per livestock and sent once every
+ * {@code ranch.live.position-interval-ms} as one {@code positions} event per farm;
+ * alerts are sent as soon as they arrive. Each event is serialized once per farm (per
+ * locale for alerts) and the same payload is queued for every viewer.
+ * <p>
+ * Every viewer has a queue of at most {@code ranch.live.max-queued} events, drained
+ * by a small pool of sender threads, so a slow connection never holds up the others.
+ * When a viewer's queue is full its backlog is dropped and replaced by a
+ * {@code resync} event: the client should refresh the ranch overview instead.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LiveMapBroadcaster {
+
+    static final Frame RESYNC = new Frame("resync", "{}");
+    static final Frame HEARTBEAT = new Frame(null, "ping");
+
+    private final ObjectMapper objectMapper;
+    private final AlertMessageLocalizer alertMessageLocalizer;
+
+    @Value("${ranch.live.max-queued:32}")
+    private int maxQueued = 32;
+
+    @Value("${ranch.live.max-subscribers:10000}")
+    private int maxSubscribers = 10_000;
+
+    @Value("${ranch.live.timeout-minutes:30}")
+    private long timeoutMinutes = 30;
+
+    @Value("${ranch.live.sender-threads:4}")
+    private int senderThreads = 4;
+
+    private final Map<Long, FarmChannel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    Executor senders;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger n = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(senderThreads, r -> {
+            Thread t = new Thread(r, "live-map-sender-" + n.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (senders instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+        channels.values().forEach(c -> c.subscribers.forEach(s -> s.emitter.complete()));
+    }
+
+    /** Opens a stream of the farm's live map events, in the locale of the current request. */
+    public SseEmitter subscribe(Long farmId) {
+        return subscribe(farmId, LocaleContextHolder.getLocale(),
+                new SseEmitter(Duration.ofMinutes(timeoutMinutes).toMillis()));
+    }
+
+    SseEmitter subscribe(Long farmId, Locale locale, SseEmitter emitter) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ApiException(ErrorCode.RATE_LIMIT_EXCEEDED, "实时地图连接数已满，请稍后重试");
+        }
+        Subscriber subscriber = new Subscriber(farmId, emitter, locale, new ArrayBlockingQueue<>(maxQueued));
+        channels.compute(farmId, (id, channel) -> {
+            FarmChannel c = channel != null ? channel : new FarmChannel();
+            c.subscribers.add(subscriber);
+            return c;
+        });
+        Runnable remove = () -> unsubscribe(farmId, subscriber);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+        return emitter;
+    }
+
+    private void unsubscribe(Long farmId, Subscriber subscriber) {
+        if (subscriber.closed.compareAndSet(false, true)) {
+            subscriberCount.decrementAndGet();
+            channels.computeIfPresent(farmId, (id, c) -> {
+                c.subscribers.remove(subscriber);
+                return c.subscribers.isEmpty() ? null : c;
+            });
+        }
+    }
+
+    /** Whether any farm has a viewer on this node; lets consumers skip all work otherwise. */
+    public boolean hasSubscribers() {
+        return !channels.isEmpty();
+    }
+
+    public boolean hasSubscribers(Long farmId) {
+        return channels.containsKey(farmId);
+    }
+
+    /** Keeps the livestock's position for the next flush, replacing an older pending one. */
+    public void publishPosition(Long farmId, Long livestockId, BigDecimal latitude, BigDecimal longitude,
+                                Instant recordedAt) {
+        FarmChannel channel = channels.get(farmId);
+        if (channel == null) {
+            return;
+        }
+        LivePosition position = new LivePosition(String.valueOf(livestockId), latitude, longitude, recordedAt);
+        channel.pending.merge(livestockId, position, (old, next) ->
+                old.recordedAt() != null && next.recordedAt() != null
+                        && next.recordedAt().isBefore(old.recordedAt()) ? old : next);
+    }
+
+    public void publishAlert(Long farmId, AlertEntry alert) {
+        FarmChannel channel = channels.get(farmId);
+        if (channel == null) {
+            return;
+        }
+        Map<Locale, Frame> byLocale = new HashMap<>();
+        for (Subscriber subscriber : channel.subscribers) {
+            offer(subscriber, byLocale.computeIfAbsent(subscriber.locale, l -> alertFrame(alert, l)));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ranch.live.position-interval-ms:1000}")
+    public void flushPositions() {
+        channels.forEach((farmId, channel) -> {
+            if (channel.pending.isEmpty()) {
+                return;
+            }
+            List<LivePosition> positions = new ArrayList<>(channel.pending.size());
+            for (Long livestockId : channel.pending.keySet()) {
+                LivePosition position = channel.pending.remove(livestockId);
+                if (position != null) positions.add(position);
+            }
+            Frame frame = new Frame("positions", toJson(new LivePositions(positions)));
+            channel.subscribers.forEach(s -> offer(s, frame));
+        });
+    }
+
+    /** Keeps idle connections from being closed by proxies. */
+    @Scheduled(fixedDelayString = "${ranch.live.heartbeat-ms:25000}")
+    public void heartbeat() {
+        channels.values().forEach(c -> c.subscribers.forEach(s -> offer(s, HEARTBEAT)));
+    }
+
+    private Frame alertFrame(AlertEntry alert, Locale locale) {
+        String message;
+        LocaleContext previous = LocaleContextHolder.getLocaleContext();
+        try {
+            LocaleContextHolder.setLocale(locale);
+            message = alertMessageLocalizer.localize(alert.toAlert());
+        } finally {
+            LocaleContextHolder.setLocaleContext(previous);
+        }
+        return new Frame("alert", toJson(new LiveAlert(alert.id(), alert.type(), alert.severity(),
+                alert.status(), message, alert.livestockId(), alert.fenceId())));
+    }
+
+    void offer(Subscriber subscriber, Frame frame) {
+        if (subscriber.closed.get()) {
+            return;
+        }
+        if (!subscriber.queue.offer(frame)) {
+            // Too slow to keep up: the backlog is stale anyway, a refresh replaces it.
+            subscriber.queue.clear();
+            subscriber.queue.offer(RESYNC);
+        }
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.sending.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.sending.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Frame frame;
+            while (!subscriber.closed.get() && (frame = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(frame.name() == null
+                        ? SseEmitter.event().comment(frame.data())
+                        : SseEmitter.event().name(frame.name()).data(frame.data(), MediaType.APPLICATION_JSON));
+            }
+        } catch (Exception e) {
+            log.debug("Live map viewer disconnected: {}", e.getMessage());
+            unsubscribe(subscriber.farmId, subscriber);
+            subscriber.queue.clear();
+            subscriber.emitter.completeWithError(e);
+        } finally {
+            subscriber.sending.set(false);
+        }
+        if (!subscriber.queue.isEmpty() && !subscriber.closed.get()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot serialize live map event", e);
+        }
+    }
+
+    /** An SSE event; {@code name == null} makes it a comment. */
+    record Frame(String name, String data) {}
+
+    private static final class FarmChannel {
+        final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        final Map<Long, LivePosition> pending = new ConcurrentHashMap<>();
+    }
+
+    static final class Subscriber {
+        final Long farmId;
+        final SseEmitter emitter;
+        final Locale locale;
+        final BlockingQueue<Frame> queue;
+        final AtomicBoolean sending = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+
+        Subscriber(Long farmId, SseEmitter emitter, Locale locale, BlockingQueue<Frame> queue) {
+            this.farmId = farmId;
+            this.emitter = emitter;
+            this.locale = locale;
+            this.queue = queue;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.smartlivestock.ranch.application.service;
+
+import com.smartlivestock.ranch.application.dto.RanchOverviewDto.FenceData;
+import com.smartlivestock.ranch.application.dto.RanchOverviewDto.FenceZoneData;
+import com.smartlivestock.ranch.domain.model.Alert;
+import com.smartlivestock.ranch.domain.model.AlertStatus;
+import com.smartlivestock.ranch.domain.model.AlertType;
+import com.smartlivestock.ranch.domain.model.Severity;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * One farm's ranch overview state, as kept by {@link RanchOverviewProjectionStore}:
+ * everything the overview shows that does not depend on the viewer. Read flags and
+ * the locale of alert messages are applied on top when a response is built.
+ * <p>
+ * Maps are keyed by livestock or alert id and sorted by it. {@code fences} carry a
+ * zero {@code livestockCount}; counts follow from the positions. {@code alerts} also
+ * holds alerts that left ACTIVE since {@code rebuiltAt}, so clients polling for
+ * changes learn about them.
+ * <p>
+ * Every entry carries {@code changedAt}, the epoch millis it was last written; a
+ * rebuild stamps all entries with {@code rebuiltAt}.
+ */
+public record RanchOverviewProjection(
+        long rebuiltAt,
+        Map<Long, String> livestockCodes,
+        Map<Long, Position> positions,
+        Map<Long, HealthState> health,
+        Map<Long, Estrus> estrus,
+        Map<Long, AlertEntry> alerts,
+        List<FenceData> fences,
+        List<FenceZoneData> fenceZones
+) {
+
+    /** Last GPS position and the active fences containing it. */
+    public record Position(BigDecimal latitude, BigDecimal longitude, List<Long> fenceIds, long changedAt) {}
+
+    public record HealthState(String tempStatus, String motilityStatus, long changedAt) {}
+
+    public record Estrus(int score, long changedAt) {}
+
+    /** The fields of an alert the overview shows or localizes. */
+    public record AlertEntry(Long id, String type, String severity, String status,
+                             Long livestockId, Long fenceId,
+                             String message, String messageKey, String messageArgs,
+                             String resolvedType, Instant resolvedAt, long changedAt) {
+
+        public static AlertEntry of(Alert alert, long changedAt) {
+            return new AlertEntry(alert.getId(), alert.getType().name(), alert.getSeverity().name(),
+                    alert.getStatus().name(), alert.getLivestockId(), alert.getFenceId(),
+                    alert.getMessage(), alert.getMessageKey(), alert.getMessageArgs(),
+                    alert.getResolvedType(), alert.getResolvedAt(), changedAt);
+        }
+
+        public boolean active() {
+            return AlertStatus.ACTIVE.name().equals(status);
+        }
+
+        /** An alert carrying just enough for {@link AlertMessageLocalizer}. */
+        public Alert toAlert() {
+            Alert alert = new Alert(null, livestockId, fenceId,
+                    AlertType.valueOf(type), Severity.valueOf(severity), message);
+            alert.setId(id);
+            alert.setStatus(AlertStatus.valueOf(status));
+            alert.setMessageKey(messageKey);
+            alert.setMessageArgs(messageArgs);
+            return alert;
+        }
+    }
+
+    /** Latest {@code changedAt} of any entry, or {@code rebuiltAt}. */
+    public long lastChangedAt() {
+        long last = rebuiltAt;
+        for (Position p : positions.values()) last = Math.max(last, p.changedAt());
+        for (HealthState h : health.values()) last = Math.max(last, h.changedAt());
+        for (Estrus e : estrus.values()) last = Math.max(last, e.changedAt());
+        for (AlertEntry a : alerts.values()) last = Math.max(last, a.changedAt());
+        return last;
+    }
+
+    /**
+     * Hash of every entry's id and {@code changedAt}. Unlike {@link #lastChangedAt}
+     * it also moves when a write stamped earlier lands late.
+     */
+    public int stamps() {
+        int h = Long.hashCode(rebuiltAt);
+        h = 31 * h + stamps(positions, Position::changedAt);
+        h = 31 * h + stamps(health, HealthState::changedAt);
+        h = 31 * h + stamps(estrus, Estrus::changedAt);
+        h = 31 * h + stamps(alerts, AlertEntry::changedAt);
+        return h;
+    }
+
+    private static <T> int stamps(Map<Long, T> entries, ToLongFunction<T> changedAt) {
+        int h = 1;
+        for (Map.Entry<Long, T> e : entries.entrySet()) {
+            h = 31 * h + Long.hashCode(e.getKey() ^ changedAt.applyAsLong(e.getValue()));
+        }
+        return h;
+    }
+}
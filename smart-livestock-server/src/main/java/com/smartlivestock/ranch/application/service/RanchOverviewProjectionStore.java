@@ -0,0 +1,395 @@
+package com.smartlivestock.ranch.application.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartlivestock.ranch.application.dto.RanchOverviewDto.FenceData;
+import com.smartlivestock.ranch.application.dto.RanchOverviewDto.FenceZoneData;
+import com.smartlivestock.ranch.application.service.RanchOverviewProjection.AlertEntry;
+import com.smartlivestock.ranch.application.service.RanchOverviewProjection.Estrus;
+import com.smartlivestock.ranch.application.service.RanchOverviewProjection.HealthState;
+import com.smartlivestock.ranch.application.service.RanchOverviewProjection.Position;
+import com.smartlivestock.ranch.domain.event.AlertStatusBatchChangedEvent;
+import com.smartlivestock.ranch.domain.event.AlertStatusChangedEvent;
+import com.smartlivestock.ranch.domain.event.FenceChangedEvent;
+import com.smartlivestock.ranch.domain.model.Alert;
+import com.smartlivestock.ranch.domain.model.AlertStatus;
+import com.smartlivestock.ranch.domain.model.Fence;
+import com.smartlivestock.ranch.domain.model.FenceIndex;
+import com.smartlivestock.ranch.domain.model.GpsCoordinate;
+import com.smartlivestock.ranch.domain.model.Livestock;
+import com.smartlivestock.ranch.domain.port.HealthQueryPort;
+import com.smartlivestock.ranch.domain.port.HealthQueryPort.LivestockHealthState;
+import com.smartlivestock.ranch.domain.repository.AlertRepository;
+import com.smartlivestock.ranch.domain.repository.FenceRepository;
+import com.smartlivestock.ranch.domain.repository.FenceZoneRepository;
+import com.smartlivestock.ranch.domain.repository.LivestockRepository;
+import com.smartlivestock.shared.cache.RedisCacheService;
+import com.smartlivestock.shared.common.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Per-farm {@link RanchOverviewProjection}s, kept up to date from the GPS, alert and
+ * health-snapshot changes instead of being recomputed from every table per request.
+ * <p>
+ * A projection lives in Redis as five hashes under {@code ranch:overview:<farmId>:},
+ * so every node and every viewer of a farm share it:
+ * <ul>
+ *   <li>{@code static}: livestock codes, fences and fence zones, plus {@code rebuiltAt};</li>
+ *   <li>{@code positions}: livestock id → last position and the fences containing it;</li>
+ *   <li>{@code health} and {@code estrus}: livestock id → statuses / estrus score;</li>
+ *   <li>{@code alerts}: alert id → alert, kept after it leaves ACTIVE until the next rebuild.</li>
+ * </ul>
+ * Each change writes only its own field, stamped with the time it was written, so
+ * writers on different nodes never overwrite each other and readers can tell what
+ * changed since a given time. Reads are cached locally for {@code ranch.overview.local-ttl-ms}.
+ * <p>
+ * Fence, fence zone and livestock edits are rare and change many entries at once;
+ * they drop {@code static} instead, and the next read rebuilds the farm from the
+ * database. A projection is also rebuilt once {@code ranch.overview.rebuild-minutes}
+ * old, which bounds drift from writes that bypass these paths.
+ * <p>
+ * One node rebuilds a farm at a time: the rebuild claims {@code rebuilding} with
+ * SETNX. Others serve the expired projection meanwhile, or, when there is none, wait
+ * up to {@code ranch.overview.rebuild-wait-ms} for it and then build one for
+ * themselves without storing it. A rebuild writes its hashes under {@code next:} keys
+ * and RENAMEs each over the live one, {@code static} last, so readers never see a
+ * half-written hash. Right before each RENAME it copies in the live entries stamped
+ * after the rebuild started, so positions, health and alerts recorded while it was
+ * reading the database survive it; only a write landing between that copy and the
+ * RENAME, one round trip later, waits for the next rebuild.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RanchOverviewProjectionStore {
+
+    static final String KEY_PREFIX = "ranch:overview:";
+    static final String REBUILT_AT = "rebuiltAt";
+    static final List<String> PARTS = List.of("positions", "health", "estrus", "alerts", "static");
+
+    private final LivestockRepository livestockRepository;
+    private final FenceRepository fenceRepository;
+    private final FenceZoneRepository fenceZoneRepository;
+    private final AlertRepository alertRepository;
+    private final HealthQueryPort healthQueryPort;
+    private final RedisCacheService redisCacheService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${ranch.overview.local-ttl-ms:2000}")
+    private long localTtlMs = 2_000;
+
+    @Value("${ranch.overview.rebuild-minutes:30}")
+    private long rebuildMinutes = 30;
+
+    @Value("${ranch.overview.rebuild-wait-ms:3000}")
+    private long rebuildWaitMs = 3_000;
+
+    @Value("${ranch.overview.rebuild-claim-seconds:30}")
+    private long rebuildClaimSeconds = 30;
+
+    private final Map<Long, Cached> byFarm = new ConcurrentHashMap<>();
+
+    public RanchOverviewProjection get(Long farmId) {
+        long now = System.currentTimeMillis();
+        Cached cached = byFarm.get(farmId);
+        if (cached != null && now - cached.loadedAt < localTtlMs) {
+            return cached.projection;
+        }
+        RanchOverviewProjection projection = load(farmId);
+        if (projection == null || now - projection.rebuiltAt() >= Duration.ofMinutes(rebuildMinutes).toMillis()) {
+            projection = rebuildOnce(farmId, projection, now);
+        }
+        byFarm.put(farmId, new Cached(projection, now));
+        return projection;
+    }
+
+    /** Records a livestock's new position once the transaction commits. */
+    public void recordPosition(Long farmId, Long livestockId, BigDecimal latitude, BigDecimal longitude,
+                               List<Long> fenceIds) {
+        AfterCommit.run(() -> write(farmId, "positions", Map.of(String.valueOf(livestockId),
+                toJson(new Position(latitude, longitude, fenceIds, System.currentTimeMillis())))));
+    }
+
+    /** Records committed health changes, stamped now; either map may be empty. */
+    public void recordHealth(Long farmId, Map<Long, HealthState> statuses, Map<Long, Integer> estrusScores) {
+        long now = System.currentTimeMillis();
+        if (!statuses.isEmpty()) {
+            Map<String, String> fields = new HashMap<>();
+            statuses.forEach((id, h) -> fields.put(String.valueOf(id),
+                    toJson(new HealthState(h.tempStatus(), h.motilityStatus(), now))));
+            write(farmId, "health", fields);
+        }
+        if (!estrusScores.isEmpty()) {
+            Map<String, String> fields = new HashMap<>();
+            estrusScores.forEach((id, score) -> fields.put(String.valueOf(id), toJson(new Estrus(score, now))));
+            write(farmId, "estrus", fields);
+        }
+    }
+
+    /** Makes the next read rebuild the farm, once the transaction commits. */
+    public void invalidate(Long farmId) {
+        AfterCommit.run(() -> drop(farmId));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAlertStatusChanged(AlertStatusChangedEvent event) {
+        Long farmId = event.getFarmId();
+        if (farmId == null) {
+            return;
+        }
+        write(farmId, "alerts", Map.of(String.valueOf(event.getAlertId()),
+                toJson(AlertEntry.of(event.getAlert(), System.currentTimeMillis()))));
+    }
+
+    /** One hash write per farm for a bulk transition, however many alerts it changed. */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAlertStatusBatchChanged(AlertStatusBatchChangedEvent batch) {
+        long now = System.currentTimeMillis();
+        Map<Long, Map<String, String>> byFarmId = new HashMap<>();
+        for (AlertStatusChangedEvent event : batch.getEvents()) {
+            if (event.getFarmId() != null) {
+                byFarmId.computeIfAbsent(event.getFarmId(), id -> new HashMap<>())
+                        .put(String.valueOf(event.getAlertId()), toJson(AlertEntry.of(event.getAlert(), now)));
+            }
+        }
+        byFarmId.forEach((farmId, fields) -> write(farmId, "alerts", fields));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFenceChanged(FenceChangedEvent event) {
+        drop(event.getFarmId());
+    }
+
+    private void write(Long farmId, String part, Map<String, String> fields) {
+        byFarm.remove(farmId);
+        try {
+            redisCacheService.setHash(key(farmId, part), fields);
+        } catch (Exception e) {
+            log.warn("Failed to update overview {} for farm [{}]: {}", part, farmId, e.getMessage());
+        }
+    }
+
+    private void drop(Long farmId) {
+        byFarm.remove(farmId);
+        try {
+            redisCacheService.delete(key(farmId, "static"));
+        } catch (Exception e) {
+            log.warn("Failed to invalidate overview for farm [{}]: {}", farmId, e.getMessage());
+        }
+    }
+
+    /** The stored projection, however old; null when there is none. */
+    private RanchOverviewProjection load(Long farmId) {
+        try {
+            Map<String, String> statics = redisCacheService.getHash(key(farmId, "static"));
+            String rebuiltAtValue = statics.get(REBUILT_AT);
+            if (rebuiltAtValue == null) {
+                return null;
+            }
+            long rebuiltAt = Long.parseLong(rebuiltAtValue);
+            Map<Long, String> codes = new TreeMap<>(objectMapper.readValue(statics.get("livestock"),
+                    new TypeReference<Map<Long, String>>() {}));
+            return new RanchOverviewProjection(
+                    rebuiltAt,
+                    codes,
+                    readHash(farmId, "positions", v -> fromJson(v, Position.class)),
+                    readHash(farmId, "health", v -> fromJson(v, HealthState.class)),
+                    readHash(farmId, "estrus", v -> fromJson(v, Estrus.class)),
+                    readHash(farmId, "alerts", v -> fromJson(v, AlertEntry.class)),
+                    objectMapper.readValue(statics.get("fences"), new TypeReference<List<FenceData>>() {}),
+                    objectMapper.readValue(statics.get("zones"), new TypeReference<List<FenceZoneData>>() {}));
+        } catch (Exception e) {
+            log.debug("Overview projection lookup failed for farm [{}]: {}", farmId, e.getMessage());
+            return null;
+        }
+    }
+
+    private <T> Map<Long, T> readHash(Long farmId, String part, Function<String, T> parse) {
+        Map<Long, T> values = new TreeMap<>();
+        redisCacheService.getHash(key(farmId, part)).forEach((field, value) -> {
+            T parsed = parse.apply(value);
+            if (parsed != null) values.put(Long.valueOf(field), parsed);
+        });
+        return values;
+    }
+
+    private RanchOverviewProjection rebuildOnce(Long farmId, RanchOverviewProjection expired, long now) {
+        if (claimRebuild(farmId)) {
+            try {
+                RanchOverviewProjection projection = build(farmId, now);
+                store(farmId, projection, now);
+                log.debug("Rebuilt overview projection for farm [{}] with {} livestock",
+                        farmId, projection.livestockCodes().size());
+                return projection;
+            } finally {
+                releaseRebuild(farmId);
+            }
+        }
+        if (expired != null) {
+            return expired;
+        }
+        long deadline = now + rebuildWaitMs;
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            RanchOverviewProjection built = load(farmId);
+            if (built != null) {
+                return built;
+            }
+        }
+        return build(farmId, now);
+    }
+
+    /** Claims the farm's rebuild; if Redis is unreachable the caller rebuilds anyway. */
+    private boolean claimRebuild(Long farmId) {
+        try {
+            return redisCacheService.setIfAbsent(key(farmId, "rebuilding"),
+                    String.valueOf(System.currentTimeMillis()), Duration.ofSeconds(rebuildClaimSeconds));
+        } catch (Exception e) {
+            log.debug("Overview rebuild claim failed for farm [{}]: {}", farmId, e.getMessage());
+            return true;
+        }
+    }
+
+    private void releaseRebuild(Long farmId) {
+        try {
+            redisCacheService.delete(key(farmId, "rebuilding"));
+        } catch (Exception e) {
+            log.debug("Overview rebuild release failed for farm [{}]: {}", farmId, e.getMessage());
+        }
+    }
+
+    private RanchOverviewProjection build(Long farmId, long now) {
+        List<Livestock> livestock = livestockRepository.findByFarmId(farmId);
+        List<Fence> fences = fenceRepository.findByFarmId(farmId);
+        FenceIndex fenceIndex = FenceIndex.of(fences);
+
+        Map<Long, String> codes = new TreeMap<>();
+        Map<Long, Position> positions = new TreeMap<>();
+        for (Livestock l : livestock) {
+            codes.put(l.getId(), l.getLivestockCode());
+            if (l.getLastLatitude() != null && l.getLastLongitude() != null) {
+                positions.put(l.getId(), new Position(l.getLastLatitude(), l.getLastLongitude(),
+                        fenceIndex.containingFenceIds(new GpsCoordinate(l.getLastLatitude(), l.getLastLongitude())),
+                        now));
+            }
+        }
+        Map<Long, HealthState> health = new TreeMap<>();
+        Map<Long, Estrus> estrus = new TreeMap<>();
+        for (LivestockHealthState h : healthQueryPort.findHealthByFarmId(farmId)) {
+            health.put(h.livestockId(), new HealthState(h.tempStatus(), h.motilityStatus(), now));
+            estrus.put(h.livestockId(), new Estrus(h.estrusScore(), now));
+        }
+        Map<Long, AlertEntry> alerts = new TreeMap<>();
+        for (Alert alert : alertRepository.findByFarmIdAndStatus(farmId, AlertStatus.ACTIVE)) {
+            alerts.put(alert.getId(), AlertEntry.of(alert, now));
+        }
+        List<FenceData> fenceData = fences.stream()
+                .map(f -> new FenceData(f.getId(), f.getName(), f.isActive(), "POLYGON", f.getColor(),
+                        f.getVertices(), 0.0, 0, f.getVersion()))
+                .toList();
+        List<FenceZoneData> zones = fenceZoneRepository.findByFarmId(farmId).stream()
+                .map(FenceZoneData::from)
+                .toList();
+
+        return new RanchOverviewProjection(now, codes, positions, health, estrus, alerts, fenceData, zones);
+    }
+
+    private void store(Long farmId, RanchOverviewProjection p, long now) {
+        try {
+            Map<String, String> statics = new HashMap<>();
+            statics.put("livestock", objectMapper.writeValueAsString(p.livestockCodes()));
+            statics.put("fences", objectMapper.writeValueAsString(p.fences()));
+            statics.put("zones", objectMapper.writeValueAsString(p.fenceZones()));
+            statics.put(REBUILT_AT, String.valueOf(now));
+            Map<String, Map<String, String>> parts = Map.of(
+                    "positions", fields(p.positions()),
+                    "health", fields(p.health()),
+                    "estrus", fields(p.estrus()),
+                    "alerts", fields(p.alerts()),
+                    "static", statics);
+            for (String part : PARTS) {
+                redisCacheService.delete(key(farmId, "next:" + part));
+                if (!parts.get(part).isEmpty()) {
+                    redisCacheService.setHash(key(farmId, "next:" + part), parts.get(part));
+                }
+            }
+            // static goes last: a reader seeing the new rebuiltAt sees every new hash.
+            for (String part : PARTS) {
+                Map<String, String> newer = part.equals("static") ? Map.of() : changedSince(farmId, part, now);
+                if (!newer.isEmpty()) {
+                    redisCacheService.setHash(key(farmId, "next:" + part), newer);
+                }
+                if (parts.get(part).isEmpty() && newer.isEmpty()) {
+                    redisCacheService.delete(key(farmId, part));
+                } else {
+                    redisCacheService.rename(key(farmId, "next:" + part), key(farmId, part));
+                }
+            }
+        } catch (Exception e) {
+            log.debug("Failed to store overview projection for farm [{}]: {}", farmId, e.getMessage());
+        }
+    }
+
+    /** Live entries of {@code part} written after {@code since}, which the rebuild may not have read. */
+    private Map<String, String> changedSince(Long farmId, String part, long since) {
+        Map<String, String> newer = new HashMap<>();
+        redisCacheService.getHash(key(farmId, part)).forEach((field, value) -> {
+            try {
+                if (objectMapper.readTree(value).path("changedAt").asLong() > since) {
+                    newer.put(field, value);
+                }
+            } catch (Exception e) {
+                log.debug("Skipping unreadable overview entry: {}", e.getMessage());
+            }
+        });
+        return newer;
+    }
+
+    private <T> Map<String, String> fields(Map<Long, T> values) {
+        Map<String, String> fields = new HashMap<>();
+        values.forEach((id, value) -> fields.put(String.valueOf(id), toJson(value)));
+        return fields;
+    }
+
+    private static String key(Long farmId, String part) {
+        return KEY_PREFIX + farmId + ":" + part;
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot serialize overview entry", e);
+        }
+    }
+
+    private <T> T fromJson(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (Exception e) {
+            log.debug("Skipping unreadable overview entry: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private record Cached(RanchOverviewProjection projection, long loadedAt) {}
+}
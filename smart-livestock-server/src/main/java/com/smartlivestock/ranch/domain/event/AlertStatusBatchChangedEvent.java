@@ -0,0 +1,24 @@
+package com.smartlivestock.ranch.domain.event;
+
+import com.smartlivestock.shared.domain.DomainEvent;
+
+import java.util.List;
+
+/**
+ * Domain event fired once per set-based alert update (bulk resolve, dismiss or
+ * archive), in place of one {@link AlertStatusChangedEvent} per alert.
+ * <p>
+ * Carries the individual events, one per alert whose status changed. The bridge
+ * sends them to RocketMQ as one batch send, so consumers still receive one
+ * {@code alert-status-changed} message per alert.
+ */
+public class AlertStatusBatchChangedEvent extends DomainEvent {
+
+    private final List<AlertStatusChangedEvent> events;
+
+    public AlertStatusBatchChangedEvent(List<AlertStatusChangedEvent> events) {
+        this.events = List.copyOf(events);
+    }
+
+    public List<AlertStatusChangedEvent> getEvents() { return events; }
+}
@@ -1,21 +1,29 @@
 package com.smartlivestock.ranch.domain.event;
 
+import com.smartlivestock.ranch.domain.model.Alert;
 import com.smartlivestock.ranch.domain.model.AlertStatus;
 import com.smartlivestock.shared.domain.DomainEvent;
 
 /**
- * Domain event fired when an alert transitions to a new status.
+ * Domain event fired when an alert transitions to a new status, including when it is
+ * raised (ACTIVE). Carries the alert as saved.
  */
 public class AlertStatusChangedEvent extends DomainEvent {
 
     private final Long alertId;
+    private final Long farmId;
     private final AlertStatus newStatus;
+    private final Alert alert;
 
-    public AlertStatusChangedEvent(Long alertId, AlertStatus newStatus) {
-        this.alertId = alertId;
-        this.newStatus = newStatus;
+    public AlertStatusChangedEvent(Alert alert) {
+        this.alertId = alert.getId();
+        this.farmId = alert.getFarmId();
+        this.newStatus = alert.getStatus();
+        this.alert = alert;
     }
 
     public Long getAlertId() { return alertId; }
+    public Long getFarmId() { return farmId; }
     public AlertStatus getNewStatus() { return newStatus; }
+    public Alert getAlert() { return alert; }
 }
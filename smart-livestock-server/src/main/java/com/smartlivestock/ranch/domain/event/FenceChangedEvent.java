@@ -0,0 +1,20 @@
+package com.smartlivestock.ranch.domain.event;
+
+import com.smartlivestock.shared.domain.DomainEvent;
+
+/**
+ * Domain event fired when a fence is created, updated or deleted.
+ */
+public class FenceChangedEvent extends DomainEvent {
+
+    private final Long farmId;
+    private final Long fenceId;
+
+    public FenceChangedEvent(Long farmId, Long fenceId) {
+        this.farmId = farmId;
+        this.fenceId = fenceId;
+    }
+
+    public Long getFarmId() { return farmId; }
+    public Long getFenceId() { return fenceId; }
+}
@@ -0,0 +1,21 @@
+package com.smartlivestock.ranch.domain.event;
+
+import com.smartlivestock.shared.domain.DomainEvent;
+
+/**
+ * Domain event fired when a livestock's registration (code, breed, gender, ...) is
+ * updated or the livestock is deleted. Position updates do not fire it.
+ */
+public class LivestockChangedEvent extends DomainEvent {
+
+    private final Long farmId;
+    private final Long livestockId;
+
+    public LivestockChangedEvent(Long farmId, Long livestockId) {
+        this.farmId = farmId;
+        this.livestockId = livestockId;
+    }
+
+    public Long getFarmId() { return farmId; }
+    public Long getLivestockId() { return livestockId; }
+}
@@ -14,6 +14,9 @@ import java.time.Instant;
  */
 public class Alert extends AggregateRoot {
 
+    public static final String RESOLVED_AUTO = "AUTO";
+    public static final String RESOLVED_MANUAL_DISMISS = "MANUAL_DISMISS";
+
     private Long farmId;
     private Long livestockId;
     private Long fenceId;
@@ -24,7 +27,7 @@ public class Alert extends AggregateRoot {
     private String message;
     private String messageKey;
     private String messageArgs;
-    private String resolvedType;   // "AUTO" / "MANUAL_DISMISS"
+    private String resolvedType;   // RESOLVED_AUTO / RESOLVED_MANUAL_DISMISS
     private Instant resolvedAt;
     private String source = "RULE"; // RULE / AI
 
@@ -73,7 +76,7 @@ public class Alert extends AggregateRoot {
                 "Alert must be in ACTIVE status to dismiss, current: " + status);
         }
         this.status = AlertStatus.DISMISSED;
-        this.resolvedType = "MANUAL_DISMISS";
+        this.resolvedType = RESOLVED_MANUAL_DISMISS;
         this.resolvedAt = Instant.now();
         // Legacy compatibility
         this.handledBy = userId;
@@ -88,7 +91,7 @@ public class Alert extends AggregateRoot {
             return; // idempotent
         }
         this.status = AlertStatus.AUTO_RESOLVED;
-        this.resolvedType = "AUTO";
+        this.resolvedType = RESOLVED_AUTO;
         this.resolvedAt = Instant.now();
     }
 
@@ -2,7 +2,6 @@ package com.smartlivestock.ranch.domain.model;
 
 import com.smartlivestock.shared.domain.AggregateRoot;
 
-import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -16,6 +15,7 @@ public class Fence extends AggregateRoot {
     private boolean active;
     private int version = 1;
     private String fenceType = "sub";
+    private volatile FenceGeometry geometry;
 
     public Fence() {
         this.active = true;
@@ -30,54 +30,31 @@ public class Fence extends AggregateRoot {
         this.active = true;
     }
 
+    /**
+     * Point-in-polygon test; points on an edge or vertex count as inside.
+     */
     public boolean contains(GpsCoordinate point) {
         Objects.requireNonNull(point, "point must not be null");
-        if (vertices == null || vertices.size() < 3) {
-            return false;
-        }
+        return geometry().contains(point.latitude().doubleValue(), point.longitude().doubleValue());
+    }
 
-        int n = vertices.size();
-        boolean inside = false;
-        BigDecimal px = point.longitude();
-        BigDecimal py = point.latitude();
-
-        for (int i = 0, j = n - 1; i < n; j = i++) {
-            BigDecimal xi = vertices.get(i).longitude();
-            BigDecimal yi = vertices.get(i).latitude();
-            BigDecimal xj = vertices.get(j).longitude();
-            BigDecimal yj = vertices.get(j).latitude();
-
-            if (yi.compareTo(py) == 0 && yj.compareTo(py) == 0) {
-                BigDecimal minX = xi.min(xj);
-                BigDecimal maxX = xi.max(xj);
-                if (px.compareTo(minX) >= 0 && px.compareTo(maxX) <= 0) {
-                    return true;
-                }
-                continue;
-            }
-
-            if (yi.compareTo(py) == 0 && xi.compareTo(px) == 0) {
-                return true;
-            }
-
-            boolean yiAbovePy = yi.compareTo(py) > 0;
-            boolean yjAbovePy = yj.compareTo(py) > 0;
-
-            if (yiAbovePy != yjAbovePy) {
-                BigDecimal dx = xj.subtract(xi);
-                BigDecimal dy = yj.subtract(yi);
-                BigDecimal intersectX = xi.add(py.subtract(yi).multiply(dx).divide(dy, 20, java.math.RoundingMode.HALF_UP));
-
-                if (px.compareTo(intersectX) <= 0) {
-                    if (px.compareTo(intersectX) == 0) {
-                        return true;
-                    }
-                    inside = !inside;
-                }
-            }
-        }
+    /**
+     * Classifies a point against the fence and its buffer zone in one call:
+     * {@code INSIDE} the fence, in the {@code BUFFER} ring, or {@code OUTSIDE} both.
+     */
+    public FenceGeometry.Zone locate(GpsCoordinate point) {
+        Objects.requireNonNull(point, "point must not be null");
+        return geometry().locate(point.latitude().doubleValue(), point.longitude().doubleValue());
+    }
 
-        return inside;
+    /** Primitive geometry of the current vertices and buffer polygon, built on first use. */
+    public FenceGeometry geometry() {
+        FenceGeometry g = geometry;
+        if (g == null) {
+            g = FenceGeometry.of(vertices, bufferPolygon);
+            geometry = g;
+        }
+        return g;
     }
 
     public void disable() {
@@ -95,7 +72,10 @@ public class Fence extends AggregateRoot {
     public void setName(String name) { this.name = name; }
 
     public List<GpsCoordinate> getVertices() { return vertices; }
-    public void setVertices(List<GpsCoordinate> vertices) { this.vertices = vertices; }
+    public void setVertices(List<GpsCoordinate> vertices) {
+        this.vertices = vertices;
+        this.geometry = null;
+    }
 
     public String getColor() { return color; }
     public void setColor(String color) { this.color = color; }
@@ -117,38 +97,16 @@ public class Fence extends AggregateRoot {
     public void setBufferDistance(int bufferDistance) { this.bufferDistance = bufferDistance; }
 
     public List<GpsCoordinate> getBufferPolygon() { return bufferPolygon; }
-    public void setBufferPolygon(List<GpsCoordinate> bufferPolygon) { this.bufferPolygon = bufferPolygon; }
+    public void setBufferPolygon(List<GpsCoordinate> bufferPolygon) {
+        this.bufferPolygon = bufferPolygon;
+        this.geometry = null;
+    }
 
     /**
      * Check if point is inside the buffer zone (approaching fence).
      * Returns false if buffer polygon is not set.
      */
     public boolean containsBuffer(GpsCoordinate point) {
-        if (bufferPolygon == null || bufferPolygon.size() < 3) return false;
-        // Reuse ray-casting algorithm on buffer polygon
-        List<GpsCoordinate> poly = bufferPolygon;
-        java.math.BigDecimal px = point.longitude();
-        java.math.BigDecimal py = point.latitude();
-        int n = poly.size();
-        boolean inside = false;
-        for (int i = 0, j = n - 1; i < n; j = i++) {
-            java.math.BigDecimal xi = poly.get(i).longitude();
-            java.math.BigDecimal yi = poly.get(i).latitude();
-            java.math.BigDecimal xj = poly.get(j).longitude();
-            java.math.BigDecimal yj = poly.get(j).latitude();
-            boolean yiAbovePy = yi.compareTo(py) > 0;
-            boolean yjAbovePy = yj.compareTo(py) > 0;
-            if (yiAbovePy != yjAbovePy) {
-                java.math.BigDecimal dx = xj.subtract(xi);
-                java.math.BigDecimal dy = yj.subtract(yi);
-                java.math.BigDecimal intersectX = xi.add(py.subtract(yi).multiply(dx).divide(dy, 20, java.math.RoundingMode.HALF_UP));
-                if (px.compareTo(intersectX) <= 0) {
-                    if (px.compareTo(intersectX) == 0) return true;
-                    inside = !inside;
-                }
-            }
-        }
-        return inside;
+        return geometry().containsBuffer(point.latitude().doubleValue(), point.longitude().doubleValue());
     }
 }
-
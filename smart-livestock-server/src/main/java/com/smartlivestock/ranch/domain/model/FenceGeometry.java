@@ -0,0 +1,169 @@
+package com.smartlivestock.ranch.domain.model;
+
+import java.util.List;
+
+/**
+ * Allocation-free point-in-polygon kernel for one fence and its buffer zone.
+ * <p>
+ * Vertices are held in primitive arrays on a fixed-point grid of 1e-7 degrees (the
+ * scale of {@code gps_logs.latitude/longitude}). Grid values are integers stored in
+ * {@code double}s, so every difference and cross product used by the ray cast is
+ * exact for fences spanning less than ~9 degrees — no rounding, no division. For
+ * coordinates with at most seven decimals this gives exactly the answers of the
+ * former {@code BigDecimal} ray cast, including its boundary rules:
+ * <ul>
+ *   <li>fence polygon: points on an edge, on a vertex, or on a horizontal edge are inside;</li>
+ *   <li>buffer polygon: only points on a non-horizontal edge count as inside.</li>
+ * </ul>
+ */
+public final class FenceGeometry {
+
+    static final double GRID = 1e7;
+
+    private static final FenceGeometry EMPTY = new FenceGeometry(null, null);
+
+    private final Ring fence;
+    private final Ring buffer;
+
+    private FenceGeometry(Ring fence, Ring buffer) {
+        this.fence = fence;
+        this.buffer = buffer;
+    }
+
+    public static FenceGeometry of(List<GpsCoordinate> vertices, List<GpsCoordinate> bufferPolygon) {
+        Ring fence = Ring.of(vertices);
+        Ring buffer = Ring.of(bufferPolygon);
+        return fence == null && buffer == null ? EMPTY : new FenceGeometry(fence, buffer);
+    }
+
+    /** Where a point lies relative to the fence, decided with at most one scan per ring. */
+    public enum Zone { INSIDE, BUFFER, OUTSIDE }
+
+    public Zone locate(double latitude, double longitude) {
+        double x = toGrid(longitude);
+        double y = toGrid(latitude);
+        if (fence != null && fence.contains(x, y, true)) {
+            return Zone.INSIDE;
+        }
+        if (buffer != null && buffer.contains(x, y, false)) {
+            return Zone.BUFFER;
+        }
+        return Zone.OUTSIDE;
+    }
+
+    public boolean contains(double latitude, double longitude) {
+        return fence != null && fence.contains(toGrid(longitude), toGrid(latitude), true);
+    }
+
+    public boolean containsBuffer(double latitude, double longitude) {
+        return buffer != null && buffer.contains(toGrid(longitude), toGrid(latitude), false);
+    }
+
+    public boolean hasFence() {
+        return fence != null;
+    }
+
+    public boolean hasBuffer() {
+        return buffer != null;
+    }
+
+    /** Fence bounding box in degrees as {minLon, maxLon, minLat, maxLat}; only valid when {@link #hasFence()}. */
+    public double[] fenceBounds() {
+        return fence.bounds();
+    }
+
+    static double toGrid(double degrees) {
+        return Math.rint(degrees * GRID);
+    }
+
+    private static final class Ring {
+        private final double[] xs;
+        private final double[] ys;
+        private final double minX;
+        private final double maxX;
+        private final double minY;
+        private final double maxY;
+
+        private Ring(double[] xs, double[] ys) {
+            this.xs = xs;
+            this.ys = ys;
+            double loX = Double.POSITIVE_INFINITY, hiX = Double.NEGATIVE_INFINITY;
+            double loY = Double.POSITIVE_INFINITY, hiY = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < xs.length; i++) {
+                loX = Math.min(loX, xs[i]);
+                hiX = Math.max(hiX, xs[i]);
+                loY = Math.min(loY, ys[i]);
+                hiY = Math.max(hiY, ys[i]);
+            }
+            this.minX = loX;
+            this.maxX = hiX;
+            this.minY = loY;
+            this.maxY = hiY;
+        }
+
+        static Ring of(List<GpsCoordinate> polygon) {
+            if (polygon == null || polygon.size() < 3) {
+                return null;
+            }
+            int n = polygon.size();
+            double[] xs = new double[n];
+            double[] ys = new double[n];
+            for (int i = 0; i < n; i++) {
+                GpsCoordinate vertex = polygon.get(i);
+                xs[i] = toGrid(vertex.longitude().doubleValue());
+                ys[i] = toGrid(vertex.latitude().doubleValue());
+            }
+            return new Ring(xs, ys);
+        }
+
+        double[] bounds() {
+            return new double[] {minX / GRID, maxX / GRID, minY / GRID, maxY / GRID};
+        }
+
+        /**
+         * Even-odd ray cast towards +x. {@code px <= intersectX} is evaluated as a
+         * sign test on {@code (px - xi) * dy} versus {@code (py - yi) * dx}, which is
+         * exact on the grid; equality means the point is on the edge.
+         */
+        boolean contains(double px, double py, boolean closedBoundary) {
+            if (px < minX || px > maxX || py < minY || py > maxY) {
+                return false;
+            }
+            double[] xs = this.xs;
+            double[] ys = this.ys;
+            int n = xs.length;
+            boolean inside = false;
+            for (int i = 0, j = n - 1; i < n; j = i++) {
+                double xi = xs[i];
+                double yi = ys[i];
+                double xj = xs[j];
+                double yj = ys[j];
+
+                if (closedBoundary) {
+                    if (yi == py && yj == py) {
+                        if (px >= Math.min(xi, xj) && px <= Math.max(xi, xj)) {
+                            return true;
+                        }
+                        continue;
+                    }
+                    if (yi == py && xi == px) {
+                        return true;
+                    }
+                }
+
+                if ((yi > py) != (yj > py)) {
+                    double dy = yj - yi;
+                    double lhs = (px - xi) * dy;
+                    double rhs = (py - yi) * (xj - xi);
+                    if (lhs == rhs) {
+                        return true;
+                    }
+                    if (dy > 0 ? lhs < rhs : lhs > rhs) {
+                        inside = !inside;
+                    }
+                }
+            }
+            return inside;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.smartlivestock.ranch.domain.model;
+
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.index.strtree.STRtree;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable spatial index over one farm's fences, built once and reused for every
+ * GPS point of that farm.
+ * <p>
+ * Each active fence is classified through its {@link FenceGeometry}, whose rings
+ * reject most points on their bounding boxes before the ray cast. Farms with many
+ * fences also get an STR-tree over the fence boxes for the "inside any fence"
+ * question.
+ * <p>
+ * The index remembers the {@code version} of every fence it was built from;
+ * callers compare it with the stored versions to detect staleness.
+ */
+public final class FenceIndex {
+
+    /** Below this many active fences a linear envelope scan beats the tree. */
+    static final int STR_TREE_THRESHOLD = 16;
+
+    private final int fenceCount;
+    private final Map<Long, Integer> versions;
+    private final List<Entry> entries;
+    private final STRtree tree;
+
+    private FenceIndex(int fenceCount, Map<Long, Integer> versions, List<Entry> entries) {
+        this.fenceCount = fenceCount;
+        this.versions = versions;
+        this.entries = entries;
+        this.tree = entries.size() >= STR_TREE_THRESHOLD ? buildTree(entries) : null;
+    }
+
+    public static FenceIndex of(List<Fence> fences) {
+        Map<Long, Integer> versions = new HashMap<>();
+        List<Entry> entries = new ArrayList<>();
+        for (Fence fence : fences) {
+            if (fence.getId() != null) {
+                versions.put(fence.getId(), fence.getVersion());
+            }
+            if (fence.isActive()) {
+                entries.add(new Entry(fence, fence.geometry()));
+            }
+        }
+        return new FenceIndex(fences.size(), Collections.unmodifiableMap(versions), List.copyOf(entries));
+    }
+
+    /** True when the farm has no fences at all (active or not). */
+    public boolean isEmpty() {
+        return fenceCount == 0;
+    }
+
+    /** Fence id → version this index was built from. */
+    public Map<Long, Integer> versions() {
+        return versions;
+    }
+
+    /**
+     * Places a point relative to the farm's active fences.
+     * Inside any fence wins; otherwise every active fence is reported with
+     * whether the point lies in its buffer zone.
+     */
+    public Location locate(GpsCoordinate point) {
+        double lat = point.latitude().doubleValue();
+        double lon = point.longitude().doubleValue();
+        List<Proximity> outside = new ArrayList<>(entries.size());
+
+        if (tree == null) {
+            for (Entry entry : entries) {
+                FenceGeometry.Zone zone = entry.geometry.locate(lat, lon);
+                if (zone == FenceGeometry.Zone.INSIDE) {
+                    return Location.INSIDE;
+                }
+                outside.add(new Proximity(entry.fence, zone == FenceGeometry.Zone.BUFFER));
+            }
+            return new Location(false, outside);
+        }
+
+        for (Entry entry : candidates(lon, lat)) {
+            if (entry.geometry.contains(lat, lon)) {
+                return Location.INSIDE;
+            }
+        }
+        for (Entry entry : entries) {
+            outside.add(new Proximity(entry.fence, entry.geometry.containsBuffer(lat, lon)));
+        }
+        return new Location(false, outside);
+    }
+
+    /** Ids of the active fences whose polygon contains the point (fences may overlap). */
+    public List<Long> containingFenceIds(GpsCoordinate point) {
+        double lat = point.latitude().doubleValue();
+        double lon = point.longitude().doubleValue();
+        List<Long> ids = new ArrayList<>(2);
+        for (Entry entry : tree == null ? entries : candidates(lon, lat)) {
+            if (entry.geometry.contains(lat, lon)) {
+                ids.add(entry.fence.getId());
+            }
+        }
+        return ids;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Entry> candidates(double x, double y) {
+        return tree.query(new Envelope(x, x, y, y));
+    }
+
+    private static STRtree buildTree(List<Entry> entries) {
+        STRtree tree = new STRtree();
+        for (Entry entry : entries) {
+            if (entry.geometry.hasFence()) {
+                double[] b = entry.geometry.fenceBounds();
+                tree.insert(new Envelope(b[0], b[1], b[2], b[3]), entry);
+            }
+        }
+        tree.build();
+        return tree;
+    }
+
+    private record Entry(Fence fence, FenceGeometry geometry) {}
+
+    /**
+     * Result of {@link #locate}. {@code outsideFences} is empty when the point is
+     * inside a fence, otherwise it lists every active fence.
+     */
+    public record Location(boolean insideAnyFence, List<Proximity> outsideFences) {
+        static final Location INSIDE = new Location(true, List.of());
+    }
+
+    /** An active fence the point is outside of, and whether it is within the buffer zone. */
+    public record Proximity(Fence fence, boolean inBuffer) {}
+}
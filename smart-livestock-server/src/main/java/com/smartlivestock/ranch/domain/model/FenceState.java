@@ -0,0 +1,29 @@
+package com.smartlivestock.ranch.domain.model;
+
+import java.util.Comparator;
+import java.util.StringJoiner;
+
+/**
+ * A livestock's zone relative to its farm's fences, in a compact comparable form:
+ * {@code "inside"} when the point is inside any active fence, otherwise one
+ * {@code <fenceId>:A} (approach / buffer zone) or {@code <fenceId>:B} (breach)
+ * entry per active fence, ordered by fence id.
+ * <p>
+ * Two equal states produce the same fence alerts, so only a change of state
+ * needs to touch the alert table.
+ */
+public record FenceState(String value) {
+
+    public static final FenceState INSIDE = new FenceState("inside");
+
+    public static FenceState of(FenceIndex.Location location) {
+        if (location.insideAnyFence()) {
+            return INSIDE;
+        }
+        StringJoiner joiner = new StringJoiner(",");
+        location.outsideFences().stream()
+                .sorted(Comparator.comparing(p -> p.fence().getId(), Comparator.nullsFirst(Comparator.naturalOrder())))
+                .forEach(p -> joiner.add(p.fence().getId() + (p.inBuffer() ? ":A" : ":B")));
+        return new FenceState(joiner.toString());
+    }
+}
@@ -1,6 +1,7 @@
 package com.smartlivestock.ranch.domain.port;
 
 import com.smartlivestock.ranch.domain.port.dto.DeviceBrief;
+import com.smartlivestock.ranch.domain.port.dto.DevicePlacement;
 import com.smartlivestock.ranch.domain.port.dto.DeviceStatsInfo;
 import com.smartlivestock.ranch.domain.port.dto.InstallationInfo;
 
@@ -10,6 +11,10 @@ import java.util.Optional;
 
 public interface IoTQueryPort {
     Optional<InstallationInfo> findActiveInstallation(Long deviceId);
+
+    /** Livestock and farm the device is installed on; empty if not installed. */
+    Optional<DevicePlacement> findPlacement(Long deviceId);
+
     DeviceStatsInfo getDeviceStats(Long tenantId);
 
     boolean hasActiveInstallationByLivestock(Long livestockId);
@@ -0,0 +1,4 @@
+package com.smartlivestock.ranch.domain.port.dto;
+
+public record DevicePlacement(Long deviceId, Long livestockId, Long farmId) {
+}
@@ -0,0 +1,21 @@
+package com.smartlivestock.ranch.domain.repository;
+
+import com.smartlivestock.ranch.domain.model.AlertStatus;
+import com.smartlivestock.ranch.domain.model.AlertType;
+import com.smartlivestock.ranch.domain.model.Severity;
+
+import java.time.Instant;
+
+/**
+ * Which of a farm's alerts to read or change. Null fields match every alert;
+ * {@code from} is inclusive and {@code to} exclusive, on the creation time.
+ */
+public record AlertFilter(
+        Long farmId,
+        AlertStatus status,
+        AlertType type,
+        Severity severity,
+        Long livestockId,
+        Instant from,
+        Instant to
+) {}
@@ -0,0 +1,20 @@
+package com.smartlivestock.ranch.domain.repository;
+
+/**
+ * One page of the alerts matching {@code filter}, newest first.
+ * <p>
+ * {@code beforeId} is the keyset cursor: the id of the last alert of the previous
+ * page. Without it the page starts {@code offset} alerts in, which costs a scan of
+ * the skipped rows; clients that follow the cursor do not pay it.
+ */
+public record AlertQuery(
+        AlertFilter filter,
+        Long beforeId,
+        int offset,
+        int limit
+) {
+
+    public AlertQuery withLimit(int limit) {
+        return new AlertQuery(filter, beforeId, offset, limit);
+    }
+}
@@ -4,7 +4,9 @@ import com.smartlivestock.ranch.domain.model.Alert;
 import com.smartlivestock.ranch.domain.model.AlertStatus;
 import com.smartlivestock.ranch.domain.model.AlertType;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface AlertRepository {
@@ -13,6 +15,19 @@ public interface AlertRepository {
     List<Alert> findByFarmId(Long farmId);
     List<Alert> findByFarmIdRecent(Long farmId, int limit);
     List<Alert> findByFarmIdAndStatus(Long farmId, AlertStatus status);
+    long countByFarmIdAndStatus(Long farmId, AlertStatus status);
+    Map<AlertType, Long> countByFarmIdAndStatusGroupByType(Long farmId, AlertStatus status);
+    List<Alert> findPage(AlertQuery query);
+    long countMatching(AlertFilter filter);
     List<Alert> findByLivestockIdAndTypeAndStatus(Long livestockId, AlertType type, AlertStatus status);
     List<Alert> findByDeviceIdAndTypeAndStatus(Long deviceId, AlertType type, AlertStatus status);
+
+    /** Auto-resolves the livestock's ACTIVE alerts of these types; {@code fenceIds} null means any fence. */
+    List<Alert> autoResolveActive(Long livestockId, Collection<AlertType> types, Collection<Long> fenceIds);
+
+    /** Dismisses the listed ACTIVE alerts of the farm on behalf of {@code userId}. */
+    List<Alert> dismissActive(Long farmId, Collection<Long> alertIds, Long userId);
+
+    /** Archives (auto-resolves) the farm's ACTIVE alerts matching the filter; its status is ignored. */
+    List<Alert> archiveActive(AlertFilter filter);
 }
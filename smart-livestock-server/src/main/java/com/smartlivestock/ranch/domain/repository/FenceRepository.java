@@ -3,12 +3,15 @@ package com.smartlivestock.ranch.domain.repository;
 import com.smartlivestock.ranch.domain.model.Fence;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface FenceRepository {
     Fence save(Fence fence);
     Optional<Fence> findById(Long id);
     List<Fence> findByFarmId(Long farmId);
+    /** Fence id → optimistic-lock version for a farm; a cheap staleness probe for cached fences. */
+    Map<Long, Integer> findVersionsByFarmId(Long farmId);
     void deleteById(Long id);
     long countByFarmId(Long farmId);
     long countByFarmIdAndTenantId(Long farmId, Long tenantId);
@@ -1,6 +1,7 @@
 package com.smartlivestock.ranch.domain.service;
 
 import com.smartlivestock.ranch.domain.model.Fence;
+import com.smartlivestock.ranch.domain.model.FenceGeometry;
 import com.smartlivestock.ranch.domain.model.GpsCoordinate;
 
 import java.util.List;
@@ -31,11 +32,7 @@ public class FenceBreachDetector {
      * Buffer zone = inside buffer polygon AND outside fence polygon.
      */
     public boolean isApproaching(Fence fence, GpsCoordinate point) {
-        // Approaching = in buffer zone but not yet breached (still inside fence)
-        // Or: outside fence but within buffer zone
-        boolean inBuffer = fence.containsBuffer(point);
-        boolean inFence = fence.contains(point);
-        return inBuffer && !inFence; // in buffer ring area
+        return fence.locate(point) == FenceGeometry.Zone.BUFFER;
     }
 
     /**
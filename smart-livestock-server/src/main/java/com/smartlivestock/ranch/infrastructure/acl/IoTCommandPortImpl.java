@@ -1,8 +1,10 @@
 package com.smartlivestock.ranch.infrastructure.acl;
 
+import com.smartlivestock.iot.domain.event.DeviceContextChangedEvent;
 import com.smartlivestock.iot.domain.model.Installation;
 import com.smartlivestock.iot.domain.repository.InstallationRepository;
 import com.smartlivestock.ranch.domain.port.IoTCommandPort;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -11,9 +13,12 @@ import java.util.List;
 public class IoTCommandPortImpl implements IoTCommandPort {
 
     private final InstallationRepository installationRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public IoTCommandPortImpl(InstallationRepository installationRepository) {
+    public IoTCommandPortImpl(InstallationRepository installationRepository,
+                              ApplicationEventPublisher eventPublisher) {
         this.installationRepository = installationRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -22,6 +27,7 @@ public class IoTCommandPortImpl implements IoTCommandPort {
         for (Installation installation : active) {
             installation.remove();
             installationRepository.save(installation);
+            eventPublisher.publishEvent(new DeviceContextChangedEvent(installation.getDeviceId()));
         }
     }
 }
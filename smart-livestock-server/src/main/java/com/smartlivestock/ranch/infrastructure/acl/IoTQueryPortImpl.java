@@ -1,6 +1,7 @@
 package com.smartlivestock.ranch.infrastructure.acl;
 
 import com.smartlivestock.iot.application.DeviceApplicationService;
+import com.smartlivestock.iot.application.DeviceContextCache;
 import com.smartlivestock.iot.domain.model.Device;
 import com.smartlivestock.iot.domain.model.Installation;
 import com.smartlivestock.iot.domain.model.DeviceStatus;
@@ -8,6 +9,7 @@ import com.smartlivestock.iot.domain.repository.DeviceRepository;
 import com.smartlivestock.iot.domain.repository.InstallationRepository;
 import com.smartlivestock.ranch.domain.port.IoTQueryPort;
 import com.smartlivestock.ranch.domain.port.dto.DeviceBrief;
+import com.smartlivestock.ranch.domain.port.dto.DevicePlacement;
 import com.smartlivestock.ranch.domain.port.dto.DeviceStatsInfo;
 import com.smartlivestock.ranch.domain.port.dto.InstallationInfo;
 import org.springframework.stereotype.Component;
@@ -24,19 +26,35 @@ public class IoTQueryPortImpl implements IoTQueryPort {
     private final DeviceRepository deviceRepository;
     private final InstallationRepository installationRepository;
     private final DeviceApplicationService deviceApplicationService;
+    private final DeviceContextCache deviceContextCache;
 
     public IoTQueryPortImpl(DeviceRepository deviceRepository,
                              InstallationRepository installationRepository,
-                             DeviceApplicationService deviceApplicationService) {
+                             DeviceApplicationService deviceApplicationService,
+                             DeviceContextCache deviceContextCache) {
         this.deviceRepository = deviceRepository;
         this.installationRepository = installationRepository;
         this.deviceApplicationService = deviceApplicationService;
+        this.deviceContextCache = deviceContextCache;
     }
 
+    // Served from the device context near-cache: called once per GPS point.
     @Override
     public Optional<InstallationInfo> findActiveInstallation(Long deviceId) {
-        return installationRepository.findActiveByDeviceId(deviceId)
-                .map(i -> new InstallationInfo(i.getId(), i.getDeviceId(), i.getLivestockId()));
+        DeviceContextCache.DeviceContext context = deviceContextCache.get(deviceId);
+        if (!context.installed()) {
+            return Optional.empty();
+        }
+        return Optional.of(new InstallationInfo(context.installationId(), deviceId, context.livestockId()));
+    }
+
+    @Override
+    public Optional<DevicePlacement> findPlacement(Long deviceId) {
+        DeviceContextCache.DeviceContext context = deviceContextCache.get(deviceId);
+        if (!context.installed() || context.farmId() == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new DevicePlacement(deviceId, context.livestockId(), context.farmId()));
     }
 
     @Override
@@ -0,0 +1,38 @@
+package com.smartlivestock.ranch.infrastructure.adapter;
+
+import com.smartlivestock.health.domain.event.HealthSnapshotsChangedEvent;
+import com.smartlivestock.ranch.application.service.RanchOverviewProjection.HealthState;
+import com.smartlivestock.ranch.application.service.RanchOverviewProjectionStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Feeds committed health snapshot changes from the Health context into the ranch
+ * overview projection.
+ */
+@Component
+@RequiredArgsConstructor
+public class HealthSnapshotEventListener {
+
+    private final RanchOverviewProjectionStore overviewProjectionStore;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onHealthSnapshotsChanged(HealthSnapshotsChangedEvent event) {
+        Map<Long, HealthState> statuses = new HashMap<>();
+        Map<Long, Integer> estrusScores = new HashMap<>();
+        for (HealthSnapshotsChangedEvent.Change change : event.getChanges()) {
+            if (change.tempStatus() != null && change.motilityStatus() != null) {
+                statuses.put(change.livestockId(), new HealthState(change.tempStatus(), change.motilityStatus(), 0));
+            }
+            if (change.estrusScore() != null) {
+                estrusScores.put(change.livestockId(), change.estrusScore());
+            }
+        }
+        overviewProjectionStore.recordHealth(event.getFarmId(), statuses, estrusScores);
+    }
+}
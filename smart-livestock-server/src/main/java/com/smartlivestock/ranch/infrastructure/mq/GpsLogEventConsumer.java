@@ -2,15 +2,17 @@ package com.smartlivestock.ranch.infrastructure.mq;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartlivestock.ranch.application.service.FenceIndexCache;
+import com.smartlivestock.ranch.application.service.FenceStateTracker;
+import com.smartlivestock.ranch.application.service.RanchOverviewProjectionStore;
 import com.smartlivestock.ranch.domain.model.*;
 import com.smartlivestock.ranch.domain.port.IoTQueryPort;
 import com.smartlivestock.ranch.domain.port.dto.InstallationInfo;
 import com.smartlivestock.ranch.domain.repository.AlertRepository;
-import com.smartlivestock.ranch.domain.repository.FenceRepository;
 import com.smartlivestock.ranch.domain.repository.LivestockRepository;
-import com.smartlivestock.ranch.domain.service.FenceBreachDetector;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.rocketmq.spring.annotation.ConsumeMode;
 import org.apache.rocketmq.spring.annotation.RocketMQMessageListener;
 import org.apache.rocketmq.spring.core.RocketMQListener;
 import org.springframework.stereotype.Component;
@@ -27,12 +29,23 @@ import java.util.List;
  * - Livestock outside all fences + in buffer zone → FENCE_APPROACH (WARNING)
  * - Livestock outside all fences + outside buffer → FENCE_BREACH (CRITICAL)
  * - Livestock returned inside fence → auto-resolve existing FENCE_BREACH/FENCE_APPROACH
+ *
+ * Alert work runs only when the livestock's {@link FenceState} differs from the last
+ * recorded one ({@link FenceStateTracker}); repeated points in the same zone skip
+ * the alert table entirely. Every position is recorded in the ranch overview
+ * projection ({@link RanchOverviewProjectionStore}).
+ *
+ * Consumed ORDERLY: the sharded GPS outbox drain routes every device to a fixed queue,
+ * so positions of one animal are applied in recorded-at order. A failing message is
+ * retried in place a bounded number of times before it goes to the DLQ.
  */
 @Slf4j
 @Component
 @RocketMQMessageListener(
         topic = "gps-log-updated",
-        consumerGroup = "ranch-gps-consumer"
+        consumerGroup = "ranch-gps-consumer",
+        consumeMode = ConsumeMode.ORDERLY,
+        maxReconsumeTimes = 5
 )
 @RequiredArgsConstructor
 public class GpsLogEventConsumer implements RocketMQListener<String> {
@@ -40,9 +53,10 @@ public class GpsLogEventConsumer implements RocketMQListener<String> {
     private final ObjectMapper objectMapper;
     private final IoTQueryPort ioTQueryPort;
     private final LivestockRepository livestockRepository;
-    private final FenceRepository fenceRepository;
+    private final FenceIndexCache fenceIndexCache;
     private final AlertRepository alertRepository;
-    private final FenceBreachDetector fenceBreachDetector;
+    private final FenceStateTracker fenceStateTracker;
+    private final RanchOverviewProjectionStore overviewProjectionStore;
 
     @Override
     @Transactional
@@ -80,8 +94,8 @@ public class GpsLogEventConsumer implements RocketMQListener<String> {
             }
 
             Long farmId = livestock.getFarmId();
-            List<Fence> fences = fenceRepository.findByFarmId(farmId);
-            if (fences.isEmpty()) return;
+            FenceIndex fenceIndex = fenceIndexCache.get(farmId);
+            if (fenceIndex.isEmpty()) return;
 
             GpsCoordinate position = new GpsCoordinate(latitude, longitude);
 
@@ -89,50 +103,41 @@ public class GpsLogEventConsumer implements RocketMQListener<String> {
             livestock.updatePosition(latitude, longitude);
             livestockRepository.save(livestock);
 
-            // Detect fence status
+            // Detect fence status; alerts only change when the zone state does
+            FenceIndex.Location location = fenceIndex.locate(position);
+            overviewProjectionStore.recordPosition(farmId, livestockId, latitude, longitude,
+                    location.insideAnyFence() ? fenceIndex.containingFenceIds(position) : List.of());
+            FenceState state = FenceState.of(location);
+            if (!fenceStateTracker.hasChanged(livestockId, state)) {
+                return;
+            }
+            fenceStateTracker.record(livestockId, state);
+
             // If point is inside at least one active fence → safe (no alerts)
-            boolean insideAnyFence = fences.stream()
-                    .filter(Fence::isActive)
-                    .anyMatch(fence -> fence.contains(position));
-            if (insideAnyFence) {
+            if (location.insideAnyFence()) {
                 autoResolveFenceAlerts(livestockId, farmId);
                 return;
             }
 
-            // Point is outside ALL active fences → detect breach or approach
-            List<Fence> breachedFences = fenceBreachDetector.findBreachedFences(fences, position);
-            List<Fence> approachingFences = fenceBreachDetector.findApproachingFences(fences, position);
+            // Point is outside ALL active fences → buffer zone (approach) or fully outside (breach)
             List<Fence> fullyBreachedFences = new java.util.ArrayList<>();
-
-            if (!breachedFences.isEmpty()) {
-                // Livestock is outside fence boundary
-                // Check if it's in buffer zone (approaching) or fully outside (breach)
-                for (Fence fence : breachedFences) {
-                    boolean inBuffer = fenceBreachDetector.isApproaching(fence, position);
-                    if (inBuffer) {
-                        // In buffer zone but outside fence → FENCE_APPROACH
-                        createAlertIfNeeded(livestock, fence, AlertType.FENCE_APPROACH,
-                                Severity.WARNING, position, source);
-                    } else {
-                        // Fully outside fence and buffer → FENCE_BREACH
-                        createAlertIfNeeded(livestock, fence, AlertType.FENCE_BREACH,
-                                Severity.CRITICAL, position, source);
-                        fullyBreachedFences.add(fence);
-                    }
-                }
-                if (!fullyBreachedFences.isEmpty()) {
-                    // Only escalation to FENCE_BREACH supersedes FENCE_APPROACH.
-                    autoResolveOppositeTypeAlerts(livestockId, fullyBreachedFences);
-                }
-            } else {
-                // Only approaching (in buffer zone but still "outside" fence in the contains check)
-                // This case shouldn't normally happen since approaching = inBuffer && !inFence,
-                // which means isBreaching would also be true. But handle it defensively.
-                for (Fence fence : approachingFences) {
+            for (FenceIndex.Proximity proximity : location.outsideFences()) {
+                Fence fence = proximity.fence();
+                if (proximity.inBuffer()) {
+                    // In buffer zone but outside fence → FENCE_APPROACH
                     createAlertIfNeeded(livestock, fence, AlertType.FENCE_APPROACH,
                             Severity.WARNING, position, source);
+                } else {
+                    // Fully outside fence and buffer → FENCE_BREACH
+                    createAlertIfNeeded(livestock, fence, AlertType.FENCE_BREACH,
+                            Severity.CRITICAL, position, source);
+                    fullyBreachedFences.add(fence);
                 }
             }
+            if (!fullyBreachedFences.isEmpty()) {
+                // Only escalation to FENCE_BREACH supersedes FENCE_APPROACH.
+                autoResolveOppositeTypeAlerts(livestockId, fullyBreachedFences);
+            }
 
         } catch (Exception e) {
             log.error("Failed to process GPS log message: {}", e.getMessage(), e);
@@ -141,25 +146,15 @@ public class GpsLogEventConsumer implements RocketMQListener<String> {
     }
 
     /**
-     * Auto-resolve all active fence alerts (FENCE_BREACH + FENCE_APPROACH) for a livestock.
+     * Auto-resolve all active fence alerts (FENCE_BREACH + FENCE_APPROACH) for a livestock,
+     * in one update.
      */
     private void autoResolveFenceAlerts(Long livestockId, Long farmId) {
-        List<Alert> breachAlerts = alertRepository.findByLivestockIdAndTypeAndStatus(
-                livestockId, AlertType.FENCE_BREACH, AlertStatus.ACTIVE);
-        List<Alert> approachAlerts = alertRepository.findByLivestockIdAndTypeAndStatus(
-                livestockId, AlertType.FENCE_APPROACH, AlertStatus.ACTIVE);
-
-        for (Alert alert : breachAlerts) {
-            alert.autoResolve();
-            alertRepository.save(alert);
-            log.info("Auto-resolved FENCE_BREACH alert [{}] for livestock [{}] - returned to safe zone",
-                    alert.getId(), livestockId);
-        }
-        for (Alert alert : approachAlerts) {
-            alert.autoResolve();
-            alertRepository.save(alert);
-            log.info("Auto-resolved FENCE_APPROACH alert [{}] for livestock [{}] - returned to safe zone",
-                    alert.getId(), livestockId);
+        List<Alert> resolved = alertRepository.autoResolveActive(livestockId,
+                List.of(AlertType.FENCE_BREACH, AlertType.FENCE_APPROACH), null);
+        for (Alert alert : resolved) {
+            log.info("Auto-resolved {} alert [{}] for livestock [{}] - returned to safe zone",
+                    alert.getType(), alert.getId(), livestockId);
         }
     }
 
@@ -202,14 +197,10 @@ public class GpsLogEventConsumer implements RocketMQListener<String> {
      */
     private void autoResolveOppositeTypeAlerts(Long livestockId, List<Fence> fences) {
         // If livestock is now fully breaching, resolve any approach alerts for same fences
-        List<Alert> approachAlerts = alertRepository.findByLivestockIdAndTypeAndStatus(
-                livestockId, AlertType.FENCE_APPROACH, AlertStatus.ACTIVE);
-        for (Alert alert : approachAlerts) {
-            if (fences.stream().anyMatch(f -> f.getId().equals(alert.getFenceId()))) {
-                alert.autoResolve();
-                alertRepository.save(alert);
-                log.info("Auto-resolved FENCE_APPROACH [{}] - escalated to FENCE_BREACH", alert.getId());
-            }
+        List<Alert> resolved = alertRepository.autoResolveActive(livestockId,
+                List.of(AlertType.FENCE_APPROACH), fences.stream().map(Fence::getId).toList());
+        for (Alert alert : resolved) {
+            log.info("Auto-resolved FENCE_APPROACH [{}] - escalated to FENCE_BREACH", alert.getId());
         }
     }
 
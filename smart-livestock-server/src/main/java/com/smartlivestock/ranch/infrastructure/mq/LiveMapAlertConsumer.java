@@ -0,0 +1,67 @@
+package com.smartlivestock.ranch.infrastructure.mq;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartlivestock.ranch.application.service.LiveMapBroadcaster;
+import com.smartlivestock.ranch.application.service.RanchOverviewProjection.AlertEntry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.rocketmq.spring.annotation.MessageModel;
+import org.apache.rocketmq.spring.annotation.RocketMQMessageListener;
+import org.apache.rocketmq.spring.core.RocketMQListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * RocketMQ consumer: listens on "alert-status-changed" topic and pushes alerts to the
+ * live map viewers of this node ({@link LiveMapBroadcaster}).
+ * <p>
+ * BROADCASTING, like {@link LiveMapGpsConsumer}. A failed message is logged and
+ * dropped; viewers still see the alert on their next ranch overview refresh.
+ */
+@Slf4j
+@Component
+@RocketMQMessageListener(
+        topic = "alert-status-changed",
+        consumerGroup = "ranch-live-map-alert-consumer",
+        messageModel = MessageModel.BROADCASTING
+)
+@RequiredArgsConstructor
+public class LiveMapAlertConsumer implements RocketMQListener<String> {
+
+    private final ObjectMapper objectMapper;
+    private final LiveMapBroadcaster liveMapBroadcaster;
+
+    @Override
+    public void onMessage(String message) {
+        if (!liveMapBroadcaster.hasSubscribers()) {
+            return;
+        }
+        try {
+            JsonNode root = objectMapper.readTree(message);
+            long farmId = root.path("farmId").asLong();
+            if (!liveMapBroadcaster.hasSubscribers(farmId)) {
+                return;
+            }
+            JsonNode alert = root.path("alert");
+            liveMapBroadcaster.publishAlert(farmId, new AlertEntry(
+                    root.path("alertId").asLong(),
+                    alert.path("type").asText(),
+                    alert.path("severity").asText(),
+                    root.path("newStatus").asText(),
+                    longOrNull(alert.path("livestockId")),
+                    longOrNull(alert.path("fenceId")),
+                    alert.path("message").asText(null),
+                    alert.path("messageKey").asText(null),
+                    alert.path("messageArgs").asText(null),
+                    alert.path("resolvedType").asText(null),
+                    null,
+                    0));
+        } catch (Exception e) {
+            log.warn("Failed to push alert to live map: {}", e.getMessage());
+        }
+    }
+
+    private static Long longOrNull(JsonNode node) {
+        return node.isNumber() ? node.asLong() : null;
+    }
+}
@@ -0,0 +1,70 @@
+package com.smartlivestock.ranch.infrastructure.mq;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartlivestock.ranch.application.service.LiveMapBroadcaster;
+import com.smartlivestock.ranch.domain.port.IoTQueryPort;
+import com.smartlivestock.ranch.domain.port.dto.DevicePlacement;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.rocketmq.spring.annotation.MessageModel;
+import org.apache.rocketmq.spring.annotation.RocketMQMessageListener;
+import org.apache.rocketmq.spring.core.RocketMQListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * RocketMQ consumer: listens on "gps-log-updated" topic and feeds positions to the
+ * live map viewers of this node ({@link LiveMapBroadcaster}).
+ * <p>
+ * BROADCASTING: every node needs the positions of the farms its own viewers watch.
+ * Messages are dropped unread while the node has no viewers, and a failed message is
+ * logged and dropped: the next position replaces it.
+ */
+@Slf4j
+@Component
+@RocketMQMessageListener(
+        topic = "gps-log-updated",
+        consumerGroup = "ranch-live-map-gps-consumer",
+        messageModel = MessageModel.BROADCASTING
+)
+@RequiredArgsConstructor
+public class LiveMapGpsConsumer implements RocketMQListener<String> {
+
+    private final ObjectMapper objectMapper;
+    private final IoTQueryPort ioTQueryPort;
+    private final LiveMapBroadcaster liveMapBroadcaster;
+
+    @Override
+    public void onMessage(String message) {
+        if (!liveMapBroadcaster.hasSubscribers()) {
+            return;
+        }
+        try {
+            JsonNode root = objectMapper.readTree(message);
+
+            // Imported trajectories are test routes, not where the herd is.
+            String source = root.path("source").isTextual()
+                    ? root.path("source").asText() : "AGENTIC_PLATFORM";
+            if ("MANUAL_IMPORT".equals(source)) {
+                return;
+            }
+
+            Long deviceId = root.path("deviceId").asLong();
+            DevicePlacement placement = ioTQueryPort.findPlacement(deviceId).orElse(null);
+            if (placement == null || !liveMapBroadcaster.hasSubscribers(placement.farmId())) {
+                return;
+            }
+
+            String recordedAt = root.path("recordedAt").asText(null);
+            liveMapBroadcaster.publishPosition(placement.farmId(), placement.livestockId(),
+                    new BigDecimal(root.path("latitude").asText()),
+                    new BigDecimal(root.path("longitude").asText()),
+                    recordedAt != null ? Instant.parse(recordedAt) : null);
+        } catch (Exception e) {
+            log.warn("Failed to push GPS position to live map: {}", e.getMessage());
+        }
+    }
+}
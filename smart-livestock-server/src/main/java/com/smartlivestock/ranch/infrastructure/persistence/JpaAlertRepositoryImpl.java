@@ -1,33 +1,68 @@
 package com.smartlivestock.ranch.infrastructure.persistence;
 
+import com.smartlivestock.ranch.domain.event.AlertStatusBatchChangedEvent;
+import com.smartlivestock.ranch.domain.event.AlertStatusChangedEvent;
 import com.smartlivestock.ranch.domain.model.Alert;
 import com.smartlivestock.ranch.domain.model.AlertStatus;
 import com.smartlivestock.ranch.domain.model.AlertType;
+import com.smartlivestock.ranch.domain.repository.AlertFilter;
+import com.smartlivestock.ranch.domain.repository.AlertQuery;
 import com.smartlivestock.ranch.domain.repository.AlertRepository;
+import com.smartlivestock.ranch.infrastructure.persistence.entity.AlertJpaEntity;
 import com.smartlivestock.ranch.infrastructure.persistence.mapper.AlertMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+/**
+ * Every save that creates an alert or changes its status publishes an
+ * {@link AlertStatusChangedEvent}; alerts are written from several contexts, and this
+ * is the one place all of them pass through.
+ * <p>
+ * The bulk transitions ({@code autoResolveActive}, {@code dismissActive},
+ * {@code archiveActive}) change every matching ACTIVE alert in one
+ * {@code UPDATE ... RETURNING} and publish a single {@link AlertStatusBatchChangedEvent}
+ * for the returned rows.
+ */
 @Repository
 @RequiredArgsConstructor
 public class JpaAlertRepositoryImpl implements AlertRepository {
 
     private final SpringDataAlertRepository springDataRepo;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Override
     public Alert save(Alert alert) {
         if (alert.getId() != null) {
-            return springDataRepo.findById(alert.getId())
-                    .map(existing -> {
-                        AlertMapper.updateEntity(existing, alert);
-                        return AlertMapper.toDomain(springDataRepo.save(existing));
-                    })
-                    .orElseGet(() -> AlertMapper.toDomain(springDataRepo.save(AlertMapper.toJpaEntity(alert))));
+            var existing = springDataRepo.findById(alert.getId());
+            if (existing.isPresent()) {
+                String previousStatus = existing.get().getStatus();
+                AlertMapper.updateEntity(existing.get(), alert);
+                Alert saved = AlertMapper.toDomain(springDataRepo.save(existing.get()));
+                if (!saved.getStatus().name().equals(previousStatus)) {
+                    eventPublisher.publishEvent(new AlertStatusChangedEvent(saved));
+                }
+                return saved;
+            }
         }
-        return AlertMapper.toDomain(springDataRepo.save(AlertMapper.toJpaEntity(alert)));
+        Alert saved = AlertMapper.toDomain(springDataRepo.save(AlertMapper.toJpaEntity(alert)));
+        eventPublisher.publishEvent(new AlertStatusChangedEvent(saved));
+        return saved;
     }
 
     @Override
@@ -55,6 +90,89 @@ public class JpaAlertRepositoryImpl implements AlertRepository {
                 .toList();
     }
 
+    @Override
+    public long countByFarmIdAndStatus(Long farmId, AlertStatus status) {
+        return springDataRepo.countByFarmIdAndStatus(farmId, status.name());
+    }
+
+    @Override
+    public Map<AlertType, Long> countByFarmIdAndStatusGroupByType(Long farmId, AlertStatus status) {
+        Map<AlertType, Long> counts = new EnumMap<>(AlertType.class);
+        for (Object[] row : springDataRepo.countByFarmIdAndStatusGroupByType(farmId, status.name())) {
+            counts.put(AlertType.valueOf((String) row[0]), (Long) row[1]);
+        }
+        return counts;
+    }
+
+    /**
+     * Keyset pages ({@code beforeId} set) read an id-ordered index and stop after
+     * {@code limit} matches. Status, type, status with type, severity and livestock
+     * each have such an index; other combinations and the time range are checked
+     * row by row along the walk, which stays short for recent windows but reads back
+     * to {@code to} for old ones. Offset pages also read the skipped rows.
+     */
+    @Override
+    public List<Alert> findPage(AlertQuery q) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        StringBuilder jpql = new StringBuilder("SELECT a FROM AlertJpaEntity a WHERE ")
+                .append(where(q.filter(), params));
+        if (q.beforeId() != null) {
+            jpql.append(" AND a.id < :beforeId");
+            params.put("beforeId", q.beforeId());
+        }
+        jpql.append(" ORDER BY a.id DESC");
+
+        TypedQuery<AlertJpaEntity> query = entityManager.createQuery(jpql.toString(), AlertJpaEntity.class);
+        params.forEach(query::setParameter);
+        if (q.beforeId() == null && q.offset() > 0) {
+            query.setFirstResult(q.offset());
+        }
+        query.setMaxResults(q.limit());
+
+        return query.getResultList().stream()
+                .map(AlertMapper::toDomain)
+                .toList();
+    }
+
+    @Override
+    public long countMatching(AlertFilter filter) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        TypedQuery<Long> query = entityManager.createQuery(
+                "SELECT COUNT(a) FROM AlertJpaEntity a WHERE " + where(filter, params), Long.class);
+        params.forEach(query::setParameter);
+        return query.getSingleResult();
+    }
+
+    private static String where(AlertFilter f, Map<String, Object> params) {
+        StringBuilder where = new StringBuilder("a.farmId = :farmId");
+        params.put("farmId", f.farmId());
+        if (f.status() != null) {
+            where.append(" AND a.status = :status");
+            params.put("status", f.status().name());
+        }
+        if (f.type() != null) {
+            where.append(" AND a.type = :type");
+            params.put("type", f.type().name());
+        }
+        if (f.severity() != null) {
+            where.append(" AND a.severity = :severity");
+            params.put("severity", f.severity().name());
+        }
+        if (f.livestockId() != null) {
+            where.append(" AND a.livestockId = :livestockId");
+            params.put("livestockId", f.livestockId());
+        }
+        if (f.from() != null) {
+            where.append(" AND a.createdAt >= :from");
+            params.put("from", f.from());
+        }
+        if (f.to() != null) {
+            where.append(" AND a.createdAt < :to");
+            params.put("to", f.to());
+        }
+        return where.toString();
+    }
+
     @Override
     public List<Alert> findByLivestockIdAndTypeAndStatus(Long livestockId, AlertType type, AlertStatus status) {
         return springDataRepo.findByLivestockIdAndTypeAndStatus(livestockId, type.name(), status.name()).stream()
@@ -68,4 +186,93 @@ public class JpaAlertRepositoryImpl implements AlertRepository {
                 .map(AlertMapper::toDomain)
                 .toList();
     }
+
+    @Override
+    @Transactional
+    public List<Alert> autoResolveActive(Long livestockId, Collection<AlertType> types, Collection<Long> fenceIds) {
+        if (types.isEmpty() || (fenceIds != null && fenceIds.isEmpty())) {
+            return List.of();
+        }
+        Map<String, Object> params = new LinkedHashMap<>();
+        StringBuilder where = new StringBuilder(" AND livestock_id = :livestockId AND type IN (:types)");
+        params.put("livestockId", livestockId);
+        params.put("types", types.stream().map(AlertType::name).toList());
+        if (fenceIds != null) {
+            where.append(" AND fence_id IN (:fenceIds)");
+            params.put("fenceIds", fenceIds);
+        }
+        return updateActive(AlertStatus.AUTO_RESOLVED, Alert.RESOLVED_AUTO, "", where, params);
+    }
+
+    @Override
+    @Transactional
+    public List<Alert> dismissActive(Long farmId, Collection<Long> alertIds, Long userId) {
+        if (alertIds.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("farmId", farmId);
+        params.put("alertIds", alertIds);
+        params.put("userId", userId);
+        return updateActive(AlertStatus.DISMISSED, Alert.RESOLVED_MANUAL_DISMISS,
+                ", handled_by = :userId, handled_at = NOW()", new StringBuilder(" AND farm_id = :farmId AND id IN (:alertIds)"), params);
+    }
+
+    @Override
+    @Transactional
+    public List<Alert> archiveActive(AlertFilter q) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        StringBuilder where = new StringBuilder(" AND farm_id = :farmId");
+        params.put("farmId", q.farmId());
+        if (q.type() != null) {
+            where.append(" AND type = :type");
+            params.put("type", q.type().name());
+        }
+        if (q.severity() != null) {
+            where.append(" AND severity = :severity");
+            params.put("severity", q.severity().name());
+        }
+        if (q.livestockId() != null) {
+            where.append(" AND livestock_id = :livestockId");
+            params.put("livestockId", q.livestockId());
+        }
+        if (q.from() != null) {
+            where.append(" AND created_at >= :from");
+            params.put("from", q.from());
+        }
+        if (q.to() != null) {
+            where.append(" AND created_at < :to");
+            params.put("to", q.to());
+        }
+        return updateActive(AlertStatus.AUTO_RESOLVED, Alert.RESOLVED_AUTO, "", where, params);
+    }
+
+    /**
+     * Runs one {@code UPDATE ... RETURNING} over ACTIVE alerts. The persistence context
+     * is flushed and cleared first, so pending writes are not lost and no managed
+     * entity keeps the status it had before the update. Statuses and the resolved type
+     * are bound from the domain constants, like every other query here.
+     */
+    private List<Alert> updateActive(AlertStatus status, String resolvedType, String extraSet,
+                                     StringBuilder where, Map<String, Object> params) {
+        entityManager.flush();
+        entityManager.clear();
+        Query query = entityManager.createNativeQuery(
+                "UPDATE alerts SET status = :newStatus, resolved_type = :resolvedType" + extraSet
+                        + ", resolved_at = NOW(), updated_at = NOW()"
+                        + " WHERE status = :activeStatus" + where + " RETURNING *",
+                AlertJpaEntity.class);
+        params.forEach(query::setParameter);
+        query.setParameter("newStatus", status.name());
+        query.setParameter("resolvedType", resolvedType);
+        query.setParameter("activeStatus", AlertStatus.ACTIVE.name());
+        @SuppressWarnings("unchecked")
+        List<AlertJpaEntity> updated = query.getResultList();
+        List<Alert> alerts = updated.stream().map(AlertMapper::toDomain).toList();
+        if (!alerts.isEmpty()) {
+            eventPublisher.publishEvent(new AlertStatusBatchChangedEvent(
+                    alerts.stream().map(AlertStatusChangedEvent::new).toList()));
+        }
+        return alerts;
+    }
 }
@@ -6,7 +6,9 @@ import com.smartlivestock.ranch.infrastructure.persistence.mapper.FenceMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Repository
@@ -44,6 +46,15 @@ public class JpaFenceRepositoryImpl implements FenceRepository {
                 .toList();
     }
 
+    @Override
+    public Map<Long, Integer> findVersionsByFarmId(Long farmId) {
+        Map<Long, Integer> versions = new HashMap<>();
+        for (Object[] row : springDataRepo.findVersionsByFarmId(farmId)) {
+            versions.put(((Number) row[0]).longValue(), ((Number) row[1]).intValue());
+        }
+        return versions;
+    }
+
     @Override
     public void deleteById(Long id) {
         springDataRepo.deleteById(id);
@@ -9,6 +9,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -37,6 +38,16 @@ public class JpaLivestockRepositoryImpl implements LivestockRepository {
         return springDataRepo.findById(id).map(LivestockMapper::toDomain);
     }
 
+    @Override
+    public List<Livestock> findAllByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return springDataRepo.findAllById(ids).stream()
+                .map(LivestockMapper::toDomain)
+                .toList();
+    }
+
     @Override
     public List<Livestock> findByFarmId(Long farmId) {
         return springDataRepo.findByFarmId(farmId).stream()
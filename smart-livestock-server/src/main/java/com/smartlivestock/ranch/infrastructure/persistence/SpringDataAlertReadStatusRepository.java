@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collection;
 import java.util.List;
@@ -23,4 +24,16 @@ public interface SpringDataAlertReadStatusRepository extends JpaRepository<Alert
     @Query(value = "INSERT INTO alert_read_status (alert_id, user_id, read_at) VALUES (:alertId, :userId, NOW()) ON CONFLICT DO NOTHING",
             nativeQuery = true)
     void insertOnConflictDoNothing(@Param("alertId") Long alertId, @Param("userId") Long userId);
+
+    /**
+     * Marks every listed alert that exists as read, in one statement, and returns how
+     * many exist; alerts already read count too. Not read-only, though it is a query.
+     */
+    @Transactional
+    @Query(value = "WITH target AS (SELECT id FROM alerts WHERE id IN (:alertIds)), "
+            + "marked AS (INSERT INTO alert_read_status (alert_id, user_id, read_at) "
+            + "SELECT id, :userId, NOW() FROM target ON CONFLICT DO NOTHING) "
+            + "SELECT COUNT(*) FROM target",
+            nativeQuery = true)
+    long insertAllOnConflictDoNothing(@Param("alertIds") Collection<Long> alertIds, @Param("userId") Long userId);
 }
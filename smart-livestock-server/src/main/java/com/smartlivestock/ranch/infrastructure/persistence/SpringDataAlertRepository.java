@@ -2,12 +2,19 @@ package com.smartlivestock.ranch.infrastructure.persistence;
 
 import com.smartlivestock.ranch.infrastructure.persistence.entity.AlertJpaEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface SpringDataAlertRepository extends JpaRepository<AlertJpaEntity, Long> {
     List<AlertJpaEntity> findByFarmId(Long farmId);
     List<AlertJpaEntity> findByFarmIdAndStatus(Long farmId, String status);
+    long countByFarmIdAndStatus(Long farmId, String status);
+
+    @Query("SELECT a.type, COUNT(a) FROM AlertJpaEntity a WHERE a.farmId = :farmId AND a.status = :status GROUP BY a.type")
+    List<Object[]> countByFarmIdAndStatusGroupByType(@Param("farmId") Long farmId, @Param("status") String status);
+
     List<AlertJpaEntity> findByFarmIdOrderByIdDesc(Long farmId, org.springframework.data.domain.Pageable pageable);
     List<AlertJpaEntity> findByLivestockIdAndTypeAndStatus(Long livestockId, String type, String status);
     List<AlertJpaEntity> findByDeviceIdAndTypeAndStatus(Long deviceId, String type, String status);
@@ -11,6 +11,9 @@ public interface SpringDataFenceRepository extends JpaRepository<FenceJpaEntity,
     List<FenceJpaEntity> findByFarmId(Long farmId);
     long countByFarmId(Long farmId);
 
+    @Query("SELECT f.id, f.version FROM FenceJpaEntity f WHERE f.farmId = :farmId")
+    List<Object[]> findVersionsByFarmId(@Param("farmId") Long farmId);
+
     @Query("SELECT COUNT(f) FROM FenceJpaEntity f WHERE f.farmId = :farmId AND f.farmId IN (SELECT fm.id FROM com.smartlivestock.identity.infrastructure.persistence.entity.FarmJpaEntity fm WHERE fm.tenantId = :tenantId)")
     long countByFarmIdAndTenantId(@Param("farmId") Long farmId, @Param("tenantId") Long tenantId);
 }
@@ -1,11 +1,11 @@
 package com.smartlivestock.ranch.interfaces;
 
 import com.smartlivestock.ranch.application.AlertApplicationService;
+import com.smartlivestock.ranch.application.AlertApplicationService.AlertPage;
 import com.smartlivestock.ranch.application.command.AcknowledgeAlertCommand;
 import com.smartlivestock.ranch.application.command.ArchiveAlertCommand;
-import com.smartlivestock.ranch.application.command.HandleAlertCommand;
 import com.smartlivestock.ranch.application.dto.AlertDto;
-import com.smartlivestock.ranch.domain.model.AlertStatus;
+import com.smartlivestock.ranch.domain.repository.AlertQuery;
 import com.smartlivestock.shared.common.ApiException;
 import com.smartlivestock.shared.common.ApiResponse;
 import com.smartlivestock.shared.common.ErrorCode;
@@ -15,6 +15,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -25,29 +26,34 @@ public class AlertController {
 
     private final AlertApplicationService alertApplicationService;
 
+    /**
+     * Alerts newest first, filtered by status, type, severity, livestock and creation
+     * time. Paged by {@code page} and {@code total} as before, or, cheaper on long
+     * histories, by {@code cursor}: pass the previous response's {@code nextCursor},
+     * which is null on the last page. Cursor pages carry no {@code total}.
+     */
     @GetMapping("/alerts")
     public ResponseEntity<ApiResponse<Map<String, Object>>> listAlerts(
             @PathVariable Long farmId,
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "20") int pageSize,
             @RequestParam(required = false) String status,
+            @RequestParam(required = false) String type,
             @RequestParam(required = false) String severity,
+            @RequestParam(required = false) Long livestockId,
             @RequestParam(required = false) String startTime,
-            @RequestParam(required = false) String endTime) {
+            @RequestParam(required = false) String endTime,
+            @RequestParam(required = false) String cursor) {
         Long userId = getCurrentUserId();
-        List<AlertDto> alerts;
-        if (status != null) {
-            AlertStatus alertStatus = AlertStatus.valueOf(status.toUpperCase());
-            alerts = alertApplicationService.listByFarmAndStatus(farmId, alertStatus);
-        } else {
-            alerts = alertApplicationService.listByFarmWithReadStatus(farmId, userId);
-        }
-        Map<String, Object> data = Map.of(
-                "items", alerts,
-                "page", page,
-                "pageSize", pageSize,
-                "total", alerts.size()
-        );
+        AlertQuery query = AlertApplicationService.query(AlertApplicationService.filter(farmId, status, type,
+                severity, livestockId, startTime, endTime), cursor, page, pageSize);
+        AlertPage result = alertApplicationService.listPage(query, userId);
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("items", result.items());
+        data.put("page", page);
+        data.put("pageSize", query.limit());
+        data.put("total", result.total());
+        data.put("nextCursor", result.nextCursor());
         return ResponseEntity.ok(ApiResponse.ok(data));
     }
 
@@ -137,20 +143,32 @@ public class AlertController {
         if (alertIds == null) {
             throw new ApiException(ErrorCode.VALIDATION_ERROR, "alertIds 不能为空");
         }
-        int handledCount = 0;
-        for (String alertIdStr : alertIds) {
-            try {
-                Long alertId = Long.valueOf(alertIdStr);
-                HandleAlertCommand command = new HandleAlertCommand(alertId, userId);
-                alertApplicationService.handle(command);
-                handledCount++;
-            } catch (ApiException e) {
-                // Skip alerts that cannot be handled
-            }
-        }
+        int handledCount = alertApplicationService.batchDismiss(farmId,
+                alertIds.stream().map(Long::valueOf).toList(), userId);
         return ResponseEntity.ok(ApiResponse.ok(Map.of("handledCount", handledCount)));
     }
 
+    /**
+     * Archives every ACTIVE alert matching the filter (type, severity, livestockId,
+     * startTime, endTime; at least one required) in one update, e.g. to clear a fence incident.
+     */
+    @PostMapping("/alerts/batch-archive")
+    @org.springframework.security.access.prepost.PreAuthorize("hasAnyRole('OWNER', 'B2B_ADMIN')")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> batchArchiveAlerts(
+            @PathVariable Long farmId,
+            @RequestBody(required = false) Map<String, String> body) {
+        Map<String, String> filter = body != null ? body : Map.of();
+        Long livestockId;
+        try {
+            livestockId = filter.get("livestockId") != null ? Long.valueOf(filter.get("livestockId")) : null;
+        } catch (NumberFormatException e) {
+            throw new ApiException(ErrorCode.VALIDATION_ERROR, "无效的牲畜ID: " + filter.get("livestockId"));
+        }
+        int archivedCount = alertApplicationService.archiveByFilter(AlertApplicationService.filter(farmId, null,
+                filter.get("type"), filter.get("severity"), livestockId, filter.get("startTime"), filter.get("endTime")));
+        return ResponseEntity.ok(ApiResponse.ok(Map.of("archivedCount", archivedCount)));
+    }
+
     private Long getCurrentUserId() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || authentication.getPrincipal() == null) {
@@ -4,9 +4,9 @@ import com.smartlivestock.ranch.domain.port.IoTQueryPort;
 import com.smartlivestock.ranch.application.AlertApplicationService;
 import com.smartlivestock.ranch.application.FenceApplicationService;
 import com.smartlivestock.ranch.application.LivestockApplicationService;
-import com.smartlivestock.ranch.application.dto.AlertDto;
 import com.smartlivestock.ranch.application.dto.FenceDto;
 import com.smartlivestock.ranch.application.dto.LivestockDto;
+import com.smartlivestock.ranch.domain.model.AlertType;
 import com.smartlivestock.ranch.domain.model.Fence;
 import com.smartlivestock.ranch.domain.model.GpsCoordinate;
 import com.smartlivestock.ranch.domain.model.Livestock;
@@ -40,7 +40,7 @@ public class DashboardController {
     public ResponseEntity<ApiResponse<Map<String, Object>>> summary(
             @PathVariable Long farmId) {
         List<LivestockDto> livestock = livestockApplicationService.listByFarm(farmId);
-        List<AlertDto> alerts = alertApplicationService.listByFarm(farmId);
+        Map<AlertType, Long> activeAlerts = alertApplicationService.countActiveByType(farmId);
         List<FenceDto> fences = fenceApplicationService.listByFarm(farmId);
 
         long healthyCount = livestock.stream()
@@ -49,8 +49,7 @@ public class DashboardController {
                 .filter(l -> "WARNING".equals(l.healthStatus())).count();
         long criticalCount = livestock.stream()
                 .filter(l -> "CRITICAL".equals(l.healthStatus())).count();
-        long activeAlertCount = alerts.stream()
-                .filter(a -> "ACTIVE".equals(a.status())).count();
+        long activeAlertCount = activeAlerts.values().stream().mapToLong(Long::longValue).sum();
 
         long onlineDeviceCount = ioTQueryPort.getDeviceStats(null).activeCount();
 
@@ -58,8 +57,10 @@ public class DashboardController {
         Double inFenceRate = calculateInFenceRate(farmId);
 
         // Alert summaries grouped by type (ACTIVE only)
-        Map<String, Integer> fenceAlertSummary = buildFenceAlertSummary(alerts);
-        Map<String, Integer> healthAlertSummary = buildHealthAlertSummary(alerts);
+        Map<String, Integer> fenceAlertSummary = buildAlertSummary(activeAlerts,
+                AlertType.FENCE_BREACH, AlertType.FENCE_APPROACH, AlertType.ZONE_APPROACH);
+        Map<String, Integer> healthAlertSummary = buildAlertSummary(activeAlerts,
+                AlertType.TEMPERATURE_ABNORMAL, AlertType.DIGESTIVE_ABNORMAL, AlertType.ESTRUS, AlertType.EPIDEMIC);
 
         Map<String, Object> data = new LinkedHashMap<>();
         data.put("livestockCount", livestock.size());
@@ -102,31 +103,10 @@ public class DashboardController {
         return (double) inFence / withGps;
     }
 
-    private Map<String, Integer> buildFenceAlertSummary(List<AlertDto> alerts) {
+    private Map<String, Integer> buildAlertSummary(Map<AlertType, Long> activeAlerts, AlertType... types) {
         Map<String, Integer> summary = new LinkedHashMap<>();
-        summary.put("FENCE_BREACH", 0);
-        summary.put("FENCE_APPROACH", 0);
-        summary.put("ZONE_APPROACH", 0);
-        for (AlertDto alert : alerts) {
-            if (!"ACTIVE".equals(alert.status())) continue;
-            if (summary.containsKey(alert.type())) {
-                summary.merge(alert.type(), 1, Integer::sum);
-            }
-        }
-        return summary;
-    }
-
-    private Map<String, Integer> buildHealthAlertSummary(List<AlertDto> alerts) {
-        Map<String, Integer> summary = new LinkedHashMap<>();
-        summary.put("TEMPERATURE_ABNORMAL", 0);
-        summary.put("DIGESTIVE_ABNORMAL", 0);
-        summary.put("ESTRUS", 0);
-        summary.put("EPIDEMIC", 0);
-        for (AlertDto alert : alerts) {
-            if (!"ACTIVE".equals(alert.status())) continue;
-            if (summary.containsKey(alert.type())) {
-                summary.merge(alert.type(), 1, Integer::sum);
-            }
+        for (AlertType type : types) {
+            summary.put(type.name(), activeAlerts.getOrDefault(type, 0L).intValue());
         }
         return summary;
     }
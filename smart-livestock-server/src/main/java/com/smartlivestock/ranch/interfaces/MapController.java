@@ -31,7 +31,7 @@ public class MapController {
             @PathVariable Long farmId) {
         List<LivestockDto> livestock = livestockApplicationService.listByFarm(farmId);
         List<FenceDto> fences = fenceApplicationService.listByFarm(farmId);
-        List<AlertDto> alerts = alertApplicationService.listByFarm(farmId);
+        List<AlertDto> alerts = alertApplicationService.listActive(farmId);
 
         List<Map<String, Object>> livestockPositions = livestock.stream()
                 .filter(l -> l.lastLatitude() != null && l.lastLongitude() != null)
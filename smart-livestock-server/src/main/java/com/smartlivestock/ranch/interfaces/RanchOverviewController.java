@@ -1,7 +1,9 @@
 package com.smartlivestock.ranch.interfaces;
 
 import com.smartlivestock.ranch.application.RanchOverviewApplicationService;
+import com.smartlivestock.ranch.application.RanchOverviewApplicationService.OverviewState;
 import com.smartlivestock.ranch.application.dto.RanchOverviewDto.RanchOverviewResponse;
+import com.smartlivestock.ranch.application.service.LiveMapBroadcaster;
 import com.smartlivestock.ranch.domain.port.IdentityQueryPort;
 import com.smartlivestock.shared.common.ApiException;
 import com.smartlivestock.shared.common.ErrorCode;
@@ -10,8 +12,12 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import com.smartlivestock.shared.tenant.TenantContext;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/v1/farms/{farmId}")
@@ -20,6 +26,7 @@ public class RanchOverviewController {
 
     private final RanchOverviewApplicationService ranchOverviewService;
     private final IdentityQueryPort identityQueryPort;
+    private final LiveMapBroadcaster liveMapBroadcaster;
 
     private Long verifyFarmOwnership(Long farmId) {
         var farm = identityQueryPort.findFarmById(farmId)
@@ -31,10 +38,49 @@ public class RanchOverviewController {
         return farm.tenantId();
     }
 
+    /**
+     * Full overview, or with {@code since} (the {@code version} of an earlier response)
+     * only what changed since then, which is an empty delta if nothing did. Answers 304
+     * when {@code If-None-Match} names the current version; that is decided before the
+     * response is built.
+     */
     @GetMapping("/ranch-overview")
-    public ResponseEntity<ApiResponse<RanchOverviewResponse>> getOverview(@PathVariable Long farmId) {
+    public ResponseEntity<ApiResponse<RanchOverviewResponse>> getOverview(
+            @PathVariable Long farmId,
+            @RequestParam(required = false) String since,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         Long tenantId = verifyFarmOwnership(farmId);
-        return ResponseEntity.ok(ApiResponse.ok(ranchOverviewService.getOverview(farmId, getCurrentUserId(), tenantId)));
+        OverviewState state = ranchOverviewService.loadState(farmId, getCurrentUserId(), tenantId);
+        String etag = "\"" + state.version() + "\"";
+        if (matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        RanchOverviewResponse overview = ranchOverviewService.getOverview(state, since);
+        return ResponseEntity.ok().eTag(etag).body(ApiResponse.ok(overview));
+    }
+
+    /** Whether an {@code If-None-Match} list names {@code etag}, compared weakly as RFC 9110 asks. */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String t = tag.trim();
+            if (t.equals("*") || (t.startsWith("W/") ? t.substring(2) : t).equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Live map stream: coalesced positions and alerts as server-sent events, see
+     * {@link com.smartlivestock.ranch.application.dto.LiveMapDto}.
+     */
+    @GetMapping(path = "/live-map", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamLiveMap(@PathVariable Long farmId) {
+        verifyFarmOwnership(farmId);
+        return liveMapBroadcaster.subscribe(farmId);
     }
 
     private Long getCurrentUserId() {
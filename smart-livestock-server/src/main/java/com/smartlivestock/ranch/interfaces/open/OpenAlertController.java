@@ -1,8 +1,9 @@
 package com.smartlivestock.ranch.interfaces.open;
 
 import com.smartlivestock.ranch.application.AlertApplicationService;
+import com.smartlivestock.ranch.application.AlertApplicationService.AlertPage;
 import com.smartlivestock.ranch.application.dto.AlertDto;
-import com.smartlivestock.ranch.domain.model.AlertStatus;
+import com.smartlivestock.ranch.domain.repository.AlertQuery;
 import com.smartlivestock.shared.common.ApiResponse;
 import com.smartlivestock.shared.security.ApiKeyAuthService;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,7 +11,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -27,7 +28,9 @@ public class OpenAlertController {
 
     /**
      * GET /api/v1/open/farms/{farmId}/alerts
-     * Paginated alert list with filters (severity, status, time range).
+     * Alert list, newest first, with filters (status, type, severity, livestock, time range).
+     * Paged by page number, or by cursor: pass back {@code nextCursor}, null on the
+     * last page (cursor pages carry no total).
      * pageSize max 100 for Open API.
      */
     @GetMapping
@@ -37,8 +40,11 @@ public class OpenAlertController {
             @RequestParam(defaultValue = "20") int pageSize,
             @RequestParam(required = false) String severity,
             @RequestParam(required = false) String status,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) Long livestockId,
             @RequestParam(required = false) String startTime,
             @RequestParam(required = false) String endTime,
+            @RequestParam(required = false) String cursor,
             HttpServletRequest request) {
         String apiKey = apiKeyAuthService.requireApiKey(request);
         apiKeyAuthService.validateFarmAccess(apiKey, farmId);
@@ -46,24 +52,16 @@ public class OpenAlertController {
         // Open API: pageSize capped at 100
         int effectivePageSize = Math.min(pageSize, 100);
 
-        List<AlertDto> alerts;
-        if (status != null) {
-            AlertStatus alertStatus = AlertStatus.valueOf(status.toUpperCase());
-            alerts = alertApplicationService.listByFarmAndStatus(farmId, alertStatus);
-        } else {
-            alerts = alertApplicationService.listByFarm(farmId);
-        }
+        AlertQuery query = AlertApplicationService.query(AlertApplicationService.filter(farmId, status, type,
+                severity, livestockId, startTime, endTime), cursor, page, effectivePageSize);
+        AlertPage result = alertApplicationService.listPage(query, null);
 
-        // Phase 1: severity and time range filters not yet applied at service layer.
-        // The service returns all alerts for the farm; client-side filtering or
-        // repository-level filtering will be added in Phase 2.
-
-        Map<String, Object> data = Map.of(
-                "items", alerts,
-                "page", page,
-                "pageSize", effectivePageSize,
-                "total", alerts.size()
-        );
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("items", result.items());
+        data.put("page", page);
+        data.put("pageSize", query.limit());
+        data.put("total", result.total());
+        data.put("nextCursor", result.nextCursor());
 
         return ResponseEntity.ok()
                 .body(ApiResponse.ok(data));
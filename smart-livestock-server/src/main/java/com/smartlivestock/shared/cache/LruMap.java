@@ -0,0 +1,49 @@
+package com.smartlivestock.shared.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+
+/**
+ * In-process map bounded to {@code maxSize} entries that drops the least recently
+ * used one when full. Every access takes one lock, which is fine for the per-entry
+ * caches it backs: each call is a hash lookup plus a list splice.
+ * <p>
+ * The bound is read on every insert, so it can come from a {@code @Value} field that
+ * is injected after the map is created.
+ */
+public class LruMap<K, V> {
+
+    private final LinkedHashMap<K, V> map;
+
+    public LruMap(IntSupplier maxSize) {
+        this.map = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize.getAsInt();
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        return map.get(key);
+    }
+
+    public synchronized void put(K key, V value) {
+        map.put(key, value);
+    }
+
+    /** {@code create} runs under the map's lock; keep it to building a value. */
+    public synchronized V computeIfAbsent(K key, Function<? super K, ? extends V> create) {
+        return map.computeIfAbsent(key, create);
+    }
+
+    public synchronized V remove(K key) {
+        return map.remove(key);
+    }
+
+    public synchronized int size() {
+        return map.size();
+    }
+}
@@ -5,6 +5,10 @@ import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -21,6 +25,12 @@ public class RedisCacheService {
         return redis.opsForValue().get(key);
     }
 
+    /** Values of {@code keys} in one round trip, {@code null} where a key is missing. */
+    public List<String> multiGet(Collection<String> keys) {
+        List<String> values = redis.opsForValue().multiGet(keys);
+        return values != null ? values : Collections.nCopies(keys.size(), null);
+    }
+
     public void setHash(String key, Map<String, String> fields) {
         redis.opsForHash().putAll(key, fields);
     }
@@ -29,6 +39,16 @@ public class RedisCacheService {
         return (String) redis.opsForHash().get(key, field);
     }
 
+    public Map<String, String> getHash(String key) {
+        Map<String, String> fields = new HashMap<>();
+        redis.opsForHash().entries(key).forEach((field, value) -> fields.put((String) field, (String) value));
+        return fields;
+    }
+
+    public void incrementHash(String key, Map<String, Long> deltas) {
+        deltas.forEach((field, delta) -> redis.opsForHash().increment(key, field, delta));
+    }
+
     public void addToSet(String key, String... values) {
         redis.opsForSet().add(key, values);
     }
@@ -41,6 +61,15 @@ public class RedisCacheService {
         redis.delete(key);
     }
 
+    public void delete(Collection<String> keys) {
+        redis.delete(keys);
+    }
+
+    /** Renames {@code key} to {@code newKey}, replacing it; {@code key} must exist. */
+    public void rename(String key, String newKey) {
+        redis.rename(key, newKey);
+    }
+
     public boolean setIfAbsent(String key, String value, Duration ttl) {
         return Boolean.TRUE.equals(redis.opsForValue().setIfAbsent(key, value, ttl));
     }
@@ -4,8 +4,13 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.rocketmq.spring.core.RocketMQTemplate;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Publishes domain events to RocketMQ topics for cross-context distribution.
  * <p>
@@ -53,4 +58,62 @@ public class RocketMQEventPublisher {
             // In a production system, consider a fallback to an outbox table or retry queue.
         }
     }
+
+    /**
+     * Publish several event payloads to one topic in a single batch send.
+     * Each payload is still delivered to consumers as an individual message.
+     * If RocketMQ is not available, the call is silently skipped.
+     *
+     * @param topic  the target topic (use constants from {@link Topics})
+     * @param events the event payloads to send, in delivery order
+     */
+    public void publishBatch(String topic, List<?> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (rocketMQTemplate == null) {
+            log.debug("RocketMQTemplate not available — skipping batch publish of {} events to topic [{}]",
+                    events.size(), topic);
+            return;
+        }
+        try {
+            List<Message<String>> messages = toMessages(events);
+            rocketMQTemplate.syncSend(topic, messages);
+            log.debug("Published {} events to topic [{}]", messages.size(), topic);
+        } catch (Exception ex) {
+            log.warn("Failed to batch publish {} events to topic [{}]: {}", events.size(), topic, ex.getMessage());
+        }
+    }
+
+    /**
+     * Like {@link #publishBatch}, but sends to the queue selected by {@code hashKey}.
+     * Batches sharing a key are delivered in send order to orderly consumers.
+     * If RocketMQ is not available, the call is silently skipped.
+     */
+    public void publishBatchOrderly(String topic, List<?> events, String hashKey) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (rocketMQTemplate == null) {
+            log.debug("RocketMQTemplate not available — skipping ordered batch publish of {} events to topic [{}]",
+                    events.size(), topic);
+            return;
+        }
+        try {
+            List<Message<String>> messages = toMessages(events);
+            rocketMQTemplate.syncSendOrderly(topic, messages, hashKey);
+            log.debug("Published {} events to topic [{}] with hashKey [{}]", messages.size(), topic, hashKey);
+        } catch (Exception ex) {
+            log.warn("Failed to ordered batch publish {} events to topic [{}]: {}",
+                    events.size(), topic, ex.getMessage());
+        }
+    }
+
+    private List<Message<String>> toMessages(List<?> events) throws Exception {
+        List<Message<String>> messages = new ArrayList<>(events.size());
+        for (Object event : events) {
+            messages.add(MessageBuilder.withPayload(objectMapper.writeValueAsString(event)).build());
+        }
+        return messages;
+    }
 }
@@ -0,0 +1,50 @@
+package com.smartlivestock.shared.persistence;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Plain JDBC batches on the {@link EntityManager}'s connection, so they join the
+ * caller's transaction: one prepared statement, bound once per row and sent as one
+ * batch. Used for the high-volume inserts and upserts, where a JPA save per row costs
+ * an entity, a flush and a round trip each.
+ */
+public final class JdbcBatch {
+
+    private JdbcBatch() {}
+
+    @FunctionalInterface
+    public interface Binder<T> {
+        void bind(PreparedStatement ps, T row) throws SQLException;
+    }
+
+    /** Runs {@code sql} once per row in one batch; returns how many rows were written. */
+    public static <T> int execute(EntityManager entityManager, String sql, List<T> rows, Binder<T> binder) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                for (T row : rows) {
+                    binder.bind(ps, row);
+                    ps.addBatch();
+                }
+                return rowsWritten(ps.executeBatch());
+            }
+        });
+    }
+
+    /** Drivers may report {@code SUCCESS_NO_INFO} for a batched row; that counts as one. */
+    static int rowsWritten(int[] counts) {
+        int written = 0;
+        for (int count : counts) {
+            written += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+        }
+        return written;
+    }
+}
@@ -0,0 +1,22 @@
+-- Archival tier for gps_logs: one columnar, delta/varint-encoded block per device
+-- per closed day (see GpsLogBlock). GpsLogArchiveJob moves rows here; history
+-- reads merge blocks with whatever rows are still in gps_logs.
+CREATE TABLE gps_log_blocks (
+    id BIGSERIAL PRIMARY KEY,
+    device_id BIGINT NOT NULL REFERENCES devices(id),
+    log_date DATE NOT NULL,
+    point_count INTEGER NOT NULL,
+    first_at TIMESTAMP NOT NULL,
+    last_at TIMESTAMP NOT NULL,
+    data BYTEA NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    CONSTRAINT uq_gps_log_blocks_device_date UNIQUE (device_id, log_date),
+    CONSTRAINT chk_gps_log_blocks_point_count CHECK (point_count > 0)
+);
+
+CREATE INDEX idx_gps_log_blocks_device_first_at
+    ON gps_log_blocks(device_id, first_at);
+
+-- Blocks are already compact; skip pglz and keep them out of line.
+ALTER TABLE gps_log_blocks ALTER COLUMN data SET STORAGE EXTERNAL;
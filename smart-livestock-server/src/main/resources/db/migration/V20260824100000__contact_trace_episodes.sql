@@ -0,0 +1,7 @@
+-- Contact episodes derived from GPS (ContactTracingService): one row per direction
+-- of a pair per episode, upserted as the episode grows. Rows written before this
+-- migration keep a NULL episode start and never conflict.
+ALTER TABLE contact_traces ADD COLUMN IF NOT EXISTS episode_started_at TIMESTAMP;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_contact_traces_episode
+    ON contact_traces(from_livestock_id, to_livestock_id, episode_started_at);
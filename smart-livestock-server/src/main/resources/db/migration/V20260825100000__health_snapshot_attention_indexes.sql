@@ -0,0 +1,6 @@
+-- Fever and digestive lists read only the non-NORMAL snapshots of a farm; the herd
+-- counts come from the maintained aggregate (health:herd:<farmId>).
+CREATE INDEX IF NOT EXISTS idx_health_snap_farm_temp_abnormal
+    ON health_snapshots (farm_id) WHERE temp_status <> 'NORMAL';
+CREATE INDEX IF NOT EXISTS idx_health_snap_farm_motility_abnormal
+    ON health_snapshots (farm_id) WHERE motility_status <> 'NORMAL';
@@ -0,0 +1,26 @@
+-- Per-livestock hourly and daily summaries of temperature, motility and activity
+-- logs, read by the detail charts instead of the partitioned log tables.
+-- Maintained by incrementing at ingest; HealthRollupService rebuilds recent
+-- buckets from the logs. Daily buckets start at midnight of the display zone.
+CREATE TABLE IF NOT EXISTS health_hourly_rollups (
+    livestock_id       BIGINT        NOT NULL,
+    bucket_start       TIMESTAMP     NOT NULL,
+    temp_count         INTEGER       NOT NULL DEFAULT 0,
+    temp_sum           DECIMAL(14,2) NOT NULL DEFAULT 0,
+    temp_min           DECIMAL(5,2),
+    temp_max           DECIMAL(5,2),
+    fever_samples      INTEGER       NOT NULL DEFAULT 0,
+    motility_count     INTEGER       NOT NULL DEFAULT 0,
+    frequency_sum      DECIMAL(14,2) NOT NULL DEFAULT 0,
+    frequency_min      DECIMAL(5,2),
+    frequency_max      DECIMAL(5,2),
+    intensity_sum      DECIMAL(14,2) NOT NULL DEFAULT 0,
+    activity_count     INTEGER       NOT NULL DEFAULT 0,
+    step_sum           BIGINT        NOT NULL DEFAULT 0,
+    distance_sum       DECIMAL(16,2) NOT NULL DEFAULT 0,
+    activity_index_sum DECIMAL(14,2) NOT NULL DEFAULT 0,
+    updated_at         TIMESTAMP     NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (livestock_id, bucket_start)
+);
+
+CREATE TABLE IF NOT EXISTS health_daily_rollups (LIKE health_hourly_rollups INCLUDING ALL);
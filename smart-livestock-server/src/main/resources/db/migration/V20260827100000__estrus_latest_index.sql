@@ -0,0 +1,4 @@
+-- The herd estrus pass and the estrus list read each livestock's newest score of a
+-- farm with DISTINCT ON (livestock_id); this index serves it without a sort.
+CREATE INDEX IF NOT EXISTS idx_estrus_farm_livestock_time
+    ON estrus_scores(farm_id, livestock_id, scored_at DESC, id DESC);
@@ -0,0 +1,21 @@
+-- Alert lists page a farm's alerts newest first by id (keyset on id DESC), optionally
+-- narrowed by status, type or livestock. Each filter gets an index that returns the
+-- page in order, so a page costs the same however much history the farm has.
+CREATE INDEX IF NOT EXISTS idx_alerts_farm_id_desc
+    ON alerts(farm_id, id DESC);
+CREATE INDEX IF NOT EXISTS idx_alerts_farm_status_id
+    ON alerts(farm_id, status, id DESC);
+CREATE INDEX IF NOT EXISTS idx_alerts_farm_type_id
+    ON alerts(farm_id, type, id DESC);
+CREATE INDEX IF NOT EXISTS idx_alerts_livestock_type_status
+    ON alerts(livestock_id, type, status, id DESC);
+CREATE INDEX IF NOT EXISTS idx_alerts_farm_created
+    ON alerts(farm_id, created_at DESC);
+
+-- ACTIVE alerts are a small slice of the table: the overview, the dashboard and the
+-- per-type counts read only them.
+CREATE INDEX IF NOT EXISTS idx_alerts_farm_active
+    ON alerts(farm_id, type) WHERE status = 'ACTIVE';
+
+-- Covered by idx_alerts_farm_id_desc.
+DROP INDEX IF EXISTS idx_alerts_farm_id;
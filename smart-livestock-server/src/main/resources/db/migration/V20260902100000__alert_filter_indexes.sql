@@ -0,0 +1,12 @@
+-- The alert list also filters by severity, by status and type together, and by
+-- livestock alone. Give each an index that returns the page in id order so the
+-- keyset read stops after the page instead of filtering along the farm's history.
+CREATE INDEX IF NOT EXISTS idx_alerts_farm_severity_id
+    ON alerts(farm_id, severity, id DESC);
+CREATE INDEX IF NOT EXISTS idx_alerts_farm_status_type_id
+    ON alerts(farm_id, status, type, id DESC);
+CREATE INDEX IF NOT EXISTS idx_alerts_livestock_id_desc
+    ON alerts(livestock_id, id DESC);
+
+-- Covered by idx_alerts_livestock_id_desc.
+DROP INDEX IF EXISTS idx_alerts_livestock_id;
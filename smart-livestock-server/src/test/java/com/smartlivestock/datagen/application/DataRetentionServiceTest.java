@@ -46,6 +46,7 @@ class DataRetentionServiceTest {
 
         verify(entityManager, times(4)).createNativeQuery(contains("pg_inherits"));
         verify(entityManager).createNativeQuery(contains("DELETE FROM gps_logs"));
+        verify(entityManager).createNativeQuery(contains("DELETE FROM gps_log_blocks"));
         verify(entityManager).createNativeQuery(contains("DELETE FROM alert_read_status"));
         verify(entityManager).createNativeQuery(contains("DELETE FROM alerts"));
     }
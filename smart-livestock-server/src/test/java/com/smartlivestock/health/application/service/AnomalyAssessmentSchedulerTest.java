@@ -0,0 +1,106 @@
+package com.smartlivestock.health.application.service;
+
+import com.smartlivestock.health.application.port.AnomalyScoreClient;
+import com.smartlivestock.health.application.port.AnomalyScoreClient.AnomalyPrediction;
+import com.smartlivestock.shared.cache.RedisCacheService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AnomalyAssessmentSchedulerTest {
+
+    @Mock private AnomalyScoreClient anomalyScoreClient;
+    @Mock private HealthAnomalyService healthAnomalyService;
+    @Mock private LocalAnomalyService localAnomalyService;
+    @Mock private RedisCacheService redis;
+
+    @InjectMocks
+    private AnomalyAssessmentScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(scheduler, "batchSize", 2);
+        scheduler.init();
+    }
+
+    @Test
+    void tick_skipsDedupedLivestock_andBatchesPerFarm() throws Exception {
+        scheduler.markDirty(1L, 100L, "DATAGEN");
+        scheduler.markDirty(1L, 101L, "DATAGEN");
+        scheduler.markDirty(1L, 102L, "DATAGEN");
+        scheduler.markDirty(2L, 200L, "HTTP");
+        scheduler.markDirty(1L, 103L, "DATAGEN");   // already assessed within the window
+        when(redis.multiGet(anyCollection())).thenAnswer(inv -> {
+            List<String> values = new ArrayList<>();
+            for (Object key : (java.util.Collection<?>) inv.getArgument(0)) {
+                values.add("ai:dedup:103".equals(key) ? "1" : null);
+            }
+            return values;
+        });
+        when(anomalyScoreClient.analyze(eq(1L), anyLong(), anyList(), eq(24))).thenAnswer(inv -> {
+            List<Long> ids = inv.getArgument(2);
+            return ids.stream().map(id -> new AnomalyPrediction(id, 0.2, "multivariate",
+                    0.1, 0.1, 0.1, "health_l1", 40, "{}")).toList();
+        });
+
+        scheduler.tick();
+        awaitBatches();
+
+        verify(anomalyScoreClient, times(3)).analyze(eq(1L), anyLong(), anyList(), eq(24));
+        verify(anomalyScoreClient, never()).analyze(anyLong(), anyLong(), argThat(ids -> ids.contains(103L)), anyInt());
+        verify(healthAnomalyService).recordPredictions(eq(1L), eq(2L), anyList(), eq(Map.of(200L, "HTTP")));
+        for (Long id : Arrays.asList(100L, 101L, 102L, 200L)) {
+            verify(redis).set(eq("ai:dedup:" + id), eq("1"), any(Duration.class));
+        }
+        assertThat(scheduler.getPendingCount()).isZero();
+    }
+
+    @Test
+    void markDirty_dropsNewLivestockOnceFull() {
+        ReflectionTestUtils.setField(scheduler, "maxPending", 2);
+
+        scheduler.markDirty(1L, 100L, "DATAGEN");
+        scheduler.markDirty(1L, 101L, "DATAGEN");
+        scheduler.markDirty(1L, 102L, "DATAGEN");
+        scheduler.markDirty(1L, 100L, "HTTP");
+
+        assertThat(scheduler.getPendingCount()).isEqualTo(2);
+    }
+
+    @Test
+    void aiPlatformUnavailable_fallsBackToLocalScores_andLeavesNoDedupKey() throws Exception {
+        scheduler.markDirty(1L, 100L, "DATAGEN");
+        when(redis.multiGet(anyCollection())).thenReturn(Arrays.asList((String) null));
+        when(anomalyScoreClient.analyze(anyLong(), anyLong(), anyList(), anyInt())).thenReturn(List.of());
+
+        scheduler.tick();
+        awaitBatches();
+
+        verify(healthAnomalyService, never()).recordPredictions(any(), any(), any(), any());
+        verify(localAnomalyService).assess(1L, Map.of(100L, "DATAGEN"));
+        verify(redis, never()).set(anyString(), anyString(), any(Duration.class));
+    }
+
+    private void awaitBatches() throws InterruptedException {
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(scheduler, "batchExecutor");
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+}
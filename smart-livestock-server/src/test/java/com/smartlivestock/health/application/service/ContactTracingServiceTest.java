@@ -0,0 +1,248 @@
+package com.smartlivestock.health.application.service;
+
+import com.smartlivestock.health.domain.model.ContactTrace;
+import com.smartlivestock.health.domain.repository.ContactTraceRepository;
+import com.smartlivestock.health.domain.service.ProximityContactDetector;
+import com.smartlivestock.shared.cache.RedisCacheService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ContactTracingServiceTest {
+
+    /** Start of slice 0; slices are 300 s. */
+    private static final Instant T0 = Instant.parse("2026-06-04T10:00:00Z");
+    private static final double LAT = 28.0;
+    private static final double LNG = 112.0;
+    /** About 3.3 m north of {@link #LAT}. */
+    private static final double NEAR_LAT = 28.00003;
+    /** About 5.5 m north of {@link #LAT}. */
+    private static final double FIVE_METRES_LAT = 28.00005;
+    /** About 1.1 km north of {@link #LAT}. */
+    private static final double FAR_LAT = 28.01;
+
+    @Mock private ContactTraceRepository contactTraceRepo;
+    @Mock private RedisCacheService redisCacheService;
+
+    private ContactTracingService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ContactTracingService(new ProximityContactDetector(), contactTraceRepo, redisCacheService);
+        // Every tick closes every open slice
+        ReflectionTestUtils.setField(service, "idleCloseMs", 0L);
+        when(redisCacheService.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("接触 — 一对牲畜写两行，分别以双方为源")
+    void contact_writesBothDirections() {
+        pair(0, NEAR_LAT);
+        service.closeIdleSlices();
+
+        List<ContactTrace> rows = lastUpsert();
+        assertThat(rows).extracting(ContactTrace::getFromLivestockId, ContactTrace::getToLivestockId)
+                .containsExactlyInAnyOrder(tuple(1L, 2L), tuple(2L, 1L));
+        assertThat(rows.get(0).getContactDurationMinutes()).isEqualTo(5);
+        assertThat(rows.get(0).getEpisodeStartedAt()).isEqualTo(T0);
+        verify(redisCacheService).setIfAbsent(eq(ContactTracingService.SLICE_CLAIM_PREFIX + "1:" + slice(0)),
+                eq("1"), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("合并 — 间隔不超过 max-gap-slices 的接触并入同一段，时长跨越各片，距离取最近")
+    void contactsWithinGap_mergeIntoOneEpisode() {
+        pair(0, FIVE_METRES_LAT);
+        service.closeIdleSlices();
+        pair(2, NEAR_LAT);
+        service.closeIdleSlices();
+
+        ContactTrace row = lastUpsert().get(0);
+        assertThat(row.getEpisodeStartedAt()).isEqualTo(T0);
+        assertThat(row.getContactDurationMinutes()).isEqualTo(15);
+        assertThat(row.getProximityMeters()).isLessThan(new BigDecimal("4"));
+        assertThat(row.getLastContactAt()).isEqualTo(at(2));
+    }
+
+    @Test
+    @DisplayName("合并 — 间隔超过 max-gap-slices 时开始新的接触段")
+    void contactsBeyondGap_startNewEpisode() {
+        pair(0, NEAR_LAT);
+        service.closeIdleSlices();
+        pair(3, NEAR_LAT);
+        service.closeIdleSlices();
+
+        ContactTrace row = lastUpsert().get(0);
+        assertThat(row.getEpisodeStartedAt()).isEqualTo(T0.plusSeconds(900));
+        assertThat(row.getContactDurationMinutes()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("合并 — 早于接触段起点的迟到切片单独成行，不移动原段起点")
+    void lateSliceBeforeEpisode_isWrittenOnItsOwn() {
+        pair(5, NEAR_LAT);
+        service.closeIdleSlices();
+        pair(4, NEAR_LAT);
+        service.closeIdleSlices();
+        pair(6, NEAR_LAT);
+        service.closeIdleSlices();
+
+        List<List<ContactTrace>> upserts = upserts();
+        assertThat(upserts.get(1).get(0).getEpisodeStartedAt()).isEqualTo(T0.plusSeconds(1200));
+        assertThat(upserts.get(1).get(0).getContactDurationMinutes()).isEqualTo(5);
+        assertThat(upserts.get(2).get(0).getEpisodeStartedAt()).isEqualTo(T0.plusSeconds(1500));
+        assertThat(upserts.get(2).get(0).getContactDurationMinutes()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("过期 — 已无法按序延续的接触段被丢弃，之后的迟到接触另起一段")
+    void expiredEpisode_isNotExtendedByLateSlice() {
+        pair(0, NEAR_LAT);
+        service.closeIdleSlices();
+        // Slice 5 closes without a contact and expires the slice-0 episode
+        pair(5, FAR_LAT);
+        service.closeIdleSlices();
+        pair(2, NEAR_LAT);
+        service.closeIdleSlices();
+
+        ContactTrace row = lastUpsert().get(0);
+        assertThat(row.getEpisodeStartedAt()).isEqualTo(T0.plusSeconds(600));
+        assertThat(row.getContactDurationMinutes()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("抢占 — 切片已被其他节点认领时不写，但接触段照常延续")
+    void claimLost_skipsWriteButKeepsEpisode() {
+        when(redisCacheService.setIfAbsent(eq(ContactTracingService.SLICE_CLAIM_PREFIX + "1:" + slice(0)),
+                anyString(), any(Duration.class))).thenReturn(false);
+
+        pair(0, NEAR_LAT);
+        service.closeIdleSlices();
+        verify(contactTraceRepo, never()).upsertEpisodes(anyList());
+
+        pair(1, NEAR_LAT);
+        service.closeIdleSlices();
+        ContactTrace row = lastUpsert().get(0);
+        assertThat(row.getEpisodeStartedAt()).isEqualTo(T0);
+        assertThat(row.getContactDurationMinutes()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("抢占 — Redis 不可用时照常写入（upsert 幂等）")
+    void claimFails_stillWrites() {
+        when(redisCacheService.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenThrow(new IllegalStateException("redis down"));
+
+        pair(0, NEAR_LAT);
+        service.closeIdleSlices();
+
+        assertThat(lastUpsert()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("抢占 — 写入失败时释放本轮认领，切片可由其他节点重写")
+    void writeFails_releasesClaims() {
+        doThrow(new IllegalStateException("db down")).when(contactTraceRepo).upsertEpisodes(anyList());
+
+        pair(0, NEAR_LAT);
+        assertThatThrownBy(() -> service.closeIdleSlices()).isInstanceOf(IllegalStateException.class);
+
+        verify(redisCacheService).delete(List.of(ContactTracingService.SLICE_CLAIM_PREFIX + "1:" + slice(0)));
+    }
+
+    @Test
+    @DisplayName("抢占 — 未认领到的切片在写入失败时不释放")
+    void writeFails_keepsOtherNodesClaims() {
+        when(redisCacheService.setIfAbsent(eq(ContactTracingService.SLICE_CLAIM_PREFIX + "1:" + slice(0)),
+                anyString(), any(Duration.class))).thenReturn(false);
+        doThrow(new IllegalStateException("db down")).when(contactTraceRepo).upsertEpisodes(anyList());
+
+        pair(0, NEAR_LAT);
+        service.closeIdleSlices();
+
+        verify(redisCacheService, never()).delete(anyList());
+    }
+
+    @Test
+    @DisplayName("切片 — 同一切片内每头牲畜只取最新定位")
+    void slice_keepsLatestFixPerLivestock() {
+        service.record(1L, 1L, LAT, LNG, at(0));
+        service.record(1L, 2L, NEAR_LAT, LNG, at(0));
+        // A later fix moves livestock 2 away; an older one arriving late is ignored
+        service.record(1L, 2L, FAR_LAT, LNG, at(0).plusSeconds(60));
+        service.record(1L, 2L, NEAR_LAT, LNG, at(0).minusSeconds(5));
+        service.closeIdleSlices();
+
+        verify(contactTraceRepo, never()).upsertEpisodes(anyList());
+    }
+
+    @Test
+    @DisplayName("切片 — 未空闲的切片在超过 max-open-slices 时按时间先后提前关闭")
+    void openSliceLimit_closesOldestFirst() {
+        ReflectionTestUtils.setField(service, "idleCloseMs", Long.MAX_VALUE);
+        ReflectionTestUtils.setField(service, "maxOpenSlices", 1);
+
+        pair(0, NEAR_LAT);
+        pair(1, NEAR_LAT);
+        service.closeIdleSlices();
+
+        ContactTrace row = lastUpsert().get(0);
+        assertThat(row.getEpisodeStartedAt()).isEqualTo(T0);
+        assertThat(row.getContactDurationMinutes()).isEqualTo(5);
+        verify(redisCacheService, never()).setIfAbsent(eq(ContactTracingService.SLICE_CLAIM_PREFIX + "1:" + slice(1)),
+                anyString(), any(Duration.class));
+    }
+
+    /** Livestock 1 at the reference point and livestock 2 at {@code lat}, both in slice {@code k}. */
+    private void pair(int k, double lat) {
+        service.record(1L, 1L, LAT, LNG, at(k));
+        service.record(1L, 2L, lat, LNG, at(k));
+    }
+
+    private static Instant at(int k) {
+        return T0.plusSeconds(k * 300L + 10);
+    }
+
+    private static long slice(int k) {
+        return T0.getEpochSecond() / 300 + k;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<ContactTrace>> upserts() {
+        ArgumentCaptor<List<ContactTrace>> rows = ArgumentCaptor.forClass(List.class);
+        verify(contactTraceRepo, atLeastOnce()).upsertEpisodes(rows.capture());
+        return rows.getAllValues();
+    }
+
+    private List<ContactTrace> lastUpsert() {
+        List<List<ContactTrace>> all = upserts();
+        return all.get(all.size() - 1);
+    }
+}
@@ -32,6 +32,7 @@ class HealthAnomalyServiceTest {
     @Mock private HealthSnapshotRepository snapshotRepo;
     @Mock private RanchCommandPort ranchCommandPort;
     @Mock private RedisCacheService redis;
+    @Mock private HerdHealthAggregateStore herdAggregateStore;
 
     @InjectMocks
     private HealthAnomalyService service;
@@ -100,4 +101,21 @@ class HealthAnomalyServiceTest {
         verify(anomalyScoreRepo).save(any(AnomalyScore.class));
         verify(ranchCommandPort, never()).createAlert(any());
     }
+
+    @Test
+    void recordPredictions_writesScoresAndSnapshotsInBulk_skipsNormal() {
+        List<AnomalyPrediction> predictions = List.of(
+                new AnomalyPrediction(100L, 0.9, "multivariate", 0.2, 0.3, 0.5, "health_l1", 50, "{}"),
+                new AnomalyPrediction(101L, 0.2, "abrupt_change", 0.1, 0.1, 0.1, "health_l1", 50, "{}"),
+                new AnomalyPrediction(102L, 0.0, "normal", 0, 0, 0, "health_l1", 50, "{}"));
+
+        int written = service.recordPredictions(1L, 1L, predictions,
+                java.util.Map.of(100L, "DATAGEN", 101L, "DATAGEN", 102L, "DATAGEN"));
+
+        org.assertj.core.api.Assertions.assertThat(written).isEqualTo(2);
+        verify(anomalyScoreRepo).saveAllBatch(argThat(scores -> scores.size() == 2));
+        verify(snapshotRepo).updateAiAssessments(argThat(scores -> scores.size() == 2), any());
+        verify(ranchCommandPort, times(1)).createAlert(any(AlertInfo.class));
+        verify(anomalyScoreRepo, never()).save(any());
+    }
 }
@@ -0,0 +1,130 @@
+package com.smartlivestock.health.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartlivestock.health.application.dto.HealthDtos;
+import com.smartlivestock.health.domain.model.*;
+import com.smartlivestock.health.domain.port.HealthSubscriptionPort;
+import com.smartlivestock.health.domain.port.RanchCommandPort;
+import com.smartlivestock.health.domain.port.RanchQueryPort;
+import com.smartlivestock.health.domain.port.dto.LivestockInfo;
+import com.smartlivestock.health.domain.repository.*;
+import com.smartlivestock.health.domain.service.*;
+import com.smartlivestock.shared.cache.RedisCacheService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.quality.Strictness;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class HealthApplicationServiceContactTest {
+
+    @Mock private HealthSnapshotRepository snapshotRepo;
+    @Mock private TemperatureLogRepository tempLogRepo;
+    @Mock private RumenMotilityLogRepository motilityLogRepo;
+    @Mock private ActivityLogRepository activityLogRepo;
+    @Mock private EstrusScoreRepository estrusScoreRepo;
+    @Mock private ContactTraceRepository contactTraceRepo;
+    @Mock private RanchQueryPort ranchQueryPort;
+    @Mock private RanchCommandPort ranchCommandPort;
+    @Mock private HealthSubscriptionPort subscriptionPort;
+    @Mock private FeverAnalysisService feverService;
+    @Mock private DigestiveAnalysisService digestiveService;
+    @Mock private EstrusAnalysisService estrusAnalysisService;
+    @Mock private EpidemicAnalysisService epidemicService;
+    @Mock private HealthAnomalyService healthAnomalyService;
+    @Mock private AnomalyAssessmentScheduler anomalyAssessmentScheduler;
+    @Mock private RedisCacheService redisCacheService;
+    @Mock private HealthRollupRepository rollupRepo;
+    @Mock private LocalAnomalyService localAnomalyService;
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    private HealthApplicationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new HealthApplicationService(
+                snapshotRepo, tempLogRepo, motilityLogRepo, activityLogRepo,
+                estrusScoreRepo, contactTraceRepo,
+                ranchQueryPort, ranchCommandPort,
+                subscriptionPort,
+                healthAnomalyService,
+                new HealthWindowStore(tempLogRepo, activityLogRepo, redisCacheService,
+                        new ObjectMapper().findAndRegisterModules()),
+                new HerdHealthAggregateStore(snapshotRepo, redisCacheService),
+                anomalyAssessmentScheduler,
+                new HealthRollupService(rollupRepo),
+                localAnomalyService, eventPublisher,
+               feverService, digestiveService, estrusAnalysisService, epidemicService);
+        when(ranchQueryPort.findLivestockByIds(any())).thenReturn(Map.of(
+                1L, new LivestockInfo(1L, 1L, "C-1", "F", null),
+                2L, new LivestockInfo(2L, 1L, "C-2", "F", null),
+                3L, new LivestockInfo(3L, 1L, "C-3", "F", null)));
+    }
+
+    @Test
+    void contactNetwork_combinesEpisodesPerContactAnimal() {
+        Instant now = Instant.now();
+        when(contactTraceRepo.findByFromLivestockIdOrderByLastContactAtDesc(1L)).thenReturn(List.of(
+                trace(1L, 2L, "4.00", 10, now.minus(Duration.ofHours(1))),
+                trace(1L, 3L, "20.00", 5, now.minus(Duration.ofHours(2))),
+                trace(1L, 2L, "2.50", 15, now.minus(Duration.ofHours(30))),
+                trace(1L, 2L, "1.00", 60, now.minus(Duration.ofHours(100)))));
+
+        HealthDtos.ContactNetworkResponse network = service.getContactNetwork(1L, 1L);
+
+        assertThat(network.contacts())
+                .extracting(HealthDtos.ContactNode::livestockId, HealthDtos.ContactNode::proximityMeters,
+                        HealthDtos.ContactNode::contactDurationMinutes, HealthDtos.ContactNode::hoursAgo)
+                .containsExactly(tuple("2", 2.5, 25, 1), tuple("3", 20.0, 5, 2));
+    }
+
+    @Test
+    void epidemicOverview_listsEachPairOnce() {
+        when(epidemicService.calculateHerdMetrics(any(HerdHealthAggregate.class))).thenReturn(
+                new EpidemicAnalysisService.HerdMetrics(bd("38.5"), bd("1.0"), BigDecimal.ZERO, 3, 0));
+        Instant now = Instant.now();
+        when(contactTraceRepo.findByFarmIdOrderByLastContactAtDesc(1L)).thenReturn(List.of(
+                trace(1L, 2L, "4.00", 10, now),
+                trace(2L, 1L, "4.00", 10, now),
+                trace(3L, 1L, "8.00", 5, now.minusSeconds(60)),
+                trace(1L, 3L, "8.00", 5, now.minusSeconds(60)),
+                trace(2L, 1L, "3.00", 5, now.minusSeconds(600))));
+
+        HealthDtos.EpidemicResponse overview = service.getEpidemicOverview(1L);
+
+        assertThat(overview.contacts())
+                .extracting(HealthDtos.ContactTraceItem::fromId, HealthDtos.ContactTraceItem::toId)
+                .containsExactly(tuple("1", "2"), tuple("3", "1"));
+    }
+
+    private static ContactTrace trace(Long from, Long to, String meters, int minutes, Instant lastContactAt) {
+        ContactTrace trace = new ContactTrace();
+        trace.setFarmId(1L);
+        trace.setFromLivestockId(from);
+        trace.setToLivestockId(to);
+        trace.setProximityMeters(bd(meters));
+        trace.setContactDurationMinutes(minutes);
+        trace.setLastContactAt(lastContactAt);
+        return trace;
+    }
+
+    private static BigDecimal bd(String value) {
+        return new BigDecimal(value);
+    }
+}
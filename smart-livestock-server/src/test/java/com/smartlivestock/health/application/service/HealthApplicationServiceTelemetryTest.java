@@ -1,5 +1,6 @@
 package com.smartlivestock.health.application.service;
 
+import com.smartlivestock.health.application.dto.HealthDtos.TelemetryMessage;
 import com.smartlivestock.health.domain.model.*;
 import static org.mockito.ArgumentMatchers.any;
 import com.smartlivestock.health.domain.port.HealthSubscriptionPort;
@@ -9,7 +10,9 @@ import com.smartlivestock.health.domain.port.dto.AlertInfo;
 import com.smartlivestock.health.domain.port.dto.LivestockInfo;
 import com.smartlivestock.health.domain.repository.*;
 import com.smartlivestock.health.domain.service.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.smartlivestock.iot.domain.model.DeviceType;
+import com.smartlivestock.shared.cache.RedisCacheService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,6 +21,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.quality.Strictness;
 import org.mockito.junit.jupiter.MockitoSettings;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -47,6 +51,11 @@ class HealthApplicationServiceTelemetryTest {
     @Mock private EstrusAnalysisService estrusAnalysisService;
     @Mock private EpidemicAnalysisService epidemicService;
     @Mock private HealthAnomalyService healthAnomalyService;
+    @Mock private AnomalyAssessmentScheduler anomalyAssessmentScheduler;
+    @Mock private RedisCacheService redisCacheService;
+    @Mock private HealthRollupRepository rollupRepo;
+    @Mock private LocalAnomalyService localAnomalyService;
+    @Mock private ApplicationEventPublisher eventPublisher;
 
     private HealthApplicationService service;
 
@@ -58,10 +67,16 @@ class HealthApplicationServiceTelemetryTest {
                 ranchQueryPort, ranchCommandPort,
                 subscriptionPort,
                 healthAnomalyService,
+                new HealthWindowStore(tempLogRepo, activityLogRepo, redisCacheService,
+                        new ObjectMapper().findAndRegisterModules()),
+                new HerdHealthAggregateStore(snapshotRepo, redisCacheService),
+                anomalyAssessmentScheduler,
+                new HealthRollupService(rollupRepo),
+                localAnomalyService, eventPublisher,
                feverService, digestiveService, estrusAnalysisService, epidemicService);
 
         // refreshSnapshot calls ensureSnapshotExists then findByLivestockId.
-        doNothing().when(snapshotRepo).ensureSnapshotExists(anyLong(), anyLong());
+        when(snapshotRepo.ensureSnapshotExists(anyLong(), anyLong())).thenReturn(false);
     }
 
     @Test
@@ -84,15 +99,18 @@ class HealthApplicationServiceTelemetryTest {
         service.processTelemetry(51L, 10L, 1L, DeviceType.CAPSULE, readings,
                 Instant.parse("2026-06-04T10:00:00Z"), "DATAGEN");
 
-        ArgumentCaptor<TemperatureLog> tempCaptor =
-                ArgumentCaptor.forClass(TemperatureLog.class);
-        ArgumentCaptor<RumenMotilityLog> motilityCaptor =
-                ArgumentCaptor.forClass(RumenMotilityLog.class);
-        verify(tempLogRepo, times(7)).save(tempCaptor.capture());
-        verify(motilityLogRepo, times(1)).save(motilityCaptor.capture());
-        tempCaptor.getAllValues().forEach(log ->
+        List<TemperatureLog> tempLogs = capturedTemperatureBatch();
+        List<RumenMotilityLog> motilityLogs = capturedMotilityBatch();
+        assertEquals(7, tempLogs.size());
+        assertEquals(1, motilityLogs.size());
+        tempLogs.forEach(log ->
                 assertEquals("DATAGEN", log.getSource()));
-        assertEquals("DATAGEN", motilityCaptor.getValue().getSource());
+        assertEquals("DATAGEN", motilityLogs.get(0).getSource());
+        // Samples are 5 minutes apart, newest at recordedAt, all on the snapshot's baseline.
+        assertEquals(Instant.parse("2026-06-04T09:30:00Z"), tempLogs.get(0).getRecordedAt());
+        assertEquals(Instant.parse("2026-06-04T10:00:00Z"), tempLogs.get(6).getRecordedAt());
+        tempLogs.forEach(log -> assertEquals(0, bd("38.5").compareTo(log.getBaselineTemp())));
+        verify(snapshotRepo, times(1)).findByLivestockId(10L);
     }
 
     @Test
@@ -109,8 +127,7 @@ class HealthApplicationServiceTelemetryTest {
         service.processTelemetry(51L, 10L, 1L, DeviceType.CAPSULE, readings,
                 Instant.parse("2026-06-04T10:00:00Z"), "DATAGEN");
 
-        verify(motilityLogRepo).save(argThat(log ->
-                log.getFrequency().compareTo(new BigDecimal("3.00")) == 0));
+        assertEquals(0, capturedMotilityBatch().get(0).getFrequency().compareTo(new BigDecimal("3.00")));
     }
 
     @Test
@@ -128,8 +145,8 @@ class HealthApplicationServiceTelemetryTest {
         service.processTelemetry(1L, 5L, 1L, DeviceType.TRACKER, readings,
                 Instant.parse("2026-06-04T10:00:00Z"), "DATAGEN");
 
-        verify(tempLogRepo, never()).save(any());
-        verify(activityLogRepo, times(1)).save(any());
+        verify(tempLogRepo, never()).saveAllBatch(any());
+        verify(activityLogRepo, times(1)).saveAllBatch(any());
     }
 
     @Test
@@ -144,7 +161,7 @@ class HealthApplicationServiceTelemetryTest {
         service.processTelemetry(51L, 10L, 1L, DeviceType.CAPSULE, readings,
                 Instant.parse("2026-06-04T10:00:00Z"), "DATAGEN");
 
-        verify(tempLogRepo, never()).save(any());
+        verify(tempLogRepo, never()).saveAllBatch(any());
     }
 
     @Test
@@ -176,7 +193,7 @@ class HealthApplicationServiceTelemetryTest {
         service.processTelemetry(51L, 10L, 1L, DeviceType.CAPSULE, readings,
                 Instant.parse("2026-06-04T10:00:00Z"), "DATAGEN");
 
-        verify(tempLogRepo, times(1)).save(any());
+        assertEquals(1, capturedTemperatureBatch().size());
     }
 
     @Test
@@ -188,13 +205,27 @@ class HealthApplicationServiceTelemetryTest {
         service.processTelemetry(1L, 5L, 1L, DeviceType.TRACKER, readings,
                 Instant.parse("2026-06-04T10:00:00Z"), "DATAGEN");
 
-        verify(activityLogRepo, never()).save(any());
+        verify(activityLogRepo, never()).saveAllBatch(any());
     }
 
     private BigDecimal bd(String val) {
         return new BigDecimal(val);
     }
 
+    @SuppressWarnings("unchecked")
+    private List<TemperatureLog> capturedTemperatureBatch() {
+        ArgumentCaptor<List<TemperatureLog>> captor = ArgumentCaptor.forClass(List.class);
+        verify(tempLogRepo, times(1)).saveAllBatch(captor.capture());
+        return captor.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<RumenMotilityLog> capturedMotilityBatch() {
+        ArgumentCaptor<List<RumenMotilityLog>> captor = ArgumentCaptor.forClass(List.class);
+        verify(motilityLogRepo, times(1)).saveAllBatch(captor.capture());
+        return captor.getValue();
+    }
+
     @Test
     void processTelemetry_missingSource_normalizesToUnknown() {
         when(snapshotRepo.findByLivestockId(10L)).thenReturn(Optional.of(new HealthSnapshot()));
@@ -205,9 +236,67 @@ class HealthApplicationServiceTelemetryTest {
         service.processTelemetry(51L, 10L, 1L, DeviceType.CAPSULE, readings,
                 Instant.parse("2026-06-04T10:00:00Z"), null);
 
-        ArgumentCaptor<TemperatureLog> captor =
-                ArgumentCaptor.forClass(TemperatureLog.class);
-        verify(tempLogRepo).save(captor.capture());
-        assertEquals("UNKNOWN", captor.getValue().getSource());
+        assertEquals("UNKNOWN", capturedTemperatureBatch().get(0).getSource());
+    }
+
+    @Test
+    void processTelemetry_updatesWindowInPlace_withOneSnapshotWritePerMessage() {
+        HealthSnapshot snapshot = new HealthSnapshot();
+        snapshot.setBaselineTemp(bd("38.50"));
+        when(snapshotRepo.findByLivestockId(10L)).thenReturn(Optional.of(snapshot));
+        when(tempLogRepo.findByLivestockIdOrderByRecordedAtDesc(10L, 10)).thenReturn(List.of());
+        when(activityLogRepo.findByLivestockIdOrderByRecordedAtDesc(10L, 7)).thenReturn(List.of());
+        when(feverService.assessStatus(any(), any())).thenReturn(TempStatus.NORMAL);
+
+        Instant t0 = Instant.parse("2026-06-04T10:00:00Z");
+        for (int i = 0; i < 3; i++) {
+            service.processTelemetry(51L, 10L, 1L, DeviceType.CAPSULE,
+                    Map.of("temperature", 39.7, "stepCount", 100 * (i + 1)),
+                    t0.plusSeconds(300L * i), "DATAGEN");
+        }
+
+        // Seeded once from the log tables; later messages reuse the window.
+        verify(tempLogRepo, times(1)).findByLivestockIdOrderByRecordedAtDesc(anyLong(), anyInt());
+        verify(activityLogRepo, times(1)).findByLivestockIdOrderByRecordedAtDesc(anyLong(), anyInt());
+        verify(snapshotRepo, times(3)).findByLivestockId(10L);
+        verify(snapshotRepo, times(3)).save(snapshot);
+
+        ArgumentCaptor<TemperatureLog> latest = ArgumentCaptor.forClass(TemperatureLog.class);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TemperatureLog>> recent = ArgumentCaptor.forClass(List.class);
+        verify(feverService, times(3)).assessStatus(latest.capture(), recent.capture());
+        assertEquals(t0.plusSeconds(600), latest.getValue().getRecordedAt());
+        assertEquals(0, bd("1.20").compareTo(latest.getValue().getDelta()));
+        assertEquals(3, recent.getValue().size());
+
+        // Estrus is scored by the herd pass, not on the ingest path.
+        verifyNoInteractions(estrusAnalysisService);
+        verify(estrusScoreRepo, never()).save(any());
+    }
+
+    @Test
+    void processTelemetryBatch_coalescesMessagesPerLivestock() {
+        HealthSnapshot first = new HealthSnapshot();
+        HealthSnapshot second = new HealthSnapshot();
+        when(snapshotRepo.findByLivestockId(10L)).thenReturn(Optional.of(first));
+        when(snapshotRepo.findByLivestockId(11L)).thenReturn(Optional.of(second));
+        when(feverService.assessStatus(any(), any())).thenReturn(TempStatus.NORMAL);
+
+        Instant t0 = Instant.parse("2026-06-04T10:00:00Z");
+        service.processTelemetryBatch(List.of(
+                new TelemetryMessage(51L, 10L, 1L, DeviceType.CAPSULE, Map.of("temperature", 38.6), t0, "DATAGEN"),
+                new TelemetryMessage(52L, 11L, 1L, DeviceType.TRACKER, Map.of("stepCount", 40), t0, "DATAGEN"),
+                new TelemetryMessage(51L, 10L, 1L, DeviceType.CAPSULE, Map.of("temperature", 38.9),
+                        t0.plusSeconds(300), "DATAGEN")));
+
+        // One snapshot load and write per livestock, one insert batch per table.
+        verify(snapshotRepo, times(1)).findByLivestockId(10L);
+        verify(snapshotRepo, times(1)).save(first);
+        verify(snapshotRepo, times(1)).save(second);
+        assertEquals(2, capturedTemperatureBatch().size());
+        verify(activityLogRepo, times(1)).saveAllBatch(any());
+        // Messages apply in order, so the later reading is the current one.
+        assertEquals(0, bd("38.9").compareTo(first.getCurrentTemp()));
+        verify(feverService, times(2)).assessStatus(any(), any());
     }
 }
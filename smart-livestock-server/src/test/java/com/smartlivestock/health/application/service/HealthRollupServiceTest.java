@@ -0,0 +1,97 @@
+package com.smartlivestock.health.application.service;
+
+import com.smartlivestock.health.domain.model.ActivityLog;
+import com.smartlivestock.health.domain.model.HealthRollup;
+import com.smartlivestock.health.domain.model.HealthRollup.Period;
+import com.smartlivestock.health.domain.model.RumenMotilityLog;
+import com.smartlivestock.health.domain.model.TemperatureLog;
+import com.smartlivestock.health.domain.repository.HealthRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class HealthRollupServiceTest {
+
+    @Mock private HealthRollupRepository rollupRepo;
+
+    @InjectMocks
+    private HealthRollupService service;
+
+    @Test
+    void bucketStart_dayStartsAtDisplayZoneMidnight() {
+        // 2026-03-01 17:30 UTC is 2026-03-02 01:30 in Asia/Shanghai.
+        Instant time = Instant.parse("2026-03-01T17:30:00Z");
+
+        assertThat(HealthRollupService.bucketStart(Period.HOUR, time)).isEqualTo(Instant.parse("2026-03-01T17:00:00Z"));
+        assertThat(HealthRollupService.bucketStart(Period.DAY, time)).isEqualTo(Instant.parse("2026-03-01T16:00:00Z"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void record_groupsLogsPerBucketAndCountsFeverSamples() {
+        Instant t1 = Instant.parse("2026-03-01T15:40:00Z");
+        Instant t2 = Instant.parse("2026-03-01T16:10:00Z");
+
+        service.record(
+                List.of(temperature(t1, "38.6"), temperature(t2, "39.8"), temperature(t2, "40.1")),
+                List.of(motility(t2, "2.50", "45.00")),
+                List.of(activity(t1, 120), activity(t2, 80)));
+
+        ArgumentCaptor<List<HealthRollup>> hours = ArgumentCaptor.forClass(List.class);
+        verify(rollupRepo).increment(eq(Period.HOUR), hours.capture());
+        List<HealthRollup> hourly = hours.getValue().stream()
+                .sorted(Comparator.comparing(HealthRollup::getBucketStart)).toList();
+        assertThat(hourly).hasSize(2);
+        assertThat(hourly.get(0).getTempCount()).isEqualTo(1);
+        assertThat(hourly.get(0).getFeverSamples()).isZero();
+        assertThat(hourly.get(0).getStepSum()).isEqualTo(120);
+        assertThat(hourly.get(1).getTempCount()).isEqualTo(2);
+        assertThat(hourly.get(1).getFeverSamples()).isEqualTo(2);
+        assertThat(hourly.get(1).getTempMax()).isEqualByComparingTo("40.1");
+        assertThat(hourly.get(1).getMotilityCount()).isEqualTo(1);
+        assertThat(hourly.get(1).getIntensitySum()).isEqualByComparingTo("45.00");
+
+        // 16:00 UTC is midnight in the display zone, so the two hours fall on different days.
+        ArgumentCaptor<List<HealthRollup>> days = ArgumentCaptor.forClass(List.class);
+        verify(rollupRepo).increment(eq(Period.DAY), days.capture());
+        assertThat(days.getValue()).hasSize(2);
+    }
+
+    private static TemperatureLog temperature(Instant at, String value) {
+        TemperatureLog log = new TemperatureLog();
+        log.setLivestockId(1L);
+        log.setTemperature(new BigDecimal(value));
+        log.setRecordedAt(at);
+        return log;
+    }
+
+    private static RumenMotilityLog motility(Instant at, String frequency, String intensity) {
+        RumenMotilityLog log = new RumenMotilityLog();
+        log.setLivestockId(1L);
+        log.setFrequency(new BigDecimal(frequency));
+        log.setIntensity(new BigDecimal(intensity));
+        log.setRecordedAt(at);
+        return log;
+    }
+
+    private static ActivityLog activity(Instant at, int steps) {
+        ActivityLog log = new ActivityLog();
+        log.setLivestockId(1L);
+        log.setStepCount(steps);
+        log.setRecordedAt(at);
+        return log;
+    }
+}
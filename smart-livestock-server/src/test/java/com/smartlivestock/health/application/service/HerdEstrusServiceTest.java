@@ -0,0 +1,171 @@
+package com.smartlivestock.health.application.service;
+
+import com.smartlivestock.health.domain.event.HealthSnapshotsChangedEvent;
+import com.smartlivestock.health.domain.model.EstrusScore;
+import com.smartlivestock.health.domain.model.HerdEstrusScores;
+import com.smartlivestock.health.domain.model.HerdEstrusWindows;
+import com.smartlivestock.health.domain.model.HerdHealthAggregate;
+import com.smartlivestock.health.domain.repository.EstrusScoreRepository;
+import com.smartlivestock.health.domain.repository.HealthSnapshotRepository;
+import com.smartlivestock.health.domain.service.EstrusAnalysisService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class HerdEstrusServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-06-04T10:00:00Z");
+
+    @Mock private EstrusScoreRepository estrusScoreRepo;
+    @Mock private HealthSnapshotRepository snapshotRepo;
+    @Mock private EstrusAnalysisService estrusAnalysisService;
+    @Mock private HerdHealthAggregateStore herdAggregateStore;
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private HerdEstrusService service;
+
+    @BeforeEach
+    void setUp() {
+        when(estrusAnalysisService.generateAdvice(anyInt())).thenReturn("建议");
+    }
+
+    @Test
+    @DisplayName("评分 — 只写与最新一行不同的评分，快照只更新分数变化的牲畜")
+    void scoreFarm_writesOnlyChanges() {
+        // 1: new and high; 2: unchanged; 3: drops out of high; 4: unscored; 5: same score, new deltas
+        herd(new long[]{1, 2, 3, 4, 5}, new int[]{0, 75, 80, 10, 30},
+                new int[]{80, 75, 40, HerdEstrusScores.UNSCORED, 30});
+        when(estrusScoreRepo.findLatestByFarmId(1L)).thenReturn(List.of(
+                latest(2L, 75, "0.30"), latest(3L, 80, "0.30"), latest(5L, 30, "0.10")));
+
+        int written = service.scoreFarm(1L, NOW);
+
+        assertThat(written).isEqualTo(3);
+        ArgumentCaptor<List<EstrusScore>> rows = rowsCaptor();
+        verify(estrusScoreRepo).saveAllBatch(rows.capture());
+        assertThat(rows.getValue()).extracting(EstrusScore::getLivestockId).containsExactly(1L, 3L, 5L);
+        assertThat(rows.getValue().get(0).getScoredAt()).isEqualTo(NOW);
+        assertThat(rows.getValue().get(0).getAdvice()).isEqualTo("建议");
+        verify(snapshotRepo).updateEstrusScores(Map.of(1L, 80, 3L, 40));
+    }
+
+    @Test
+    @DisplayName("评分 — 高发情计数按快照分数变化的前后差量更新聚合")
+    void scoreFarm_appliesHighEstrusDelta() {
+        herd(new long[]{1, 2, 3}, new int[]{0, 80, 90}, new int[]{80, 40, 95});
+        when(estrusScoreRepo.findLatestByFarmId(1L)).thenReturn(List.of());
+
+        service.scoreFarm(1L, NOW);
+
+        // 2 leaves high, 1 enters it; 3 stays high and counts on both sides
+        verify(herdAggregateStore).apply(1L,
+                Map.of(HerdHealthAggregate.ESTRUS_HIGH, 2L),
+                Map.of(HerdHealthAggregate.ESTRUS_HIGH, 2L));
+    }
+
+    @Test
+    @DisplayName("评分 — 快照分数变化时发布一次变更事件，只带发情分数")
+    void scoreFarm_publishesSnapshotChanges() {
+        herd(new long[]{1, 2}, new int[]{0, 75}, new int[]{80, 75});
+        when(estrusScoreRepo.findLatestByFarmId(1L)).thenReturn(List.of());
+
+        service.scoreFarm(1L, NOW);
+
+        ArgumentCaptor<HealthSnapshotsChangedEvent> event = ArgumentCaptor.forClass(HealthSnapshotsChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getFarmId()).isEqualTo(1L);
+        assertThat(event.getValue().getChanges())
+                .containsExactly(new HealthSnapshotsChangedEvent.Change(1L, null, null, 80));
+    }
+
+    @Test
+    @DisplayName("评分 — 快照分数都没变时不发布事件，聚合差量为零")
+    void scoreFarm_noSnapshotChange_publishesNothing() {
+        herd(new long[]{1}, new int[]{75}, new int[]{75});
+        when(estrusScoreRepo.findLatestByFarmId(1L)).thenReturn(List.of());
+
+        int written = service.scoreFarm(1L, NOW);
+
+        assertThat(written).isEqualTo(1);
+        verify(snapshotRepo).updateEstrusScores(Map.of());
+        verify(herdAggregateStore).apply(1L,
+                Map.of(HerdHealthAggregate.ESTRUS_HIGH, 0L),
+                Map.of(HerdHealthAggregate.ESTRUS_HIGH, 0L));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("评分 — 牧场没有窗口数据时直接返回")
+    void scoreFarm_emptyHerd_doesNothing() {
+        when(estrusScoreRepo.findWindowsByFarmId(eq(1L), any(Instant.class)))
+                .thenReturn(HerdEstrusWindows.builder().build());
+
+        assertThat(service.scoreFarm(1L, NOW)).isZero();
+
+        verifyNoInteractions(estrusAnalysisService, snapshotRepo, herdAggregateStore, eventPublisher);
+        verify(estrusScoreRepo, never()).saveAllBatch(any());
+    }
+
+    /**
+     * Stubs a herd whose livestock {@code ids[i]} has snapshot score {@code current[i]}
+     * and is scored {@code scored[i]}, with step increase 10, temperature delta 0.3 and
+     * distance delta 5.
+     */
+    private void herd(long[] ids, int[] current, int[] scored) {
+        HerdEstrusWindows.Builder builder = HerdEstrusWindows.builder();
+        for (int i = 0; i < ids.length; i++) {
+            builder.livestock(ids[i], current[i]).activity(100, 50.0, "DEVICE");
+        }
+        when(estrusScoreRepo.findWindowsByFarmId(eq(1L), any(Instant.class))).thenReturn(builder.build());
+        int n = ids.length;
+        double[] tempDeltas = new double[n];
+        double[] distanceDeltas = new double[n];
+        int[] steps = new int[n];
+        Arrays.fill(tempDeltas, 0.3);
+        Arrays.fill(distanceDeltas, 5);
+        Arrays.fill(steps, 10);
+        when(estrusAnalysisService.scoreHerd(any())).thenReturn(
+                new HerdEstrusScores(scored, steps, tempDeltas, distanceDeltas));
+    }
+
+    private static EstrusScore latest(Long livestockId, int score, String tempDelta) {
+        EstrusScore row = new EstrusScore();
+        row.setLivestockId(livestockId);
+        row.setScore(score);
+        row.setStepIncreasePercent(10);
+        row.setTempDelta(new BigDecimal(tempDelta));
+        row.setDistanceDelta(new BigDecimal("5.0"));
+        return row;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<EstrusScore>> rowsCaptor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+}
@@ -0,0 +1,89 @@
+package com.smartlivestock.health.application.service;
+
+import com.smartlivestock.health.domain.model.ActivityLog;
+import com.smartlivestock.health.domain.model.TemperatureLog;
+import com.smartlivestock.health.domain.service.StreamingAnomalyDetector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class LocalAnomalyServiceTest {
+
+    @Mock private HealthAnomalyService healthAnomalyService;
+
+    private LocalAnomalyService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new LocalAnomalyService(new StreamingAnomalyDetector(), healthAnomalyService);
+    }
+
+    @Test
+    void stepCountsAlone_doNotWarmUpTheActivityBaseline() {
+        List<ActivityLog> steps = new ArrayList<>();
+        for (int i = 0; i < StreamingAnomalyDetector.WARMUP; i++) {
+            ActivityLog log = new ActivityLog();
+            log.setStepCount(400 + i);
+            steps.add(log);
+        }
+        service.observe(1L, List.of(), List.of(), steps);
+
+        assertThat(service.assess(1L, Map.of(1L, "DATAGEN"))).isZero();
+        verify(healthAnomalyService, never()).recordPredictions(anyLong(), anyLong(), anyList(), anyMap());
+    }
+
+    @Test
+    void failedWrite_isRetriedOnTheNextBatch() {
+        service.observe(1L, warmTemperatures(), List.of(), List.of());
+        doThrow(new IllegalStateException("db down")).doReturn(1).when(healthAnomalyService)
+                .recordPredictions(any(), any(), anyList(), anyMap());
+
+        assertThatThrownBy(() -> service.assess(1L, Map.of(1L, "DATAGEN"))).isInstanceOf(IllegalStateException.class);
+        assertThat(service.assess(1L, Map.of(1L, "DATAGEN"))).isEqualTo(1);
+        // Recorded now, so the next batch within the interval skips it
+        assertThat(service.assess(1L, Map.of(1L, "DATAGEN"))).isZero();
+        verify(healthAnomalyService, times(2)).recordPredictions(any(), any(), anyList(), anyMap());
+    }
+
+    @Test
+    void fullTracker_evictsTheLeastRecentlyUpdatedLivestock() {
+        ReflectionTestUtils.setField(service, "maxTracked", 2);
+        service.observe(1L, warmTemperatures(), List.of(), List.of());
+        service.observe(2L, warmTemperatures(), List.of(), List.of());
+        service.observe(1L, warmTemperatures(), List.of(), List.of());
+
+        service.observe(3L, warmTemperatures(), List.of(), List.of());
+
+        assertThat(service.assess(1L, Map.of(1L, "DATAGEN", 2L, "DATAGEN"))).isEqualTo(1);
+    }
+
+    private static List<TemperatureLog> warmTemperatures() {
+        List<TemperatureLog> temps = new ArrayList<>();
+        for (int i = 0; i < StreamingAnomalyDetector.WARMUP; i++) {
+            TemperatureLog log = new TemperatureLog();
+            log.setTemperature(new BigDecimal("38.5"));
+            temps.add(log);
+        }
+        return temps;
+    }
+}
@@ -0,0 +1,98 @@
+package com.smartlivestock.health.domain.model;
+
+import com.smartlivestock.health.domain.service.EpidemicAnalysisService;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class HerdHealthAggregateTest {
+
+    private final EpidemicAnalysisService epidemicService = new EpidemicAnalysisService();
+
+    @Test
+    void aggregate_matchesPerSnapshotComputation() {
+        List<HealthSnapshot> herd = randomHerd(new Random(7), 500);
+
+        HerdHealthAggregate aggregate = HerdHealthAggregate.of(herd);
+
+        assertThat(epidemicService.calculateHerdMetrics(aggregate))
+                .isEqualTo(epidemicService.calculateHerdMetrics(herd));
+        assertThat(aggregate.healthyCount()).isEqualTo(herd.stream()
+                .filter(s -> s.getTempStatus() == TempStatus.NORMAL && s.getMotilityStatus() == MotilityStatus.NORMAL)
+                .count());
+        assertThat(aggregate.warningCount()).isEqualTo(herd.stream()
+                .filter(s -> s.getTempStatus() == TempStatus.FEVER || s.getMotilityStatus() == MotilityStatus.ABNORMAL)
+                .count());
+        assertThat(aggregate.avgTemperatureOrDefault(38.5)).isCloseTo(herd.stream()
+                .mapToDouble(s -> s.getCurrentTemp() != null ? s.getCurrentTemp().doubleValue() : 38.5)
+                .average().orElseThrow(), within(1e-9));
+        assertThat(aggregate.avgMotility(3.0)).isCloseTo(herd.stream()
+                .mapToDouble(s -> s.getCurrentMotility() != null ? s.getCurrentMotility().doubleValue() : 0.0)
+                .average().orElseThrow(), within(1e-9));
+        assertThat(aggregate.aiAvgScore()).isCloseTo(herd.stream()
+                .filter(s -> s.getAiAnomalyScore() != null && s.getAiAnomalyScore().doubleValue() > 0)
+                .mapToDouble(s -> s.getAiAnomalyScore().doubleValue()).average().orElse(0.0), within(1e-9));
+    }
+
+    @Test
+    void deltas_keepAggregateEqualToRebuild() {
+        Random random = new Random(3);
+        List<HealthSnapshot> herd = randomHerd(random, 200);
+        Map<String, Long> counters = new HashMap<>(HerdHealthAggregate.of(herd).getCounters());
+
+        for (int i = 0; i < 1000; i++) {
+            int index = random.nextInt(herd.size());
+            Map<String, Long> before = HerdHealthAggregate.contribution(herd.get(index));
+            HealthSnapshot changed = randomSnapshot(random, herd.get(index).getLivestockId());
+            herd.set(index, changed);
+            HerdHealthAggregate.delta(before, HerdHealthAggregate.contribution(changed))
+                    .forEach((field, d) -> counters.merge(field, d, Long::sum));
+        }
+        HealthSnapshot added = randomSnapshot(random, 999L);
+        herd.add(added);
+        HerdHealthAggregate.delta(null, HerdHealthAggregate.contribution(added))
+                .forEach((field, d) -> counters.merge(field, d, Long::sum));
+
+        HerdHealthAggregate rebuilt = HerdHealthAggregate.of(herd);
+        for (String field : HerdHealthAggregate.FIELDS) {
+            assertThat(counters.getOrDefault(field, 0L)).as(field).isEqualTo(rebuilt.get(field));
+        }
+    }
+
+    @Test
+    void emptyHerd_usesDefaults() {
+        HerdHealthAggregate aggregate = HerdHealthAggregate.of(List.of());
+
+        assertThat(aggregate.abnormalRate()).isEqualTo(BigDecimal.ZERO);
+        assertThat(aggregate.avgTemperatureOrDefault(38.5)).isEqualTo(38.5);
+        assertThat(aggregate.avgMotility(3.0)).isEqualTo(3.0);
+    }
+
+    private static List<HealthSnapshot> randomHerd(Random random, int size) {
+        List<HealthSnapshot> herd = new ArrayList<>();
+        for (long id = 1; id <= size; id++) {
+            herd.add(randomSnapshot(random, id));
+        }
+        return herd;
+    }
+
+    private static HealthSnapshot randomSnapshot(Random random, Long livestockId) {
+        HealthSnapshot s = new HealthSnapshot();
+        s.setLivestockId(livestockId);
+        s.setTempStatus(TempStatus.values()[random.nextInt(TempStatus.values().length)]);
+        s.setMotilityStatus(MotilityStatus.values()[random.nextInt(MotilityStatus.values().length)]);
+        if (random.nextInt(5) > 0) s.setCurrentTemp(BigDecimal.valueOf(3750 + random.nextInt(300), 2));
+        if (random.nextInt(5) > 0) s.setCurrentMotility(BigDecimal.valueOf(100 + random.nextInt(300), 2));
+        if (random.nextBoolean()) s.setAiAnomalyScore(BigDecimal.valueOf(random.nextInt(1000), 3));
+        s.setEstrusScore(random.nextInt(100));
+        return s;
+    }
+}
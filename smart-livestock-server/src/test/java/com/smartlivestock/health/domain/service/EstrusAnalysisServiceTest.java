@@ -0,0 +1,88 @@
+package com.smartlivestock.health.domain.service;
+
+import com.smartlivestock.health.domain.model.HerdEstrusScores;
+import com.smartlivestock.health.domain.model.HerdEstrusWindows;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EstrusAnalysisServiceTest {
+
+    private final EstrusAnalysisService service = new EstrusAnalysisService();
+
+    @Test
+    void scoreHerd_comparesRecentActivityWithOlderAndTempWithOldestBaseline() {
+        HerdEstrusWindows.Builder herd = HerdEstrusWindows.builder().livestock(1L, 0);
+        // Newest first: three recent readings, then four older ones.
+        int[] steps = {400, 400, 400, 100, 100, 100, 100};
+        for (int s : steps) herd.activity(s, 1000.0, "DATAGEN");
+        herd.temperature(39.4, 38.6).temperature(38.9, 38.5);
+
+        HerdEstrusScores scores = service.scoreHerd(herd.build());
+
+        assertThat(scores.stepIncreasePercent(0)).isEqualTo(200);
+        assertThat(scores.tempDelta(0)).isEqualTo(0.9);
+        assertThat(scores.distanceDelta(0)).isEqualTo(-1000.0);
+        assertThat(scores.score(0)).isEqualTo(
+                service.calculateScore(200, new BigDecimal("0.90"), new BigDecimal("-1000.00")));
+    }
+
+    @Test
+    void scoreHerd_leavesLivestockWithTooFewReadingsUnscored() {
+        HerdEstrusWindows.Builder herd = HerdEstrusWindows.builder();
+        herd.livestock(1L, 0).activity(100, null, "DATAGEN").activity(100, null, "DATAGEN")
+                .temperature(38.5, null).temperature(38.5, null);
+        herd.livestock(2L, 0).activity(100, null, "DATAGEN").activity(100, null, "DATAGEN")
+                .activity(100, null, "DATAGEN").temperature(38.5, null);
+        herd.livestock(3L, 0);
+
+        HerdEstrusScores scores = service.scoreHerd(herd.build());
+
+        assertThat(scores.scores()).containsExactly(
+                HerdEstrusScores.UNSCORED, HerdEstrusScores.UNSCORED, HerdEstrusScores.UNSCORED);
+    }
+
+    @Test
+    void scoreHerd_missingBaselineUsesDefault_andWindowIsCapped() {
+        HerdEstrusWindows.Builder herd = HerdEstrusWindows.builder().livestock(1L, 0);
+        for (int i = 0; i < 10; i++) herd.activity(i < 3 ? 50 : 0, null, "HTTP");
+        for (int i = 0; i < 10; i++) herd.temperature(38.8, i < 6 ? 38.0 : null);
+
+        HerdEstrusWindows windows = herd.build();
+        HerdEstrusScores scores = service.scoreHerd(windows);
+
+        assertThat(windows.activityStart(1) - windows.activityStart(0)).isEqualTo(HerdEstrusWindows.WINDOW);
+        // The 7th temperature is the oldest in the window and has no baseline.
+        assertThat(scores.tempDelta(0)).isEqualTo(0.3);
+        assertThat(scores.stepIncreasePercent(0)).isEqualTo(100);
+    }
+
+    @Test
+    void scoreHerd_parallelPassMatchesOneByOne() {
+        Random random = new Random(7);
+        HerdEstrusWindows.Builder herd = HerdEstrusWindows.builder();
+        int n = 3000;
+        for (int i = 0; i < n; i++) {
+            herd.livestock(i, 0);
+            for (int a = 0; a < 7; a++) herd.activity(random.nextInt(500), random.nextDouble() * 3000, "DATAGEN");
+            for (int t = 0; t < 3; t++) herd.temperature(38 + random.nextInt(200) / 100.0, 38.5);
+        }
+        HerdEstrusWindows windows = herd.build();
+
+        HerdEstrusScores all = service.scoreHerd(windows);
+
+        for (int i = 0; i < n; i += 97) {
+            HerdEstrusWindows.Builder one = HerdEstrusWindows.builder().livestock(i, 0);
+            for (int slot = windows.activityStart(i); slot < windows.activityStart(i + 1); slot++) {
+                one.activity(windows.step(slot), windows.distance(slot), "DATAGEN");
+            }
+            for (int slot = windows.temperatureStart(i); slot < windows.temperatureStart(i + 1); slot++) {
+                one.temperature(windows.temperature(slot), windows.baseline(slot));
+            }
+            assertThat(service.scoreHerd(one.build()).score(0)).isEqualTo(all.score(i));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.smartlivestock.health.domain.service;
+
+import com.smartlivestock.health.domain.service.ProximityContactDetector.Contact;
+import com.smartlivestock.health.domain.service.ProximityContactDetector.Position;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ProximityContactDetectorTest {
+
+    private static final Instant T = Instant.parse("2026-08-20T08:00:00Z");
+    /** Roughly one metre of latitude. */
+    private static final double M = 1.0 / 110_540.0;
+
+    private final ProximityContactDetector detector = new ProximityContactDetector();
+
+    @Test
+    void detect_findsPairsWithinRadiusAcrossCellBoundaries() {
+        List<Position> positions = List.of(
+                new Position(3L, 28.2450000, 112.85, T),
+                new Position(1L, 28.2450000 + 9.5 * M, 112.85, T.plusSeconds(20)),  // 9.5 m north of 3
+                new Position(2L, 28.2450000 + 30 * M, 112.85, T));                  // 20.5 m from 1
+
+        List<Contact> contacts = detector.detect(positions, 10);
+
+        assertThat(contacts).hasSize(1);
+        Contact contact = contacts.get(0);
+        assertThat(contact.livestockA()).isEqualTo(1L);
+        assertThat(contact.livestockB()).isEqualTo(3L);
+        assertThat(contact.distanceMeters()).isCloseTo(9.5, within(0.05));
+        assertThat(contact.at()).isEqualTo(T.plusSeconds(20));
+    }
+
+    @Test
+    void detect_matchesBruteForceOnARandomHerd() {
+        Random random = new Random(11);
+        List<Position> positions = new ArrayList<>();
+        for (long id = 0; id < 2000; id++) {
+            positions.add(new Position(id, 28.245 + random.nextDouble() * 600 * M,
+                    112.85 + random.nextDouble() * 600 * M, T));
+        }
+
+        Set<String> expected = new HashSet<>();
+        for (int i = 0; i < positions.size(); i++) {
+            for (int j = i + 1; j < positions.size(); j++) {
+                if (!detector.detect(List.of(positions.get(i), positions.get(j)), 10).isEmpty()) {
+                    expected.add(i + ":" + j);
+                }
+            }
+        }
+        Set<String> actual = new HashSet<>();
+        for (Contact c : detector.detect(positions, 10)) {
+            actual.add(c.livestockA() + ":" + c.livestockB());
+        }
+
+        assertThat(actual).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,114 @@
+package com.smartlivestock.health.domain.service;
+
+import com.smartlivestock.health.domain.model.StreamingAnomalyState;
+import com.smartlivestock.health.domain.service.StreamingAnomalyDetector.Assessment;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static com.smartlivestock.health.domain.model.StreamingAnomalyState.ACTIVITY;
+import static com.smartlivestock.health.domain.model.StreamingAnomalyState.MOTILITY;
+import static com.smartlivestock.health.domain.model.StreamingAnomalyState.TEMPERATURE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class StreamingAnomalyDetectorTest {
+
+    private final StreamingAnomalyDetector detector = new StreamingAnomalyDetector();
+    private final Random random = new Random(7);
+
+    @Test
+    void assess_isNullUntilAMetricHasWarmedUp() {
+        StreamingAnomalyState state = new StreamingAnomalyState();
+        for (int i = 0; i < StreamingAnomalyDetector.WARMUP - 1; i++) {
+            detector.update(state, TEMPERATURE, 38.5);
+        }
+        assertThat(detector.assess(state)).isNull();
+
+        detector.update(state, TEMPERATURE, 38.5);
+        assertThat(detector.assess(state).type()).isEqualTo("normal");
+    }
+
+    @Test
+    void steadyNoise_scoresLow() {
+        StreamingAnomalyState state = steadyHerdMember(200);
+
+        Assessment a = detector.assess(state);
+
+        assertThat(a.score()).isLessThan(0.3);
+        assertThat(a.type()).isEqualTo("normal");
+        assertThat(state.mean(TEMPERATURE)).isCloseTo(38.5, within(0.1));
+    }
+
+    @Test
+    void temperatureSpike_isAnAbruptChange() {
+        StreamingAnomalyState state = steadyHerdMember(100);
+
+        detector.update(state, TEMPERATURE, 40.2);
+        Assessment a = detector.assess(state);
+
+        assertThat(a.type()).isEqualTo("abrupt_change");
+        assertThat(a.score()).isGreaterThan(0.7);
+        assertThat(a.zScoreComponent()).isGreaterThan(a.cusumComponent());
+    }
+
+    @Test
+    void smallPersistentShift_isCaughtByCusum() {
+        StreamingAnomalyState state = steadyHerdMember(100);
+
+        // Under two standard deviations low: no single reading is extreme, but the sum grows.
+        for (int i = 0; i < 10; i++) {
+            detector.update(state, MOTILITY, 2.75 + random.nextGaussian() * 0.05);
+        }
+        Assessment a = detector.assess(state);
+
+        assertThat(state.cusumLow(MOTILITY)).isGreaterThan(StreamingAnomalyDetector.CUSUM_H);
+        assertThat(a.cusumComponent()).isGreaterThan(a.zScoreComponent());
+        assertThat(a.type()).isEqualTo("motility_shift");
+    }
+
+    @Test
+    void shiftThatPersists_becomesTheNewBaseline() {
+        StreamingAnomalyState state = steadyHerdMember(100);
+
+        for (int i = 0; i < 400; i++) {
+            detector.update(state, ACTIVITY, 80 + random.nextGaussian() * 4);
+        }
+
+        assertThat(detector.assess(state).score()).isLessThan(0.3);
+        assertThat(state.mean(ACTIVITY)).isCloseTo(80, within(2.0));
+    }
+
+    @Test
+    void twoMetricsDeviatingTogether_areMultivariate() {
+        StreamingAnomalyState state = steadyHerdMember(100);
+
+        detector.update(state, TEMPERATURE, 39.6);
+        detector.update(state, ACTIVITY, 20);
+        Assessment a = detector.assess(state);
+
+        assertThat(a.type()).isEqualTo("multivariate");
+        assertThat(a.jointComponent()).isGreaterThan(0.5);
+    }
+
+    @Test
+    void update_ignoresNonFiniteReadings() {
+        StreamingAnomalyState state = steadyHerdMember(20);
+        double mean = state.mean(TEMPERATURE);
+
+        detector.update(state, TEMPERATURE, Double.NaN);
+
+        assertThat(state.count(TEMPERATURE)).isEqualTo(20);
+        assertThat(state.mean(TEMPERATURE)).isEqualTo(mean);
+    }
+
+    private StreamingAnomalyState steadyHerdMember(int readings) {
+        StreamingAnomalyState state = new StreamingAnomalyState();
+        for (int i = 0; i < readings; i++) {
+            detector.update(state, TEMPERATURE, 38.5 + random.nextGaussian() * 0.1);
+            detector.update(state, MOTILITY, 3.0 + random.nextGaussian() * 0.1);
+            detector.update(state, ACTIVITY, 50 + random.nextGaussian() * 3);
+        }
+        return state;
+    }
+}
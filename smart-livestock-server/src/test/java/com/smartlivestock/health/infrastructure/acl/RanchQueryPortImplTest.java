@@ -0,0 +1,139 @@
+package com.smartlivestock.health.infrastructure.acl;
+
+import com.smartlivestock.health.domain.port.dto.LivestockInfo;
+import com.smartlivestock.ranch.domain.event.LivestockChangedEvent;
+import com.smartlivestock.ranch.domain.model.AlertStatus;
+import com.smartlivestock.ranch.domain.model.Livestock;
+import com.smartlivestock.ranch.domain.repository.AlertRepository;
+import com.smartlivestock.ranch.domain.repository.LivestockRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RanchQueryPortImplTest {
+
+    @Mock private LivestockRepository livestockRepository;
+    @Mock private AlertRepository alertRepository;
+
+    private RanchQueryPortImpl port;
+
+    @BeforeEach
+    void setUp() {
+        port = new RanchQueryPortImpl(livestockRepository, alertRepository);
+    }
+
+    @Test
+    @DisplayName("近缓存 — 有效期内重复查询不再访问仓储")
+    void findLivestockById_servesFromCache() {
+        stubLivestock("SL-001");
+
+        assertThat(port.findLivestockById(1L)).map(LivestockInfo::livestockCode).contains("SL-001");
+        assertThat(port.findLivestockById(1L)).map(LivestockInfo::livestockCode).contains("SL-001");
+
+        verify(livestockRepository, times(1)).findAllByIds(anyCollection());
+    }
+
+    @Test
+    @DisplayName("近缓存 — 批量查询只加载未缓存的 ID，去重并跳过 null")
+    void findLivestockByIds_loadsOnlyMissing() {
+        stubLivestock("SL-001");
+        port.findLivestockById(1L);
+
+        Map<Long, LivestockInfo> found = port.findLivestockByIds(java.util.Arrays.asList(1L, 2L, 2L, null));
+
+        assertThat(found).containsOnlyKeys(1L, 2L);
+        verify(livestockRepository).findAllByIds(Set.of(2L));
+    }
+
+    @Test
+    @DisplayName("近缓存 — 超过 TTL 的条目重新加载")
+    void findLivestockById_reloadsExpired() {
+        ReflectionTestUtils.setField(port, "ttlMs", 0L);
+        stubLivestock("SL-001");
+
+        port.findLivestockById(1L);
+        port.findLivestockById(1L);
+
+        verify(livestockRepository, times(2)).findAllByIds(anyCollection());
+    }
+
+    @Test
+    @DisplayName("近缓存 — 满额时淘汰最久未使用的条目")
+    void findLivestockById_evictsLeastRecentlyUsed() {
+        ReflectionTestUtils.setField(port, "maxSize", 2);
+        stubLivestock("SL");
+
+        port.findLivestockById(1L);
+        port.findLivestockById(2L);
+        port.findLivestockById(1L);
+        port.findLivestockById(3L);
+        port.findLivestockById(1L);
+        port.findLivestockById(2L);
+
+        verify(livestockRepository, times(1)).findAllByIds(Set.of(1L));
+        verify(livestockRepository, times(2)).findAllByIds(Set.of(2L));
+    }
+
+    @Test
+    @DisplayName("近缓存 — 牲畜变更事件使条目失效，下次读取拿到新编号")
+    void onLivestockChanged_evictsEntry() {
+        stubLivestock("SL-001");
+        port.findLivestockById(1L);
+
+        stubLivestock("SL-101");
+        port.onLivestockChanged(new LivestockChangedEvent(1L, 1L));
+
+        assertThat(port.findLivestockById(1L)).map(LivestockInfo::livestockCode).contains("SL-101");
+    }
+
+    @Test
+    @DisplayName("近缓存 — 不存在的牲畜返回空，不缓存")
+    void findLivestockById_unknown_isEmpty() {
+        when(livestockRepository.findAllByIds(anyCollection())).thenReturn(List.of());
+
+        assertThat(port.findLivestockById(9L)).isEmpty();
+        assertThat(port.findLivestockById(9L)).isEmpty();
+
+        verify(livestockRepository, times(2)).findAllByIds(anyCollection());
+    }
+
+    @Test
+    @DisplayName("统计 — 活跃告警数按 ACTIVE 状态计数")
+    void countActiveAlertsByFarmId_countsActive() {
+        when(alertRepository.countByFarmIdAndStatus(1L, AlertStatus.ACTIVE)).thenReturn(4L);
+
+        assertThat(port.countActiveAlertsByFarmId(1L)).isEqualTo(4);
+    }
+
+    /** Every requested id resolves to a livestock whose code is {@code code}, or {@code code-id} for "SL". */
+    private void stubLivestock(String code) {
+        when(livestockRepository.findAllByIds(anyCollection())).thenAnswer(inv -> {
+            Collection<Long> ids = inv.getArgument(0);
+            return ids.stream().map(id -> livestock(id, "SL".equals(code) ? "SL-" + id : code)).toList();
+        });
+    }
+
+    private static Livestock livestock(Long id, String code) {
+        Livestock livestock = new Livestock(1L, code, "安格斯", "FEMALE", LocalDate.of(2024, 3, 15), new BigDecimal("450"));
+        livestock.setId(id);
+        return livestock;
+    }
+}
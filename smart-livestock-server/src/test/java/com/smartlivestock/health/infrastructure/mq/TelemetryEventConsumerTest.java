@@ -0,0 +1,69 @@
+package com.smartlivestock.health.infrastructure.mq;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartlivestock.health.application.dto.HealthDtos.TelemetryMessage;
+import com.smartlivestock.health.application.service.HealthApplicationService;
+import org.apache.rocketmq.client.consumer.listener.ConsumeOrderlyStatus;
+import org.apache.rocketmq.common.message.MessageExt;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TelemetryEventConsumerTest {
+
+    @Mock private HealthApplicationService healthApplicationService;
+    @Mock private TelemetryLanes telemetryLanes;
+
+    private TelemetryEventConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        consumer = new TelemetryEventConsumer(new ObjectMapper(), healthApplicationService, telemetryLanes);
+    }
+
+    @Test
+    void consumeBatch_submitsEveryMessageBeforeAcking() {
+        when(telemetryLanes.submit(any(TelemetryMessage.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        ConsumeOrderlyStatus status = consumer.consumeBatch(List.of(
+                message(1L, 10L), message(2L, 11L), message(3L, null)));
+
+        assertThat(status).isEqualTo(ConsumeOrderlyStatus.SUCCESS);
+        verify(telemetryLanes, times(2)).submit(any(TelemetryMessage.class));
+    }
+
+    @Test
+    void consumeBatch_failedMessage_suspendsQueue() {
+        when(telemetryLanes.submit(any(TelemetryMessage.class)))
+                .thenReturn(CompletableFuture.completedFuture(null))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("db down")));
+
+        ConsumeOrderlyStatus status = consumer.consumeBatch(List.of(message(1L, 10L), message(2L, 11L)));
+
+        assertThat(status).isEqualTo(ConsumeOrderlyStatus.SUSPEND_CURRENT_QUEUE_A_MOMENT);
+        verify(telemetryLanes, times(2)).submit(any(TelemetryMessage.class));
+    }
+
+    private static MessageExt message(Long deviceId, Long livestockId) {
+        String body = "{\"deviceId\":" + deviceId + ",\"livestockId\":" + livestockId
+                + ",\"farmId\":1,\"deviceType\":\"CAPSULE\",\"readings\":{\"temperature\":38.5},"
+                + "\"recordedAt\":\"2026-01-01T00:00:00Z\",\"source\":\"MQTT\"}";
+        MessageExt message = new MessageExt();
+        message.setBody(body.getBytes(StandardCharsets.UTF_8));
+        return message;
+    }
+}
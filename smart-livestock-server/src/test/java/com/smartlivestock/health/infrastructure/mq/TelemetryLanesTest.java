@@ -0,0 +1,131 @@
+package com.smartlivestock.health.infrastructure.mq;
+
+import com.smartlivestock.health.application.dto.HealthDtos.TelemetryMessage;
+import com.smartlivestock.health.application.service.HealthApplicationService;
+import com.smartlivestock.iot.domain.model.DeviceType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TelemetryLanesTest {
+
+    @Mock private HealthApplicationService healthApplicationService;
+
+    @InjectMocks
+    private TelemetryLanes lanes;
+
+    @Test
+    void laneOf_keepsOneLivestockOnOneLane() {
+        assertThat(lanes.laneOf(10L)).isEqualTo(lanes.laneOf(10L));
+        assertThat(lanes.laneOf(-3L)).isBetween(0, 7);
+    }
+
+    @Test
+    void process_commitsBatchOnce() {
+        List<TelemetryLanes.Pending> batch = List.of(pending(10L), pending(11L));
+
+        lanes.process(batch);
+
+        verify(healthApplicationService, times(1)).processTelemetryBatch(anyList());
+        assertThat(batch).allSatisfy(p -> assertThat(p.done()).isCompleted());
+    }
+
+    @Test
+    void process_failedBatchIsRetriedOneByOne_andOnlyTheBadMessageFails() {
+        TelemetryLanes.Pending good = pending(10L);
+        TelemetryLanes.Pending bad = pending(11L);
+        // Any transaction containing livestock 11 fails.
+        doThrow(new IllegalStateException("boom")).when(healthApplicationService)
+                .processTelemetryBatch(argThat(list -> list.contains(bad.message())));
+
+        lanes.process(List.of(good, bad));
+
+        assertThat(good.done()).isCompleted();
+        assertThat(good.done().isCompletedExceptionally()).isFalse();
+        assertThat(bad.done().isCompletedExceptionally()).isTrue();
+    }
+
+    @Test
+    void drain_coalescesWhatQueuedWhileBusy_inSubmitOrder() throws Exception {
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        List<List<TelemetryMessage>> batches = new CopyOnWriteArrayList<>();
+        doAnswer(inv -> {
+            List<TelemetryMessage> batch = List.copyOf(inv.getArgument(0));
+            batches.add(batch);
+            if (batches.size() == 1) {
+                firstStarted.countDown();
+                assertThat(releaseFirst.await(5, TimeUnit.SECONDS)).isTrue();
+            }
+            return null;
+        }).when(healthApplicationService).processTelemetryBatch(anyList());
+        lanes.init();
+        try {
+            // 8 lanes: 10, 18 and 26 share lane 2.
+            CompletableFuture<Void> first = lanes.submit(pending(10L).message());
+            assertThat(firstStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            TelemetryMessage second = pending(18L).message();
+            TelemetryMessage third = pending(26L).message();
+            CompletableFuture<Void> secondDone = lanes.submit(second);
+            CompletableFuture<Void> thirdDone = lanes.submit(third);
+
+            releaseFirst.countDown();
+            CompletableFuture.allOf(first, secondDone, thirdDone).get(5, TimeUnit.SECONDS);
+
+            assertThat(batches).hasSize(2);
+            assertThat(batches.get(0)).extracting(TelemetryMessage::livestockId).containsExactly(10L);
+            assertThat(batches.get(1)).containsExactly(second, third);
+        } finally {
+            releaseFirst.countDown();
+            lanes.shutdown();
+        }
+    }
+
+    @Test
+    void shutdown_failsMessagesStillQueued() throws Exception {
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        doAnswer(inv -> {
+            firstStarted.countDown();
+            releaseFirst.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(healthApplicationService).processTelemetryBatch(anyList());
+        lanes.init();
+        try {
+            lanes.submit(pending(10L).message());
+            assertThat(firstStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            CompletableFuture<Void> queued = lanes.submit(pending(18L).message());
+
+            lanes.shutdown();
+
+            assertThat(queued.isCompletedExceptionally()).isTrue();
+        } finally {
+            releaseFirst.countDown();
+        }
+    }
+
+    private static TelemetryLanes.Pending pending(Long livestockId) {
+        TelemetryMessage message = new TelemetryMessage(1L, livestockId, 1L, DeviceType.TRACKER,
+                Map.of("stepCount", 10), Instant.parse("2026-06-04T10:00:00Z"), "DATAGEN");
+        return new TelemetryLanes.Pending(message, new CompletableFuture<>());
+    }
+}
@@ -81,6 +81,73 @@ class AlertStateMachineJourneyTest extends AbstractJourneyTest {
         }
     }
 
+    @Nested
+    @DisplayName("批量状态转换（单条 UPDATE ... RETURNING）")
+    class BatchTransitions {
+
+        private java.util.Map<String, Object> alert(String alertId) {
+            return getApi(ownerToken, "/api/v1/farms/1/alerts/" + alertId);
+        }
+
+        @Test
+        @DisplayName("batch-handle 只忽略 ACTIVE 告警，重复提交计数为 0")
+        void batchDismiss_onlyActiveAlerts() {
+            String alertId1 = createActiveAlert(1L);
+            String alertId2 = createActiveAlert(1L);
+
+            var result = postApi(ownerToken, "/api/v1/farms/1/alerts/batch-handle",
+                    java.util.Map.of("alertIds", java.util.List.of(alertId1, alertId2)));
+            assertThat(result.get("handledCount")).isEqualTo(2);
+            assertThat(alert(alertId1).get("status")).isEqualTo("DISMISSED");
+            assertThat(alert(alertId2).get("resolvedType")).isEqualTo("MANUAL_DISMISS");
+
+            var again = postApi(ownerToken, "/api/v1/farms/1/alerts/batch-handle",
+                    java.util.Map.of("alertIds", java.util.List.of(alertId1, alertId2)));
+            assertThat(again.get("handledCount")).isEqualTo(0);
+        }
+
+        @Test
+        @DisplayName("按牲畜和类型自动解除")
+        void autoResolve_byLivestockAndType() {
+            AlertDto created = alertApplicationService.createAlert(1L, 1L, null,
+                    AlertType.TEMPERATURE_ABNORMAL, Severity.WARNING, "测试告警-" + System.nanoTime());
+
+            alertApplicationService.autoResolveByLivestockAndType(1L, AlertType.TEMPERATURE_ABNORMAL);
+
+            var resolved = alert(String.valueOf(created.id()));
+            assertThat(resolved.get("status")).isEqualTo("AUTO_RESOLVED");
+            assertThat(resolved.get("resolvedType")).isEqualTo("AUTO");
+        }
+
+        @Test
+        @DisplayName("batch-archive 按条件归档，无条件请求返回 400")
+        void batchArchive_byFilter() {
+            AlertDto created = alertApplicationService.createAlert(1L, 1L, null,
+                    AlertType.FENCE_BREACH, Severity.CRITICAL, "测试告警-" + System.nanoTime());
+
+            var result = postApi(ownerToken, "/api/v1/farms/1/alerts/batch-archive",
+                    java.util.Map.of("livestockId", "1", "type", "FENCE_BREACH"));
+            assertThat(((Number) result.get("archivedCount")).intValue()).isGreaterThanOrEqualTo(1);
+            assertThat(alert(String.valueOf(created.id())).get("status")).isEqualTo("AUTO_RESOLVED");
+
+            var resp = postRaw(ownerToken, "/api/v1/farms/1/alerts/batch-archive", java.util.Map.of());
+            assertError(resp, HttpStatus.BAD_REQUEST, "VALIDATION_ERROR");
+        }
+
+        @Test
+        @DisplayName("batch-read 计数存在的告警，已读的也计入，不存在的不计入")
+        void batchRead_countsExistingAlerts() {
+            String alertId1 = createActiveAlert(1L);
+            String alertId2 = createActiveAlert(1L);
+            postApi(ownerToken, "/api/v1/farms/1/alerts/" + alertId1 + "/read", null);
+
+            var result = postApi(ownerToken, "/api/v1/farms/1/alerts/batch-read",
+                    java.util.Map.of("alertIds", java.util.List.of(alertId1, alertId2, "999999999")));
+            assertThat(result.get("count")).isEqualTo(2);
+            assertThat(alert(alertId2).get("read")).isEqualTo(true);
+        }
+    }
+
     @Nested
     @DisplayName("角色权限")
     class RolePermissions {
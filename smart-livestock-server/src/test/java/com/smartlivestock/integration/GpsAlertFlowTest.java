@@ -1,6 +1,10 @@
 package com.smartlivestock.integration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartlivestock.ranch.application.service.FenceIndexCache;
+import com.smartlivestock.ranch.application.service.FenceStateTracker;
+import com.smartlivestock.ranch.application.service.RanchOverviewProjectionStore;
+import com.smartlivestock.shared.cache.RedisCacheService;
 import com.smartlivestock.ranch.domain.model.*;
 import com.smartlivestock.ranch.domain.port.IoTQueryPort;
 import com.smartlivestock.ranch.domain.port.dto.InstallationInfo;
@@ -44,6 +48,8 @@ class GpsAlertFlowTest {
     @Mock private LivestockRepository livestockRepository;
     @Mock private FenceRepository fenceRepository;
     @Mock private AlertRepository alertRepository;
+    @Mock private RedisCacheService redisCacheService;
+    @Mock private RanchOverviewProjectionStore overviewProjectionStore;
 
     private FenceBreachDetector fenceBreachDetector;
     private GpsLogEventConsumer consumer;
@@ -53,7 +59,8 @@ class GpsAlertFlowTest {
     void setUp() {
         fenceBreachDetector = new FenceBreachDetector();
         consumer = new GpsLogEventConsumer(objectMapper, ioTQueryPort,
-                livestockRepository, fenceRepository, alertRepository, fenceBreachDetector);
+                livestockRepository, new FenceIndexCache(fenceRepository), alertRepository,
+                new FenceStateTracker(redisCacheService), overviewProjectionStore);
     }
 
     private String gpsMessage(Long deviceId, String lat, String lon) {
@@ -2,6 +2,9 @@ package com.smartlivestock.integration;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 
 import java.util.List;
 import java.util.Map;
@@ -142,4 +145,31 @@ class RanchOverviewIntegrationTest extends AbstractJourneyTest {
         assertThat(fenceSummary).containsKeys("FENCE_BREACH", "FENCE_APPROACH", "ZONE_APPROACH");
         assertThat(healthSummary).containsKeys("TEMPERATURE_ABNORMAL", "DIGESTIVE_ABNORMAL", "ESTRUS", "EPIDEMIC");
     }
+
+    @Test
+    @DisplayName("If-None-Match 命中当前版本返回 304")
+    void ifNoneMatchCurrentVersionReturns304() {
+        var first = getRaw(ownerToken, "/api/v1/farms/1/ranch-overview");
+        HttpHeaders headers = authHeaders(ownerToken);
+        headers.setIfNoneMatch(first.getHeaders().getETag());
+
+        var resp = restTemplate.exchange("/api/v1/farms/1/ranch-overview",
+                HttpMethod.GET, new HttpEntity<>(headers), Map.class);
+
+        assertThat(resp.getStatusCode().value()).isEqualTo(304);
+        assertThat(resp.getHeaders().getETag()).isEqualTo(first.getHeaders().getETag());
+    }
+
+    @Test
+    @DisplayName("仅带 since 当前版本返回 200 空增量，而非 304")
+    void sinceCurrentVersionReturnsEmptyDelta() {
+        String version = (String) fetchOverview(ownerToken, 1L).get("version");
+
+        var resp = getRaw(ownerToken, "/api/v1/farms/1/ranch-overview?since=" + version);
+
+        assertThat(resp.getStatusCode().value()).isEqualTo(200);
+        Map<String, Object> data = (Map<String, Object>) resp.getBody().get("data");
+        assertThat(data.get("delta")).isEqualTo(true);
+        assertThat((List<?>) data.get("livestockMarkers")).isEmpty();
+    }
 }
@@ -0,0 +1,100 @@
+package com.smartlivestock.iot.application;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    void saturatedFastCalls_growLimitByAboutOnePerRound() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 10, 1000);
+
+        limiter.call(() -> null);
+        assertThat(limiter.getLimit()).isEqualTo(4); // one call in flight is not saturation
+
+        // Keep every slot busy: each finished call is immediately replaced by a waiting one.
+        for (int i = 0; i < 4; i++) {
+            limiter.acquire();
+        }
+        for (int i = 0; i < 5; i++) {
+            limiter.release(FAST, true);
+            limiter.acquire();
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    void failure_halvesLimitOncePerWindow() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 1, 10, 60_000);
+
+        assertThatThrownBy(() -> limiter.call(() -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(limiter.getLimit()).isEqualTo(4);
+
+        fillAndRelease(limiter, 4, false);
+
+        assertThat(limiter.getLimit()).isEqualTo(4);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void limit_staysWithinBounds() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 2, 3, 0);
+
+        assertThat(limiter.getLimit()).isEqualTo(3);
+        fillAndRelease(limiter, 1, false);
+        fillAndRelease(limiter, 1, false);
+
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void interruptWhileWaiting_abandonsCall() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 1000);
+        limiter.acquire();
+        AtomicBoolean ran = new AtomicBoolean();
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        AtomicBoolean stillInterrupted = new AtomicBoolean();
+
+        Thread waiter = new Thread(() -> {
+            try {
+                limiter.call(() -> ran.getAndSet(true));
+            } catch (Throwable t) {
+                thrown.set(t);
+                stillInterrupted.set(Thread.currentThread().isInterrupted());
+            }
+        });
+        waiter.start();
+        while (waiter.getState() != Thread.State.WAITING) {
+            Thread.onSpinWait();
+        }
+        waiter.interrupt();
+        waiter.join(5000);
+
+        assertThat(thrown.get()).isInstanceOf(CancellationException.class);
+        assertThat(stillInterrupted).isTrue();
+        assertThat(ran).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+    }
+
+    /** Occupies {@code n} slots, then releases them all with the given outcome. */
+    private static void fillAndRelease(AdaptiveConcurrencyLimiter limiter, int n, boolean ok) throws InterruptedException {
+        for (int i = 0; i < n; i++) {
+            limiter.acquire();
+        }
+        for (int i = 0; i < n; i++) {
+            limiter.release(FAST, ok);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.smartlivestock.iot.application;
+
+import com.smartlivestock.iot.domain.model.Device;
+import com.smartlivestock.iot.domain.model.DeviceType;
+import com.smartlivestock.iot.domain.model.TelemetrySource;
+import com.smartlivestock.iot.domain.repository.DeviceRepository;
+import com.smartlivestock.iot.infrastructure.client.agenticplatform.client.AgenticPlatformDeviceClient;
+import com.smartlivestock.iot.infrastructure.client.agenticplatform.client.AgenticPlatformHistoryDataClient;
+import com.smartlivestock.iot.infrastructure.client.agenticplatform.dto.InternalResponse;
+import com.smartlivestock.iot.infrastructure.client.agenticplatform.dto.ReportRecordPageResp;
+import com.smartlivestock.iot.infrastructure.client.agenticplatform.oauth.AgenticPlatformGatewayTokenService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AgenticPlatformTelemetrySyncJobTest {
+
+    private static final int PAGE_SIZE = 10;
+    private static final int MAX_CONCURRENCY = 3;
+    private static final Instant NEWEST = Instant.parse("2026-06-04T10:00:00Z");
+    private static final DateTimeFormatter REPORT_TIME =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneOffset.UTC);
+
+    @Mock private DeviceRepository deviceRepository;
+    @Mock private AgenticPlatformHistoryDataClient historyClient;
+    @Mock private AgenticPlatformDeviceClient deviceClient;
+    @Mock private TelemetryIngestionService telemetryIngestionService;
+    @Mock private AgenticPlatformGatewayTokenService gatewayTokenService;
+
+    private AgenticPlatformTelemetrySyncJob job;
+    private final List<Integer> requestedPages = Collections.synchronizedList(new ArrayList<>());
+    private final Set<Integer> completedPages = ConcurrentHashMap.newKeySet();
+    private final Set<Integer> startedBeforePage2Completed = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    void setUp() {
+        job = new AgenticPlatformTelemetrySyncJob(deviceRepository, historyClient, deviceClient,
+                telemetryIngestionService, gatewayTokenService);
+        ReflectionTestUtils.setField(job, "pageSize", PAGE_SIZE);
+        ReflectionTestUtils.setField(job, "ingestBatchSize", 500);
+        ReflectionTestUtils.setField(job, "initialConcurrency", MAX_CONCURRENCY);
+        ReflectionTestUtils.setField(job, "minConcurrency", 1);
+        ReflectionTestUtils.setField(job, "maxConcurrency", MAX_CONCURRENCY);
+        ReflectionTestUtils.setField(job, "targetLatencyMs", 60_000L);
+        ReflectionTestUtils.setField(job, "pagePrefetch", 2);
+        job.init();
+        when(telemetryIngestionService.ingestBatch(eq(1L), anyList(), eq(TelemetrySource.AGENTIC_PLATFORM)))
+                .thenAnswer(inv -> ((List<?>) inv.getArgument(1)).size());
+    }
+
+    @AfterEach
+    void tearDown() {
+        job.shutdown();
+    }
+
+    @Test
+    @DisplayName("首次同步 — 其余页按 max-concurrency 分波抓取，一波完成后才开始下一波")
+    void firstSync_fetchesRemainingPagesInBoundedWaves() {
+        device(null);
+        platform(100, 2);
+
+        job.syncDevice(1L);
+
+        // Page 11 is the one empty probe past the total
+        assertThat(requestedPages).containsExactlyInAnyOrder(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11);
+        // Page 2 is slow; with unbounded fan-out pages 5+ would start before it finished
+        assertThat(startedBeforePage2Completed).doesNotContain(5, 6, 7, 8, 9, 10);
+        assertThat(ingestedCount()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("增量同步 — 只预取 page-prefetch 页，连续旧记录满一页即提前结束")
+    void incrementalSync_exitsEarlyWithinPrefetch() {
+        // Records 0..14 are newer than the cursor, 15.. are older
+        device(NEWEST.minusSeconds(15 * 60));
+        platform(100, -1);
+
+        job.syncDevice(1L);
+
+        // Page 1 alone, then a wave of pages 2-3; page 3 ends the scan
+        assertThat(requestedPages).containsExactlyInAnyOrder(1, 2, 3);
+        assertThat(ingestedCount()).isEqualTo(15);
+    }
+
+    @Test
+    @DisplayName("首次同步 — 页数不足一波时只抓实际剩余页")
+    void firstSync_smallTotal_fetchesOnlyRemainingPages() {
+        device(null);
+        platform(25, -1);
+
+        job.syncDevice(1L);
+
+        assertThat(requestedPages).containsExactlyInAnyOrder(1, 2, 3);
+        assertThat(ingestedCount()).isEqualTo(25);
+    }
+
+    private void device(Instant cursor) {
+        Device device = new Device();
+        device.setId(1L);
+        device.setPlatformDeviceId(99L);
+        device.setDeviceType(DeviceType.EAR_TAG);
+        device.setLastTelemetrySyncedAt(cursor);
+        when(deviceRepository.findById(1L)).thenReturn(Optional.of(device));
+    }
+
+    /**
+     * Serves {@code total} records, newest first, one minute apart. Page
+     * {@code slowPage} takes 200 ms.
+     */
+    private void platform(int total, int slowPage) {
+        when(historyClient.queryReportRecords(eq("99"), anyInt(), eq(PAGE_SIZE))).thenAnswer(inv -> {
+            int page = inv.getArgument(1);
+            requestedPages.add(page);
+            if (!completedPages.contains(2)) {
+                startedBeforePage2Completed.add(page);
+            }
+            if (page == slowPage) {
+                Thread.sleep(200);
+            }
+            List<ReportRecordPageResp.ReportRecord> records = new ArrayList<>();
+            for (int i = (page - 1) * PAGE_SIZE; i < Math.min(total, page * PAGE_SIZE); i++) {
+                ReportRecordPageResp.ReportRecord record = new ReportRecordPageResp.ReportRecord();
+                record.setId(String.valueOf(i));
+                record.setReportTime(REPORT_TIME.format(NEWEST.minusSeconds(i * 60L)));
+                records.add(record);
+            }
+            ReportRecordPageResp data = new ReportRecordPageResp();
+            data.setTotal((long) total);
+            data.setRecords(records);
+            InternalResponse<ReportRecordPageResp> resp = new InternalResponse<>();
+            resp.setCode(200);
+            resp.setSuccess(true);
+            resp.setData(data);
+            completedPages.add(page);
+            return resp;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private int ingestedCount() {
+        ArgumentCaptor<List<TelemetryIngestionService.Reading>> batches = ArgumentCaptor.forClass(List.class);
+        verify(telemetryIngestionService, atLeastOnce())
+                .ingestBatch(eq(1L), batches.capture(), eq(TelemetrySource.AGENTIC_PLATFORM));
+        return batches.getAllValues().stream().mapToInt(List::size).sum();
+    }
+}
@@ -0,0 +1,89 @@
+package com.smartlivestock.iot.application;
+
+import com.smartlivestock.iot.domain.event.DeviceContextChangedEvent;
+import com.smartlivestock.iot.domain.model.Installation;
+import com.smartlivestock.iot.domain.port.RanchQueryPort;
+import com.smartlivestock.iot.domain.port.dto.LivestockInfo;
+import com.smartlivestock.iot.domain.repository.InstallationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DeviceContextCacheTest {
+
+    @Mock private InstallationRepository installationRepository;
+    @Mock private RanchQueryPort ranchQueryPort;
+
+    private DeviceContextCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new DeviceContextCache(installationRepository, ranchQueryPort);
+    }
+
+    private static Installation installation(Long id, Long deviceId, Long livestockId) {
+        Installation installation = new Installation(deviceId, livestockId, 1L);
+        installation.setId(id);
+        return installation;
+    }
+
+    @Test
+    void get_resolvesChainOnce_thenServesFromCache() {
+        when(installationRepository.findActiveByDeviceId(1L)).thenReturn(Optional.of(installation(7L, 1L, 10L)));
+        when(ranchQueryPort.findLivestockById(10L))
+                .thenReturn(Optional.of(new LivestockInfo(10L, 100L, "C-10", null, null, null)));
+
+        DeviceContextCache.DeviceContext first = cache.get(1L);
+        DeviceContextCache.DeviceContext second = cache.get(1L);
+
+        assertThat(first).isEqualTo(new DeviceContextCache.DeviceContext(1L, 7L, 10L, 100L));
+        assertThat(second).isSameAs(first);
+        verify(installationRepository, times(1)).findActiveByDeviceId(1L);
+        verify(ranchQueryPort, times(1)).findLivestockById(10L);
+    }
+
+    @Test
+    void uninstalledDevice_isCachedUntilContextChanges() {
+        when(installationRepository.findActiveByDeviceId(2L))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(installation(8L, 2L, 20L)));
+        when(ranchQueryPort.findLivestockById(20L))
+                .thenReturn(Optional.of(new LivestockInfo(20L, 200L, "C-20", null, null, null)));
+
+        assertThat(cache.get(2L).installed()).isFalse();
+        assertThat(cache.get(2L).installed()).isFalse();
+
+        cache.onDeviceContextChanged(new DeviceContextChangedEvent(2L));
+
+        assertThat(cache.get(2L)).isEqualTo(new DeviceContextCache.DeviceContext(2L, 8L, 20L, 200L));
+        verify(installationRepository, times(2)).findActiveByDeviceId(2L);
+    }
+
+    @Test
+    void full_evictsLeastRecentlyUsedDevice() {
+        ReflectionTestUtils.setField(cache, "maxSize", 2);
+        when(installationRepository.findActiveByDeviceId(org.mockito.ArgumentMatchers.anyLong()))
+                .thenReturn(Optional.empty());
+
+        cache.get(1L);
+        cache.get(2L);
+        cache.get(1L);
+        cache.get(3L);
+        cache.get(1L);
+        cache.get(2L);
+
+        verify(installationRepository, times(1)).findActiveByDeviceId(1L);
+        verify(installationRepository, times(2)).findActiveByDeviceId(2L);
+    }
+}
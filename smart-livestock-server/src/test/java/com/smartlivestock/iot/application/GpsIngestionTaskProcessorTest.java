@@ -13,12 +13,17 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -51,14 +56,16 @@ class GpsIngestionTaskProcessorTest {
 
     @Test
     void processTask_writesGpsAndRemovesCompletedTask() {
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.claimTask(1L)).thenReturn(Optional.of(task));
 
         boolean processed = processor.processTask(1L);
 
         assertTrue(processed);
-        verify(gpsLogApplicationService).logGps(
-                task.getDeviceId(), task.getLatitude(), task.getLongitude(),
-                task.getAccuracy(), task.getRecordedAt(), task.getSource());
+        verify(gpsLogApplicationService).logGpsBatch(org.mockito.ArgumentMatchers.argThat(logs ->
+                logs.size() == 1
+                        && logs.get(0).getDeviceId().equals(task.getDeviceId())
+                        && logs.get(0).getRecordedAt().equals(task.getRecordedAt())),
+                org.mockito.ArgumentMatchers.isNull());
         verify(taskRepository).delete(task);
         verify(taskRepository, never()).save(task);
     }
@@ -66,38 +73,63 @@ class GpsIngestionTaskProcessorTest {
     @Test
     void processTask_notReady_skipsGpsWrite() {
         task.setNextAttemptAt(Instant.now().plusSeconds(30));
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.claimTask(1L)).thenReturn(Optional.of(task));
 
         assertFalse(processor.processTask(1L));
 
-        verify(gpsLogApplicationService, never()).logGps(
-                org.mockito.ArgumentMatchers.any(), org.mockito.ArgumentMatchers.any(),
-                org.mockito.ArgumentMatchers.any(), org.mockito.ArgumentMatchers.any(),
-                org.mockito.ArgumentMatchers.any(), org.mockito.ArgumentMatchers.any());
+        verify(gpsLogApplicationService, never()).logGpsBatch(anyList(), any());
     }
 
     @Test
     void processTask_failedStatus_skipsGpsWrite() {
         task.setStatus(GpsIngestionTaskStatus.FAILED);
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.claimTask(1L)).thenReturn(Optional.of(task));
 
         assertFalse(processor.processTask(1L));
         verify(taskRepository, never()).delete(task);
     }
 
+    @Test
+    void processTask_lockedByAnotherDrain_skipsGpsWrite() {
+        when(taskRepository.claimTask(1L)).thenReturn(Optional.empty());
+
+        assertFalse(processor.processTask(1L));
+
+        verify(gpsLogApplicationService, never()).logGpsBatch(anyList(), any());
+    }
+
     @Test
     void processTask_gpsWriteFailure_propagatesForSchedulerRetry() {
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.claimTask(1L)).thenReturn(Optional.of(task));
         org.mockito.Mockito.doThrow(new IllegalStateException("gps unavailable"))
-                .when(gpsLogApplicationService)
-                .logGps(task.getDeviceId(), task.getLatitude(), task.getLongitude(),
-                        task.getAccuracy(), task.getRecordedAt(), task.getSource());
+                .when(gpsLogApplicationService).logGpsBatch(anyList(), any());
 
         assertThrows(IllegalStateException.class, () -> processor.processTask(1L));
 
         verify(taskRepository, never()).delete(task);
     }
 
+    @Test
+    void processTask_sharded_leaseHeldElsewhere_skipsClaim() {
+        when(taskRepository.tryLockShard(3)).thenReturn(false);
+
+        assertFalse(processor.processTask(1L, 3, 8));
+
+        verify(taskRepository, never()).claimTask(any());
+        verify(gpsLogApplicationService, never()).logGpsBatch(anyList(), any());
+    }
+
+    @Test
+    void processTask_sharded_publishesUnderShardRoutingKey() {
+        when(taskRepository.tryLockShard(2)).thenReturn(true);
+        when(taskRepository.claimTask(1L)).thenReturn(Optional.of(task));
+
+        assertTrue(processor.processTask(1L, 2, 8));
+
+        verify(gpsLogApplicationService).logGpsBatch(anyList(), eq("gps-shard-2"));
+        verify(taskRepository).delete(task);
+    }
+
     @Test
     void recordFailure_updatesTaskForRetry() {
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
@@ -110,4 +142,49 @@ class GpsIngestionTaskProcessorTest {
         assertEquals("gps unavailable", task.getLastError());
         verify(taskRepository).save(task);
     }
+
+    @Test
+    void drainBatch_upsertsClaimedTasksAndDeletesThemInOneCall() {
+        when(taskRepository.claimReadyTasks(any(Instant.class), eq(50), eq(0), eq(1))).thenReturn(List.of(task));
+
+        assertEquals(1, processor.drainBatch(50));
+
+        verify(gpsLogApplicationService).logGpsBatch(org.mockito.ArgumentMatchers.argThat(logs ->
+                logs.size() == 1
+                        && logs.get(0).getDeviceId().equals(task.getDeviceId())
+                        && logs.get(0).getRecordedAt().equals(task.getRecordedAt())),
+                org.mockito.ArgumentMatchers.isNull());
+        verify(taskRepository).deleteAllById(List.of(1L));
+    }
+
+    @Test
+    void drainBatch_nothingReady_skipsWrites() {
+        when(taskRepository.claimReadyTasks(any(Instant.class), eq(50), eq(0), eq(1))).thenReturn(List.of());
+
+        assertEquals(0, processor.drainBatch(50));
+
+        verify(gpsLogApplicationService, never()).logGpsBatch(anyList(), any());
+        verify(taskRepository, never()).deleteAllById(anyList());
+    }
+
+    @Test
+    void drainShard_leaseHeldElsewhere_skipsClaim() {
+        when(taskRepository.tryLockShard(3)).thenReturn(false);
+
+        assertEquals(0, processor.drainShard(3, 8, 50));
+
+        verify(taskRepository, never()).claimReadyTasks(any(Instant.class), anyInt(), anyInt(), anyInt());
+        verify(gpsLogApplicationService, never()).logGpsBatch(anyList(), any());
+    }
+
+    @Test
+    void drainShard_publishesUnderShardRoutingKey() {
+        when(taskRepository.tryLockShard(2)).thenReturn(true);
+        when(taskRepository.claimReadyTasks(any(Instant.class), eq(50), eq(2), eq(8))).thenReturn(List.of(task));
+
+        assertEquals(1, processor.drainShard(2, 8, 50));
+
+        verify(gpsLogApplicationService).logGpsBatch(anyList(), eq("gps-shard-2"));
+        verify(taskRepository).deleteAllById(List.of(1L));
+    }
 }
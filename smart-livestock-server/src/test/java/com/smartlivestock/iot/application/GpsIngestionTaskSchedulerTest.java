@@ -16,6 +16,8 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -38,14 +40,72 @@ class GpsIngestionTaskSchedulerTest {
     void processReadyTasks_continuesAfterFailureAndRecordsRetry() {
         when(processor.findReadyTaskIds(any(Instant.class), anyInt()))
                 .thenReturn(List.of(1L, 2L));
-        when(processor.processTask(1L)).thenReturn(true);
-        when(processor.processTask(2L)).thenThrow(new IllegalStateException("gps write failed"));
+        when(processor.processTask(1L, 0, 1)).thenReturn(true);
+        when(processor.processTask(2L, 0, 1)).thenThrow(new IllegalStateException("gps write failed"));
 
         scheduler.processReadyTasks();
 
-        verify(processor).processTask(1L);
-        verify(processor).processTask(2L);
+        verify(processor).processTask(1L, 0, 1);
+        verify(processor).processTask(2L, 0, 1);
         verify(processor).recordFailure(
                 eq(2L), anyString(), eq(10), any(Instant.class));
     }
+
+    @Test
+    void processReadyTasks_batchDrain_keepsDrainingWhileBatchesAreFull() {
+        ReflectionTestUtils.setField(scheduler, "batchDrain", true);
+        when(processor.drainBatch(20)).thenReturn(20, 20, 7);
+
+        scheduler.processReadyTasks();
+
+        verify(processor, times(3)).drainBatch(20);
+        verify(processor, never()).findReadyTaskIds(any(Instant.class), anyInt());
+    }
+
+    @Test
+    void processReadyTasks_batchDrainFailure_fallsBackToPerTaskIsolation() {
+        ReflectionTestUtils.setField(scheduler, "batchDrain", true);
+        when(processor.drainBatch(20)).thenThrow(new IllegalStateException("batch upsert failed"));
+        when(processor.findReadyTaskIds(any(Instant.class), anyInt()))
+                .thenReturn(List.of(1L, 2L));
+        when(processor.processTask(1L, 0, 1)).thenReturn(true);
+        when(processor.processTask(2L, 0, 1)).thenThrow(new IllegalStateException("bad row"));
+
+        scheduler.processReadyTasks();
+
+        verify(processor).processTask(1L, 0, 1);
+        verify(processor).recordFailure(
+                eq(2L), anyString(), eq(10), any(Instant.class));
+    }
+
+    @Test
+    void processReadyTasks_sharded_drainsEveryShardOnce() {
+        ReflectionTestUtils.setField(scheduler, "batchDrain", true);
+        ReflectionTestUtils.setField(scheduler, "shards", 4);
+        ReflectionTestUtils.setField(scheduler, "workers", 2);
+        when(processor.drainShard(anyInt(), eq(4), eq(20))).thenReturn(3);
+
+        scheduler.processReadyTasks();
+
+        for (int shard = 0; shard < 4; shard++) {
+            verify(processor).drainShard(shard, 4, 20);
+        }
+        verify(processor, never()).drainBatch(anyInt());
+    }
+
+    @Test
+    void processReadyTasks_shardedBatchFailure_retriesTasksUnderTheirShard() {
+        ReflectionTestUtils.setField(scheduler, "batchDrain", true);
+        ReflectionTestUtils.setField(scheduler, "shards", 2);
+        ReflectionTestUtils.setField(scheduler, "workers", 1);
+        when(processor.drainShard(anyInt(), eq(2), eq(20))).thenThrow(new IllegalStateException("batch upsert failed"));
+        when(processor.findReadyTaskIds(any(Instant.class), eq(20), eq(0), eq(2))).thenReturn(List.of(10L));
+        when(processor.findReadyTaskIds(any(Instant.class), eq(20), eq(1), eq(2))).thenReturn(List.of(11L));
+
+        scheduler.processReadyTasks();
+
+        verify(processor).processTask(10L, 0, 2);
+        verify(processor).processTask(11L, 1, 2);
+        verify(processor, never()).processTask(10L);
+    }
 }
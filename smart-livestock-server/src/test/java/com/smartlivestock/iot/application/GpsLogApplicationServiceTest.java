@@ -0,0 +1,81 @@
+package com.smartlivestock.iot.application;
+
+import com.smartlivestock.iot.application.dto.GpsLogDto;
+import com.smartlivestock.iot.domain.model.GpsLog;
+import com.smartlivestock.iot.domain.model.GpsLogBlock;
+import com.smartlivestock.iot.domain.repository.GpsLogBlockRepository;
+import com.smartlivestock.iot.domain.repository.GpsLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GpsLogApplicationServiceTest {
+
+    private static final Instant T0 = Instant.parse("2026-06-04T10:00:00Z");
+
+    @Mock private GpsLogRepository gpsLogRepository;
+    @Mock private GpsLogBlockRepository gpsLogBlockRepository;
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    private GpsLogApplicationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new GpsLogApplicationService(gpsLogRepository, gpsLogBlockRepository, eventPublisher);
+    }
+
+    @Test
+    void getLatestByDevice_rowNewerThanArchive_skipsBlockDecode() {
+        GpsLog row = gps(T0, "28.300");
+        GpsLogBlock block = GpsLogBlock.encode(1L, LocalDate.parse("2026-06-03"),
+                List.of(gps(T0.minusSeconds(86_400), "28.100")));
+        when(gpsLogRepository.findLatestByDeviceId(1L)).thenReturn(Optional.of(row));
+        when(gpsLogBlockRepository.findLatestByDeviceId(1L)).thenReturn(Optional.of(block));
+
+        Optional<GpsLogDto> latest = service.getLatestByDevice(1L);
+
+        assertThat(latest).map(GpsLogDto::recordedAt).contains(T0);
+    }
+
+    @Test
+    void getLatestByDevice_allArchived_returnsNewestArchivedPoint() {
+        GpsLogBlock block = GpsLogBlock.encode(1L, LocalDate.parse("2026-06-04"), List.of(
+                gps(T0.minusSeconds(60), "28.100"),
+                gps(T0, "28.200")));
+        when(gpsLogRepository.findLatestByDeviceId(1L)).thenReturn(Optional.empty());
+        when(gpsLogBlockRepository.findLatestByDeviceId(1L)).thenReturn(Optional.of(block));
+
+        Optional<GpsLogDto> latest = service.getLatestByDevice(1L);
+
+        assertThat(latest).map(GpsLogDto::recordedAt).contains(T0);
+        assertThat(latest.get().latitude()).isEqualByComparingTo("28.200");
+    }
+
+    @Test
+    void getByDevice_readsRecentRowsOnly() {
+        when(gpsLogRepository.findByDeviceId(1L)).thenReturn(List.of(gps(T0, "28.300")));
+
+        assertThat(service.getByDevice(1L)).hasSize(1);
+        verify(gpsLogBlockRepository, never()).findByDeviceId(any());
+    }
+
+    private static GpsLog gps(Instant recordedAt, String latitude) {
+        return new GpsLog(1L, new BigDecimal(latitude), new BigDecimal("112.852"), null, recordedAt);
+    }
+}
@@ -0,0 +1,64 @@
+package com.smartlivestock.iot.application;
+
+import com.smartlivestock.iot.domain.model.GpsLog;
+import com.smartlivestock.iot.domain.repository.GpsLogBlockRepository;
+import com.smartlivestock.iot.domain.repository.GpsLogRepository;
+import com.smartlivestock.iot.domain.repository.GpsLogRepository.DeviceDay;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GpsLogArchiveServiceTest {
+
+    private static final ZoneId SHANGHAI = ZoneId.of("Asia/Shanghai");
+    private static final LocalDate DAY = LocalDate.parse("2026-06-04");
+
+    @Mock private GpsLogRepository gpsLogRepository;
+    @Mock private GpsLogBlockRepository gpsLogBlockRepository;
+
+    private GpsLogArchiveService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new GpsLogArchiveService(gpsLogRepository, gpsLogBlockRepository);
+    }
+
+    @Test
+    void findDeviceDaysBefore_listsDaysInArchiveZone() {
+        Instant before = Instant.parse("2026-06-05T00:00:00Z");
+
+        service.findDeviceDaysBefore(before, 50);
+
+        verify(gpsLogRepository).findDeviceDaysBefore(before, SHANGHAI, 50);
+    }
+
+    @Test
+    void compact_boundsTheDayInTheSameZone() {
+        // Shanghai midnight is 16:00 UTC the evening before.
+        Instant from = Instant.parse("2026-06-03T16:00:00Z");
+        Instant to = Instant.parse("2026-06-04T16:00:00Z");
+        when(gpsLogBlockRepository.tryLockDevice(1L)).thenReturn(true);
+        when(gpsLogRepository.findAllByDeviceIdInRange(1L, from, to)).thenReturn(List.of(
+                new GpsLog(1L, new BigDecimal("28.1"), new BigDecimal("112.8"), null, from.plusSeconds(60))));
+        when(gpsLogBlockRepository.findByDeviceIdAndDay(1L, DAY)).thenReturn(Optional.empty());
+
+        int archived = service.compact(new DeviceDay(1L, DAY));
+
+        assertThat(archived).isEqualTo(1);
+        verify(gpsLogRepository).deleteByDeviceIdInRange(1L, from, to);
+    }
+}
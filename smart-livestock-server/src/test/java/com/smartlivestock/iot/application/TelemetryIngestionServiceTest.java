@@ -50,8 +50,8 @@ class TelemetryIngestionServiceTest {
     @BeforeEach
     void setUp() {
         service = new TelemetryIngestionService(
-                deviceRepository, deviceTelemetryLogRepository, installationRepository,
-                ranchQueryPort, gpsIngestionTaskRepository, alertRepository, eventPublisher,
+                deviceRepository, deviceTelemetryLogRepository,
+                new DeviceContextCache(installationRepository, ranchQueryPort), gpsIngestionTaskRepository, alertRepository, eventPublisher,
                 new com.fasterxml.jackson.databind.ObjectMapper());
     }
 
@@ -359,4 +359,71 @@ class TelemetryIngestionServiceTest {
         assertEquals(TelemetrySource.AGENTIC_PLATFORM, taskCaptor.getValue().getSource());
         assertEquals(recordedAt, taskCaptor.getValue().getRecordedAt());
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void ingestBatch_resolvesContextOnce_skipsStoredRows_writesOnce() {
+        Device device = createTrackerDevice(9L);
+        Installation installation = createInstallation(9L, 5L);
+        when(deviceRepository.findById(9L)).thenReturn(Optional.of(device));
+        when(installationRepository.findActiveByDeviceId(9L)).thenReturn(Optional.of(installation));
+        when(ranchQueryPort.findLivestockById(5L)).thenReturn(Optional.of(
+                new LivestockInfo(5L, 1L, "C009", "FEMALE", null, null)));
+
+        Instant t1 = Instant.parse("2026-07-28T10:00:00Z");
+        Instant t2 = Instant.parse("2026-07-28T10:30:00Z");
+        Instant t3 = Instant.parse("2026-07-28T11:00:00Z");
+        when(deviceTelemetryLogRepository.findReportTimesByDeviceIdAndReportTimeBetween(9L, t1, t3))
+                .thenReturn(java.util.List.of(t2));
+        DeviceTelemetryLog previous = new DeviceTelemetryLog();
+        previous.setStepNumber(100);
+        when(deviceTelemetryLogRepository.findLatestByDeviceId(9L)).thenReturn(Optional.of(previous));
+
+        // Out of order on purpose: the batch is applied in report-time order
+        java.util.List<TelemetryIngestionService.Reading> batch = java.util.List.of(
+                reading(t3, 180, 50),
+                reading(t1, 130, 15),
+                reading(t2, 150, 15));
+
+        int ingested = service.ingestBatch(9L, batch, TelemetrySource.AGENTIC_PLATFORM);
+
+        assertEquals(2, ingested);
+        verify(deviceRepository, times(1)).findById(9L);
+        verify(installationRepository, times(1)).findActiveByDeviceId(9L);
+        verify(deviceTelemetryLogRepository, never()).save(any());
+        verify(gpsIngestionTaskRepository, never()).enqueue(any());
+
+        ArgumentCaptor<java.util.List<DeviceTelemetryLog>> logs = ArgumentCaptor.forClass(java.util.List.class);
+        verify(deviceTelemetryLogRepository).insertAll(logs.capture());
+        assertEquals(java.util.List.of(t1, t3),
+                logs.getValue().stream().map(DeviceTelemetryLog::getReportTime).toList());
+
+        ArgumentCaptor<java.util.List<GpsIngestionTask>> tasks = ArgumentCaptor.forClass(java.util.List.class);
+        verify(gpsIngestionTaskRepository).enqueueAll(tasks.capture());
+        assertEquals(2, tasks.getValue().size());
+
+        // Step baseline carried in memory: 100 → 130 → (150 already stored, skipped) → 180
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertEquals(30, ((TelemetryReceivedEvent) events.getAllValues().get(0)).getReadings().get("stepCount"));
+        assertEquals(50, ((TelemetryReceivedEvent) events.getAllValues().get(1)).getReadings().get("stepCount"));
+
+        // Snapshot + cursor saved once; cursor moves past the stored row too
+        verify(deviceRepository, times(1)).save(device);
+        assertEquals(t3, device.getLastTelemetrySyncedAt());
+        assertEquals(50, device.getBatteryLevel());
+        // One reading was below 20% → single low-battery check for the batch
+        verify(alertRepository, times(1)).findByDeviceIdAndTypeAndStatus(
+                9L, com.smartlivestock.ranch.domain.model.AlertType.DEVICE_LOW_BATTERY,
+                com.smartlivestock.ranch.domain.model.AlertStatus.ACTIVE);
+    }
+
+    private static TelemetryIngestionService.Reading reading(Instant at, int stepNumber, int battery) {
+        Map<String, Object> readings = new java.util.HashMap<>(Map.of(
+                "stepNumber", stepNumber,
+                "battery", battery,
+                "latitude", new BigDecimal("28.23"),
+                "longitude", new BigDecimal("112.94")));
+        return new TelemetryIngestionService.Reading(readings, at);
+    }
 }
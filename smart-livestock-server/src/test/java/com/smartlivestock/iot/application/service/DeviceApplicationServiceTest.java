@@ -5,6 +5,7 @@ import com.smartlivestock.iot.application.InstallationApplicationService;
 import com.smartlivestock.iot.application.command.RegisterDeviceCommand;
 import com.smartlivestock.iot.application.dto.InstallationDto;
 import com.smartlivestock.iot.application.dto.DeviceDto;
+import com.smartlivestock.iot.domain.event.DeviceContextChangedEvent;
 import com.smartlivestock.iot.domain.model.Device;
 import com.smartlivestock.iot.domain.model.DeviceStatus;
 import com.smartlivestock.iot.domain.model.DeviceType;
@@ -26,6 +27,7 @@ import org.mockito.InjectMocks;
 import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.Instant;
 import java.util.Collections;
@@ -61,6 +63,9 @@ class DeviceApplicationServiceTest {
     @Mock
     private InstallationApplicationService installationApplicationService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private DeviceApplicationService service;
 
@@ -252,6 +257,7 @@ class DeviceApplicationServiceTest {
         ArgumentCaptor<Device> captor = ArgumentCaptor.forClass(Device.class);
         verify(deviceRepository).save(captor.capture());
         assertThat(captor.getValue().getDeletedAt()).isNotNull();
+        verify(eventPublisher).publishEvent(any(DeviceContextChangedEvent.class));
     }
 
     @Test
@@ -0,0 +1,107 @@
+package com.smartlivestock.iot.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GpsLogBlockTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 8, 20);
+    private static final Instant START = Instant.parse("2026-08-20T00:00:00Z");
+
+    private static GpsLog log(Instant at, String lat, String lng, String accuracy, TelemetrySource source) {
+        return new GpsLog(42L, new BigDecimal(lat), new BigDecimal(lng),
+                accuracy != null ? new BigDecimal(accuracy) : null, at, source);
+    }
+
+    private static void assertSamePoints(List<GpsLog> actual, List<GpsLog> expected) {
+        assertThat(actual).hasSize(expected.size());
+        for (int i = 0; i < expected.size(); i++) {
+            GpsLog a = actual.get(i);
+            GpsLog e = expected.get(i);
+            assertThat(a.getDeviceId()).isEqualTo(e.getDeviceId());
+            assertThat(a.getRecordedAt()).isEqualTo(e.getRecordedAt());
+            assertThat(a.getLatitude()).isEqualByComparingTo(e.getLatitude());
+            assertThat(a.getLongitude()).isEqualByComparingTo(e.getLongitude());
+            if (e.getAccuracy() == null) {
+                assertThat(a.getAccuracy()).isNull();
+            } else {
+                assertThat(a.getAccuracy()).isEqualByComparingTo(e.getAccuracy());
+            }
+            assertThat(a.getSource()).isEqualTo(e.getSource());
+        }
+    }
+
+    @Test
+    void encode_roundTripsSortedPointsExactly() {
+        List<GpsLog> logs = List.of(
+                log(START.plusSeconds(60), "28.2450123", "112.8500456", "3.50", TelemetrySource.AGENTIC_PLATFORM),
+                log(START.plusSeconds(30), "28.2450000", "112.8500000", null, TelemetrySource.AGENTIC_PLATFORM),
+                log(START.plusSeconds(90), "-0.0000001", "0.0000000", "0.00", TelemetrySource.DATAGEN));
+
+        GpsLogBlock block = GpsLogBlock.encode(42L, DAY, logs);
+
+        assertThat(block.getPointCount()).isEqualTo(3);
+        assertThat(block.getFirstAt()).isEqualTo(START.plusSeconds(30));
+        assertThat(block.getLastAt()).isEqualTo(START.plusSeconds(90));
+        assertSamePoints(block.decode(), List.of(logs.get(1), logs.get(0), logs.get(2)));
+    }
+
+    @Test
+    void encode_keepsSubSecondTimestamps() {
+        List<GpsLog> logs = List.of(
+                log(START.plusMillis(1_500), "28.245", "112.85", null, TelemetrySource.HTTP),
+                log(START.plusNanos(2_000_123_000L), "28.245", "112.85", null, TelemetrySource.HTTP));
+
+        assertSamePoints(GpsLogBlock.encode(42L, DAY, logs).decode(), logs);
+    }
+
+    @Test
+    void forEach_streamsOnlyTheRequestedRange() {
+        List<GpsLog> logs = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            logs.add(log(START.plusSeconds(30L * i), "28.245", "112.85", "1.00", TelemetrySource.AGENTIC_PLATFORM));
+        }
+        GpsLogBlock block = GpsLogBlock.encode(42L, DAY, logs);
+
+        List<GpsLog> range = new ArrayList<>();
+        block.forEach(START.plusSeconds(60), START.plusSeconds(150), range::add);
+
+        assertSamePoints(range, logs.subList(2, 6));
+    }
+
+    @Test
+    void encode_isAFractionOfARowPerPoint() {
+        Random random = new Random(7);
+        List<GpsLog> logs = new ArrayList<>();
+        long lat = 282_450_000L;
+        long lng = 1_128_500_000L;
+        for (int i = 0; i < 2880; i++) {
+            lat += random.nextInt(2001) - 1000;
+            lng += random.nextInt(2001) - 1000;
+            logs.add(new GpsLog(42L, BigDecimal.valueOf(lat, 7), BigDecimal.valueOf(lng, 7),
+                    new BigDecimal("5.00"), START.plusSeconds(30L * i), TelemetrySource.AGENTIC_PLATFORM));
+        }
+        Collections.shuffle(logs, random);
+
+        GpsLogBlock block = GpsLogBlock.encode(42L, DAY, logs);
+
+        assertThat(block.getData().length).isLessThan(2880 * 8);
+        assertThat(block.decode()).hasSize(2880);
+    }
+
+    @Test
+    void encode_rejectsEmptyDay() {
+        assertThatThrownBy(() -> GpsLogBlock.encode(42L, DAY, List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,97 @@
+package com.smartlivestock.iot.domain.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+class TrajectorySimplifierTest {
+
+    private static final double LAT = 28.245;
+    private static final double LNG = 112.850;
+    /** Roughly one meter of latitude / longitude at the test latitude. */
+    private static final double M_LAT = 1 / 110_540.0;
+    private static final double M_LNG = 1 / (111_320.0 * Math.cos(Math.toRadians(LAT)));
+
+    private final TrajectorySimplifier simplifier = new TrajectorySimplifier();
+
+    private static int count(boolean[] keep) {
+        int n = 0;
+        for (boolean k : keep) {
+            if (k) n++;
+        }
+        return n;
+    }
+
+    @Test
+    void straightNoisyRun_collapsesToEndpoints() {
+        Random random = new Random(3);
+        int n = 1000;
+        double[] lats = new double[n];
+        double[] lngs = new double[n];
+        for (int i = 0; i < n; i++) {
+            lats[i] = LAT + (random.nextDouble() - 0.5) * 2 * M_LAT;   // +-1 m jitter
+            lngs[i] = LNG + i * M_LNG;                                 // 1 m east per fix
+        }
+
+        boolean[] keep = simplifier.simplify(lats, lngs, 5);
+
+        assertThat(keep[0]).isTrue();
+        assertThat(keep[n - 1]).isTrue();
+        assertThat(count(keep)).isEqualTo(2);
+    }
+
+    @Test
+    void turningPointIsKept() {
+        // East 100 m, then north 100 m.
+        double[] lats = new double[201];
+        double[] lngs = new double[201];
+        for (int i = 0; i <= 100; i++) {
+            lats[i] = LAT;
+            lngs[i] = LNG + i * M_LNG;
+        }
+        for (int i = 1; i <= 100; i++) {
+            lats[100 + i] = LAT + i * M_LAT;
+            lngs[100 + i] = LNG + 100 * M_LNG;
+        }
+
+        boolean[] keep = simplifier.simplify(lats, lngs, 2);
+
+        assertThat(count(keep)).isEqualTo(3);
+        assertThat(keep[100]).isTrue();
+    }
+
+    @Test
+    void outAndBackExcursion_keepsItsFarEnd() {
+        // Walk 50 m east and straight back: the far end lies on the start-end line.
+        double[] lats = new double[101];
+        double[] lngs = new double[101];
+        for (int i = 0; i <= 100; i++) {
+            lats[i] = LAT;
+            lngs[i] = LNG + (50 - Math.abs(50 - i)) * M_LNG;
+        }
+
+        boolean[] keep = simplifier.simplify(lats, lngs, 2);
+
+        assertThat(keep[50]).isTrue();
+    }
+
+    @Test
+    void nonPositiveTolerance_keepsEveryPoint() {
+        double[] lats = {LAT, LAT + M_LAT, LAT};
+        double[] lngs = {LNG, LNG + M_LNG, LNG + 2 * M_LNG};
+
+        assertThat(count(simplifier.simplify(lats, lngs, 0))).isEqualTo(3);
+    }
+
+    @Test
+    void toleranceForZoom_halvesPerZoomLevel() {
+        double z15 = TrajectorySimplifier.toleranceForZoom(15, LAT);
+        double z16 = TrajectorySimplifier.toleranceForZoom(16, LAT);
+
+        assertThat(z15).isBetween(4.0, 5.0);
+        assertThat(z16).isCloseTo(z15 / 2, offset(1e-9));
+    }
+}
@@ -0,0 +1,66 @@
+package com.smartlivestock.iot.infrastructure.event;
+
+import com.smartlivestock.iot.domain.event.TelemetryReceivedEvent;
+import com.smartlivestock.iot.domain.model.DeviceType;
+import com.smartlivestock.ranch.domain.event.AlertStatusBatchChangedEvent;
+import com.smartlivestock.ranch.domain.event.AlertStatusChangedEvent;
+import com.smartlivestock.ranch.domain.model.Alert;
+import com.smartlivestock.ranch.domain.model.AlertType;
+import com.smartlivestock.ranch.domain.model.Severity;
+import com.smartlivestock.shared.messaging.RocketMQEventPublisher;
+import com.smartlivestock.shared.messaging.Topics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class SpringEventPublisherTest {
+
+    @Mock private RocketMQEventPublisher rocketMQEventPublisher;
+
+    @InjectMocks
+    private SpringEventPublisher bridge;
+
+    @Test
+    void alertStatusChanged_isPublishedToAlertTopic() {
+        AlertStatusChangedEvent event = new AlertStatusChangedEvent(alert(1L));
+
+        bridge.onAlertStatusChanged(event);
+
+        verify(rocketMQEventPublisher).publish(Topics.ALERT_STATUS_CHANGED, event);
+    }
+
+    @Test
+    void alertStatusBatchChanged_isPublishedAsOneBatchOfSingleEvents() {
+        List<AlertStatusChangedEvent> events = List.of(
+                new AlertStatusChangedEvent(alert(1L)), new AlertStatusChangedEvent(alert(2L)));
+
+        bridge.onAlertStatusBatchChanged(new AlertStatusBatchChangedEvent(events));
+
+        verify(rocketMQEventPublisher).publishBatch(Topics.ALERT_STATUS_CHANGED, events);
+    }
+
+    @Test
+    void telemetry_isPublishedOrderlyByLivestock() {
+        TelemetryReceivedEvent event = new TelemetryReceivedEvent(3L, 42L, 1L, DeviceType.TRACKER,
+                Map.of("stepCount", 10), Instant.parse("2026-06-04T10:00:00Z"), "DATAGEN");
+
+        bridge.onTelemetryReceived(event);
+
+        verify(rocketMQEventPublisher).publishBatchOrderly(Topics.TELEMETRY_RECEIVED, List.of(event), "42");
+    }
+
+    private static Alert alert(Long id) {
+        Alert alert = new Alert(1L, 5L, null, AlertType.FENCE_BREACH, Severity.WARNING, "越界");
+        alert.setId(id);
+        return alert;
+    }
+}
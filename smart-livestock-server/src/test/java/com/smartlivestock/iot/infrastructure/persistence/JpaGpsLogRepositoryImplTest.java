@@ -0,0 +1,80 @@
+package com.smartlivestock.iot.infrastructure.persistence;
+
+import com.smartlivestock.iot.domain.model.GpsLog;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JpaGpsLogRepositoryImplTest {
+
+    private static final Instant T0 = Instant.parse("2026-06-04T10:00:00Z");
+
+    @Mock private SpringDataGpsLogRepository springDataRepo;
+    @Mock private EntityManager entityManager;
+    @Mock private Query query;
+
+    private JpaGpsLogRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new JpaGpsLogRepositoryImpl(springDataRepo);
+        ReflectionTestUtils.setField(repository, "entityManager", entityManager);
+        when(entityManager.createNativeQuery(anyString())).thenReturn(query);
+    }
+
+    @Test
+    @DisplayName("同一设备同一时刻的重复点只写一行，取最后一条")
+    void upsertAll_resentPoint_writtenOnceWithLastValues() {
+        when(query.executeUpdate()).thenReturn(2);
+
+        repository.upsertAll(List.of(
+                gps(1L, T0, "28.100"),
+                gps(2L, T0, "28.200"),
+                gps(1L, T0, "28.300")));
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(entityManager).createNativeQuery(sql.capture());
+        assertThat(sql.getValue().split("NOW\\(\\)", -1)).hasSize(3);
+        verify(query).setParameter(2, new BigDecimal("28.300"));
+        verify(query).setParameter(8, new BigDecimal("28.200"));
+        verify(query, never()).setParameter(anyInt(), eq(new BigDecimal("28.100")));
+    }
+
+    @Test
+    @DisplayName("不同时刻的点各写一行")
+    void upsertAll_distinctTimes_allWritten() {
+        when(query.executeUpdate()).thenReturn(2);
+
+        int written = repository.upsertAll(List.of(
+                gps(1L, T0, "28.100"),
+                gps(1L, T0.plusSeconds(30), "28.200")));
+
+        assertThat(written).isEqualTo(2);
+        verify(query).setParameter(2, new BigDecimal("28.100"));
+        verify(query).setParameter(8, new BigDecimal("28.200"));
+    }
+
+    private static GpsLog gps(Long deviceId, Instant recordedAt, String latitude) {
+        return new GpsLog(deviceId, new BigDecimal(latitude), new BigDecimal("112.852"), null, recordedAt);
+    }
+}
@@ -2,6 +2,10 @@ package com.smartlivestock.ranch.application;
 
 import com.smartlivestock.ranch.application.command.CreateLivestockCommand;
 import com.smartlivestock.ranch.application.command.UpdateLivestockCommand;
+import com.smartlivestock.ranch.application.service.FenceIndexCache;
+import com.smartlivestock.ranch.application.service.RanchOverviewProjectionStore;
+import com.smartlivestock.ranch.domain.event.LivestockChangedEvent;
+import com.smartlivestock.ranch.domain.model.FenceIndex;
 import com.smartlivestock.ranch.domain.model.Livestock;
 import com.smartlivestock.ranch.domain.port.HealthQueryPort;
 import com.smartlivestock.ranch.domain.port.IoTQueryPort;
@@ -11,12 +15,15 @@ import com.smartlivestock.shared.common.ApiException;
 import com.smartlivestock.shared.common.ErrorCode;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -24,6 +31,8 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
 
 @ExtendWith(MockitoExtension.class)
 class LivestockApplicationServiceTest {
@@ -40,6 +49,15 @@ class LivestockApplicationServiceTest {
     @Mock
     private IoTCommandPort iotCommandPort;
 
+    @Mock
+    private RanchOverviewProjectionStore overviewProjectionStore;
+
+    @Mock
+    private FenceIndexCache fenceIndexCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private LivestockApplicationService service;
 
@@ -94,6 +112,9 @@ class LivestockApplicationServiceTest {
         assertThat(result.breed()).isEqualTo("和牛");
         assertThat(result.gender()).isEqualTo("FEMALE");
         assertThat(result.weight()).isEqualByComparingTo(new BigDecimal("500"));
+        ArgumentCaptor<LivestockChangedEvent> event = ArgumentCaptor.forClass(LivestockChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getLivestockId()).isEqualTo(10L);
     }
 
     @Test
@@ -128,5 +149,21 @@ class LivestockApplicationServiceTest {
         service.deleteLivestock(10L);
         verify(iotCommandPort).removeAllActiveInstallations(10L);
         verify(livestockRepository).deleteById(10L);
+        verify(eventPublisher).publishEvent(any(LivestockChangedEvent.class));
+    }
+
+    @Test
+    void shouldRecordPositionInProjectionInsteadOfRebuilding() {
+        Livestock existing = new Livestock(1L, "COW-001", "安格斯", "MALE",
+                LocalDate.of(2024, 3, 15), new BigDecimal("450"));
+        existing.setId(10L);
+        when(livestockRepository.findById(10L)).thenReturn(Optional.of(existing));
+        when(fenceIndexCache.get(1L)).thenReturn(FenceIndex.of(List.of()));
+
+        service.updatePosition(10L, new BigDecimal("28.1"), new BigDecimal("112.1"));
+
+        verify(overviewProjectionStore).recordPosition(1L, 10L, new BigDecimal("28.1"), new BigDecimal("112.1"), List.of());
+        verify(overviewProjectionStore, never()).invalidate(anyLong());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 }
@@ -1,12 +1,15 @@
 package com.smartlivestock.ranch.application.service;
 
 import com.smartlivestock.ranch.application.AlertApplicationService;
+import com.smartlivestock.ranch.application.AlertApplicationService.AlertPage;
 import com.smartlivestock.ranch.application.service.AlertMessageLocalizer;
 import com.smartlivestock.ranch.application.dto.AlertDto;
 import com.smartlivestock.ranch.domain.model.Alert;
 import com.smartlivestock.ranch.domain.model.AlertStatus;
 import com.smartlivestock.ranch.domain.model.AlertType;
 import com.smartlivestock.ranch.domain.model.Severity;
+import com.smartlivestock.ranch.domain.repository.AlertFilter;
+import com.smartlivestock.ranch.domain.repository.AlertQuery;
 import com.smartlivestock.ranch.domain.repository.AlertRepository;
 import com.smartlivestock.ranch.infrastructure.persistence.SpringDataAlertReadStatusRepository;
 import com.smartlivestock.shared.common.ApiException;
@@ -14,15 +17,21 @@ import com.smartlivestock.shared.common.ErrorCode;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -36,6 +45,8 @@ class AlertApplicationServiceTest {
     private SpringDataAlertReadStatusRepository readStatusRepository;
     @Mock
     private AlertMessageLocalizer alertMessageLocalizer;
+    @Mock
+    private FenceStateTracker fenceStateTracker;
 
     @InjectMocks
     private AlertApplicationService service;
@@ -73,6 +84,7 @@ class AlertApplicationServiceTest {
 
         assertThat(result.status()).isEqualTo("DISMISSED");
         assertThat(result.resolvedType()).isEqualTo("MANUAL_DISMISS");
+        verify(fenceStateTracker).forget(100L);
     }
 
     @Test
@@ -128,4 +140,110 @@ class AlertApplicationServiceTest {
                     assertThat(apiEx.getCode()).isEqualTo(ErrorCode.RESOURCE_NOT_FOUND);
                 });
     }
+
+    @Test
+    @DisplayName("分页查询 — 多取一条判断是否有下一页，游标为本页最后一条的 id")
+    void shouldPageByIdCursor() {
+        Alert newer = createActiveAlert();
+        newer.setId(30L);
+        Alert older = createActiveAlert();
+        older.setId(20L);
+        Alert oldest = createActiveAlert();
+        oldest.setId(10L);
+        when(alertRepository.findPage(any(AlertQuery.class))).thenReturn(List.of(newer, older, oldest));
+
+        AlertQuery query = AlertApplicationService.query(AlertApplicationService.filter(1L, "active",
+                "FENCE_BREACH", null, 100L, "2026-10-01T00:00:00Z", null), "40", 1, 2);
+        AlertPage page = service.listPage(query, null);
+
+        ArgumentCaptor<AlertQuery> sent = ArgumentCaptor.forClass(AlertQuery.class);
+        verify(alertRepository).findPage(sent.capture());
+        assertThat(sent.getValue().limit()).isEqualTo(3);
+        assertThat(sent.getValue().beforeId()).isEqualTo(40L);
+        assertThat(sent.getValue().filter().status()).isEqualTo(AlertStatus.ACTIVE);
+        assertThat(sent.getValue().filter().from()).isEqualTo(Instant.parse("2026-10-01T00:00:00Z"));
+        assertThat(page.items()).extracting(AlertDto::id).containsExactly(30L, 20L);
+        assertThat(page.nextCursor()).isEqualTo("20");
+        assertThat(page.total()).isNull();
+        verify(alertRepository, never()).countMatching(any());
+    }
+
+    @Test
+    @DisplayName("分页查询 — 无游标时按页码偏移，并返回总数")
+    void shouldPageByNumberWithoutCursor() {
+        when(alertRepository.findPage(any(AlertQuery.class))).thenReturn(List.of(createActiveAlert()));
+        AlertFilter filter = AlertApplicationService.filter(1L, null, null, "critical", null, null, null);
+        when(alertRepository.countMatching(filter)).thenReturn(41L);
+
+        AlertPage page = service.listPage(AlertApplicationService.query(filter, null, 3, 20), 200L);
+
+        ArgumentCaptor<AlertQuery> sent = ArgumentCaptor.forClass(AlertQuery.class);
+        verify(alertRepository).findPage(sent.capture());
+        assertThat(sent.getValue().offset()).isEqualTo(40);
+        assertThat(sent.getValue().beforeId()).isNull();
+        assertThat(sent.getValue().filter().severity()).isEqualTo(Severity.CRITICAL);
+        assertThat(page.total()).isEqualTo(41L);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("分页查询 — 最后一页没有游标，非法参数返回 VALIDATION_ERROR")
+    void shouldEndPagingAndRejectBadFilters() {
+        when(alertRepository.findPage(any(AlertQuery.class))).thenReturn(List.of(createActiveAlert()));
+
+        AlertFilter filter = AlertApplicationService.filter(1L, null, null, null, null, null, null);
+        AlertPage page = service.listPage(AlertApplicationService.query(filter, null, 1, 20), null);
+
+        assertThat(page.items()).hasSize(1);
+        assertThat(page.nextCursor()).isNull();
+        assertThatThrownBy(() -> AlertApplicationService.filter(1L, "NOPE", null, null, null, null, null))
+                .isInstanceOf(ApiException.class)
+                .satisfies(ex -> assertThat(((ApiException) ex).getCode()).isEqualTo(ErrorCode.VALIDATION_ERROR));
+        assertThatThrownBy(() -> AlertApplicationService.query(filter, "abc", 1, 20))
+                .isInstanceOf(ApiException.class);
+    }
+
+    @Test
+    @DisplayName("按类型计数 — 只读 ACTIVE 的分组计数")
+    void shouldCountActiveByTypeWithGroupQuery() {
+        when(alertRepository.countByFarmIdAndStatusGroupByType(1L, AlertStatus.ACTIVE))
+                .thenReturn(Map.of(AlertType.FENCE_BREACH, 3L));
+
+        assertThat(service.countByFarmAndType(1L, AlertType.FENCE_BREACH)).isEqualTo(3L);
+        assertThat(service.countByFarmAndType(1L, AlertType.ESTRUS)).isZero();
+    }
+
+    @Test
+    @DisplayName("批量忽略 — 一条更新，围栏告警的牲畜一次性清除围栏状态")
+    void shouldBatchDismissInOneUpdate() {
+        Alert fenceAlert = createActiveAlert();
+        fenceAlert.dismiss(7L);
+        Alert healthAlert = new Alert(1L, 101L, null, AlertType.TEMPERATURE_ABNORMAL, Severity.WARNING, "体温异常");
+        healthAlert.setId(2L);
+        healthAlert.dismiss(7L);
+        when(alertRepository.dismissActive(1L, List.of(1L, 2L, 3L), 7L)).thenReturn(List.of(fenceAlert, healthAlert));
+
+        int count = service.batchDismiss(1L, List.of(1L, 2L, 3L), 7L);
+
+        assertThat(count).isEqualTo(2);
+        verify(fenceStateTracker).forgetAll(Set.of(100L));
+        verify(alertRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("按条件归档 — 没有任何筛选条件时拒绝，不归档整个牧场")
+    void shouldRejectArchiveWithoutFilter() {
+        AlertFilter farmOnly = AlertApplicationService.filter(1L, "ACTIVE", null, null, null, null, null);
+
+        assertThatThrownBy(() -> service.archiveByFilter(farmOnly))
+                .isInstanceOf(ApiException.class)
+                .satisfies(ex -> assertThat(((ApiException) ex).getCode()).isEqualTo(ErrorCode.VALIDATION_ERROR));
+        verify(alertRepository, never()).archiveActive(any());
+
+        AlertFilter byType = AlertApplicationService.filter(1L, null, "FENCE_BREACH", null, null, null, null);
+        when(alertRepository.archiveActive(byType)).thenReturn(List.of(createActiveAlert()));
+
+        assertThat(service.archiveByFilter(byType)).isEqualTo(1);
+        verify(fenceStateTracker).forgetAll(Set.of(100L));
+    }
 }
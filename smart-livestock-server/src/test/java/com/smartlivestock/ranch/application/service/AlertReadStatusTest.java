@@ -26,6 +26,7 @@ import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 /**
@@ -40,6 +41,8 @@ class AlertReadStatusTest {
 
     @Mock
     private SpringDataAlertReadStatusRepository readStatusRepository;
+    @Mock
+    private FenceStateTracker fenceStateTracker;
 
     @InjectMocks
     private AlertApplicationService service;
@@ -77,31 +80,23 @@ class AlertReadStatusTest {
     }
 
     @Test
-    @DisplayName("batchRead — 批量标记已读，返回正确计数")
+    @DisplayName("batchRead — 一条语句批量标记已读，返回存在的告警数")
     void batchRead_multipleAlerts() {
-        when(alertRepository.findById(1L)).thenReturn(Optional.of(createActiveAlert(1L)));
-        when(alertRepository.findById(2L)).thenReturn(Optional.of(createActiveAlert(2L)));
-        when(alertRepository.findById(3L)).thenReturn(Optional.of(createActiveAlert(3L)));
+        when(readStatusRepository.insertAllOnConflictDoNothing(List.of(1L, 2L, 999L), 200L)).thenReturn(2L);
 
-        int count = service.batchRead(List.of(1L, 2L, 3L), 200L);
+        int count = service.batchRead(List.of(1L, 2L, 999L), 200L);
 
-        assertThat(count).isEqualTo(3);
-        verify(readStatusRepository).insertOnConflictDoNothing(1L, 200L);
-        verify(readStatusRepository).insertOnConflictDoNothing(2L, 200L);
-        verify(readStatusRepository).insertOnConflictDoNothing(3L, 200L);
+        assertThat(count).isEqualTo(2);
+        verify(readStatusRepository, never()).insertOnConflictDoNothing(any(), any());
+        verify(alertRepository, never()).findById(any());
     }
 
     @Test
-    @DisplayName("batchRead — 跳过不存在的 alertId")
-    void batchRead_skipsMissing() {
-        when(alertRepository.findById(1L)).thenReturn(Optional.of(createActiveAlert(1L)));
-        when(alertRepository.findById(999L)).thenReturn(Optional.empty());
+    @DisplayName("batchRead — 空列表不访问数据库")
+    void batchRead_emptyList() {
+        assertThat(service.batchRead(List.of(), 200L)).isZero();
 
-        int count = service.batchRead(List.of(1L, 999L), 200L);
-
-        assertThat(count).isEqualTo(1);
-        verify(readStatusRepository).insertOnConflictDoNothing(1L, 200L);
-        verify(readStatusRepository, never()).insertOnConflictDoNothing(eq(999L), any());
+        verifyNoInteractions(readStatusRepository);
     }
 
     @Test
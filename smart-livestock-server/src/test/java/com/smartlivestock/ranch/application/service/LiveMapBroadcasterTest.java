@@ -0,0 +1,104 @@
+package com.smartlivestock.ranch.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartlivestock.ranch.application.service.RanchOverviewProjection.AlertEntry;
+import com.smartlivestock.ranch.domain.model.Alert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LiveMapBroadcasterTest {
+
+    @Mock private AlertMessageLocalizer alertMessageLocalizer;
+
+    private LiveMapBroadcaster broadcaster;
+    private final List<Runnable> pendingSends = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new LiveMapBroadcaster(new ObjectMapper().findAndRegisterModules(), alertMessageLocalizer);
+        broadcaster.senders = Runnable::run;
+    }
+
+    @Test
+    void positions_areCoalescedPerLivestock_andSentAsOneEvent() {
+        CapturingEmitter viewer = new CapturingEmitter();
+        broadcaster.subscribe(1L, Locale.CHINA, viewer);
+
+        broadcaster.publishPosition(1L, 7L, new BigDecimal("28.1"), new BigDecimal("112.1"), Instant.parse("2026-10-01T00:00:00Z"));
+        broadcaster.publishPosition(1L, 7L, new BigDecimal("28.2"), new BigDecimal("112.2"), Instant.parse("2026-10-01T00:00:10Z"));
+        broadcaster.publishPosition(1L, 7L, new BigDecimal("28.0"), new BigDecimal("112.0"), Instant.parse("2026-10-01T00:00:05Z"));
+        broadcaster.publishPosition(1L, 8L, new BigDecimal("28.3"), new BigDecimal("112.3"), Instant.parse("2026-10-01T00:00:01Z"));
+        broadcaster.publishPosition(2L, 9L, new BigDecimal("29.0"), new BigDecimal("113.0"), null);
+        broadcaster.flushPositions();
+        broadcaster.flushPositions();
+
+        assertThat(viewer.events).hasSize(1);
+        String event = viewer.events.get(0);
+        assertThat(event).startsWith("event:positions");
+        assertThat(event).contains("\"livestockId\":\"7\",\"latitude\":28.2").contains("\"livestockId\":\"8\"");
+        assertThat(event).doesNotContain("\"latitude\":28.0").doesNotContain("\"livestockId\":\"9\"");
+    }
+
+    @Test
+    void alert_isLocalizedOncePerLocale_forAllViewers() {
+        CapturingEmitter first = new CapturingEmitter();
+        CapturingEmitter second = new CapturingEmitter();
+        broadcaster.subscribe(1L, Locale.CHINA, first);
+        broadcaster.subscribe(1L, Locale.CHINA, second);
+        when(alertMessageLocalizer.localize(any(Alert.class))).thenReturn("牲畜越出围栏");
+
+        broadcaster.publishAlert(1L, new AlertEntry(5L, "FENCE_BREACH", "CRITICAL", "ACTIVE", 7L, 3L,
+                "breach", "alert.fence.breach", "[]", null, null, 0));
+
+        verify(alertMessageLocalizer, times(1)).localize(any(Alert.class));
+        assertThat(first.events).singleElement().asString()
+                .startsWith("event:alert").contains("牲畜越出围栏");
+        assertThat(second.events).isEqualTo(first.events);
+    }
+
+    @Test
+    void slowViewer_dropsBacklogForResync() {
+        broadcaster.senders = pendingSends::add;
+        CapturingEmitter slow = new CapturingEmitter();
+        broadcaster.subscribe(1L, Locale.CHINA, slow);
+
+        for (int i = 0; i < 40; i++) {
+            broadcaster.publishPosition(1L, 7L, new BigDecimal("28." + i), new BigDecimal("112.1"), null);
+            broadcaster.flushPositions();
+        }
+        pendingSends.forEach(Runnable::run);
+
+        assertThat(slow.events.get(0)).startsWith("event:resync");
+        assertThat(slow.events).hasSizeLessThan(40);
+        assertThat(slow.events.get(slow.events.size() - 1)).contains("28.39");
+    }
+
+    /** Records what would be written to the response. */
+    private static class CapturingEmitter extends SseEmitter {
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            StringBuilder event = new StringBuilder();
+            builder.build().forEach(part -> event.append(part.getData()));
+            events.add(event.toString());
+        }
+    }
+}
@@ -1,8 +1,14 @@
 package com.smartlivestock.ranch.application.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.smartlivestock.ranch.application.RanchOverviewApplicationService;
 import com.smartlivestock.ranch.application.service.AlertMessageLocalizer;
+import com.smartlivestock.ranch.application.dto.RanchOverviewDto.LivestockMarker;
 import com.smartlivestock.ranch.application.dto.RanchOverviewDto.RanchOverviewResponse;
+import com.smartlivestock.ranch.application.service.RanchOverviewProjection.AlertEntry;
+import com.smartlivestock.ranch.application.service.RanchOverviewProjection.Estrus;
+import com.smartlivestock.ranch.application.service.RanchOverviewProjection.HealthState;
+import com.smartlivestock.ranch.application.service.RanchOverviewProjection.Position;
 import com.smartlivestock.ranch.domain.model.*;
 import com.smartlivestock.ranch.domain.port.HealthQueryPort;
 import com.smartlivestock.ranch.domain.port.IdentityQueryPort;
@@ -15,10 +21,11 @@ import com.smartlivestock.ranch.domain.repository.FenceRepository;
 import com.smartlivestock.ranch.domain.repository.FenceZoneRepository;
 import com.smartlivestock.ranch.domain.repository.LivestockRepository;
 import com.smartlivestock.ranch.infrastructure.persistence.SpringDataAlertReadStatusRepository;
+import com.smartlivestock.shared.cache.RedisCacheService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
@@ -26,10 +33,16 @@ import org.mockito.quality.Strictness;
 
 import java.math.BigDecimal;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -46,9 +59,23 @@ class RanchOverviewApplicationServiceTest {
     @Mock private FenceZoneRepository fenceZoneRepository;
     @Mock private AlertMessageLocalizer alertMessageLocalizer;
 
-    @InjectMocks
+    @Mock private RedisCacheService redisCacheService;
+    @Mock private RanchOverviewProjectionStore projectionStore;
+
     private RanchOverviewApplicationService service;
 
+    @BeforeEach
+    void setUp() {
+        // A real projection store over an empty Redis, so every read rebuilds from the mocks.
+        RanchOverviewProjectionStore store = new RanchOverviewProjectionStore(
+                livestockRepository, fenceRepository, fenceZoneRepository, alertRepository,
+                healthQueryPort, redisCacheService, new ObjectMapper().findAndRegisterModules());
+        when(redisCacheService.getHash(anyString())).thenReturn(Map.of());
+        when(redisCacheService.setIfAbsent(anyString(), anyString(), any())).thenReturn(true);
+        service = new RanchOverviewApplicationService(
+                store, ioTQueryPort, readStatusRepository, alertMessageLocalizer);
+    }
+
     private void setupDefaultMocks() {
         when(identityQueryPort.findFarmById(1L))
                 .thenReturn(Optional.of(new FarmInfo(1L, 1L, "Test", null, null)));
@@ -59,7 +86,7 @@ class RanchOverviewApplicationServiceTest {
         when(fenceRepository.findByFarmId(1L)).thenReturn(Collections.emptyList());
         when(fenceZoneRepository.findByFarmId(1L)).thenReturn(Collections.emptyList());
         when(livestockRepository.findByFarmId(1L)).thenReturn(Collections.emptyList());
-        when(alertRepository.findByFarmId(1L)).thenReturn(Collections.emptyList());
+        when(alertRepository.findByFarmIdAndStatus(1L, AlertStatus.ACTIVE)).thenReturn(Collections.emptyList());
         when(healthQueryPort.findHealthByFarmId(1L)).thenReturn(Collections.emptyList());
         when(healthQueryPort.getHealthOverview(1L)).thenReturn(
                 new HealthOverview(0, 1.0, 0, 0, 0, 0, 0, 0, 0, 0.0));
@@ -93,7 +120,7 @@ class RanchOverviewApplicationServiceTest {
         when(fenceRepository.findByFarmId(1L)).thenReturn(List.of(fence));
         when(fenceZoneRepository.findByFarmId(1L)).thenReturn(Collections.emptyList());
         when(livestockRepository.findByFarmId(1L)).thenReturn(Collections.emptyList());
-        when(alertRepository.findByFarmId(1L)).thenReturn(Collections.emptyList());
+        when(alertRepository.findByFarmIdAndStatus(1L, AlertStatus.ACTIVE)).thenReturn(Collections.emptyList());
         when(healthQueryPort.findHealthByFarmId(1L)).thenReturn(Collections.emptyList());
         when(healthQueryPort.getHealthOverview(1L)).thenReturn(
                 new HealthOverview(0, 1.0, 0, 0, 0, 0, 0, 0, 0, 0.0));
@@ -139,7 +166,7 @@ class RanchOverviewApplicationServiceTest {
         when(fenceRepository.findByFarmId(1L)).thenReturn(List.of(activeFence, inactiveFence));
         when(fenceZoneRepository.findByFarmId(1L)).thenReturn(Collections.emptyList());
         when(livestockRepository.findByFarmId(1L)).thenReturn(List.of(inside, outside, withoutGps));
-        when(alertRepository.findByFarmId(1L)).thenReturn(Collections.emptyList());
+        when(alertRepository.findByFarmIdAndStatus(1L, AlertStatus.ACTIVE)).thenReturn(Collections.emptyList());
         when(healthQueryPort.findHealthByFarmId(1L)).thenReturn(Collections.emptyList());
 
         RanchOverviewResponse response = service.getOverview(1L, 1L, 1L);
@@ -159,7 +186,7 @@ class RanchOverviewApplicationServiceTest {
         when(fenceRepository.findByFarmId(1L)).thenReturn(Collections.emptyList());
         when(fenceZoneRepository.findByFarmId(1L)).thenReturn(Collections.emptyList());
         when(livestockRepository.findByFarmId(1L)).thenReturn(List.of(l1));
-        when(alertRepository.findByFarmId(1L)).thenReturn(Collections.emptyList());
+        when(alertRepository.findByFarmIdAndStatus(1L, AlertStatus.ACTIVE)).thenReturn(Collections.emptyList());
         when(healthQueryPort.findHealthByFarmId(1L)).thenReturn(List.of(
                 new LivestockHealthState(1L, "FEVER", "NORMAL", 0, null, null, "NORMAL")
         ));
@@ -184,7 +211,7 @@ class RanchOverviewApplicationServiceTest {
         when(fenceRepository.findByFarmId(1L)).thenReturn(Collections.emptyList());
         when(fenceZoneRepository.findByFarmId(1L)).thenReturn(Collections.emptyList());
         when(livestockRepository.findByFarmId(1L)).thenReturn(List.of(l1));
-        when(alertRepository.findByFarmId(1L)).thenReturn(Collections.emptyList());
+        when(alertRepository.findByFarmIdAndStatus(1L, AlertStatus.ACTIVE)).thenReturn(Collections.emptyList());
         when(healthQueryPort.findHealthByFarmId(1L)).thenReturn(List.of(
                 new LivestockHealthState(1L, "CRITICAL", "NORMAL", 0, null, null, "NORMAL")
         ));
@@ -199,20 +226,16 @@ class RanchOverviewApplicationServiceTest {
     }
 
     @Test
-    @DisplayName("should filter out archived alerts from response")
+    @DisplayName("should read only ACTIVE alerts, not the farm's alert history")
     void filterArchivedAlerts() {
         setupDefaultMocks();
         Alert pending = new Alert(1L, null, null, AlertType.FENCE_BREACH, Severity.CRITICAL, "test pending");
         pending.setId(1L);
 
-        Alert archived = new Alert(1L, null, null, AlertType.FENCE_BREACH, Severity.INFO, "archived alert");
-        archived.setId(2L);
-        archived.autoResolve();
-
         when(fenceRepository.findByFarmId(1L)).thenReturn(Collections.emptyList());
         when(fenceZoneRepository.findByFarmId(1L)).thenReturn(Collections.emptyList());
         when(livestockRepository.findByFarmId(1L)).thenReturn(Collections.emptyList());
-        when(alertRepository.findByFarmId(1L)).thenReturn(List.of(pending, archived));
+        when(alertRepository.findByFarmIdAndStatus(1L, AlertStatus.ACTIVE)).thenReturn(List.of(pending));
         when(healthQueryPort.findHealthByFarmId(1L)).thenReturn(Collections.emptyList());
         when(healthQueryPort.getHealthOverview(1L)).thenReturn(
                 new HealthOverview(0, 1.0, 0, 0, 0, 0, 0, 0, 0, 0.0));
@@ -221,6 +244,7 @@ class RanchOverviewApplicationServiceTest {
 
         assertThat(response.alerts()).hasSize(1);
         assertThat(response.alerts().get(0).status()).isEqualTo("ACTIVE");
+        verify(alertRepository, never()).findByFarmId(any());
     }
 
     @Test
@@ -234,7 +258,7 @@ class RanchOverviewApplicationServiceTest {
         when(fenceRepository.findByFarmId(1L)).thenReturn(Collections.emptyList());
         when(fenceZoneRepository.findByFarmId(1L)).thenReturn(Collections.emptyList());
         when(livestockRepository.findByFarmId(1L)).thenReturn(List.of(l1));
-        when(alertRepository.findByFarmId(1L)).thenReturn(Collections.emptyList());
+        when(alertRepository.findByFarmIdAndStatus(1L, AlertStatus.ACTIVE)).thenReturn(Collections.emptyList());
         when(healthQueryPort.findHealthByFarmId(1L)).thenReturn(List.of(
                 new LivestockHealthState(1L, "NORMAL", "NORMAL", 0, null, null, "NORMAL")
         ));
@@ -245,4 +269,123 @@ class RanchOverviewApplicationServiceTest {
 
         assertThat(response.livestockMarkers()).isEmpty();
     }
+
+    @Test
+    @DisplayName("should return an empty delta with the same version when nothing changed")
+    void sinceCurrentVersion_returnsEmptyDelta() {
+        setupDefaultMocks();
+        Livestock l1 = new Livestock(1L, "SL-001", "Holstein", "F", null, null);
+        l1.setId(1L);
+        l1.updatePosition(new BigDecimal("28.246"), new BigDecimal("112.852"));
+        Alert alert = new Alert(1L, 1L, null, AlertType.FENCE_BREACH, Severity.CRITICAL, "breach");
+        alert.setId(5L);
+
+        when(fenceRepository.findByFarmId(1L)).thenReturn(Collections.emptyList());
+        when(fenceZoneRepository.findByFarmId(1L)).thenReturn(Collections.emptyList());
+        when(livestockRepository.findByFarmId(1L)).thenReturn(List.of(l1));
+        when(alertRepository.findByFarmIdAndStatus(1L, AlertStatus.ACTIVE)).thenReturn(List.of(alert));
+        when(healthQueryPort.findHealthByFarmId(1L)).thenReturn(Collections.emptyList());
+
+        RanchOverviewResponse full = service.getOverview(1L, 1L, 1L);
+        RanchOverviewResponse delta = service.getOverview(1L, 1L, 1L, full.version());
+
+        assertThat(full.delta()).isFalse();
+        assertThat(full.livestockMarkers()).hasSize(1);
+        assertThat(delta.delta()).isTrue();
+        assertThat(delta.version()).isEqualTo(full.version());
+        assertThat(delta.fences()).isNull();
+        assertThat(delta.livestockMarkers()).isEmpty();
+        assertThat(delta.alerts()).isEmpty();
+        assertThat(delta.overallStats().alertCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should answer an unknown version with the full overview")
+    void unknownSince_returnsFullOverview() {
+        setupDefaultMocks();
+        RanchOverviewResponse response = getOverviewForEmptyFarm();
+
+        RanchOverviewResponse again = service.getOverview(1L, 1L, 1L, "0.0.0");
+
+        assertThat(again.delta()).isFalse();
+        assertThat(again.fences()).isNotNull();
+        assertThat(again.version()).isEqualTo(response.version());
+    }
+
+    @Test
+    @DisplayName("should return only markers whose position, health or estrus changed since the version")
+    void olderSince_returnsChangedMarkersOnly() {
+        setupDefaultMocks();
+        RanchOverviewApplicationService deltaService = serviceOver(changedProjection());
+        String since = "10000.0." + deltaService.loadState(1L, 1L, 1L).overlay();
+
+        RanchOverviewResponse delta = deltaService.getOverview(1L, 1L, 1L, since);
+
+        assertThat(delta.delta()).isTrue();
+        assertThat(delta.fences()).isNull();
+        assertThat(delta.livestockMarkers()).extracting(LivestockMarker::livestockId)
+                .containsExactly("2", "3", "4");
+        assertThat(delta.alerts()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should list alerts that left ACTIVE since the version as removed")
+    void olderSince_listsRemovedAlerts() {
+        setupDefaultMocks();
+        RanchOverviewApplicationService deltaService = serviceOver(changedProjection());
+        String since = "10000.0." + deltaService.loadState(1L, 1L, 1L).overlay();
+
+        RanchOverviewResponse delta = deltaService.getOverview(1L, 1L, 1L, since);
+        RanchOverviewResponse full = deltaService.getOverview(1L, 1L, 1L);
+
+        assertThat(delta.removedAlertIds()).containsExactly(6L);
+        assertThat(full.removedAlertIds()).isEmpty();
+        assertThat(full.alerts()).extracting(a -> a.id()).containsExactly(5L);
+    }
+
+    @Test
+    @DisplayName("should know the version from the loaded state, before building the response")
+    void loadState_carriesResponseVersion() {
+        setupDefaultMocks();
+        RanchOverviewApplicationService deltaService = serviceOver(changedProjection());
+
+        var state = deltaService.loadState(1L, 1L, 1L);
+
+        assertThat(state.version()).startsWith("20000.");
+        assertThat(deltaService.getOverview(state, null).version()).isEqualTo(state.version());
+    }
+
+    private RanchOverviewApplicationService serviceOver(RanchOverviewProjection projection) {
+        when(projectionStore.get(1L)).thenReturn(projection);
+        return new RanchOverviewApplicationService(
+                projectionStore, ioTQueryPort, readStatusRepository, alertMessageLocalizer);
+    }
+
+    /**
+     * Rebuilt at 1000; since then livestock 2 moved, 3 turned feverish and 4 went into
+     * estrus at 20000, and alert 6 was resolved. Alert 7 was resolved before the rebuild.
+     */
+    private static RanchOverviewProjection changedProjection() {
+        Map<Long, String> codes = new LinkedHashMap<>();
+        Map<Long, Position> positions = new LinkedHashMap<>();
+        for (long id = 1; id <= 4; id++) {
+            codes.put(id, "SL-00" + id);
+            positions.put(id, new Position(new BigDecimal("28.246"), new BigDecimal("112.852"),
+                    List.of(), id == 2 ? 20_000 : 1_000));
+        }
+        Map<Long, HealthState> health = Map.of(
+                1L, new HealthState("NORMAL", "NORMAL", 1_000),
+                3L, new HealthState("FEVER", "NORMAL", 20_000));
+        Map<Long, Estrus> estrus = Map.of(4L, new Estrus(85, 20_000));
+        Map<Long, AlertEntry> alerts = new LinkedHashMap<>();
+        alerts.put(5L, alert(5L, "ACTIVE", 1_000));
+        alerts.put(6L, alert(6L, "RESOLVED", 20_000));
+        alerts.put(7L, alert(7L, "RESOLVED", 1_000));
+        return new RanchOverviewProjection(1_000, codes, positions, health, estrus, alerts, List.of(), List.of());
+    }
+
+    private static AlertEntry alert(Long id, String status, long changedAt) {
+        return new AlertEntry(id, "FENCE_BREACH", "WARNING", status, 1L, null,
+                "越界", null, null, null, null, changedAt);
+    }
 }
@@ -0,0 +1,196 @@
+package com.smartlivestock.ranch.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartlivestock.ranch.application.service.RanchOverviewProjection.HealthState;
+import com.smartlivestock.ranch.domain.event.AlertStatusBatchChangedEvent;
+import com.smartlivestock.ranch.domain.event.AlertStatusChangedEvent;
+import com.smartlivestock.ranch.domain.model.Alert;
+import com.smartlivestock.ranch.domain.model.AlertStatus;
+import com.smartlivestock.ranch.domain.model.AlertType;
+import com.smartlivestock.ranch.domain.model.Livestock;
+import com.smartlivestock.ranch.domain.model.Severity;
+import com.smartlivestock.ranch.domain.port.HealthQueryPort;
+import com.smartlivestock.ranch.domain.repository.AlertRepository;
+import com.smartlivestock.ranch.domain.repository.FenceRepository;
+import com.smartlivestock.ranch.domain.repository.FenceZoneRepository;
+import com.smartlivestock.ranch.domain.repository.LivestockRepository;
+import com.smartlivestock.shared.cache.RedisCacheService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class RanchOverviewProjectionStoreTest {
+
+    private static final String PREFIX = "ranch:overview:1:";
+
+    @Mock private LivestockRepository livestockRepository;
+    @Mock private FenceRepository fenceRepository;
+    @Mock private FenceZoneRepository fenceZoneRepository;
+    @Mock private AlertRepository alertRepository;
+    @Mock private HealthQueryPort healthQueryPort;
+    @Mock private RedisCacheService redisCacheService;
+
+    private RanchOverviewProjectionStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new RanchOverviewProjectionStore(livestockRepository, fenceRepository, fenceZoneRepository,
+                alertRepository, healthQueryPort, redisCacheService, new ObjectMapper().findAndRegisterModules());
+        when(redisCacheService.getHash(anyString())).thenReturn(Map.of());
+        Livestock cow = new Livestock();
+        cow.setId(5L);
+        cow.setFarmId(1L);
+        cow.setLivestockCode("SL-005");
+        when(livestockRepository.findByFarmId(1L)).thenReturn(List.of(cow));
+        when(fenceRepository.findByFarmId(1L)).thenReturn(List.of());
+        when(fenceZoneRepository.findByFarmId(1L)).thenReturn(List.of());
+        when(alertRepository.findByFarmIdAndStatus(1L, AlertStatus.ACTIVE)).thenReturn(List.of());
+        when(healthQueryPort.findHealthByFarmId(1L)).thenReturn(List.of());
+    }
+
+    @Test
+    @DisplayName("重建 — 抢到重建权，写入 next: 键后 RENAME 覆盖，static 最后，释放重建权")
+    void rebuild_writesTempKeysThenRenames() {
+        when(redisCacheService.setIfAbsent(eq(PREFIX + "rebuilding"), anyString(), any(Duration.class)))
+                .thenReturn(true);
+
+        RanchOverviewProjection projection = store.get(1L);
+
+        assertThat(projection.livestockCodes()).containsEntry(5L, "SL-005");
+        InOrder order = inOrder(redisCacheService);
+        order.verify(redisCacheService).setHash(eq(PREFIX + "next:static"), anyMap());
+        order.verify(redisCacheService).rename(PREFIX + "next:static", PREFIX + "static");
+        order.verify(redisCacheService).delete(PREFIX + "rebuilding");
+        // Empty parts replace the live hash by deleting it
+        verify(redisCacheService).delete(PREFIX + "positions");
+        verify(redisCacheService, never()).setHash(eq(PREFIX + "static"), anyMap());
+    }
+
+    @Test
+    @DisplayName("重建 — RENAME 前合并重建开始后写入的实时条目，早于重建的不合并")
+    void rebuild_mergesEntriesWrittenDuringRebuild() {
+        when(redisCacheService.setIfAbsent(eq(PREFIX + "rebuilding"), anyString(), any(Duration.class)))
+                .thenReturn(true);
+        long future = System.currentTimeMillis() + 60_000;
+        String recent = "{\"id\":9,\"status\":\"RESOLVED\",\"changedAt\":" + future + "}";
+        when(redisCacheService.getHash(PREFIX + "alerts")).thenReturn(Map.of(
+                "9", recent,
+                "8", "{\"id\":8,\"status\":\"ACTIVE\",\"changedAt\":1000}"));
+
+        store.get(1L);
+
+        InOrder order = inOrder(redisCacheService);
+        order.verify(redisCacheService).setHash(PREFIX + "next:alerts", Map.of("9", recent));
+        order.verify(redisCacheService).rename(PREFIX + "next:alerts", PREFIX + "alerts");
+        verify(redisCacheService, never()).delete(PREFIX + "alerts");
+    }
+
+    @Test
+    @DisplayName("重建 — 其他节点正在重建时返回过期投影，不读数据库")
+    void rebuild_claimedElsewhere_servesExpiredProjection() {
+        when(redisCacheService.getHash(PREFIX + "static")).thenReturn(Map.of(
+                "rebuiltAt", "1000",
+                "livestock", "{\"5\":\"SL-005\"}",
+                "fences", "[]",
+                "zones", "[]"));
+
+        RanchOverviewProjection projection = store.get(1L);
+
+        assertThat(projection.rebuiltAt()).isEqualTo(1000L);
+        verify(livestockRepository, never()).findByFarmId(anyLong());
+        verify(redisCacheService, never()).rename(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("重建 — 没有投影且等不到其他节点时自行计算，但不写回")
+    void rebuild_claimedElsewhere_noProjection_buildsWithoutStoring() {
+        ReflectionTestUtils.setField(store, "rebuildWaitMs", 100L);
+
+        RanchOverviewProjection projection = store.get(1L);
+
+        assertThat(projection.livestockCodes()).containsEntry(5L, "SL-005");
+        verify(redisCacheService, never()).setHash(anyString(), anyMap());
+        verify(redisCacheService, never()).delete(PREFIX + "rebuilding");
+    }
+
+    @Test
+    @DisplayName("增量 — 位置只写 positions 的一个字段")
+    void recordPosition_writesOneField() {
+        store.recordPosition(1L, 5L, new BigDecimal("28.1"), new BigDecimal("112.1"), List.of(10L));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, String>> fields = ArgumentCaptor.forClass(Map.class);
+        verify(redisCacheService).setHash(eq(PREFIX + "positions"), fields.capture());
+        assertThat(fields.getValue()).containsOnlyKeys("5");
+        assertThat(fields.getValue().get("5")).contains("28.1").contains("[10]");
+    }
+
+    @Test
+    @DisplayName("增量 — 健康和发情分别写各自的 hash，空的不写")
+    void recordHealth_writesOnlyNonEmptyParts() {
+        store.recordHealth(1L, Map.of(5L, new HealthState("HIGH", "NORMAL", 0L)), Map.of());
+
+        verify(redisCacheService).setHash(eq(PREFIX + "health"), anyMap());
+        verify(redisCacheService, never()).setHash(eq(PREFIX + "estrus"), anyMap());
+    }
+
+    @Test
+    @DisplayName("增量 — 批量告警状态变更每个牧场只写一次")
+    void onAlertStatusBatchChanged_writesOncePerFarm() {
+        AlertStatusBatchChangedEvent batch = new AlertStatusBatchChangedEvent(List.of(
+                new AlertStatusChangedEvent(dismissed(1L, 11L)),
+                new AlertStatusChangedEvent(dismissed(1L, 12L)),
+                new AlertStatusChangedEvent(dismissed(2L, 13L))));
+
+        store.onAlertStatusBatchChanged(batch);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, String>> fields = ArgumentCaptor.forClass(Map.class);
+        verify(redisCacheService).setHash(eq(PREFIX + "alerts"), fields.capture());
+        assertThat(fields.getValue()).containsOnlyKeys("11", "12");
+        verify(redisCacheService).setHash(eq("ranch:overview:2:alerts"), anyMap());
+        verify(redisCacheService, times(2)).setHash(anyString(), anyMap());
+    }
+
+    @Test
+    @DisplayName("失效 — 删除 static，下次读取重建")
+    void invalidate_dropsStatic() {
+        store.invalidate(1L);
+
+        verify(redisCacheService).delete(PREFIX + "static");
+    }
+
+    private static Alert dismissed(Long farmId, Long id) {
+        Alert alert = new Alert(farmId, 5L, null, AlertType.FENCE_BREACH, Severity.WARNING, "越界");
+        alert.setId(id);
+        alert.dismiss(7L);
+        return alert;
+    }
+}
@@ -0,0 +1,81 @@
+package com.smartlivestock.ranch.domain.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * The original {@code BigDecimal} ray cast of {@link Fence#contains} and
+ * {@link Fence#containsBuffer}, kept as the reference for {@link FenceGeometry}
+ * parity tests and the JMH baseline.
+ */
+public final class BigDecimalRayCast {
+
+    private BigDecimalRayCast() {
+    }
+
+    public static boolean contains(List<GpsCoordinate> vertices, GpsCoordinate point) {
+        if (vertices == null || vertices.size() < 3) {
+            return false;
+        }
+        int n = vertices.size();
+        boolean inside = false;
+        BigDecimal px = point.longitude();
+        BigDecimal py = point.latitude();
+
+        for (int i = 0, j = n - 1; i < n; j = i++) {
+            BigDecimal xi = vertices.get(i).longitude();
+            BigDecimal yi = vertices.get(i).latitude();
+            BigDecimal xj = vertices.get(j).longitude();
+            BigDecimal yj = vertices.get(j).latitude();
+
+            if (yi.compareTo(py) == 0 && yj.compareTo(py) == 0) {
+                if (px.compareTo(xi.min(xj)) >= 0 && px.compareTo(xi.max(xj)) <= 0) {
+                    return true;
+                }
+                continue;
+            }
+            if (yi.compareTo(py) == 0 && xi.compareTo(px) == 0) {
+                return true;
+            }
+            if ((yi.compareTo(py) > 0) != (yj.compareTo(py) > 0)) {
+                BigDecimal intersectX = xi.add(py.subtract(yi).multiply(xj.subtract(xi))
+                        .divide(yj.subtract(yi), 20, RoundingMode.HALF_UP));
+                if (px.compareTo(intersectX) <= 0) {
+                    if (px.compareTo(intersectX) == 0) {
+                        return true;
+                    }
+                    inside = !inside;
+                }
+            }
+        }
+        return inside;
+    }
+
+    public static boolean containsBuffer(List<GpsCoordinate> poly, GpsCoordinate point) {
+        if (poly == null || poly.size() < 3) {
+            return false;
+        }
+        BigDecimal px = point.longitude();
+        BigDecimal py = point.latitude();
+        int n = poly.size();
+        boolean inside = false;
+        for (int i = 0, j = n - 1; i < n; j = i++) {
+            BigDecimal xi = poly.get(i).longitude();
+            BigDecimal yi = poly.get(i).latitude();
+            BigDecimal xj = poly.get(j).longitude();
+            BigDecimal yj = poly.get(j).latitude();
+            if ((yi.compareTo(py) > 0) != (yj.compareTo(py) > 0)) {
+                BigDecimal intersectX = xi.add(py.subtract(yi).multiply(xj.subtract(xi))
+                        .divide(yj.subtract(yi), 20, RoundingMode.HALF_UP));
+                if (px.compareTo(intersectX) <= 0) {
+                    if (px.compareTo(intersectX) == 0) {
+                        return true;
+                    }
+                    inside = !inside;
+                }
+            }
+        }
+        return inside;
+    }
+}
@@ -0,0 +1,131 @@
+package com.smartlivestock.ranch.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FenceGeometryTest {
+
+    private static GpsCoordinate coord(String lat, String lng) {
+        return new GpsCoordinate(new BigDecimal(lat), new BigDecimal(lng));
+    }
+
+    private static final List<GpsCoordinate> SQUARE = List.of(
+            coord("28.245", "112.850"),
+            coord("28.250", "112.850"),
+            coord("28.250", "112.855"),
+            coord("28.245", "112.855"));
+
+    private static final List<GpsCoordinate> BUFFER = List.of(
+            coord("28.244", "112.849"),
+            coord("28.251", "112.849"),
+            coord("28.251", "112.856"),
+            coord("28.244", "112.856"));
+
+    private static FenceGeometry.Zone locate(FenceGeometry geometry, GpsCoordinate point) {
+        return geometry.locate(point.latitude().doubleValue(), point.longitude().doubleValue());
+    }
+
+    @Test
+    void locate_classifiesInsideBufferAndOutside() {
+        FenceGeometry geometry = FenceGeometry.of(SQUARE, BUFFER);
+
+        assertThat(locate(geometry, coord("28.2475", "112.8525"))).isEqualTo(FenceGeometry.Zone.INSIDE);
+        assertThat(locate(geometry, coord("28.2445", "112.8525"))).isEqualTo(FenceGeometry.Zone.BUFFER);
+        assertThat(locate(geometry, coord("28.2600", "112.8600"))).isEqualTo(FenceGeometry.Zone.OUTSIDE);
+    }
+
+    @Test
+    void fenceBoundary_edgesVerticesAndHorizontalEdgesAreInside() {
+        FenceGeometry geometry = FenceGeometry.of(SQUARE, null);
+
+        assertThat(geometry.contains(28.245, 112.852)).isTrue();   // horizontal edge
+        assertThat(geometry.contains(28.247, 112.855)).isTrue();   // vertical edge
+        assertThat(geometry.contains(28.250, 112.855)).isTrue();   // vertex
+        assertThat(geometry.contains(28.245, 112.8551)).isFalse(); // on the edge's line, past the vertex
+    }
+
+    @Test
+    void bufferBoundary_keepsCrossingOnlyRule() {
+        FenceGeometry geometry = FenceGeometry.of(null, BUFFER);
+
+        assertThat(geometry.containsBuffer(28.247, 112.849)).isTrue();  // non-horizontal edge
+        assertThat(geometry.containsBuffer(28.244, 112.852)).isTrue();  // bottom edge: half-open crossing
+        assertThat(geometry.containsBuffer(28.251, 112.852)).isFalse(); // top edge: half-open crossing
+    }
+
+    @Test
+    void degeneratePolygons_containNothing() {
+        FenceGeometry geometry = FenceGeometry.of(SQUARE.subList(0, 2), List.of());
+
+        assertThat(geometry.hasFence()).isFalse();
+        assertThat(locate(geometry, coord("28.2475", "112.8525"))).isEqualTo(FenceGeometry.Zone.OUTSIDE);
+    }
+
+    @Test
+    void matchesBigDecimalRayCast_onRandomPolygonsAndBoundaryPoints() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            List<GpsCoordinate> polygon = randomStar(random, 3 + random.nextInt(30));
+            FenceGeometry geometry = FenceGeometry.of(polygon, polygon);
+
+            List<GpsCoordinate> points = new ArrayList<>();
+            for (int k = 0; k < 200; k++) {
+                points.add(gridPoint(28_2450000L + random.nextInt(60_000) - 30_000,
+                        112_8500000L + random.nextInt(60_000) - 30_000));
+            }
+            for (int i = 0; i < polygon.size(); i++) {
+                GpsCoordinate a = polygon.get(i);
+                GpsCoordinate b = polygon.get((i + 1) % polygon.size());
+                points.add(a);
+                points.add(gridPoint(units(a.latitude()), units(a.longitude()) + 1));
+                points.add(gridPoint(units(a.latitude()), units(b.longitude())));
+                if ((units(a.latitude()) + units(b.latitude())) % 2 == 0
+                        && (units(a.longitude()) + units(b.longitude())) % 2 == 0) {
+                    points.add(gridPoint((units(a.latitude()) + units(b.latitude())) / 2,
+                            (units(a.longitude()) + units(b.longitude())) / 2));
+                }
+            }
+
+            for (GpsCoordinate p : points) {
+                double lat = p.latitude().doubleValue();
+                double lng = p.longitude().doubleValue();
+                assertThat(geometry.contains(lat, lng))
+                        .as("contains %s in %s", p, polygon)
+                        .isEqualTo(BigDecimalRayCast.contains(polygon, p));
+                assertThat(geometry.containsBuffer(lat, lng))
+                        .as("containsBuffer %s in %s", p, polygon)
+                        .isEqualTo(BigDecimalRayCast.containsBuffer(polygon, p));
+            }
+        }
+    }
+
+    /** Star-shaped polygon on the 1e-7 grid, with some axis-aligned edges to exercise the boundary rules. */
+    private static List<GpsCoordinate> randomStar(Random random, int n) {
+        List<GpsCoordinate> polygon = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            double angle = 2 * Math.PI * i / n;
+            double radius = 5_000 + random.nextInt(20_000);
+            long lat = 28_2450000L + Math.round(radius * Math.sin(angle));
+            long lng = 112_8500000L + Math.round(radius * Math.cos(angle));
+            if (i > 0 && random.nextInt(4) == 0) {
+                lat = units(polygon.get(i - 1).latitude());
+            }
+            polygon.add(gridPoint(lat, lng));
+        }
+        return polygon;
+    }
+
+    private static long units(BigDecimal degrees) {
+        return degrees.movePointRight(7).longValueExact();
+    }
+
+    private static GpsCoordinate gridPoint(long latUnits, long lngUnits) {
+        return new GpsCoordinate(BigDecimal.valueOf(latUnits, 7), BigDecimal.valueOf(lngUnits, 7));
+    }
+}
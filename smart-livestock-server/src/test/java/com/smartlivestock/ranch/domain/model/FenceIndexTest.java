@@ -0,0 +1,111 @@
+package com.smartlivestock.ranch.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FenceIndexTest {
+
+    private static Fence fence(long id, double minLat, double minLng, double size) {
+        Fence fence = new Fence(1L, "F" + id, square(minLat, minLng, size), "#00FF00");
+        fence.setId(id);
+        fence.setBufferPolygon(square(minLat - 0.001, minLng - 0.001, size + 0.002));
+        return fence;
+    }
+
+    private static List<GpsCoordinate> square(double minLat, double minLng, double size) {
+        return List.of(
+                coord(minLat, minLng),
+                coord(minLat + size, minLng),
+                coord(minLat + size, minLng + size),
+                coord(minLat, minLng + size));
+    }
+
+    private static GpsCoordinate coord(double lat, double lng) {
+        return new GpsCoordinate(String.format("%.6f", lat), String.format("%.6f", lng));
+    }
+
+    @Test
+    void locate_insideFence_reportsInside() {
+        FenceIndex index = FenceIndex.of(List.of(fence(1L, 28.240, 112.845, 0.010)));
+
+        FenceIndex.Location location = index.locate(coord(28.245, 112.850));
+
+        assertThat(location.insideAnyFence()).isTrue();
+        assertThat(location.outsideFences()).isEmpty();
+    }
+
+    @Test
+    void locate_onEdge_countsAsInside() {
+        FenceIndex index = FenceIndex.of(List.of(fence(1L, 28.240, 112.845, 0.010)));
+
+        assertThat(index.locate(coord(28.240, 112.850)).insideAnyFence()).isTrue();
+    }
+
+    @Test
+    void locate_outside_reportsEveryActiveFenceWithBufferFlag() {
+        Fence near = fence(1L, 28.240, 112.845, 0.010);
+        Fence far = fence(2L, 28.300, 112.900, 0.010);
+        Fence disabled = fence(3L, 28.240, 112.845, 0.010);
+        disabled.disable();
+        FenceIndex index = FenceIndex.of(List.of(near, far, disabled));
+
+        FenceIndex.Location location = index.locate(coord(28.2505, 112.850));
+
+        assertThat(location.insideAnyFence()).isFalse();
+        assertThat(location.outsideFences())
+                .extracting(FenceIndex.Proximity::fence, FenceIndex.Proximity::inBuffer)
+                .containsExactly(
+                        org.assertj.core.groups.Tuple.tuple(near, true),
+                        org.assertj.core.groups.Tuple.tuple(far, false));
+    }
+
+    @Test
+    void locate_manyFences_usesTreeAndMatchesLinearScan() {
+        List<Fence> fences = new ArrayList<>();
+        for (int i = 0; i < FenceIndex.STR_TREE_THRESHOLD * 2; i++) {
+            fences.add(fence(i + 1L, 28.0 + i * 0.02, 112.8, 0.010));
+        }
+        FenceIndex index = FenceIndex.of(fences);
+
+        assertThat(index.locate(coord(28.0 + 7 * 0.02 + 0.005, 112.805)).insideAnyFence()).isTrue();
+        assertThat(index.locate(coord(28.0 + 7 * 0.02 + 0.015, 112.805)).insideAnyFence()).isFalse();
+    }
+
+    @Test
+    void containingFenceIds_listsEveryOverlappingActiveFence() {
+        Fence outer = fence(1L, 28.240, 112.845, 0.010);
+        Fence inner = fence(2L, 28.244, 112.849, 0.002);
+        Fence disabled = fence(3L, 28.240, 112.845, 0.010);
+        disabled.disable();
+        List<Fence> fences = new ArrayList<>(List.of(outer, inner, disabled));
+        FenceIndex linear = FenceIndex.of(fences);
+        for (int i = 0; i < FenceIndex.STR_TREE_THRESHOLD; i++) {
+            fences.add(fence(10L + i, 29.0 + i * 0.02, 112.8, 0.010));
+        }
+        FenceIndex tree = FenceIndex.of(fences);
+
+        for (FenceIndex index : List.of(linear, tree)) {
+            assertThat(index.containingFenceIds(coord(28.245, 112.850))).containsExactlyInAnyOrder(1L, 2L);
+            assertThat(index.containingFenceIds(coord(28.241, 112.846))).containsExactly(1L);
+            assertThat(index.containingFenceIds(coord(28.2505, 112.850))).isEmpty();
+        }
+    }
+
+    @Test
+    void of_tracksVersionsOfAllFences() {
+        Fence fence = fence(1L, 28.240, 112.845, 0.010);
+        fence.setVersion(4);
+        Fence disabled = fence(2L, 28.300, 112.900, 0.010);
+        disabled.disable();
+
+        FenceIndex index = FenceIndex.of(List.of(fence, disabled));
+
+        assertThat(index.isEmpty()).isFalse();
+        assertThat(index.versions()).containsEntry(1L, 4).containsEntry(2L, 1);
+        assertThat(FenceIndex.of(List.of()).isEmpty()).isTrue();
+    }
+}
@@ -10,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.List;
 import java.util.Optional;
@@ -24,6 +25,9 @@ class FenceVersionTest {
     @Mock
     private FenceRepository fenceRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Test
     void updateFence_keepsVersion_whenExpectedMatches() {
         Fence fence = new Fence(1L, "test", List.of(), "#FF0000");
@@ -31,7 +35,7 @@ class FenceVersionTest {
         when(fenceRepository.findById(1L)).thenReturn(Optional.of(fence));
         when(fenceRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
 
-        FenceApplicationService svc = new FenceApplicationService(fenceRepository, new BufferPolygonCalculator());
+        FenceApplicationService svc = new FenceApplicationService(fenceRepository, new BufferPolygonCalculator(), eventPublisher);
         FenceDto result = svc.updateFence(1L, new UpdateFenceCommand("up", List.of(), "#00F", 2));
         assertEquals(2, result.version());
     }
@@ -42,7 +46,7 @@ class FenceVersionTest {
         fence.setVersion(5);
         when(fenceRepository.findById(1L)).thenReturn(Optional.of(fence));
 
-        FenceApplicationService svc = new FenceApplicationService(fenceRepository, new BufferPolygonCalculator());
+        FenceApplicationService svc = new FenceApplicationService(fenceRepository, new BufferPolygonCalculator(), eventPublisher);
         assertThrows(ApiException.class,
             () -> svc.updateFence(1L, new UpdateFenceCommand("up", List.of(), "#00F", 3)));
     }
@@ -54,7 +58,7 @@ class FenceVersionTest {
         when(fenceRepository.findById(1L)).thenReturn(Optional.of(fence));
         when(fenceRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
 
-        FenceApplicationService svc = new FenceApplicationService(fenceRepository, new BufferPolygonCalculator());
+        FenceApplicationService svc = new FenceApplicationService(fenceRepository, new BufferPolygonCalculator(), eventPublisher);
         FenceDto result = svc.updateFence(1L, new UpdateFenceCommand("up", List.of(), "#00F", null));
         assertEquals(5, result.version());
     }
@@ -1,6 +1,9 @@
 package com.smartlivestock.ranch.infrastructure.mq;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartlivestock.ranch.application.service.FenceIndexCache;
+import com.smartlivestock.ranch.application.service.FenceStateTracker;
+import com.smartlivestock.ranch.application.service.RanchOverviewProjectionStore;
 import com.smartlivestock.ranch.domain.model.Alert;
 import com.smartlivestock.ranch.domain.model.AlertStatus;
 import com.smartlivestock.ranch.domain.model.AlertType;
@@ -12,7 +15,7 @@ import com.smartlivestock.ranch.domain.port.dto.InstallationInfo;
 import com.smartlivestock.ranch.domain.repository.AlertRepository;
 import com.smartlivestock.ranch.domain.repository.FenceRepository;
 import com.smartlivestock.ranch.domain.repository.LivestockRepository;
-import com.smartlivestock.ranch.domain.service.FenceBreachDetector;
+import com.smartlivestock.shared.cache.RedisCacheService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -43,7 +46,8 @@ class GpsLogEventConsumerTest {
     @Mock private LivestockRepository livestockRepository;
     @Mock private FenceRepository fenceRepository;
     @Mock private AlertRepository alertRepository;
-    @Mock private FenceBreachDetector fenceBreachDetector;
+    @Mock private RedisCacheService redisCacheService;
+    @Mock private RanchOverviewProjectionStore overviewProjectionStore;
 
     private GpsLogEventConsumer consumer;
 
@@ -51,7 +55,8 @@ class GpsLogEventConsumerTest {
     void setUp() {
         consumer = new GpsLogEventConsumer(
                 new ObjectMapper(), ioTQueryPort, livestockRepository,
-                fenceRepository, alertRepository, fenceBreachDetector);
+                new FenceIndexCache(fenceRepository), alertRepository,
+                new FenceStateTracker(redisCacheService), overviewProjectionStore);
     }
 
     private static String message(String source) {
@@ -69,18 +74,26 @@ class GpsLogEventConsumerTest {
         when(livestock.getFarmId()).thenReturn(1L);
         lenient().when(livestock.getLivestockCode()).thenReturn("C001");
         when(livestockRepository.findById(10L)).thenReturn(Optional.of(livestock));
-        Fence fence = org.mockito.Mockito.mock(Fence.class);
-        when(fence.isActive()).thenReturn(true);
-        lenient().when(fence.contains(any(GpsCoordinate.class))).thenReturn(true);
+        // Square around the message position (28.246777, 112.851138)
+        Fence fence = new Fence(1L, "HKT", square("28.240", "112.845", "28.250", "112.855"), "#00FF00");
+        fence.setId(1L);
         when(fenceRepository.findByFarmId(1L)).thenReturn(List.of(fence));
     }
 
+    private static List<GpsCoordinate> square(String minLat, String minLng, String maxLat, String maxLng) {
+        return List.of(
+                new GpsCoordinate(minLat, minLng),
+                new GpsCoordinate(maxLat, minLng),
+                new GpsCoordinate(maxLat, maxLng),
+                new GpsCoordinate(minLat, maxLng));
+    }
+
     @Test
     void onMessage_manualImport_earlyReturn_noFenceDetectionNoPositionUpdate() {
         consumer.onMessage(message("MANUAL_IMPORT"));
 
         verifyNoInteractions(ioTQueryPort, livestockRepository, fenceRepository,
-                alertRepository, fenceBreachDetector);
+                alertRepository);
     }
 
     @Test
@@ -114,15 +127,10 @@ class GpsLogEventConsumerTest {
     @Test
     void onMessage_approachAlert_staysActiveUntilLivestockReturnsOrEscalates() {
         stubLivestockInsideFence();
+        // Position sits just east of the fence but inside its buffer polygon
         Fence fence = fenceRepository.findByFarmId(1L).get(0);
-        when(fence.contains(any(GpsCoordinate.class))).thenReturn(false);
-        when(fence.getId()).thenReturn(1L);
-        when(fence.getName()).thenReturn("HKT");
-
-        when(fenceBreachDetector.findBreachedFences(any(), any(GpsCoordinate.class)))
-                .thenReturn(List.of(fence));
-        when(fenceBreachDetector.isApproaching(eq(fence), any(GpsCoordinate.class)))
-                .thenReturn(true);
+        fence.setVertices(square("28.240", "112.840", "28.250", "112.851"));
+        fence.setBufferPolygon(square("28.239", "112.839", "28.251", "112.852"));
 
         AtomicReference<Alert> saved = new AtomicReference<>();
         when(alertRepository.findByLivestockIdAndTypeAndStatus(
@@ -142,4 +150,28 @@ class GpsLogEventConsumerTest {
         verify(alertRepository, org.mockito.Mockito.times(1))
                 .findByLivestockIdAndTypeAndStatus(10L, AlertType.FENCE_APPROACH, AlertStatus.ACTIVE);
     }
+
+    @Test
+    void onMessage_unchangedFenceState_skipsAlertTable() {
+        stubLivestockInsideFence();
+        when(redisCacheService.get("ranch:fence-state:10")).thenReturn("inside");
+
+        consumer.onMessage(message("AGENTIC_PLATFORM"));
+
+        verify(livestockRepository).save(any(Livestock.class));
+        verifyNoInteractions(alertRepository);
+        verify(redisCacheService, never()).set(any(), any(), any());
+    }
+
+    @Test
+    void onMessage_fenceStateTransition_resolvesAlertsAndRecordsState() {
+        stubLivestockInsideFence();
+        when(redisCacheService.get("ranch:fence-state:10")).thenReturn("1:B");
+
+        consumer.onMessage(message("AGENTIC_PLATFORM"));
+
+        verify(alertRepository).autoResolveActive(10L, List.of(AlertType.FENCE_BREACH, AlertType.FENCE_APPROACH), null);
+        verify(alertRepository, never()).save(any());
+        verify(redisCacheService).set(eq("ranch:fence-state:10"), eq("inside"), any());
+    }
 }
@@ -0,0 +1,93 @@
+package com.smartlivestock.ranch.infrastructure.mq;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartlivestock.ranch.application.service.LiveMapBroadcaster;
+import com.smartlivestock.ranch.application.service.RanchOverviewProjection.AlertEntry;
+import com.smartlivestock.ranch.domain.event.AlertStatusChangedEvent;
+import com.smartlivestock.ranch.domain.model.Alert;
+import com.smartlivestock.ranch.domain.model.AlertType;
+import com.smartlivestock.ranch.domain.model.Severity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LiveMapAlertConsumerTest {
+
+    /** Configured like the publisher's, which serializes the event as-is. */
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Mock private LiveMapBroadcaster liveMapBroadcaster;
+
+    private LiveMapAlertConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        consumer = new LiveMapAlertConsumer(objectMapper, liveMapBroadcaster);
+    }
+
+    @Test
+    @DisplayName("推送 — 序列化的告警事件映射为实时地图告警条目")
+    void alertEvent_isMappedToEntry() throws Exception {
+        when(liveMapBroadcaster.hasSubscribers()).thenReturn(true);
+        when(liveMapBroadcaster.hasSubscribers(1L)).thenReturn(true);
+        Alert alert = new Alert(1L, 5L, null, AlertType.FENCE_BREACH, Severity.WARNING, "越界");
+        alert.setId(11L);
+
+        consumer.onMessage(objectMapper.writeValueAsString(new AlertStatusChangedEvent(alert)));
+
+        ArgumentCaptor<AlertEntry> entry = ArgumentCaptor.forClass(AlertEntry.class);
+        verify(liveMapBroadcaster).publishAlert(eq(1L), entry.capture());
+        assertThat(entry.getValue().id()).isEqualTo(11L);
+        assertThat(entry.getValue().type()).isEqualTo("FENCE_BREACH");
+        assertThat(entry.getValue().severity()).isEqualTo("WARNING");
+        assertThat(entry.getValue().status()).isEqualTo("ACTIVE");
+        assertThat(entry.getValue().livestockId()).isEqualTo(5L);
+        assertThat(entry.getValue().fenceId()).isNull();
+        assertThat(entry.getValue().message()).isEqualTo("越界");
+    }
+
+    @Test
+    @DisplayName("跳过 — 本节点没有观看者时不解析消息")
+    void noViewers_dropsUnread() {
+        when(liveMapBroadcaster.hasSubscribers()).thenReturn(false);
+
+        consumer.onMessage("not json");
+
+        verify(liveMapBroadcaster, never()).hasSubscribers(anyLong());
+        verify(liveMapBroadcaster, never()).publishAlert(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("跳过 — 告警所在牧场无人观看")
+    void unwatchedFarm_isSkipped() {
+        when(liveMapBroadcaster.hasSubscribers()).thenReturn(true);
+        when(liveMapBroadcaster.hasSubscribers(2L)).thenReturn(false);
+
+        consumer.onMessage("{\"alertId\":11,\"farmId\":2,\"newStatus\":\"ACTIVE\",\"alert\":{}}");
+
+        verify(liveMapBroadcaster, never()).publishAlert(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("容错 — 坏消息记录后丢弃，不抛出")
+    void malformedMessage_isDropped() {
+        when(liveMapBroadcaster.hasSubscribers()).thenReturn(true);
+
+        consumer.onMessage("{\"alertId\":");
+
+        verify(liveMapBroadcaster, never()).publishAlert(anyLong(), any());
+    }
+}
@@ -0,0 +1,118 @@
+package com.smartlivestock.ranch.infrastructure.mq;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartlivestock.ranch.application.service.LiveMapBroadcaster;
+import com.smartlivestock.ranch.domain.port.IoTQueryPort;
+import com.smartlivestock.ranch.domain.port.dto.DevicePlacement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LiveMapGpsConsumerTest {
+
+    @Mock private IoTQueryPort ioTQueryPort;
+    @Mock private LiveMapBroadcaster liveMapBroadcaster;
+
+    private LiveMapGpsConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        consumer = new LiveMapGpsConsumer(new ObjectMapper(), ioTQueryPort, liveMapBroadcaster);
+    }
+
+    @Test
+    @DisplayName("推送 — 有观看者的牧场收到定位，坐标与时间原样转发")
+    void position_isPublishedToWatchedFarm() {
+        watching(1L);
+        when(ioTQueryPort.findPlacement(7L)).thenReturn(Optional.of(new DevicePlacement(7L, 10L, 1L)));
+
+        consumer.onMessage(message("AGENTIC_PLATFORM", "\"2026-07-23T16:09:11Z\""));
+
+        verify(liveMapBroadcaster).publishPosition(1L, 10L, new BigDecimal("28.246777"),
+                new BigDecimal("112.851138"), Instant.parse("2026-07-23T16:09:11Z"));
+    }
+
+    @Test
+    @DisplayName("推送 — 缺少 source 按平台数据处理，缺少 recordedAt 传 null")
+    void position_withoutSourceOrTime_isPublished() {
+        watching(1L);
+        when(ioTQueryPort.findPlacement(7L)).thenReturn(Optional.of(new DevicePlacement(7L, 10L, 1L)));
+
+        consumer.onMessage(message(null, "null"));
+
+        verify(liveMapBroadcaster).publishPosition(1L, 10L, new BigDecimal("28.246777"),
+                new BigDecimal("112.851138"), null);
+    }
+
+    @Test
+    @DisplayName("跳过 — 本节点没有观看者时不解析消息")
+    void noViewers_dropsUnread() {
+        when(liveMapBroadcaster.hasSubscribers()).thenReturn(false);
+
+        consumer.onMessage("not json");
+
+        verifyNoInteractions(ioTQueryPort);
+        verify(liveMapBroadcaster, never()).publishPosition(anyLong(), anyLong(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("跳过 — 手工导入的轨迹不上实时地图")
+    void manualImport_isSkipped() {
+        when(liveMapBroadcaster.hasSubscribers()).thenReturn(true);
+
+        consumer.onMessage(message("MANUAL_IMPORT", "\"2026-07-23T16:09:11Z\""));
+
+        verifyNoInteractions(ioTQueryPort);
+    }
+
+    @Test
+    @DisplayName("跳过 — 设备未安装或所在牧场无人观看")
+    void unplacedOrUnwatched_isSkipped() {
+        when(liveMapBroadcaster.hasSubscribers()).thenReturn(true);
+        when(ioTQueryPort.findPlacement(7L)).thenReturn(Optional.empty());
+        consumer.onMessage(message("AGENTIC_PLATFORM", "null"));
+
+        when(ioTQueryPort.findPlacement(7L)).thenReturn(Optional.of(new DevicePlacement(7L, 10L, 2L)));
+        when(liveMapBroadcaster.hasSubscribers(2L)).thenReturn(false);
+        consumer.onMessage(message("AGENTIC_PLATFORM", "null"));
+
+        verify(liveMapBroadcaster, never()).publishPosition(anyLong(), anyLong(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("容错 — 坏消息记录后丢弃，不抛出")
+    void malformedMessage_isDropped() {
+        watching(1L);
+        when(ioTQueryPort.findPlacement(7L)).thenReturn(Optional.of(new DevicePlacement(7L, 10L, 1L)));
+
+        consumer.onMessage("{\"deviceId\":7,\"latitude\":\"north\",\"longitude\":\"112.8\"}");
+
+        verify(liveMapBroadcaster, never()).publishPosition(anyLong(), anyLong(), any(), any(), any());
+    }
+
+    private void watching(Long farmId) {
+        when(liveMapBroadcaster.hasSubscribers()).thenReturn(true);
+        when(liveMapBroadcaster.hasSubscribers(farmId)).thenReturn(true);
+    }
+
+    private static String message(String source, String recordedAtJson) {
+        String sourceField = source != null ? ",\"source\":\"" + source + "\"" : "";
+        return "{\"deviceId\":7,\"latitude\":\"28.246777\",\"longitude\":\"112.851138\","
+                + "\"recordedAt\":" + recordedAtJson + sourceField + "}";
+    }
+}
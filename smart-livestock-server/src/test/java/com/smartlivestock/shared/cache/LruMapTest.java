@@ -0,0 +1,31 @@
+package com.smartlivestock.shared.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LruMapTest {
+
+    @Test
+    void evictsLeastRecentlyUsed_notOldestInserted() {
+        LruMap<Long, String> map = new LruMap<>(() -> 2);
+        map.put(1L, "a");
+        map.put(2L, "b");
+        map.get(1L);
+
+        map.put(3L, "c");
+
+        assertThat(map.get(1L)).isEqualTo("a");
+        assertThat(map.get(2L)).isNull();
+        assertThat(map.size()).isEqualTo(2);
+    }
+
+    @Test
+    void computeIfAbsent_alsoBounded() {
+        LruMap<Long, String> map = new LruMap<>(() -> 1);
+        map.computeIfAbsent(1L, id -> "a");
+
+        assertThat(map.computeIfAbsent(2L, id -> "b")).isEqualTo("b");
+        assertThat(map.get(1L)).isNull();
+    }
+}
@@ -0,0 +1,33 @@
+package com.smartlivestock.shared.persistence;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class JdbcBatchTest {
+
+    @Test
+    @DisplayName("写入计数 — SUCCESS_NO_INFO 按一行计，失败不计")
+    void rowsWritten_countsNoInfoAsOne() {
+        assertThat(JdbcBatch.rowsWritten(new int[]{1, Statement.SUCCESS_NO_INFO, 0, Statement.EXECUTE_FAILED, 2}))
+                .isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("空批次 — 不取连接，直接返回 0")
+    void execute_emptyRows_skipsConnection() {
+        EntityManager entityManager = mock(EntityManager.class);
+
+        int written = JdbcBatch.execute(entityManager, "INSERT", List.<Long>of(), (ps, row) -> ps.setLong(1, row));
+
+        assertThat(written).isZero();
+        verifyNoInteractions(entityManager);
+    }
+}